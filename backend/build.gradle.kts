@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.5.6"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.dartclub"
@@ -21,6 +22,7 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-validation")
     implementation("org.springframework.boot:spring-boot-starter-security")
+    implementation("org.springframework.boot:spring-boot-starter-websocket")
 
     // Docker Compose Support - DEAKTIVIERT (manuelles Management via Gradle Task)
     // developmentOnly("org.springframework.boot:spring-boot-docker-compose")
@@ -64,6 +66,17 @@ tasks.withType<Test> {
     useJUnitPlatform()
 }
 
+// JMH-Benchmarks für den Scoring-Hot-Path (src/jmh/java)
+// Ausführen: gradlew :backend:jmh - Ergebnis in build/results/jmh/results.json
+jmh {
+    jmhVersion.set("1.37")
+    profilers.add("gc") // Allokationsrate pro Operation (gc.alloc.rate.norm)
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    resultFormat.set("JSON")
+}
+
 // Custom Task zum Starten der PostgreSQL-Datenbank
 tasks.register("startDatabase") {
     group = "application"
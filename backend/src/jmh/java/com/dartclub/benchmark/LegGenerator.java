@@ -0,0 +1,125 @@
+package com.dartclub.benchmark;
+
+import com.dartclub.model.dto.request.DartInput;
+import com.dartclub.model.entity.Leg;
+import com.dartclub.service.rules.GameRules;
+import com.dartclub.service.rules.RuleState;
+import com.dartclub.service.rules.X01Rules;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * LegGenerator - Erzeugt realistische 501-Legs (Double-Out) für die Benchmarks
+ *
+ * Beide Spieler werfen nach einem einfachen Muster: T20 bis 60 Rest,
+ * danach Stellen auf ein Double und Doppel-Versuche. Die Trefferquoten
+ * bestimmen die Leg-Länge (Kneipe ~30, Liga ~18, Profi ~12 Aufnahmen pro
+ * Spieler). Gewertet wird mit den echten X01Rules, damit Busts und
+ * Checkouts wie im Spiel entstehen.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+final class LegGenerator {
+
+    // Sicherheitsgrenze gegen endlose Legs
+    private static final int MAX_VISITS = 200;
+
+    private final GameRules rules = new X01Rules();
+    private final Random random;
+    private final double trebleRate;
+    private final double doubleRate;
+
+    LegGenerator(long seed, String level) {
+        this.random = new Random(seed);
+        switch (level) {
+            case "pub" -> {
+                trebleRate = 0.10;
+                doubleRate = 0.15;
+            }
+            case "league" -> {
+                trebleRate = 0.25;
+                doubleRate = 0.30;
+            }
+            case "pro" -> {
+                trebleRate = 0.45;
+                doubleRate = 0.45;
+            }
+            default -> throw new IllegalArgumentException("Unbekanntes Level: " + level);
+        }
+    }
+
+    static Leg newLeg() {
+        return Leg.builder()
+                .id(UUID.randomUUID())
+                .setId(UUID.randomUUID())
+                .legNo(1)
+                .startingScore(501)
+                .homeMemberId(UUID.randomUUID())
+                .awayMemberId(UUID.randomUUID())
+                .build();
+    }
+
+    /**
+     * Ein Leg als Folge von Aufnahmen (Heim beginnt, danach abwechselnd)
+     */
+    List<List<DartInput>> generate() {
+        RuleState state = rules.newState(newLeg());
+        List<List<DartInput>> visits = new ArrayList<>();
+        int side = 0;
+        for (int v = 0; v < MAX_VISITS; v++) {
+            List<DartInput> darts = new ArrayList<>(3);
+            rules.beginVisit(state, side);
+            int result = GameRules.CONTINUE;
+            for (int d = 0; d < 3; d++) {
+                if (result != GameRules.CONTINUE) {
+                    darts.add(miss());
+                    continue;
+                }
+                DartInput dart = aim(state.getScore(side));
+                darts.add(dart);
+                result = rules.applyDart(state, side, dart.getMultiplier(), dart.getSegment());
+            }
+            rules.endVisit(state, side, result);
+            visits.add(darts);
+            if (result == GameRules.WIN) {
+                break;
+            }
+            side = 1 - side;
+        }
+        return visits;
+    }
+
+    private DartInput aim(int remaining) {
+        if (remaining == 50) {
+            return random.nextDouble() < doubleRate ? dart(2, 25) : dart(1, 25);
+        }
+        if (remaining <= 40 && remaining % 2 == 0) {
+            int segment = remaining / 2;
+            double roll = random.nextDouble();
+            if (roll < doubleRate) return dart(2, segment);
+            if (roll < 0.6) return dart(1, segment);
+            return miss();
+        }
+        if (remaining <= 40) {
+            return dart(1, 1);
+        }
+        if (remaining <= 60) {
+            return dart(1, remaining - 40);
+        }
+        double roll = random.nextDouble();
+        if (roll < trebleRate) return dart(3, 20);
+        if (roll < 0.75) return dart(1, 20);
+        return random.nextBoolean() ? dart(1, 1) : dart(1, 5);
+    }
+
+    private static DartInput miss() {
+        return dart(0, 20);
+    }
+
+    private static DartInput dart(int multiplier, int segment) {
+        return DartInput.builder().multiplier(multiplier).segment(segment).build();
+    }
+}
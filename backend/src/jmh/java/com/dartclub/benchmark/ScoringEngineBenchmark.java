@@ -0,0 +1,160 @@
+package com.dartclub.benchmark;
+
+import com.dartclub.model.dto.request.DartInput;
+import com.dartclub.model.entity.Leg;
+import com.dartclub.model.entity.Throw;
+import com.dartclub.service.LiveLegState;
+import com.dartclub.service.ScoringEngine;
+import com.dartclub.service.rules.GameRules;
+import com.dartclub.service.rules.X01Rules;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ScoringEngineBenchmark - Scoring-Hot-Path über realistische 501-Legs
+ *
+ * Benchmarks:
+ * - playLeg: komplettes Leg über createVisit + processThrow gegen einen frischen Live-State
+ * - processThrow: eine Aufnahme gegen einen laufenden Live-State
+ * - validateThrow / detectEvent: über alle Aufnahmen eines Legs
+ * - liveView: Rest, Average, letzte Aufnahme und Checkout-Empfehlung beider
+ *   Spieler (entspricht MatchService.buildLegDTO ohne DTO)
+ *
+ * Mit dem GC-Profiler (siehe build.gradle.kts) zeigt gc.alloc.rate.norm die
+ * Allokation pro Operation.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ScoringEngineBenchmark {
+
+    private static final int LEG_COUNT = 64;
+
+    /**
+     * Spielstärke, bestimmt die Leg-Länge
+     */
+    @Param({"pub", "league", "pro"})
+    public String level;
+
+    private final ScoringEngine scoringEngine = new ScoringEngine();
+    private final GameRules rules = new X01Rules();
+    private final UUID matchId = UUID.randomUUID();
+    private final UUID orgId = UUID.randomUUID();
+
+    private List<List<List<DartInput>>> legs;
+    private Throw[][] scoredLegs;
+    private LiveLegState[] midLegStates;
+    private int legIndex;
+
+    // Laufender State für processThrow, wird nach jedem Leg neu angelegt
+    private LiveLegState runningState;
+    private int runningLeg;
+    private int runningVisit;
+
+    @Setup
+    public void setUp() {
+        LegGenerator generator = new LegGenerator(42, level);
+        legs = new ArrayList<>(LEG_COUNT);
+        scoredLegs = new Throw[LEG_COUNT][];
+        midLegStates = new LiveLegState[LEG_COUNT];
+        for (int i = 0; i < LEG_COUNT; i++) {
+            List<List<DartInput>> visits = generator.generate();
+            legs.add(visits);
+
+            LiveLegState state = newState();
+            Throw[] throwList = new Throw[visits.size()];
+            for (int v = 0; v < visits.size(); v++) {
+                throwList[v] = scoringEngine.createVisit(state, visits.get(v));
+                scoringEngine.processThrow(state.getLeg(), state, throwList[v]);
+            }
+            scoredLegs[i] = throwList;
+
+            // Anzeige-Werte mitten im Leg (Rest > 0, Checkout-Empfehlung möglich)
+            LiveLegState midLeg = newState();
+            for (int v = 0; v < visits.size() / 2; v++) {
+                scoringEngine.processThrow(midLeg.getLeg(), midLeg, scoringEngine.createVisit(midLeg, visits.get(v)));
+            }
+            midLegStates[i] = midLeg;
+        }
+        runningState = newState();
+    }
+
+    private LiveLegState newState() {
+        Leg leg = LegGenerator.newLeg();
+        return new LiveLegState(leg, rules, matchId, orgId, 1, "Heim Spieler", "Gast Spieler");
+    }
+
+    private int nextLeg() {
+        legIndex = (legIndex + 1) % LEG_COUNT;
+        return legIndex;
+    }
+
+    @Benchmark
+    public LiveLegState playLeg(Blackhole blackhole) {
+        List<List<DartInput>> visits = legs.get(nextLeg());
+        LiveLegState state = newState();
+        Leg leg = state.getLeg();
+        for (List<DartInput> darts : visits) {
+            Throw throwData = scoringEngine.createVisit(state, darts);
+            blackhole.consume(scoringEngine.processThrow(leg, state, throwData));
+        }
+        return state;
+    }
+
+    @Benchmark
+    public ScoringEngine.ThrowResult processThrow() {
+        List<List<DartInput>> visits = legs.get(runningLeg);
+        if (runningVisit == visits.size()) {
+            runningLeg = (runningLeg + 1) % LEG_COUNT;
+            runningVisit = 0;
+            runningState = newState();
+            visits = legs.get(runningLeg);
+        }
+        Throw throwData = scoringEngine.createVisit(runningState, visits.get(runningVisit++));
+        return scoringEngine.processThrow(runningState.getLeg(), runningState, throwData);
+    }
+
+    @Benchmark
+    public int validateThrow() {
+        int valid = 0;
+        for (Throw throwData : scoredLegs[nextLeg()]) {
+            if (scoringEngine.validateThrow(throwData)) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public void detectEvent(Blackhole blackhole) {
+        int leg = nextLeg();
+        for (Throw throwData : scoredLegs[leg]) {
+            blackhole.consume(scoringEngine.detectEvent(midLegStates[leg], throwData));
+        }
+    }
+
+    @Benchmark
+    public void liveView(Blackhole blackhole) {
+        LiveLegState state = midLegStates[nextLeg()];
+        for (int side = LiveLegState.HOME; side <= LiveLegState.AWAY; side++) {
+            blackhole.consume(state.getRemaining(side));
+            blackhole.consume(state.getAverage(side));
+            blackhole.consume(state.getLastThrowString(side));
+            blackhole.consume(scoringEngine.suggestCheckout(state, side));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.dartclub.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AsyncConfig - Executor für asynchrone Domain-Events (ScoringEventBus)
+ *
+ * - Feste Anzahl Threads mit begrenzter Queue (dartclub.events.*)
+ * - Backpressure: ist die Queue voll, wartet der Aufrufer höchstens
+ *   offer-timeout-ms auf einen freien Platz, danach wird abgelehnt
+ *   (RejectedExecutionException, der Bus verwirft und zählt das Event)
+ * - Beim Herunterfahren werden wartende Events noch kurz abgearbeitet
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Configuration
+public class AsyncConfig {
+
+    @Value("${dartclub.events.pool-size:2}")
+    private int poolSize;
+
+    @Value("${dartclub.events.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${dartclub.events.offer-timeout-ms:50}")
+    private long offerTimeoutMs;
+
+    @Bean(name = "scoringEventExecutor")
+    public ThreadPoolTaskExecutor scoringEventExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("scoring-events-");
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            if (pool.isShutdown()) {
+                throw new RejectedExecutionException("Event-Executor ist heruntergefahren");
+            }
+            try {
+                if (!pool.getQueue().offer(task, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    throw new RejectedExecutionException("Event-Queue voll");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Unterbrochen beim Warten auf die Event-Queue", e);
+            }
+        });
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(5);
+        executor.initialize();
+        return executor;
+    }
+}
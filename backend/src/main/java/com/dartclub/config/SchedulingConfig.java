@@ -0,0 +1,18 @@
+package com.dartclub.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * SchedulingConfig - Periodische Hintergrund-Jobs (@Scheduled)
+ *
+ * - Flush der Bestenlisten (LeaderboardService)
+ * - Flush der Segment-Heatmaps (HeatmapService)
+ * - Inkrementeller Refresh der Monats-Rollups (RollupRefreshJob)
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,16 +1,22 @@
 package com.dartclub.controller;
 
 import com.dartclub.model.entity.Match;
+import com.dartclub.service.LiveScoringStreamHub;
+import com.dartclub.security.JwtTokenProvider;
 import com.dartclub.service.MatchService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.security.Principal;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -24,6 +30,9 @@ import java.util.UUID;
  * - DELETE /api/matches/{id}         - Match loeschen
  * - POST   /api/matches/{id}/start   - Match starten
  * - POST   /api/matches/{id}/finalize - Match beenden
+ * - GET    /api/matches/{id}/live     - Live-Scoring Daten
+ * - POST   /api/matches/{id}/stream-token - Kurzlebiger Token für den SSE-Stream
+ * - GET    /api/matches/{id}/stream   - Live-Deltas als Server-Sent Events
  *
  * @author Hans Hahn - Alle Rechte vorbehalten
  */
@@ -35,6 +44,8 @@ import java.util.UUID;
 public class MatchController {
 
     private final MatchService matchService;
+    private final LiveScoringStreamHub liveScoringStreamHub;
+    private final JwtTokenProvider jwtTokenProvider;
 
     /**
      * Helper: Extract orgId from JWT (via request attribute) or header
@@ -216,4 +227,84 @@ public class MatchController {
         com.dartclub.model.dto.response.LiveScoringResponseDTO liveData = matchService.getLiveData(id, orgId);
         return ResponseEntity.ok(liveData);
     }
+
+    /**
+     * Kurzlebigen Token für den SSE-Stream dieses Matches ausstellen
+     *
+     * Der Token wird als ?access_token= an /stream gehängt und gilt nur dort
+     * (Standard 60s, jwt.stream-expiration). Geprüft wird nur beim Verbindungsaufbau;
+     * solange der Stream offen ist, liefert er per "token"-Event laufend einen
+     * frischen Token für den nächsten Reconnect.
+     */
+    @PostMapping("/{id}/stream-token")
+    public ResponseEntity<Map<String, Object>> createStreamToken(
+            HttpServletRequest servletRequest,
+            @RequestHeader(value = "X-Org-Id", required = false) UUID headerOrgId,
+            @PathVariable UUID id,
+            Principal principal) {
+
+        UUID orgId = getOrgId(servletRequest, headerOrgId);
+        if (orgId == null) {
+            throw new RuntimeException("Organization ID nicht gefunden. Bitte neu einloggen.");
+        }
+
+        log.info("POST /api/matches/{}/stream-token - orgId: {}", id, orgId);
+
+        // Prüft Zugehörigkeit zur Organisation
+        matchService.getMatchById(id, orgId);
+
+        String token = jwtTokenProvider.generateStreamToken(principal.getName(), orgId, id);
+        return ResponseEntity.ok(Map.of(
+                "token", token,
+                "expiresIn", jwtTokenProvider.getStreamExpiration()
+        ));
+    }
+
+    /**
+     * Live-Deltas als Server-Sent Events (für Anzeigen ohne WebSocket-Support)
+     *
+     * Sendet dieselben Deltas wie /topic/matches/{id}, alle 15s einen Heartbeat
+     * mit frischem Stream-Token ("token"-Event).
+     * EventSource kann keine Header setzen, daher wird ein Stream-Token aus
+     * /stream-token als ?access_token= akzeptiert (nicht der normale JWT).
+     *
+     * Reconnect: Der automatische Reconnect von EventSource scheitert, sobald
+     * der Token in der URL abgelaufen ist. Der Client verbindet dann selbst neu,
+     * mit dem zuletzt empfangenen Token und der letzten Event-ID als
+     * ?lastEventId= (gleichwertig zum Last-Event-ID-Header). Mit ID werden nur
+     * die verpassten Deltas nachgeliefert, ohne ID kommt zuerst "resync".
+     */
+    @GetMapping(value = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLiveData(
+            HttpServletRequest servletRequest,
+            @RequestHeader(value = "X-Org-Id", required = false) UUID headerOrgId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(value = "lastEventId", required = false) String lastEventIdParam,
+            @PathVariable UUID id,
+            Principal principal) {
+
+        UUID orgId = getOrgId(servletRequest, headerOrgId);
+        if (orgId == null) {
+            throw new RuntimeException("Organization ID nicht gefunden. Bitte neu einloggen.");
+        }
+
+        String lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+        log.info("GET /api/matches/{}/stream - orgId: {}, Last-Event-ID: {}", id, orgId, lastEventId);
+
+        // Prüft Zugehörigkeit zur Organisation
+        matchService.getMatchById(id, orgId);
+
+        Long resumeFrom = null;
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            try {
+                resumeFrom = Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                log.warn("Ungültige Last-Event-ID: {}", lastEventId);
+            }
+        }
+
+        String subject = principal.getName();
+        return liveScoringStreamHub.subscribe(id, resumeFrom,
+                () -> jwtTokenProvider.generateStreamToken(subject, orgId, id));
+    }
 }
@@ -1,19 +1,28 @@
 package com.dartclub.controller;
 
 import com.dartclub.model.dto.request.BustRequest;
-import com.dartclub.model.dto.request.DartInput;
+import com.dartclub.model.dto.request.DartRequest;
+import com.dartclub.model.dto.request.ThrowBatchRequest;
+import com.dartclub.model.dto.request.ThrowCorrectionRequest;
 import com.dartclub.model.dto.request.ThrowRequest;
+import com.dartclub.model.dto.response.CheckoutResponseDTO;
+import com.dartclub.model.dto.response.DartResponseDTO;
+import com.dartclub.model.dto.response.LegEventDTO;
 import com.dartclub.model.dto.response.LiveScoringLegDTO;
-import com.dartclub.model.dto.response.LiveScoringPlayerDTO;
+import com.dartclub.model.dto.response.ThrowBatchResponseDTO;
 import com.dartclub.model.dto.response.ThrowResponseDTO;
 import com.dartclub.model.entity.Leg;
-import com.dartclub.model.entity.Member;
+import com.dartclub.model.entity.Match;
 import com.dartclub.model.entity.Throw;
-import com.dartclub.repository.LegRepository;
-import com.dartclub.repository.MemberRepository;
-import com.dartclub.repository.ThrowRepository;
+import com.dartclub.service.DartScoringService;
+import com.dartclub.service.LegEventLog;
+import com.dartclub.service.LiveLegState;
+import com.dartclub.service.LiveLegStateCache;
 import com.dartclub.service.MatchService;
 import com.dartclub.service.ScoringEngine;
+import com.dartclub.service.ThrowBatchService;
+import com.dartclub.service.ThrowCorrectionService;
+import com.dartclub.service.VisitScoringService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -30,7 +39,13 @@ import java.util.UUID;
  * Endpoints:
  * - GET  /api/matches/{matchId}/current-leg - Aktuelles Leg abrufen
  * - POST /api/matches/{matchId}/throws - Wurf eintragen
+ * - POST /api/matches/{matchId}/darts - Einzelnen Dart eintragen (Aufnahme wird dartweise gewertet)
+ * - POST /api/matches/{matchId}/throws:batch - Mehrere Aufnahmen eintragen (Offline-Sync)
+ * - DELETE /api/matches/{matchId}/throws/last - Letzte Aufnahme zurücknehmen
+ * - PUT  /api/matches/{matchId}/throws/{throwId} - Aufnahme korrigieren
+ * - GET  /api/matches/{matchId}/legs/{legId}/events - Event-Log eines Legs (Replay/Audit)
  * - POST /api/matches/{matchId}/bust   - Bust markieren
+ * - GET  /api/matches/{matchId}/checkout?remaining= - Checkout-Empfehlungen
  *
  * @author Hans Hahn - Alle Rechte vorbehalten
  */
@@ -43,9 +58,12 @@ public class ScoringController {
     
     private final MatchService matchService;
     private final ScoringEngine scoringEngine;
-    private final LegRepository legRepository;
-    private final ThrowRepository throwRepository;
-    private final MemberRepository memberRepository;
+    private final LiveLegStateCache liveLegStateCache;
+    private final ThrowBatchService throwBatchService;
+    private final ThrowCorrectionService throwCorrectionService;
+    private final DartScoringService dartScoringService;
+    private final VisitScoringService visitScoringService;
+    private final LegEventLog legEventLog;
     
     /**
      * Helper: Extract orgId from JWT (via request attribute) or header
@@ -55,6 +73,26 @@ public class ScoringController {
         return orgId != null ? orgId : headerOrgId;
     }
 
+    /**
+     * Helper: Client-Sequenznummer gegen den Live-State prüfen (Aufruf unter dem Lock des States)
+     * 
+     * @return Antwort der bereits verarbeiteten Aufnahme (gemerkt oder aus dem Wurf aufgebaut); null, wenn sie neu ist
+     */
+    private ThrowResponseDTO replayOrCheckSequence(LiveLegState state, Integer seq) {
+        if (seq == null) {
+            return null;
+        }
+        int expected = state.getVisitCount() + 1;
+        if (seq == expected) {
+            return null;
+        }
+        if (seq > expected) {
+            throw new IllegalStateException("Aufnahme " + seq + " außerhalb der Reihenfolge, erwartet wird " + expected);
+        }
+        log.info("Wiederholte Aufnahme {} in Leg {} - ursprüngliche Antwort zurückgegeben", seq, state.getLeg().getId());
+        return visitScoringService.replayVisit(state, seq);
+    }
+
     /**
      * Aktuelles Leg eines Matches abrufen
      *
@@ -76,8 +114,10 @@ public class ScoringController {
         // Hole das aktuelle Leg über MatchService
         Leg currentLeg = matchService.getCurrentLeg(matchId, orgId);
 
-        LiveScoringLegDTO legDTO = buildLegDTO(currentLeg);
-        return ResponseEntity.ok(legDTO);
+        LiveLegState state = liveLegStateCache.get(currentLeg);
+        synchronized (state) {
+            return ResponseEntity.ok(matchService.buildLegDTO(state));
+        }
     }
 
     /**
@@ -88,6 +128,7 @@ public class ScoringController {
      * Request Body:
      * {
      *   "legId": "uuid",
+     *   "seq": 7,
      *   "darts": [
      *     { "multiplier": 3, "segment": 20 },
      *     { "multiplier": 3, "segment": 20 },
@@ -95,6 +136,10 @@ public class ScoringController {
      *   ]
      * }
      * 
+     * "seq" ist optional (laufende Aufnahme im Leg). Eine Wiederholung mit
+     * bereits verarbeiteter Nummer liefert die ursprüngliche Antwort ohne
+     * erneutes Speichern, eine Lücke wird mit 400 abgelehnt.
+     * 
      * Response:
      * {
      *   "throwId": "uuid",
@@ -121,85 +166,40 @@ public class ScoringController {
         
         log.info("POST /api/matches/{}/throws - legId: {}", matchId, request.getLegId());
         
-        // Leg laden
-        Leg leg = legRepository.findById(request.getLegId())
-                .orElseThrow(() -> new RuntimeException("Leg nicht gefunden"));
-        
-        // Prüfe ob Leg bereits beendet
-        if (leg.getFinishedAt() != null) {
-            throw new RuntimeException("Leg ist bereits beendet");
-        }
-        
-        // Bestimme aktuellen Spieler
-        List<Throw> homeThrows = throwRepository.findByLegIdAndMemberIdOrderByThrowNoAsc(leg.getId(), leg.getHomeMemberId());
-        List<Throw> awayThrows = throwRepository.findByLegIdAndMemberIdOrderByThrowNoAsc(leg.getId(), leg.getAwayMemberId());
-        
-        boolean isHomeTurn = homeThrows.size() <= awayThrows.size();
-        UUID currentMemberId = isHomeTurn ? leg.getHomeMemberId() : leg.getAwayMemberId();
-        
-        // Berechne Restpunkte des aktuellen Spielers
-        List<Throw> playerThrows = isHomeTurn ? homeThrows : awayThrows;
-        Integer remainingScore = calculateRemainingScore(leg.getStartingScore(), playerThrows);
-        
-        // Erstelle Throw-Entity
-        DartInput dart1 = request.getDarts().get(0);
-        DartInput dart2 = request.getDarts().get(1);
-        DartInput dart3 = request.getDarts().get(2);
-        
-        Throw throwEntity = Throw.builder()
-                .legId(request.getLegId())
-                .memberId(currentMemberId)
-                .throwNo(playerThrows.size() + 1)
-                .dart1Multiplier(dart1.getMultiplier())
-                .dart1Segment(dart1.getSegment())
-                .dart2Multiplier(dart2.getMultiplier())
-                .dart2Segment(dart2.getSegment())
-                .dart3Multiplier(dart3.getMultiplier())
-                .dart3Segment(dart3.getSegment())
-                .remainingScore(remainingScore)
-                .build();
+        // Live-State laden (DB nur bei Cache-Miss)
+        LiveLegState state = liveLegStateCache.get(request.getLegId());
         
-        // Validiere Wurf
-        if (!scoringEngine.validateThrow(throwEntity)) {
-            throw new RuntimeException("Ungültiger Wurf");
-        }
-        
-        // Verarbeite Wurf mit ScoringEngine
-        ScoringEngine.ThrowResult result = scoringEngine.processThrow(leg, throwEntity);
-        
-        // Speichere Wurf
-        throwEntity = throwRepository.save(throwEntity);
-        
-        // Event-Detection
-        String event = scoringEngine.detectEvent(throwEntity);
-        if (event != null) {
-            log.info("Event detected: {} in Leg {}", event, leg.getId());
-        }
-        
-        // Leg beenden bei Checkout
-        boolean legFinished = false;
-        if (result.isCheckout()) {
-            matchService.finalizeLeg(leg, currentMemberId, throwEntity.getThrowNo() * 3, throwEntity.getThrowTotal());
-            legFinished = true;
-            log.info("Leg {} beendet durch Checkout von Member {}", leg.getId(), currentMemberId);
+        synchronized (state) {
+            Leg leg = state.getLeg();
+            
+            // Wiederholung einer bereits verarbeiteten Aufnahme?
+            ThrowResponseDTO replay = replayOrCheckSequence(state, request.getSeq());
+            if (replay != null) {
+                return ResponseEntity.ok(replay);
+            }
+            
+            // Prüfe ob Leg bereits beendet
+            if (leg.getFinishedAt() != null) {
+                throw new RuntimeException("Leg ist bereits beendet");
+            }
+            
+            // Erstelle Throw-Entity für den Spieler am Zug
+            Throw throwEntity = scoringEngine.createVisit(state, request.getDarts());
+            
+            // Validiere Wurf
+            if (!scoringEngine.validateThrow(throwEntity)) {
+                throw new RuntimeException("Ungültiger Wurf");
+            }
+            
+            try {
+                // Wurf, Event-Log, Statistik und Leg-Abschluss in einer Transaktion (Commit noch unter dem Lock)
+                return ResponseEntity.ok(visitScoringService.submitVisit(state, throwEntity));
+            } catch (RuntimeException e) {
+                // State ist evtl. schon fortgeschrieben - beim nächsten Zugriff neu aufbauen
+                liveLegStateCache.evict(request.getLegId());
+                throw e;
+            }
         }
-        
-        // Aktualisierte Leg-Daten laden
-        LiveScoringLegDTO legDTO = buildLegDTO(leg);
-        
-        // Response erstellen
-        ThrowResponseDTO response = ThrowResponseDTO.builder()
-                .throwId(throwEntity.getId())
-                .throwTotal(throwEntity.getThrowTotal())
-                .remainingScore(throwEntity.getRemainingScore())
-                .isCheckout(throwEntity.getIsCheckout())
-                .isBust(throwEntity.getIsBust())
-                .event(event)
-                .legFinished(legFinished)
-                .leg(legDTO)
-                .build();
-        
-        return ResponseEntity.ok(response);
     }
     
     /**
@@ -209,7 +209,8 @@ public class ScoringController {
      * 
      * Request Body:
      * {
-     *   "legId": "uuid"
+     *   "legId": "uuid",
+     *   "seq": 8
      * }
      * 
      * Response:
@@ -231,157 +232,255 @@ public class ScoringController {
         
         log.info("POST /api/matches/{}/bust - legId: {}", matchId, request.getLegId());
         
-        // Leg laden
-        Leg leg = legRepository.findById(request.getLegId())
-                .orElseThrow(() -> new RuntimeException("Leg nicht gefunden"));
+        // Live-State laden (DB nur bei Cache-Miss)
+        LiveLegState state = liveLegStateCache.get(request.getLegId());
         
-        // Prüfe ob Leg bereits beendet
-        if (leg.getFinishedAt() != null) {
-            throw new RuntimeException("Leg ist bereits beendet");
+        synchronized (state) {
+            Leg leg = state.getLeg();
+            
+            // Wiederholung einer bereits verarbeiteten Aufnahme?
+            ThrowResponseDTO replay = replayOrCheckSequence(state, request.getSeq());
+            if (replay != null) {
+                return ResponseEntity.ok(replay);
+            }
+            
+            // Prüfe ob Leg bereits beendet
+            if (leg.getFinishedAt() != null) {
+                throw new RuntimeException("Leg ist bereits beendet");
+            }
+            
+            // Erstelle Bust-Wurf (0, 0, 0) für den Spieler am Zug
+            Throw bustThrow = scoringEngine.createBust(state);
+            
+            try {
+                return ResponseEntity.ok(visitScoringService.markBust(state, bustThrow));
+            } catch (RuntimeException e) {
+                // State ist evtl. schon fortgeschrieben - beim nächsten Zugriff neu aufbauen
+                liveLegStateCache.evict(request.getLegId());
+                throw e;
+            }
         }
+    }
+    
+    /**
+     * Mehrere Aufnahmen auf einmal eintragen (z.B. nach Verbindungsabbruch)
+     * 
+     * POST /api/matches/{matchId}/throws:batch
+     * 
+     * Request Body:
+     * {
+     *   "visits": [
+     *     { "legId": "uuid", "darts": [ ... ] },
+     *     { "bust": true },
+     *     { "darts": [ ... ] }
+     *   ]
+     * }
+     * 
+     * Ohne legId wird das jeweils aktuelle Leg verwendet. Alle Aufnahmen
+     * werden in einer Transaktion gespeichert - schlägt eine fehl, wird
+     * keine übernommen.
+     * 
+     * Response:
+     * {
+     *   "accepted": 3,
+     *   "finishedLegIds": [],
+     *   "matchFinished": false,
+     *   "leg": { ... }
+     * }
+     */
+    @PostMapping("/{matchId}/throws:batch")
+    public ResponseEntity<ThrowBatchResponseDTO> submitThrowBatch(
+            HttpServletRequest servletRequest,
+            @RequestHeader(value = "X-Org-Id", required = false) UUID headerOrgId,
+            @PathVariable UUID matchId,
+            @Valid @RequestBody ThrowBatchRequest request) {
         
-        // Bestimme aktuellen Spieler
-        List<Throw> homeThrows = throwRepository.findByLegIdAndMemberIdOrderByThrowNoAsc(leg.getId(), leg.getHomeMemberId());
-        List<Throw> awayThrows = throwRepository.findByLegIdAndMemberIdOrderByThrowNoAsc(leg.getId(), leg.getAwayMemberId());
-        
-        boolean isHomeTurn = homeThrows.size() <= awayThrows.size();
-        UUID currentMemberId = isHomeTurn ? leg.getHomeMemberId() : leg.getAwayMemberId();
-        
-        // Berechne Restpunkte des aktuellen Spielers
-        List<Throw> playerThrows = isHomeTurn ? homeThrows : awayThrows;
-        Integer remainingScore = calculateRemainingScore(leg.getStartingScore(), playerThrows);
-        
-        // Erstelle Bust-Wurf (0, 0, 0)
-        Throw bustThrow = Throw.builder()
-                .legId(request.getLegId())
-                .memberId(currentMemberId)
-                .throwNo(playerThrows.size() + 1)
-                .dart1Multiplier(0)
-                .dart1Segment(0)
-                .dart1Score(0)
-                .dart2Multiplier(0)
-                .dart2Segment(0)
-                .dart2Score(0)
-                .dart3Multiplier(0)
-                .dart3Segment(0)
-                .dart3Score(0)
-                .throwTotal(0)
-                .remainingScore(remainingScore) // Punkte bleiben gleich
-                .isBust(true)
-                .isCheckout(false)
-                .build();
-        
-        bustThrow = throwRepository.save(bustThrow);
-        log.info("Bust markiert für Member {} in Leg {}", currentMemberId, leg.getId());
-        
-        // Aktualisierte Leg-Daten laden
-        LiveScoringLegDTO legDTO = buildLegDTO(leg);
+        UUID orgId = getOrgId(servletRequest, headerOrgId);
+        if (orgId == null) {
+            throw new RuntimeException("Organization ID nicht gefunden. Bitte neu einloggen.");
+        }
         
-        // Response erstellen
-        ThrowResponseDTO response = ThrowResponseDTO.builder()
-                .throwId(bustThrow.getId())
-                .throwTotal(0)
-                .remainingScore(remainingScore)
-                .isCheckout(false)
-                .isBust(true)
-                .event(null)
-                .legFinished(false)
-                .leg(legDTO)
-                .build();
+        log.info("POST /api/matches/{}/throws:batch - {} Aufnahmen", matchId, request.getVisits().size());
         
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(throwBatchService.submitBatch(matchId, orgId, request.getVisits()));
     }
     
     /**
-     * Berechnet die Restpunkte eines Spielers basierend auf seinen Würfen
+     * Einzelnen Dart eintragen
+     * 
+     * POST /api/matches/{matchId}/darts
+     * 
+     * Request Body:
+     * {
+     *   "legId": "uuid",
+     *   "multiplier": 2,
+     *   "segment": 16,
+     *   "seq": 7,
+     *   "dartNo": 2
+     * }
+     * 
+     * Bust oder Checkout beenden die Aufnahme sofort, sonst nach dem 3. Dart;
+     * erst dann wird sie gespeichert ("visit" in der Antwort). Solange eine
+     * Aufnahme dartweise läuft, werden komplette Aufnahmen abgelehnt.
+     * "seq"/"dartNo" sind optional und erkennen Wiederholungen.
+     * 
+     * Response:
+     * {
+     *   "dartNo": 2,
+     *   "dartScore": 32,
+     *   "remainingScore": 0,
+     *   "isBust": false,
+     *   "isCheckout": true,
+     *   "visitComplete": true,
+     *   "visit": { ... },
+     *   "leg": { ... }
+     * }
      */
-    private Integer calculateRemainingScore(Integer startingScore, List<Throw> throwsList) {
-        int remaining = startingScore;
-        for (Throw t : throwsList) {
-            if (!t.getIsBust()) {
-                remaining -= t.getThrowTotal();
-            }
+    @PostMapping("/{matchId}/darts")
+    public ResponseEntity<DartResponseDTO> submitDart(
+            HttpServletRequest servletRequest,
+            @RequestHeader(value = "X-Org-Id", required = false) UUID headerOrgId,
+            @PathVariable UUID matchId,
+            @Valid @RequestBody DartRequest request) {
+        
+        UUID orgId = getOrgId(servletRequest, headerOrgId);
+        if (orgId == null) {
+            throw new RuntimeException("Organization ID nicht gefunden. Bitte neu einloggen.");
         }
-        return remaining;
+        
+        log.debug("POST /api/matches/{}/darts - legId: {}", matchId, request.getLegId());
+        
+        return ResponseEntity.ok(dartScoringService.submitDart(matchId, orgId, request));
     }
     
     /**
-     * Erstellt ein LiveScoringLegDTO mit aktuellen Daten
+     * Letzte Aufnahme des Matches zurücknehmen
+     * 
+     * DELETE /api/matches/{matchId}/throws/last
+     * 
+     * War die Aufnahme ein Checkout, wird auch das Leg-Ende (und ggf.
+     * Set-/Match-Ende) zurückgenommen und das Folge-Leg wieder entfernt.
+     * 
+     * Response: Leg-Daten nach der Rücknahme
      */
-    private LiveScoringLegDTO buildLegDTO(Leg leg) {
-        // Spieler-Daten laden
-        Member homeMember = memberRepository.findById(leg.getHomeMemberId())
-                .orElseThrow(() -> new RuntimeException("Home Player nicht gefunden"));
-        Member awayMember = memberRepository.findById(leg.getAwayMemberId())
-                .orElseThrow(() -> new RuntimeException("Away Player nicht gefunden"));
+    @DeleteMapping("/{matchId}/throws/last")
+    public ResponseEntity<LiveScoringLegDTO> undoLastThrow(
+            HttpServletRequest servletRequest,
+            @RequestHeader(value = "X-Org-Id", required = false) UUID headerOrgId,
+            @PathVariable UUID matchId) {
         
-        // Würfe laden
-        List<Throw> homeThrows = throwRepository.findByLegIdAndMemberIdOrderByThrowNoAsc(leg.getId(), homeMember.getId());
-        List<Throw> awayThrows = throwRepository.findByLegIdAndMemberIdOrderByThrowNoAsc(leg.getId(), awayMember.getId());
+        UUID orgId = getOrgId(servletRequest, headerOrgId);
+        if (orgId == null) {
+            throw new RuntimeException("Organization ID nicht gefunden. Bitte neu einloggen.");
+        }
         
-        // Restpunkte berechnen
-        Integer homeRemaining = calculateRemainingScore(leg.getStartingScore(), homeThrows);
-        Integer awayRemaining = calculateRemainingScore(leg.getStartingScore(), awayThrows);
+        log.info("DELETE /api/matches/{}/throws/last", matchId);
         
-        // Average berechnen
-        Double homeAverage = calculateAverage(homeThrows);
-        Double awayAverage = calculateAverage(awayThrows);
+        return ResponseEntity.ok(throwCorrectionService.undoLastVisit(matchId, orgId));
+    }
+    
+    /**
+     * Aufnahme korrigieren
+     * 
+     * PUT /api/matches/{matchId}/throws/{throwId}
+     * 
+     * Request Body:
+     * {
+     *   "darts": [ ... ]
+     * }
+     * oder
+     * {
+     *   "bust": true
+     * }
+     * 
+     * Nur die jeweils letzte Aufnahme eines Spielers kann korrigiert werden.
+     * 
+     * Response: wie POST /throws
+     */
+    @PutMapping("/{matchId}/throws/{throwId}")
+    public ResponseEntity<ThrowResponseDTO> correctThrow(
+            HttpServletRequest servletRequest,
+            @RequestHeader(value = "X-Org-Id", required = false) UUID headerOrgId,
+            @PathVariable UUID matchId,
+            @PathVariable UUID throwId,
+            @Valid @RequestBody ThrowCorrectionRequest request) {
         
-        // Letzter Wurf
-        String homeLastThrow = getLastThrowString(homeThrows);
-        String awayLastThrow = getLastThrowString(awayThrows);
+        UUID orgId = getOrgId(servletRequest, headerOrgId);
+        if (orgId == null) {
+            throw new RuntimeException("Organization ID nicht gefunden. Bitte neu einloggen.");
+        }
         
-        // Aktueller Spieler
-        String currentPlayer = homeThrows.size() <= awayThrows.size() ? "home" : "away";
+        log.info("PUT /api/matches/{}/throws/{}", matchId, throwId);
         
-        return LiveScoringLegDTO.builder()
-                .id(leg.getId())
-                .setNumber(1) // TODO: Get from Set entity
-                .legNumber(leg.getLegNo())
-                .homePlayer(LiveScoringPlayerDTO.builder()
-                        .id(homeMember.getId())
-                        .name(homeMember.getFirstName() + " " + homeMember.getLastName())
-                        .remainingScore(homeRemaining)
-                        .average(homeAverage)
-                        .lastThrow(homeLastThrow)
-                        .build())
-                .awayPlayer(LiveScoringPlayerDTO.builder()
-                        .id(awayMember.getId())
-                        .name(awayMember.getFirstName() + " " + awayMember.getLastName())
-                        .remainingScore(awayRemaining)
-                        .average(awayAverage)
-                        .lastThrow(awayLastThrow)
-                        .build())
-                .currentPlayer(currentPlayer)
-                .build();
+        return ResponseEntity.ok(throwCorrectionService.correctVisit(matchId, orgId, throwId, request));
     }
     
     /**
-     * Berechnet den 3-Dart-Average
+     * Event-Log eines Legs abrufen (Replay für die Anzeige, Audit bei strittigen Scores)
+     * 
+     * GET /api/matches/{matchId}/legs/{legId}/events
+     * 
+     * Response:
+     * [
+     *   { "seq": 1, "type": "VISIT", "player": "home", "throwNo": 1, "score": 100, "remaining": 401, ... },
+     *   { "seq": 2, "type": "UNDO", "player": "home", ... }
+     * ]
      */
-    private Double calculateAverage(List<Throw> throwsList) {
-        if (throwsList.isEmpty()) {
-            return 0.0;
+    @GetMapping("/{matchId}/legs/{legId}/events")
+    public ResponseEntity<List<LegEventDTO>> getLegEvents(
+            HttpServletRequest servletRequest,
+            @RequestHeader(value = "X-Org-Id", required = false) UUID headerOrgId,
+            @PathVariable UUID matchId,
+            @PathVariable UUID legId) {
+        
+        UUID orgId = getOrgId(servletRequest, headerOrgId);
+        if (orgId == null) {
+            throw new RuntimeException("Organization ID nicht gefunden. Bitte neu einloggen.");
         }
-        int totalScore = throwsList.stream()
-                .filter(t -> !t.getIsBust())
-                .mapToInt(Throw::getThrowTotal)
-                .sum();
-        return (double) totalScore / throwsList.size();
+        
+        // Prüft Zugehörigkeit des Matches zur Organisation
+        matchService.getMatchById(matchId, orgId);
+        
+        return ResponseEntity.ok(legEventLog.getEvents(matchId, legId));
     }
     
     /**
-     * Formatiert den letzten Wurf als String
+     * Checkout-Empfehlungen für einen Restwert
+     * 
+     * GET /api/matches/{matchId}/checkout?remaining=121&limit=3
+     * 
+     * Response:
+     * {
+     *   "remaining": 121,
+     *   "doubleOut": true,
+     *   "minDarts": 3,
+     *   "suggestions": ["T20 T15 D8", "T19 T16 D8", "T18 T17 D8"]
+     * }
      */
-    private String getLastThrowString(List<Throw> throwsList) {
-        if (throwsList.isEmpty()) {
-            return null;
+    @GetMapping("/{matchId}/checkout")
+    public ResponseEntity<CheckoutResponseDTO> getCheckout(
+            HttpServletRequest servletRequest,
+            @RequestHeader(value = "X-Org-Id", required = false) UUID headerOrgId,
+            @PathVariable UUID matchId,
+            @RequestParam int remaining,
+            @RequestParam(defaultValue = "3") int limit) {
+        
+        UUID orgId = getOrgId(servletRequest, headerOrgId);
+        if (orgId == null) {
+            throw new RuntimeException("Organization ID nicht gefunden. Bitte neu einloggen.");
         }
-        Throw lastThrow = throwsList.get(throwsList.size() - 1);
-        return String.format("%d, %d, %d (%d)",
-                lastThrow.getDart1Score(),
-                lastThrow.getDart2Score(),
-                lastThrow.getDart3Score(),
-                lastThrow.getThrowTotal());
+        
+        // Master-Out nutzt die Double-Out-Tabelle
+        Match match = matchService.getMatchById(matchId, orgId);
+        boolean doubleOut = !Boolean.FALSE.equals(match.getDoubleOut()) || Boolean.TRUE.equals(match.getMasterOut());
+        
+        CheckoutResponseDTO response = CheckoutResponseDTO.builder()
+                .remaining(remaining)
+                .doubleOut(doubleOut)
+                .minDarts(scoringEngine.minCheckoutDarts(remaining, doubleOut))
+                .suggestions(scoringEngine.suggestCheckouts(remaining, doubleOut, Math.max(limit, 1)))
+                .build();
+        
+        return ResponseEntity.ok(response);
     }
 }
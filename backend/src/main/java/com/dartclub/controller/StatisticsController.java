@@ -0,0 +1,335 @@
+package com.dartclub.controller;
+
+import com.dartclub.model.dto.response.DoubleStatsDTO;
+import com.dartclub.model.dto.response.FormCurveDTO;
+import com.dartclub.model.dto.response.HeadToHeadDTO;
+import com.dartclub.model.dto.response.HeatmapDTO;
+import com.dartclub.model.dto.response.LeaderboardDTO;
+import com.dartclub.model.dto.response.MatchupDTO;
+import com.dartclub.model.dto.response.PlayerStatsDTO;
+import com.dartclub.model.dto.response.RatingDTO;
+import com.dartclub.model.dto.response.RatingHistoryDTO;
+import com.dartclub.model.dto.response.RollupSummaryDTO;
+import com.dartclub.model.dto.response.StatisticsRecomputeStatusDTO;
+import com.dartclub.model.enums.LeaderboardMetric;
+import com.dartclub.service.FormCurveService;
+import com.dartclub.service.HeadToHeadService;
+import com.dartclub.service.HeatmapService;
+import com.dartclub.service.RollupService;
+import com.dartclub.service.StatisticsRecomputeJob;
+import com.dartclub.service.StatisticsService;
+import com.dartclub.service.leaderboard.LeaderboardService;
+import com.dartclub.service.rating.RatingRecomputeJob;
+import com.dartclub.service.rating.RatingService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * StatisticsController - REST API für Spielerstatistiken und Bestenlisten
+ *
+ * Endpoints:
+ * - GET /api/statistics/players/{memberId} - X01-Statistik eines Spielers
+ * - POST /api/statistics/players/{memberId}/recompute - Statistik aus allen Würfen neu berechnen
+ * - GET /api/statistics/players/{memberId}/heatmap?season= - Segment-Heatmap (ohne season gesamt)
+ * - GET /api/statistics/players/{memberId}/doubles - Checkout-Quote pro Doppelfeld
+ * - GET /api/statistics/leaderboards/{metric}?season=&limit= - Bestenliste der Organisation
+ *   (average, most_180s, highest_checkout, fewest_darts; ohne season die laufende Saison)
+ * - GET /api/statistics/players/{memberId}/form?points=&from=&to= - Formkurve (Average pro Leg, LTTB-ausgedünnt)
+ * - GET /api/statistics/players/{memberId}/head-to-head/{opponentId}?limit= - Bilanz gegen einen Gegner
+ * - GET /api/statistics/players/{memberId}/summary?season= - Saisonübersicht pro Monat (Rollups)
+ * - GET /api/statistics/teams/{teamId}/summary?season= - Team-Saisonübersicht pro Monat und Spieler (Rollups)
+ * - GET /api/statistics/ratings - Rating-Liste der Organisation
+ * - GET /api/statistics/ratings/matchup?home=&away= - Erwartetes Ergebnis einer Paarung
+ * - POST /api/statistics/ratings/recompute - Ratings der Organisation aus allen Matches neu berechnen
+ * - GET /api/statistics/players/{memberId}/ratings - Rating-Verlauf eines Spielers
+ * - POST /api/statistics/recompute - Alle Statistiken der Organisation im Hintergrund neu berechnen
+ * - GET /api/statistics/recompute/status - Fortschritt und Durchsatz der Neuberechnung
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@RestController
+@RequestMapping("/api/statistics")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class StatisticsController {
+
+    private final StatisticsService statisticsService;
+    private final LeaderboardService leaderboardService;
+    private final HeatmapService heatmapService;
+    private final FormCurveService formCurveService;
+    private final HeadToHeadService headToHeadService;
+    private final RollupService rollupService;
+    private final RatingService ratingService;
+    private final RatingRecomputeJob ratingRecomputeJob;
+    private final StatisticsRecomputeJob statisticsRecomputeJob;
+
+    /**
+     * Helper: Extract orgId from JWT (via request attribute) or header
+     */
+    private UUID getOrgId(HttpServletRequest request, @RequestHeader(value = "X-Org-Id", required = false) UUID headerOrgId) {
+        UUID orgId = (UUID) request.getAttribute("orgId");
+        return orgId != null ? orgId : headerOrgId;
+    }
+
+    /**
+     * Statistik eines Spielers
+     * GET /api/statistics/players/{memberId}
+     */
+    @GetMapping("/players/{memberId}")
+    public ResponseEntity<PlayerStatsDTO> getPlayerStats(
+            @PathVariable UUID memberId,
+            HttpServletRequest servletRequest,
+            @RequestHeader(value = "X-Org-Id", required = false) UUID headerOrgId) {
+        UUID orgId = getOrgId(servletRequest, headerOrgId);
+        if (orgId == null) {
+            throw new RuntimeException("Organization ID nicht gefunden. Bitte neu einloggen.");
+        }
+        return ResponseEntity.ok(statisticsService.getPlayerStats(memberId, orgId));
+    }
+
+    /**
+     * Statistik eines Spielers aus allen Würfen neu berechnen
+     * POST /api/statistics/players/{memberId}/recompute
+     */
+    @PostMapping("/players/{memberId}/recompute")
+    public ResponseEntity<PlayerStatsDTO> recomputePlayerStats(
+            @PathVariable UUID memberId,
+            HttpServletRequest servletRequest,
+            @RequestHeader(value = "X-Org-Id", required = false) UUID headerOrgId) {
+        UUID orgId = getOrgId(servletRequest, headerOrgId);
+        if (orgId == null) {
+            throw new RuntimeException("Organization ID nicht gefunden. Bitte neu einloggen.");
+        }
+        return ResponseEntity.ok(statisticsService.recomputePlayerStats(memberId, orgId));
+    }
+
+    /**
+     * Segment-Heatmap eines Spielers
+     * GET /api/statistics/players/{memberId}/heatmap?season=2025/26
+     */
+    @GetMapping("/players/{memberId}/heatmap")
+    public ResponseEntity<HeatmapDTO> getHeatmap(
+            @PathVariable UUID memberId,
+            @RequestParam(required = false) String season,
+            HttpServletRequest servletRequest,
+            @RequestHeader(value = "X-Org-Id", required = false) UUID headerOrgId) {
+        UUID orgId = getOrgId(servletRequest, headerOrgId);
+        if (orgId == null) {
+            throw new RuntimeException("Organization ID nicht gefunden. Bitte neu einloggen.");
+        }
+        return ResponseEntity.ok(heatmapService.getHeatmap(memberId, orgId, season));
+    }
+
+    /**
+     * Checkout-Quote eines Spielers pro Doppelfeld
+     * GET /api/statistics/players/{memberId}/doubles
+     */
+    @GetMapping("/players/{memberId}/doubles")
+    public ResponseEntity<DoubleStatsDTO> getDoubleStats(
+            @PathVariable UUID memberId,
+            HttpServletRequest servletRequest,
+            @RequestHeader(value = "X-Org-Id", required = false) UUID headerOrgId) {
+        UUID orgId = getOrgId(servletRequest, headerOrgId);
+        if (orgId == null) {
+            throw new RuntimeException("Organization ID nicht gefunden. Bitte neu einloggen.");
+        }
+        return ResponseEntity.ok(statisticsService.getDoubleStats(memberId, orgId));
+    }
+
+    /**
+     * Formkurve eines Spielers
+     * GET /api/statistics/players/{memberId}/form?points=300&from=2021-01-01T00:00:00Z
+     */
+    @GetMapping("/players/{memberId}/form")
+    public ResponseEntity<FormCurveDTO> getFormCurve(
+            @PathVariable UUID memberId,
+            @RequestParam(defaultValue = "300") int points,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime to,
+            HttpServletRequest servletRequest,
+            @RequestHeader(value = "X-Org-Id", required = false) UUID headerOrgId) {
+        UUID orgId = getOrgId(servletRequest, headerOrgId);
+        if (orgId == null) {
+            throw new RuntimeException("Organization ID nicht gefunden. Bitte neu einloggen.");
+        }
+        return ResponseEntity.ok(formCurveService.getFormCurve(memberId, orgId, from, to, points));
+    }
+
+    /**
+     * Bilanz eines Spielers gegen einen Gegner samt der letzten Matches
+     * GET /api/statistics/players/{memberId}/head-to-head/{opponentId}?limit=5
+     */
+    @GetMapping("/players/{memberId}/head-to-head/{opponentId}")
+    public ResponseEntity<HeadToHeadDTO> getHeadToHead(
+            @PathVariable UUID memberId,
+            @PathVariable UUID opponentId,
+            @RequestParam(defaultValue = "5") int limit,
+            HttpServletRequest servletRequest,
+            @RequestHeader(value = "X-Org-Id", required = false) UUID headerOrgId) {
+        UUID orgId = getOrgId(servletRequest, headerOrgId);
+        if (orgId == null) {
+            throw new RuntimeException("Organization ID nicht gefunden. Bitte neu einloggen.");
+        }
+        return ResponseEntity.ok(headToHeadService.getHeadToHead(orgId, memberId, opponentId, limit));
+    }
+
+    /**
+     * Saisonübersicht eines Spielers pro Monat
+     * GET /api/statistics/players/{memberId}/summary?season=2025/26
+     */
+    @GetMapping("/players/{memberId}/summary")
+    public ResponseEntity<RollupSummaryDTO> getPlayerSummary(
+            @PathVariable UUID memberId,
+            @RequestParam(required = false) String season,
+            HttpServletRequest servletRequest,
+            @RequestHeader(value = "X-Org-Id", required = false) UUID headerOrgId) {
+        UUID orgId = getOrgId(servletRequest, headerOrgId);
+        if (orgId == null) {
+            throw new RuntimeException("Organization ID nicht gefunden. Bitte neu einloggen.");
+        }
+        return ResponseEntity.ok(rollupService.getMemberSummary(memberId, orgId, season));
+    }
+
+    /**
+     * Saisonübersicht eines Teams pro Monat und Spieler
+     * GET /api/statistics/teams/{teamId}/summary?season=2025/26
+     */
+    @GetMapping("/teams/{teamId}/summary")
+    public ResponseEntity<RollupSummaryDTO> getTeamSummary(
+            @PathVariable UUID teamId,
+            @RequestParam(required = false) String season,
+            HttpServletRequest servletRequest,
+            @RequestHeader(value = "X-Org-Id", required = false) UUID headerOrgId) {
+        UUID orgId = getOrgId(servletRequest, headerOrgId);
+        if (orgId == null) {
+            throw new RuntimeException("Organization ID nicht gefunden. Bitte neu einloggen.");
+        }
+        return ResponseEntity.ok(rollupService.getTeamSummary(teamId, orgId, season));
+    }
+
+    /**
+     * Bestenliste der Organisation
+     * GET /api/statistics/leaderboards/{metric}?season=2025/26&limit=10
+     */
+    @GetMapping("/leaderboards/{metric}")
+    public ResponseEntity<LeaderboardDTO> getLeaderboard(
+            @PathVariable String metric,
+            @RequestParam(required = false) String season,
+            @RequestParam(defaultValue = "10") int limit,
+            HttpServletRequest servletRequest,
+            @RequestHeader(value = "X-Org-Id", required = false) UUID headerOrgId) {
+        UUID orgId = getOrgId(servletRequest, headerOrgId);
+        if (orgId == null) {
+            throw new RuntimeException("Organization ID nicht gefunden. Bitte neu einloggen.");
+        }
+        LeaderboardMetric leaderboardMetric;
+        try {
+            leaderboardMetric = LeaderboardMetric.valueOf(metric.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unbekannte Bestenliste: " + metric);
+        }
+        return ResponseEntity.ok(leaderboardService.getLeaderboard(orgId, leaderboardMetric, season, limit));
+    }
+
+    /**
+     * Rating-Liste der Organisation
+     * GET /api/statistics/ratings
+     */
+    @GetMapping("/ratings")
+    public ResponseEntity<List<RatingDTO>> getRatings(
+            HttpServletRequest servletRequest,
+            @RequestHeader(value = "X-Org-Id", required = false) UUID headerOrgId) {
+        UUID orgId = getOrgId(servletRequest, headerOrgId);
+        if (orgId == null) {
+            throw new RuntimeException("Organization ID nicht gefunden. Bitte neu einloggen.");
+        }
+        return ResponseEntity.ok(ratingService.getRatings(orgId));
+    }
+
+    /**
+     * Erwartetes Ergebnis einer Paarung
+     * GET /api/statistics/ratings/matchup?home={memberId}&away={memberId}
+     */
+    @GetMapping("/ratings/matchup")
+    public ResponseEntity<MatchupDTO> getMatchup(
+            @RequestParam UUID home,
+            @RequestParam UUID away,
+            HttpServletRequest servletRequest,
+            @RequestHeader(value = "X-Org-Id", required = false) UUID headerOrgId) {
+        UUID orgId = getOrgId(servletRequest, headerOrgId);
+        if (orgId == null) {
+            throw new RuntimeException("Organization ID nicht gefunden. Bitte neu einloggen.");
+        }
+        return ResponseEntity.ok(ratingService.getMatchup(orgId, home, away));
+    }
+
+    /**
+     * Ratings der Organisation aus allen beendeten Matches neu berechnen
+     * POST /api/statistics/ratings/recompute
+     */
+    @PostMapping("/ratings/recompute")
+    public ResponseEntity<Map<String, Integer>> recomputeRatings(
+            HttpServletRequest servletRequest,
+            @RequestHeader(value = "X-Org-Id", required = false) UUID headerOrgId) {
+        UUID orgId = getOrgId(servletRequest, headerOrgId);
+        if (orgId == null) {
+            throw new RuntimeException("Organization ID nicht gefunden. Bitte neu einloggen.");
+        }
+        return ResponseEntity.ok(Map.of("matches", ratingRecomputeJob.recompute(List.of(orgId))));
+    }
+
+    /**
+     * Rating-Verlauf eines Spielers
+     * GET /api/statistics/players/{memberId}/ratings
+     */
+    @GetMapping("/players/{memberId}/ratings")
+    public ResponseEntity<List<RatingHistoryDTO>> getRatingHistory(
+            @PathVariable UUID memberId,
+            HttpServletRequest servletRequest,
+            @RequestHeader(value = "X-Org-Id", required = false) UUID headerOrgId) {
+        UUID orgId = getOrgId(servletRequest, headerOrgId);
+        if (orgId == null) {
+            throw new RuntimeException("Organization ID nicht gefunden. Bitte neu einloggen.");
+        }
+        return ResponseEntity.ok(ratingService.getHistory(memberId, orgId));
+    }
+
+    /**
+     * Alle Statistiken der Organisation aus Legs und Würfen neu berechnen (läuft im Hintergrund)
+     * POST /api/statistics/recompute
+     */
+    @PostMapping("/recompute")
+    public ResponseEntity<StatisticsRecomputeStatusDTO> recomputeStatistics(
+            HttpServletRequest servletRequest,
+            @RequestHeader(value = "X-Org-Id", required = false) UUID headerOrgId) {
+        UUID orgId = getOrgId(servletRequest, headerOrgId);
+        if (orgId == null) {
+            throw new RuntimeException("Organization ID nicht gefunden. Bitte neu einloggen.");
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(statisticsRecomputeJob.start(List.of(orgId)));
+    }
+
+    /**
+     * Fortschritt und Durchsatz der Statistik-Neuberechnung
+     * GET /api/statistics/recompute/status
+     */
+    @GetMapping("/recompute/status")
+    public ResponseEntity<StatisticsRecomputeStatusDTO> getRecomputeStatus(
+            HttpServletRequest servletRequest,
+            @RequestHeader(value = "X-Org-Id", required = false) UUID headerOrgId) {
+        if (getOrgId(servletRequest, headerOrgId) == null) {
+            throw new RuntimeException("Organization ID nicht gefunden. Bitte neu einloggen.");
+        }
+        return ResponseEntity.ok(statisticsRecomputeJob.getStatus());
+    }
+}
@@ -0,0 +1,16 @@
+package com.dartclub.model;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * HeadToHeadMatchRow - Ergebnis eines Matches zwischen zwei Spielern (aus head_to_head_legs)
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+public record HeadToHeadMatchRow(
+        UUID matchId,
+        ZonedDateTime playedAt,
+        long legsLow,
+        long legsHigh) {
+}
@@ -0,0 +1,20 @@
+package com.dartclub.model;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * MatchLegRow - Schmale Projektion eines beendeten Legs samt Match für Rating-Läufe
+ *
+ * Eine Zeile pro Leg mit Paarung und Sieger; die Neuberechnung liest damit
+ * die komplette Match-Historie einer Organisation ohne Entities.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+public record MatchLegRow(
+        UUID matchId,
+        ZonedDateTime matchFinishedAt,
+        UUID homeMemberId,
+        UUID awayMemberId,
+        UUID winnerMemberId) {
+}
@@ -0,0 +1,130 @@
+package com.dartclub.model;
+
+import com.dartclub.model.entity.Throw;
+
+/**
+ * PackedVisit - Kompakte Kodierung einer Aufnahme in einem int
+ *
+ * Aufbau:
+ * - Bits 0-7, 8-15, 16-23: Dart 1-3, je ein Byte (segment << 2 | multiplier;
+ *   Miss = Multiplier 0 mit dem verfehlten Segment, nicht geworfen = 0)
+ * - Bit 24: Bust
+ * - Bit 25: Checkout
+ *
+ * Punkte pro Dart sind aus Multiplier und Segment ableitbar und werden
+ * nicht gespeichert. throws.darts_packed ist die einzige Speicherung der
+ * Einzeldarts (seit V23), außerdem die Aufnahmen im Live-State.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+public final class PackedVisit {
+
+    public static final int BUST = 1 << 24;
+    public static final int CHECKOUT = 1 << 25;
+
+    private PackedVisit() {
+    }
+
+    /**
+     * Einzelnen Dart kodieren (Multiplier 0-3, Segment 0-25)
+     */
+    public static int encodeDart(int multiplier, int segment) {
+        return segment << 2 | multiplier;
+    }
+
+    public static int encode(int multiplier1, int segment1,
+                             int multiplier2, int segment2,
+                             int multiplier3, int segment3,
+                             boolean bust, boolean checkout) {
+        return encodeDart(multiplier1, segment1)
+                | encodeDart(multiplier2, segment2) << 8
+                | encodeDart(multiplier3, segment3) << 16
+                | (bust ? BUST : 0)
+                | (checkout ? CHECKOUT : 0);
+    }
+
+    /**
+     * Aufnahme eines Throw kodieren (fehlende Werte zählen als 0)
+     */
+    public static int encode(Throw throwData) {
+        return encode(valueOf(throwData.getDart1Multiplier()), valueOf(throwData.getDart1Segment()),
+                valueOf(throwData.getDart2Multiplier()), valueOf(throwData.getDart2Segment()),
+                valueOf(throwData.getDart3Multiplier()), valueOf(throwData.getDart3Segment()),
+                Boolean.TRUE.equals(throwData.getIsBust()), Boolean.TRUE.equals(throwData.getIsCheckout()));
+    }
+
+    /**
+     * Byte eines Darts (index 0-2)
+     */
+    public static int dart(int packed, int index) {
+        return packed >>> (index * 8) & 0xFF;
+    }
+
+    public static int multiplier(int packed, int index) {
+        return dart(packed, index) & 3;
+    }
+
+    public static int segment(int packed, int index) {
+        return dart(packed, index) >>> 2;
+    }
+
+    /**
+     * Punkte eines Darts (Bull: 25/50)
+     */
+    public static int score(int packed, int index) {
+        return dartScore(multiplier(packed, index), segment(packed, index));
+    }
+
+    /**
+     * Geworfene Punkte der Aufnahme (Summe der Darts, unabhängig von der Wertung)
+     */
+    public static int dartTotal(int packed) {
+        return score(packed, 0) + score(packed, 1) + score(packed, 2);
+    }
+
+    public static boolean isBust(int packed) {
+        return (packed & BUST) != 0;
+    }
+
+    public static boolean isCheckout(int packed) {
+        return (packed & CHECKOUT) != 0;
+    }
+
+    /**
+     * Punkte eines Darts aus Multiplier und Segment (Bull: 25/50)
+     */
+    public static int dartScore(int multiplier, int segment) {
+        if (multiplier == 0 || segment == 0) {
+            return 0;
+        }
+        return segment == 25 ? 25 * multiplier : multiplier * segment;
+    }
+
+    /**
+     * Darts, Punkte und Flags einer kodierten Aufnahme in einen Throw übernehmen
+     */
+    public static void decodeInto(int packed, Throw throwData) {
+        decodeDarts(packed, throwData);
+        throwData.setIsBust(isBust(packed));
+        throwData.setIsCheckout(isCheckout(packed));
+    }
+
+    /**
+     * Nur die Darts und Punkte übernehmen (Flags hat der Throw als eigene Spalten)
+     */
+    public static void decodeDarts(int packed, Throw throwData) {
+        throwData.setDart1Multiplier(multiplier(packed, 0));
+        throwData.setDart1Segment(segment(packed, 0));
+        throwData.setDart1Score(score(packed, 0));
+        throwData.setDart2Multiplier(multiplier(packed, 1));
+        throwData.setDart2Segment(segment(packed, 1));
+        throwData.setDart2Score(score(packed, 1));
+        throwData.setDart3Multiplier(multiplier(packed, 2));
+        throwData.setDart3Segment(segment(packed, 2));
+        throwData.setDart3Score(score(packed, 2));
+    }
+
+    private static int valueOf(Integer value) {
+        return value != null ? value : 0;
+    }
+}
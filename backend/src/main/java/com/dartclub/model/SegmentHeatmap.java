@@ -0,0 +1,93 @@
+package com.dartclub.model;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * SegmentHeatmap - Trefferzähler pro Feld als festes 21x4-Raster in einem int[]
+ *
+ * Zeilen: Segment 1-20 und Bull (Index 20), Spalten: Multiplier 0-3
+ * (0 = Miss neben dem Segment). Zelle = Zeile * 4 + Multiplier.
+ *
+ * Serialisiert als Version-Byte plus 84 Zähler als Varint (1 Byte bis
+ * 127 Treffer, 2 Byte bis 16383), typisch 100-200 Byte pro Spieler.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+public final class SegmentHeatmap {
+
+    public static final int TARGETS = 21;
+    public static final int MULTIPLIERS = 4;
+    public static final int CELLS = TARGETS * MULTIPLIERS;
+
+    private static final int VERSION = 1;
+
+    private SegmentHeatmap() {
+    }
+
+    /**
+     * Zelle eines Darts, -1 wenn kein Dart geworfen wurde (Segment 0) oder ungültig
+     */
+    public static int cell(int multiplier, int segment) {
+        if (multiplier < 0 || multiplier > 3) {
+            return -1;
+        }
+        if (segment >= 1 && segment <= 20) {
+            return (segment - 1) * MULTIPLIERS + multiplier;
+        }
+        if (segment == 25 && multiplier != 3) {
+            return (TARGETS - 1) * MULTIPLIERS + multiplier;
+        }
+        return -1;
+    }
+
+    /**
+     * Segment einer Zeile (1-20, Bull = 25)
+     */
+    public static int segmentOf(int target) {
+        return target == TARGETS - 1 ? 25 : target + 1;
+    }
+
+    /**
+     * Dart eintragen (delta -1 bei Rücknahme)
+     */
+    public static void add(int[] cells, int multiplier, int segment, int delta) {
+        int cell = cell(multiplier, segment);
+        if (cell >= 0) {
+            cells[cell] = Math.max(0, cells[cell] + delta);
+        }
+    }
+
+    public static byte[] toBytes(int[] cells) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(CELLS + 1);
+        out.write(VERSION);
+        for (int count : cells) {
+            int value = count;
+            while ((value & ~0x7F) != 0) {
+                out.write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.write(value);
+        }
+        return out.toByteArray();
+    }
+
+    public static int[] fromBytes(byte[] bytes) {
+        if (bytes.length == 0 || bytes[0] != VERSION) {
+            throw new IllegalStateException("Unbekanntes Heatmap-Format");
+        }
+        int[] cells = new int[CELLS];
+        int pos = 1;
+        for (int i = 0; i < CELLS; i++) {
+            int value = 0;
+            int shift = 0;
+            int b;
+            do {
+                b = bytes[pos++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            cells[i] = value;
+        }
+        return cells;
+    }
+}
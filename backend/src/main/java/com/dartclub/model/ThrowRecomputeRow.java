@@ -0,0 +1,35 @@
+package com.dartclub.model;
+
+import com.dartclub.model.enums.GameVariant;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * ThrowRecomputeRow - Aufnahme mit Einzeldarts und Leg-Daten für die Neuberechnung aller Statistiken
+ *
+ * Wie {@link ThrowStatsRow}, zusätzlich mit Spielvariante, Zeitpunkt und
+ * Leg-Daten, damit ein Durchlauf auch Saison-Zähler, Heatmaps und
+ * Leg-Averages liefert. Die Einzeldarts stehen in dartsPacked.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+public record ThrowRecomputeRow(
+        UUID legId,
+        int throwNo,
+        int throwTotal,
+        int remainingScore,
+        int dartsPacked,
+        Boolean bust,
+        Boolean checkout,
+        ZonedDateTime createdAt,
+        GameVariant gameVariant,
+        int startingScore,
+        boolean doubleIn,
+        boolean doubleOut,
+        boolean masterOut,
+        ZonedDateTime legFinishedAt,
+        UUID legWinnerId,
+        Integer legTotalDarts,
+        Integer legCheckoutScore) {
+}
@@ -0,0 +1,31 @@
+package com.dartclub.model;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * ThrowStatsRow - Schmale Projektion einer Aufnahme samt Leg-Regeln für Statistik-Scans
+ *
+ * Wird per Konstruktor-Ausdruck aus ThrowRepository gestreamt, damit beim
+ * Durchlauf über alle Würfe eines Spielers keine Entities im
+ * Persistence-Context landen.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+public record ThrowStatsRow(
+        UUID legId,
+        int throwNo,
+        int throwTotal,
+        int remainingScore,
+        int dartsPacked,
+        Boolean bust,
+        Boolean checkout,
+        int startingScore,
+        boolean doubleIn,
+        boolean doubleOut,
+        boolean masterOut,
+        ZonedDateTime legFinishedAt,
+        UUID legWinnerId,
+        Integer legTotalDarts,
+        Integer legCheckoutScore) {
+}
@@ -1,5 +1,6 @@
 package com.dartclub.model.dto.request;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -24,4 +25,11 @@ public class BustRequest {
      */
     @NotNull(message = "Leg ID ist erforderlich")
     private UUID legId;
+    
+    /**
+     * Laufende Nummer der Aufnahme im Leg (1-basiert, beide Spieler inkl. Busts).
+     * Optional - wenn gesetzt, werden Wiederholungen erkannt und nicht doppelt gespeichert.
+     */
+    @Min(value = 1, message = "Sequenznummer muss mindestens 1 sein")
+    private Integer seq;
 }
@@ -0,0 +1,59 @@
+package com.dartclub.model.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * DTO für einen einzelnen Dart (Einzel-Dart-Erfassung, z.B. elektronische Boards)
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DartRequest {
+    
+    /**
+     * Leg ID, zu dem dieser Dart gehört
+     */
+    @NotNull(message = "Leg ID ist erforderlich")
+    private UUID legId;
+    
+    /**
+     * Multiplier: 0 (Miss), 1 (Single), 2 (Double), 3 (Triple)
+     */
+    @NotNull(message = "Multiplier ist erforderlich")
+    @Min(value = 0, message = "Multiplier muss zwischen 0 und 3 liegen")
+    @Max(value = 3, message = "Multiplier muss zwischen 0 und 3 liegen")
+    private Integer multiplier;
+    
+    /**
+     * Segment: 1-25 (wobei 25 = Bull), 0 bei Miss
+     */
+    @NotNull(message = "Segment ist erforderlich")
+    @Min(value = 0, message = "Segment muss zwischen 0 und 25 liegen")
+    @Max(value = 25, message = "Segment muss zwischen 0 und 25 liegen")
+    private Integer segment;
+    
+    /**
+     * Laufende Nummer der Aufnahme im Leg (wie ThrowRequest.seq). Optional.
+     */
+    @Min(value = 1, message = "Sequenznummer muss mindestens 1 sein")
+    private Integer seq;
+    
+    /**
+     * Nummer des Darts in der Aufnahme (1-3). Optional, nur zusammen mit seq -
+     * Wiederholungen werden dann erkannt und nicht doppelt gewertet.
+     */
+    @Min(value = 1, message = "Dart-Nummer muss zwischen 1 und 3 liegen")
+    @Max(value = 3, message = "Dart-Nummer muss zwischen 1 und 3 liegen")
+    private Integer dartNo;
+}
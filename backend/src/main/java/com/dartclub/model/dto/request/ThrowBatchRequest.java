@@ -0,0 +1,64 @@
+package com.dartclub.model.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO für mehrere gepufferte Aufnahmen (Offline-Sync des Scorer-Tablets)
+ * 
+ * Die Aufnahmen werden in der angegebenen Reihenfolge gewertet.
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ThrowBatchRequest {
+    
+    /**
+     * Aufnahmen in Wurf-Reihenfolge
+     */
+    @NotNull(message = "Aufnahmen-Liste ist erforderlich")
+    @NotEmpty(message = "Aufnahmen-Liste darf nicht leer sein")
+    @Size(max = 500, message = "Maximal 500 Aufnahmen pro Batch")
+    @Valid
+    private List<Visit> visits;
+    
+    /**
+     * Eine Aufnahme (3 Darts oder Bust)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Visit {
+        
+        /**
+         * Leg ID; leer = aktuelles Leg (z.B. das nach einem Checkout neu angelegte Leg)
+         */
+        private UUID legId;
+        
+        /**
+         * Bust statt Darts
+         */
+        @Builder.Default
+        private boolean bust = false;
+        
+        /**
+         * Genau 3 Darts, wenn kein Bust
+         */
+        @Size(max = 3, message = "Es müssen genau 3 Darts eingegeben werden")
+        @Valid
+        private List<DartInput> darts;
+    }
+}
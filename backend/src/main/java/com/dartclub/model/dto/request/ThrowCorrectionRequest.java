@@ -0,0 +1,35 @@
+package com.dartclub.model.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO für die Korrektur einer Aufnahme (neue 3 Darts oder Bust)
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ThrowCorrectionRequest {
+    
+    /**
+     * Aufnahme als Bust werten
+     */
+    @Builder.Default
+    private boolean bust = false;
+    
+    /**
+     * Genau 3 Darts, wenn kein Bust
+     */
+    @Size(max = 3, message = "Es müssen genau 3 Darts eingegeben werden")
+    @Valid
+    private List<DartInput> darts;
+}
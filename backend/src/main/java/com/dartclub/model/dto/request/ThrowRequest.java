@@ -1,6 +1,7 @@
 package com.dartclub.model.dto.request;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -37,4 +38,11 @@ public class ThrowRequest {
     @Size(min = 3, max = 3, message = "Es müssen genau 3 Darts eingegeben werden")
     @Valid
     private List<DartInput> darts;
+    
+    /**
+     * Laufende Nummer der Aufnahme im Leg (1-basiert, beide Spieler inkl. Busts).
+     * Optional - wenn gesetzt, werden Wiederholungen erkannt und nicht doppelt gespeichert.
+     */
+    @Min(value = 1, message = "Sequenznummer muss mindestens 1 sein")
+    private Integer seq;
 }
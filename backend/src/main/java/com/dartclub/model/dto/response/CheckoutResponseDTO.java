@@ -0,0 +1,25 @@
+package com.dartclub.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO für Checkout-Empfehlungen
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CheckoutResponseDTO {
+    
+    private Integer remaining;
+    private Boolean doubleOut;
+    private Integer minDarts; // 0 = kein Checkout möglich
+    private List<String> suggestions; // z.B. ["T20 T20 BULL"]
+}
@@ -0,0 +1,27 @@
+package com.dartclub.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO für die Antwort auf einen einzelnen Dart
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DartResponseDTO {
+    
+    private Integer dartNo; // 1-3 innerhalb der Aufnahme
+    private Integer dartScore;
+    private Integer remainingScore; // Stand nach dem Dart
+    private Boolean isBust;
+    private Boolean isCheckout;
+    private Boolean visitComplete; // Aufnahme abgeschlossen (3 Darts, Bust oder Checkout)
+    private ThrowResponseDTO visit; // gespeicherte Aufnahme, nur wenn visitComplete
+    private LiveScoringLegDTO leg; // Aktualisierte Leg-Daten
+}
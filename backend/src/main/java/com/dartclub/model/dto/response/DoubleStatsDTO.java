@@ -0,0 +1,41 @@
+package com.dartclub.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO für die Checkout-Quote eines Spielers pro Doppelfeld
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DoubleStatsDTO {
+
+    private UUID memberId;
+    private Integer attempts; // Darts auf ein Doppel mit auscheckbarem Rest
+    private Integer hits;
+    private Double checkoutPercentage;
+    private List<Segment> doubles; // nur Doppelfelder mit Versuchen, nach Segment sortiert
+
+    /**
+     * Nested DTO für ein Doppelfeld
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Segment {
+        private Integer segment; // 1-20, 25 = Bull
+        private Integer attempts;
+        private Integer hits;
+        private Double checkoutPercentage;
+    }
+}
@@ -0,0 +1,39 @@
+package com.dartclub.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO für die Formkurve eines Spielers (3-Dart-Average pro Leg, ggf. ausgedünnt)
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FormCurveDTO {
+    
+    private UUID memberId;
+    private Integer legs; // Legs im Zeitraum vor dem Ausdünnen
+    private Double average; // Average über alle Legs im Zeitraum
+    private List<Point> points;
+
+    /**
+     * Nested DTO für einen Punkt der Kurve
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Point {
+        private ZonedDateTime playedAt;
+        private Double average;
+    }
+}
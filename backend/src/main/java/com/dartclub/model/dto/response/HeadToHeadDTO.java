@@ -0,0 +1,34 @@
+package com.dartclub.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO für die Bilanz eines Spielers gegen einen Gegner (aus Sicht von memberId)
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HeadToHeadDTO {
+    
+    private UUID memberId;
+    private String name;
+    private UUID opponentId;
+    private String opponentName;
+    private Integer matches;
+    private Integer legsWon;
+    private Integer legsLost;
+    private Double average; // 3-Dart-Average gegen diesen Gegner (X01)
+    private Double opponentAverage;
+    private ZonedDateTime lastPlayedAt;
+    private List<HeadToHeadResultDTO> recent; // neuestes Match zuerst
+}
@@ -0,0 +1,26 @@
+package com.dartclub.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * DTO für ein Match im Head-to-Head (Leg-Stand aus Sicht des Spielers)
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HeadToHeadResultDTO {
+    
+    private UUID matchId;
+    private ZonedDateTime playedAt;
+    private Integer legsWon;
+    private Integer legsLost;
+}
@@ -0,0 +1,27 @@
+package com.dartclub.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO für die Segment-Heatmap eines Spielers
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HeatmapDTO {
+    
+    private UUID memberId;
+    private String season; // "all" oder z.B. "2025/26"
+    private List<Integer> segments; // Zeilen von hits: 1-20, 25 (Bull)
+    private int[][] hits; // [Zeile][Multiplier 0-3], Multiplier 0 = Miss
+    private Integer darts; // Summe aller Zellen
+}
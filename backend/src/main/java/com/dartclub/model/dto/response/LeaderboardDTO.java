@@ -0,0 +1,24 @@
+package com.dartclub.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO für eine Bestenliste einer Organisation und Saison
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeaderboardDTO {
+    
+    private String metric; // AVERAGE, MOST_180S, HIGHEST_CHECKOUT, FEWEST_DARTS
+    private String season; // z.B. "2025/26"
+    private List<LeaderboardEntryDTO> entries;
+}
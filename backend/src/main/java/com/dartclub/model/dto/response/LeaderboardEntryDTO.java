@@ -0,0 +1,25 @@
+package com.dartclub.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * DTO für einen Platz in einer Bestenliste
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeaderboardEntryDTO {
+    
+    private Integer rank;
+    private UUID memberId;
+    private String name;
+    private Double value; // Average (2 Nachkommastellen), Anzahl, Checkout oder Darts
+}
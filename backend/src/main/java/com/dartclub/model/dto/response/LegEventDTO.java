@@ -0,0 +1,34 @@
+package com.dartclub.model.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * DTO für einen Eintrag im Event-Log eines Legs (Replay / Audit-Trail)
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LegEventDTO {
+    
+    private Integer seq;
+    private String type; // VISIT, BUST, UNDO, LEG_WON, LEG_REOPENED
+    private String player; // "home" oder "away"
+    private UUID memberId;
+    private UUID throwId;
+    private Integer throwNo;
+    private Integer score;
+    private Boolean bust;
+    private Integer remaining;
+    private ZonedDateTime createdAt;
+}
@@ -0,0 +1,65 @@
+package com.dartclub.model.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * DTO für Live-Scoring Push-Nachrichten (Delta statt kompletter Live-Daten)
+ * 
+ * Typen:
+ * - "dart"      - Einzelner Dart der laufenden Aufnahme (Einzel-Dart-Erfassung)
+ * - "throw"     - Aufnahme gewertet
+ * - "bust"      - Aufnahme überworfen
+ * - "correction" - Letzte Aufnahme eines Spielers korrigiert
+ * - "undo"      - Letzte Aufnahme zurückgenommen
+ * - "leg_reopened" - Leg-Ende zurückgenommen (inkl. Legs-/Sets-Stand)
+ * - "leg_end"   - Leg beendet (inkl. Legs-Stand im Set)
+ * - "set_end"   - Set beendet (inkl. Sets-Stand im Match)
+ * - "match_end" - Match beendet
+ * 
+ * Nicht gesetzte Felder werden nicht serialisiert.
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LiveScoringDeltaDTO {
+    
+    private String type;
+    private UUID matchId;
+    private UUID legId;
+    private Integer setNumber;
+    private Integer legNumber;
+    
+    // Aufnahme ("throw" / "bust" / "correction" / "undo")
+    private String player; // "home" oder "away"
+    private UUID memberId;
+    private Integer throwTotal;
+    private Integer remainingScore;
+    private String lastThrow;
+    private Double average;
+    private String event; // z.B. "180", "171", "140_plus", "high_checkout"
+    private String checkoutSuggestion;
+    private String nextPlayer; // "home" oder "away"
+    
+    // Einzelner Dart ("dart")
+    private Integer dartNo; // 1-3
+    private Integer dartScore;
+    
+    // Leg-/Set-/Match-Ende
+    private UUID winnerMemberId;
+    private Integer totalDarts;
+    private Integer checkoutScore;
+    private Integer homeLegs;
+    private Integer awayLegs;
+    private Integer homeSets;
+    private Integer awaySets;
+}
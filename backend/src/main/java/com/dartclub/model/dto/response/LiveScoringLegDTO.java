@@ -1,5 +1,6 @@
 package com.dartclub.model.dto.response;
 
+import com.dartclub.model.enums.GameVariant;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -21,6 +22,7 @@ public class LiveScoringLegDTO {
     private UUID id;
     private Integer setNumber;
     private Integer legNumber;
+    private GameVariant gameVariant;
     private LiveScoringPlayerDTO homePlayer;
     private LiveScoringPlayerDTO awayPlayer;
     private String currentPlayer; // "home" oder "away"
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -20,7 +21,9 @@ public class LiveScoringPlayerDTO {
     
     private UUID id;
     private String name;
-    private Integer remainingScore;
+    private Integer remainingScore; // X01: Restpunkte, Cricket: Punkte, Around the Clock: offene Ziele
     private String lastThrow;
     private Double average;
+    private String checkoutSuggestion; // z.B. "T20 T20 BULL", null wenn kein Checkout möglich
+    private List<Integer> marks; // Cricket: Marks je Ziel (15-20, Bull), sonst null
 }
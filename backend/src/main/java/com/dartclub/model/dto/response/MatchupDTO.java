@@ -0,0 +1,27 @@
+package com.dartclub.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * DTO für die Rating-Prognose einer Paarung
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MatchupDTO {
+    
+    private UUID homeMemberId;
+    private UUID awayMemberId;
+    private Double homeRating;
+    private Double awayRating;
+    private Double homeExpectedScore; // erwarteter Anteil gewonnener Legs (0-1)
+    private Double awayExpectedScore;
+}
@@ -0,0 +1,37 @@
+package com.dartclub.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * DTO für die X01-Statistik eines Spielers (Profilseite)
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlayerStatsDTO {
+    
+    private UUID memberId;
+    private Integer visits;
+    private Integer darts;
+    private Integer points;
+    private Double average; // 3-Dart-Average (Punkte / Darts * 3)
+    private Double first9Average; // Average der ersten drei Aufnahmen je Leg
+    private Integer count180;
+    private Integer count171;
+    private Integer count140Plus; // 140-179
+    private Integer checkoutAttempts; // Darts auf ein Double bei möglichem Finish
+    private Integer checkoutHits;
+    private Double checkoutPercentage;
+    private Integer legsPlayed;
+    private Integer legsWon;
+    private Integer bestLegDarts; // null, wenn noch kein Leg gewonnen
+    private Integer highestCheckout;
+}
@@ -0,0 +1,30 @@
+package com.dartclub.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * DTO für das Rating eines Spielers
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RatingDTO {
+    
+    private Integer rank;
+    private UUID memberId;
+    private String name;
+    private Double rating; // Glicko, Start 1500
+    private Double deviation; // RD heute (inkl. Pause seit dem letzten Match)
+    private Integer matches;
+    private Boolean provisional; // RD noch zu hoch für eine belastbare Einstufung
+    private ZonedDateTime lastPlayedAt;
+}
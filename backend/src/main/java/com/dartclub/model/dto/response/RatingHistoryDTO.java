@@ -0,0 +1,30 @@
+package com.dartclub.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * DTO für einen Eintrag im Rating-Verlauf eines Spielers
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RatingHistoryDTO {
+    
+    private UUID matchId;
+    private ZonedDateTime playedAt;
+    private Double ratingBefore;
+    private Double ratingAfter;
+    private Double ratingChange;
+    private Double deviationAfter;
+    private Integer legsWon;
+    private Integer legsLost;
+}
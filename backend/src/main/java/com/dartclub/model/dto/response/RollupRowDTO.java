@@ -0,0 +1,31 @@
+package com.dartclub.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * DTO für eine Zeile einer Monats-/Saisonübersicht (ein Monat oder ein Spieler)
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RollupRowDTO {
+    
+    private String month; // z.B. "2025-09", null bei Spieler- und Saisonsummen
+    private UUID memberId; // nur bei Spielerzeilen
+    private String name;
+    private Integer matches;
+    private Integer legsPlayed;
+    private Integer legsWon;
+    private Integer darts;
+    private Integer points;
+    private Double average; // 3-Dart-Average (X01)
+    private Integer count180;
+}
@@ -0,0 +1,29 @@
+package com.dartclub.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO für die Saisonübersicht eines Spielers oder Teams (aus den Monats-Rollups)
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RollupSummaryDTO {
+    
+    private UUID memberId; // Spielerübersicht
+    private UUID teamId; // Teamübersicht
+    private String name;
+    private String season; // z.B. "2025/26"
+    private RollupRowDTO total;
+    private List<RollupRowDTO> months;
+    private List<RollupRowDTO> players; // nur Teamübersicht, nach gewonnenen Legs
+}
@@ -0,0 +1,34 @@
+package com.dartclub.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+
+/**
+ * DTO für Fortschritt und Durchsatz der Statistik-Neuberechnung
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StatisticsRecomputeStatusDTO {
+
+    private Boolean running;
+    private ZonedDateTime startedAt;
+    private ZonedDateTime finishedAt; // null, solange der Lauf andauert
+    private Long elapsedMs;
+    private Integer organizations;
+    private Integer organizationsDone;
+    private Integer organizationsSkipped; // mit Live-Match, nicht neu berechnet
+    private Integer members;
+    private Integer membersDone;
+    private Integer membersFailed;
+    private Long visits; // gelesene Aufnahmen
+    private Double visitsPerSecond;
+    private String error; // letzter Fehler des Laufs
+}
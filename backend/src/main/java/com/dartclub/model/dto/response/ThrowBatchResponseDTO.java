@@ -0,0 +1,26 @@
+package com.dartclub.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO für das Ergebnis eines Aufnahmen-Batches (Zustand nach der letzten Aufnahme)
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ThrowBatchResponseDTO {
+    
+    private Integer accepted; // Anzahl gespeicherter Aufnahmen
+    private List<UUID> finishedLegIds; // Legs, die im Batch beendet wurden
+    private Boolean matchFinished;
+    private LiveScoringLegDTO leg; // Aktuelles Leg nach dem Batch (null wenn Match beendet)
+}
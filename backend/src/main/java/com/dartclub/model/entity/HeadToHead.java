@@ -0,0 +1,63 @@
+package com.dartclub.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * HeadToHead Entity - Bilanz zweier Spieler gegeneinander
+ * 
+ * Wird nur über HeadToHeadRepository per Upsert fortgeschrieben bzw. aus
+ * head_to_head_legs neu berechnet, Zugriffe über JPA sind lesend.
+ * Aufnahmen und Punkte zählen nur X01-Legs.
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Entity
+@Table(name = "head_to_head")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@IdClass(HeadToHeadId.class)
+public class HeadToHead {
+
+    @Id
+    @Column(name = "member_low", nullable = false)
+    private UUID memberLow;
+
+    @Id
+    @Column(name = "member_high", nullable = false)
+    private UUID memberHigh;
+
+    @Column(name = "org_id", nullable = false)
+    private UUID orgId;
+
+    @Column(name = "matches", nullable = false)
+    private Integer matches;
+
+    @Column(name = "legs_low", nullable = false)
+    private Integer legsLow;
+
+    @Column(name = "legs_high", nullable = false)
+    private Integer legsHigh;
+
+    @Column(name = "visits_low", nullable = false)
+    private Integer visitsLow;
+
+    @Column(name = "points_low", nullable = false)
+    private Integer pointsLow;
+
+    @Column(name = "visits_high", nullable = false)
+    private Integer visitsHigh;
+
+    @Column(name = "points_high", nullable = false)
+    private Integer pointsHigh;
+
+    @Column(name = "last_match_id")
+    private UUID lastMatchId;
+
+    @Column(name = "last_played_at")
+    private ZonedDateTime lastPlayedAt;
+}
@@ -0,0 +1,49 @@
+package com.dartclub.model.entity;
+
+import lombok.*;
+import java.io.Serializable;
+import java.util.UUID;
+import java.util.Objects;
+
+/**
+ * Composite Primary Key für HeadToHead (memberLow < memberHigh)
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HeadToHeadId implements Serializable {
+    
+    private UUID memberLow;
+    private UUID memberHigh;
+
+    /**
+     * Schlüssel eines Spielerpaares in beliebiger Reihenfolge
+     */
+    public static HeadToHeadId of(UUID a, UUID b) {
+        return isLower(a, b) ? new HeadToHeadId(a, b) : new HeadToHeadId(b, a);
+    }
+
+    /**
+     * UUID-Ordnung wie in PostgreSQL (vorzeichenlos, Byte für Byte)
+     */
+    public static boolean isLower(UUID a, UUID b) {
+        int msb = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return msb != 0 ? msb < 0 : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits()) < 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        HeadToHeadId that = (HeadToHeadId) o;
+        return Objects.equals(memberLow, that.memberLow) && 
+               Objects.equals(memberHigh, that.memberHigh);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(memberLow, memberHigh);
+    }
+}
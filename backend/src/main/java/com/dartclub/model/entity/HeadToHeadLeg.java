@@ -0,0 +1,54 @@
+package com.dartclub.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * HeadToHeadLeg Entity - Entschiedenes Leg eines Spielerpaares (Head-to-Head-Index)
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Entity
+@Table(name = "head_to_head_legs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HeadToHeadLeg {
+
+    @Id
+    @Column(name = "leg_id")
+    private UUID legId;
+
+    @Column(name = "member_low", nullable = false)
+    private UUID memberLow;
+
+    @Column(name = "member_high", nullable = false)
+    private UUID memberHigh;
+
+    @Column(name = "org_id", nullable = false)
+    private UUID orgId;
+
+    @Column(name = "match_id", nullable = false)
+    private UUID matchId;
+
+    @Column(name = "winner_member_id", nullable = false)
+    private UUID winnerMemberId;
+
+    @Column(name = "visits_low", nullable = false)
+    private Integer visitsLow;
+
+    @Column(name = "points_low", nullable = false)
+    private Integer pointsLow;
+
+    @Column(name = "visits_high", nullable = false)
+    private Integer visitsHigh;
+
+    @Column(name = "points_high", nullable = false)
+    private Integer pointsHigh;
+
+    @Column(name = "finished_at", nullable = false)
+    private ZonedDateTime finishedAt;
+}
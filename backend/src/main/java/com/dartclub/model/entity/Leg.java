@@ -1,5 +1,6 @@
 package com.dartclub.model.entity;
 
+import com.dartclub.model.enums.GameVariant;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.ZonedDateTime;
@@ -72,20 +73,24 @@ public class Leg {
     }
 
     /**
-     * Check if Double-Out is required
-     * (This should come from the parent Match, but can be cached here)
+     * Spielregeln (beim Anlegen aus dem Match übernommen)
      */
     @Builder.Default
-    @Transient
+    @Enumerated(EnumType.STRING)
+    @Column(name = "game_variant", nullable = false)
+    private GameVariant gameVariant = GameVariant.X01;
+
+    @Builder.Default
+    @Column(name = "double_out", nullable = false)
     private boolean doubleOut = true;
 
-    public boolean isDoubleOut() {
-        return doubleOut;
-    }
+    @Builder.Default
+    @Column(name = "double_in", nullable = false)
+    private boolean doubleIn = false;
 
-    public void setDoubleOut(boolean doubleOut) {
-        this.doubleOut = doubleOut;
-    }
+    @Builder.Default
+    @Column(name = "master_out", nullable = false)
+    private boolean masterOut = false;
 
     /**
      * Check if leg is finished
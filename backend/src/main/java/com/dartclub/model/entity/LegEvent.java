@@ -0,0 +1,71 @@
+package com.dartclub.model.entity;
+
+import com.dartclub.model.enums.LegEventType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * LegEvent Entity - Eintrag im Append-Only-Log eines Legs
+ * 
+ * Die Felder beschreiben die Änderung an den Zählerständen einer Seite
+ * (score/bust) plus Kontext für den Audit-Trail (Wurf, Restpunkte danach).
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Entity
+@Table(name = "leg_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LegEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "leg_id", nullable = false)
+    private UUID legId;
+
+    @Column(name = "seq", nullable = false)
+    private Integer seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private LegEventType eventType;
+
+    @JdbcTypeCode(SqlTypes.SMALLINT)
+    @Column(name = "side")
+    private Integer side; // 0 = Heim, 1 = Auswärts
+
+    @Column(name = "member_id")
+    private UUID memberId;
+
+    @Column(name = "throw_id")
+    private UUID throwId;
+
+    @Column(name = "throw_no")
+    private Integer throwNo;
+
+    @Column(name = "score")
+    private Integer score;
+
+    @Builder.Default
+    @Column(name = "bust")
+    private Boolean bust = false;
+
+    @Column(name = "remaining")
+    private Integer remaining;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private ZonedDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = ZonedDateTime.now();
+    }
+}
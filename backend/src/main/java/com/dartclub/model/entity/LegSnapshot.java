@@ -0,0 +1,56 @@
+package com.dartclub.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * LegSnapshot Entity - Zählerstände eines Legs nach Event {@code seq}
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Entity
+@Table(name = "leg_snapshots")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LegSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "leg_id", nullable = false)
+    private UUID legId;
+
+    @Column(name = "seq", nullable = false)
+    private Integer seq;
+
+    @Column(name = "home_remaining", nullable = false)
+    private Integer homeRemaining;
+
+    @Column(name = "away_remaining", nullable = false)
+    private Integer awayRemaining;
+
+    @Column(name = "home_visits", nullable = false)
+    private Integer homeVisits;
+
+    @Column(name = "away_visits", nullable = false)
+    private Integer awayVisits;
+
+    @Column(name = "home_points", nullable = false)
+    private Integer homePoints;
+
+    @Column(name = "away_points", nullable = false)
+    private Integer awayPoints;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private ZonedDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = ZonedDateTime.now();
+    }
+}
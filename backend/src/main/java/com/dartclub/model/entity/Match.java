@@ -1,5 +1,6 @@
 package com.dartclub.model.entity;
 
+import com.dartclub.model.enums.GameVariant;
 import com.dartclub.model.enums.MatchStatus;
 import jakarta.persistence.*;
 import lombok.*;
@@ -87,6 +88,19 @@ public class Match {
     @Column(name = "double_out")
     private Boolean doubleOut = true;
 
+    @Builder.Default
+    @Column(name = "double_in")
+    private Boolean doubleIn = false;
+
+    @Builder.Default
+    @Column(name = "master_out")
+    private Boolean masterOut = false; // Checkout mit Double oder Triple
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(name = "game_variant")
+    private GameVariant gameVariant = GameVariant.X01;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private ZonedDateTime createdAt;
 
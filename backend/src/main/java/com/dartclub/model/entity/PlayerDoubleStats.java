@@ -0,0 +1,41 @@
+package com.dartclub.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * PlayerDoubleStats Entity - Checkout-Versuche und Treffer eines Spielers auf einem Doppelfeld
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Entity
+@Table(name = "player_double_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@IdClass(PlayerDoubleStatsId.class)
+public class PlayerDoubleStats {
+
+    @Id
+    @Column(name = "member_id", nullable = false)
+    private UUID memberId;
+
+    @Id
+    @Column(name = "segment", nullable = false)
+    private Integer segment; // 1-20, 25 = Bull
+
+    @Column(name = "org_id", nullable = false)
+    private UUID orgId;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "hits", nullable = false)
+    private Integer hits;
+
+    @Column(name = "updated_at")
+    private ZonedDateTime updatedAt;
+}
@@ -0,0 +1,34 @@
+package com.dartclub.model.entity;
+
+import lombok.*;
+import java.io.Serializable;
+import java.util.UUID;
+import java.util.Objects;
+
+/**
+ * Composite Primary Key für PlayerDoubleStats
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerDoubleStatsId implements Serializable {
+    
+    private UUID memberId;
+    private Integer segment;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PlayerDoubleStatsId that = (PlayerDoubleStatsId) o;
+        return Objects.equals(memberId, that.memberId) && 
+               Objects.equals(segment, that.segment);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(memberId, segment);
+    }
+}
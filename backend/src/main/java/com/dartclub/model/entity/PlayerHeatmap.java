@@ -0,0 +1,46 @@
+package com.dartclub.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * PlayerHeatmap Entity - Segment-Heatmap eines Spielers (gesamt oder pro Saison)
+ * 
+ * cells ist das serialisierte Raster aus SegmentHeatmap.toBytes.
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Entity
+@Table(name = "player_heatmaps")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@IdClass(PlayerHeatmapId.class)
+public class PlayerHeatmap {
+
+    @Id
+    @Column(name = "member_id", nullable = false)
+    private UUID memberId;
+
+    @Id
+    @Column(name = "season", nullable = false)
+    private String season; // "all" oder z.B. "2025/26"
+
+    @Column(name = "org_id", nullable = false)
+    private UUID orgId;
+
+    @Column(name = "cells", nullable = false)
+    private byte[] cells;
+
+    @Column(name = "updated_at")
+    private ZonedDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = ZonedDateTime.now();
+    }
+}
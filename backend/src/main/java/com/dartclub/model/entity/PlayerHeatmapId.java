@@ -0,0 +1,34 @@
+package com.dartclub.model.entity;
+
+import lombok.*;
+import java.io.Serializable;
+import java.util.UUID;
+import java.util.Objects;
+
+/**
+ * Composite Primary Key für PlayerHeatmap
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerHeatmapId implements Serializable {
+    
+    private UUID memberId;
+    private String season;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PlayerHeatmapId that = (PlayerHeatmapId) o;
+        return Objects.equals(memberId, that.memberId) && 
+               Objects.equals(season, that.season);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(memberId, season);
+    }
+}
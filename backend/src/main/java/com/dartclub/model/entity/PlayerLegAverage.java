@@ -0,0 +1,41 @@
+package com.dartclub.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * PlayerLegAverage Entity - Aufnahmen und Punkte eines Spielers in einem beendeten X01-Leg
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Entity
+@Table(name = "player_leg_averages")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@IdClass(PlayerLegAverageId.class)
+public class PlayerLegAverage {
+
+    @Id
+    @Column(name = "leg_id", nullable = false)
+    private UUID legId;
+
+    @Id
+    @Column(name = "member_id", nullable = false)
+    private UUID memberId;
+
+    @Column(name = "org_id", nullable = false)
+    private UUID orgId;
+
+    @Column(name = "visits", nullable = false)
+    private Integer visits;
+
+    @Column(name = "points", nullable = false)
+    private Integer points;
+
+    @Column(name = "finished_at", nullable = false)
+    private ZonedDateTime finishedAt;
+}
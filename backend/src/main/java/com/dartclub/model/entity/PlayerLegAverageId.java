@@ -0,0 +1,34 @@
+package com.dartclub.model.entity;
+
+import lombok.*;
+import java.io.Serializable;
+import java.util.UUID;
+import java.util.Objects;
+
+/**
+ * Composite Primary Key für PlayerLegAverage
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerLegAverageId implements Serializable {
+    
+    private UUID legId;
+    private UUID memberId;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PlayerLegAverageId that = (PlayerLegAverageId) o;
+        return Objects.equals(legId, that.legId) && 
+               Objects.equals(memberId, that.memberId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(legId, memberId);
+    }
+}
@@ -0,0 +1,70 @@
+package com.dartclub.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * PlayerMonthlyRollup Entity - Monatssumme eines Spielers für ein Team
+ * 
+ * Wird nur vom RollupRefreshJob geschrieben, Zugriffe über JPA sind lesend.
+ * Darts zählen wie in player_stats 3 pro Aufnahme.
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Entity
+@Table(name = "player_monthly_rollups")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@IdClass(PlayerMonthlyRollupId.class)
+public class PlayerMonthlyRollup {
+
+    /**
+     * team_id für Legs aus Matches ohne Team
+     */
+    public static final UUID NO_TEAM = new UUID(0L, 0L);
+
+    @Id
+    @Column(name = "org_id", nullable = false)
+    private UUID orgId;
+
+    @Id
+    @Column(name = "team_id", nullable = false)
+    private UUID teamId;
+
+    @Id
+    @Column(name = "member_id", nullable = false)
+    private UUID memberId;
+
+    @Id
+    @Column(name = "month", nullable = false)
+    private LocalDate month; // Erster des Monats
+
+    @Column(name = "matches", nullable = false)
+    private Integer matches;
+
+    @Column(name = "legs_played", nullable = false)
+    private Integer legsPlayed;
+
+    @Column(name = "legs_won", nullable = false)
+    private Integer legsWon;
+
+    @Column(name = "visits", nullable = false)
+    private Integer visits;
+
+    @Column(name = "darts", nullable = false)
+    private Integer darts;
+
+    @Column(name = "points", nullable = false)
+    private Integer points;
+
+    @Column(name = "count_180", nullable = false)
+    private Integer count180;
+
+    @Column(name = "updated_at")
+    private ZonedDateTime updatedAt;
+}
@@ -0,0 +1,39 @@
+package com.dartclub.model.entity;
+
+import lombok.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.Objects;
+
+/**
+ * Composite Primary Key für PlayerMonthlyRollup
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerMonthlyRollupId implements Serializable {
+    
+    private UUID orgId;
+    private UUID teamId;
+    private UUID memberId;
+    private LocalDate month;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PlayerMonthlyRollupId that = (PlayerMonthlyRollupId) o;
+        return Objects.equals(orgId, that.orgId) && 
+               Objects.equals(teamId, that.teamId) && 
+               Objects.equals(memberId, that.memberId) && 
+               Objects.equals(month, that.month);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(orgId, teamId, memberId, month);
+    }
+}
@@ -0,0 +1,51 @@
+package com.dartclub.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * PlayerRating Entity - Glicko-Rating eines Spielers
+ * 
+ * deviation ist die Rating-Abweichung (RD) zum Zeitpunkt last_played_at;
+ * sie wächst mit der Pause bis zum nächsten Match (siehe Glicko).
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Entity
+@Table(name = "player_ratings")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlayerRating {
+
+    @Id
+    @Column(name = "member_id")
+    private UUID memberId;
+
+    @Column(name = "org_id", nullable = false)
+    private UUID orgId;
+
+    @Column(name = "rating", nullable = false)
+    private Double rating;
+
+    @Column(name = "deviation", nullable = false)
+    private Double deviation;
+
+    @Column(name = "matches", nullable = false)
+    private Integer matches;
+
+    @Column(name = "last_played_at")
+    private ZonedDateTime lastPlayedAt;
+
+    @Column(name = "updated_at")
+    private ZonedDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = ZonedDateTime.now();
+    }
+}
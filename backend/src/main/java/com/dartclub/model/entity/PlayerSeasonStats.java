@@ -0,0 +1,59 @@
+package com.dartclub.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * PlayerSeasonStats Entity - Saison-Zähler eines Spielers für die Bestenlisten
+ * 
+ * Wird vom LeaderboardService periodisch mit absoluten Werten geschrieben.
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Entity
+@Table(name = "player_season_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@IdClass(PlayerSeasonStatsId.class)
+public class PlayerSeasonStats {
+
+    @Id
+    @Column(name = "org_id", nullable = false)
+    private UUID orgId;
+
+    @Id
+    @Column(name = "season", nullable = false)
+    private String season; // z.B. "2025/26"
+
+    @Id
+    @Column(name = "member_id", nullable = false)
+    private UUID memberId;
+
+    @Column(name = "darts", nullable = false)
+    private Integer darts;
+
+    @Column(name = "points", nullable = false)
+    private Integer points;
+
+    @Column(name = "count_180", nullable = false)
+    private Integer count180;
+
+    @Column(name = "highest_checkout")
+    private Integer highestCheckout;
+
+    @Column(name = "best_leg_darts")
+    private Integer bestLegDarts;
+
+    @Column(name = "updated_at")
+    private ZonedDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = ZonedDateTime.now();
+    }
+}
@@ -0,0 +1,36 @@
+package com.dartclub.model.entity;
+
+import lombok.*;
+import java.io.Serializable;
+import java.util.UUID;
+import java.util.Objects;
+
+/**
+ * Composite Primary Key für PlayerSeasonStats
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerSeasonStatsId implements Serializable {
+    
+    private UUID orgId;
+    private String season;
+    private UUID memberId;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PlayerSeasonStatsId that = (PlayerSeasonStatsId) o;
+        return Objects.equals(orgId, that.orgId) && 
+               Objects.equals(season, that.season) && 
+               Objects.equals(memberId, that.memberId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(orgId, season, memberId);
+    }
+}
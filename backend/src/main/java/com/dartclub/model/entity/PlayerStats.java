@@ -0,0 +1,75 @@
+package com.dartclub.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * PlayerStats Entity - Aggregierte X01-Statistik eines Spielers
+ * 
+ * Wird nur über PlayerStatsRepository per Upsert fortgeschrieben,
+ * Zugriffe über JPA sind lesend.
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Entity
+@Table(name = "player_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlayerStats {
+
+    @Id
+    @Column(name = "member_id")
+    private UUID memberId;
+
+    @Column(name = "org_id", nullable = false)
+    private UUID orgId;
+
+    @Column(name = "visits", nullable = false)
+    private Integer visits;
+
+    @Column(name = "darts", nullable = false)
+    private Integer darts;
+
+    @Column(name = "points", nullable = false)
+    private Integer points;
+
+    @Column(name = "first9_visits", nullable = false)
+    private Integer first9Visits;
+
+    @Column(name = "first9_points", nullable = false)
+    private Integer first9Points;
+
+    @Column(name = "count_180", nullable = false)
+    private Integer count180;
+
+    @Column(name = "count_171", nullable = false)
+    private Integer count171;
+
+    @Column(name = "count_140_plus", nullable = false)
+    private Integer count140Plus;
+
+    @Column(name = "checkout_attempts", nullable = false)
+    private Integer checkoutAttempts;
+
+    @Column(name = "checkout_hits", nullable = false)
+    private Integer checkoutHits;
+
+    @Column(name = "legs_played", nullable = false)
+    private Integer legsPlayed;
+
+    @Column(name = "legs_won", nullable = false)
+    private Integer legsWon;
+
+    @Column(name = "best_leg_darts")
+    private Integer bestLegDarts;
+
+    @Column(name = "highest_checkout")
+    private Integer highestCheckout;
+
+    @Column(name = "updated_at")
+    private ZonedDateTime updatedAt;
+}
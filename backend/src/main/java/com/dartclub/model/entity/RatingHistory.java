@@ -0,0 +1,67 @@
+package com.dartclub.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * RatingHistory Entity - Rating eines Spielers vor und nach einem Match
+ * 
+ * deviation_before ist die gespeicherte RD vor der Pausen-Inflation,
+ * damit sich ein zurückgenommenes Match exakt rückgängig machen lässt.
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Entity
+@Table(name = "rating_history")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RatingHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "member_id", nullable = false)
+    private UUID memberId;
+
+    @Column(name = "org_id", nullable = false)
+    private UUID orgId;
+
+    @Column(name = "match_id", nullable = false)
+    private UUID matchId;
+
+    @Column(name = "rating_before", nullable = false)
+    private Double ratingBefore;
+
+    @Column(name = "deviation_before", nullable = false)
+    private Double deviationBefore;
+
+    @Column(name = "rating_after", nullable = false)
+    private Double ratingAfter;
+
+    @Column(name = "deviation_after", nullable = false)
+    private Double deviationAfter;
+
+    @Column(name = "legs_won", nullable = false)
+    private Integer legsWon;
+
+    @Column(name = "legs_lost", nullable = false)
+    private Integer legsLost;
+
+    @Column(name = "played_at", nullable = false)
+    private ZonedDateTime playedAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private ZonedDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = ZonedDateTime.now();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.dartclub.model.entity;
 
+import com.dartclub.model.PackedVisit;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.ZonedDateTime;
@@ -31,37 +32,38 @@ public class Throw {
     @Column(name = "throw_no", nullable = false)
     private Integer throwNo;
 
+    // Einzeldarts: nicht in eigenen Spalten, sondern nur in darts_packed gespeichert
     // Dart 1
-    @Column(name = "dart1_multiplier")
+    @Transient
     private Integer dart1Multiplier; // 0=Miss, 1=Single, 2=Double, 3=Triple
 
-    @Column(name = "dart1_segment")
-    private Integer dart1Segment; // 1-25 (25=Bull)
+    @Transient
+    private Integer dart1Segment; // 1-25 (25=Bull), bei Miss das verfehlte Segment oder 0
 
     @Builder.Default
-    @Column(name = "dart1_score")
+    @Transient
     private Integer dart1Score = 0;
 
     // Dart 2
-    @Column(name = "dart2_multiplier")
+    @Transient
     private Integer dart2Multiplier;
 
-    @Column(name = "dart2_segment")
+    @Transient
     private Integer dart2Segment;
 
     @Builder.Default
-    @Column(name = "dart2_score")
+    @Transient
     private Integer dart2Score = 0;
 
     // Dart 3
-    @Column(name = "dart3_multiplier")
+    @Transient
     private Integer dart3Multiplier;
 
-    @Column(name = "dart3_segment")
+    @Transient
     private Integer dart3Segment;
 
     @Builder.Default
-    @Column(name = "dart3_score")
+    @Transient
     private Integer dart3Score = 0;
 
     // Throw Summary
@@ -80,11 +82,28 @@ public class Throw {
     @Column(name = "is_checkout")
     private Boolean isCheckout = false;
 
+    /**
+     * Darts und Flags kompakt (siehe PackedVisit), wird beim Speichern aus den Einzeldarts berechnet
+     */
+    @Column(name = "darts_packed", nullable = false)
+    private Integer dartsPacked;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private ZonedDateTime createdAt;
 
     @PrePersist
     protected void onCreate() {
         createdAt = ZonedDateTime.now();
+        onUpdate();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        dartsPacked = PackedVisit.encode(this);
+    }
+
+    @PostLoad
+    protected void onLoad() {
+        PackedVisit.decodeDarts(dartsPacked, this);
     }
 }
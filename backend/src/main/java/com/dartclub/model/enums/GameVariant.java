@@ -0,0 +1,23 @@
+package com.dartclub.model.enums;
+
+/**
+ * Spielvariante eines Matches bzw. Legs
+ * 
+ * Erstellt von Hans Hahn - Alle Rechte vorbehalten
+ */
+public enum GameVariant {
+    /**
+     * 301/501/701 usw. (Startpunkte aus startingScore, Double-In/Double-Out/Master-Out)
+     */
+    X01,
+    
+    /**
+     * Cricket (15-20 und Bull schließen, Punkte auf offene Ziele)
+     */
+    CRICKET,
+    
+    /**
+     * Around the Clock (1-20 der Reihe nach, danach Bull)
+     */
+    AROUND_THE_CLOCK
+}
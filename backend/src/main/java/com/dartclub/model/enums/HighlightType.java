@@ -0,0 +1,56 @@
+package com.dartclub.model.enums;
+
+/**
+ * Scoring-Highlight einer Aufnahme (siehe ScoringEngine.detectEvent)
+ * 
+ * Erstellt von Hans Hahn - Alle Rechte vorbehalten
+ */
+public enum HighlightType {
+    /**
+     * Maximum (180)
+     */
+    MAX_180("180"),
+    
+    /**
+     * 171 (T19 T19 T19)
+     */
+    MAX_171("171"),
+    
+    /**
+     * Aufnahme mit 140 oder mehr
+     */
+    TON_40_PLUS("140_plus"),
+    
+    /**
+     * Checkout ab 100
+     */
+    HIGH_CHECKOUT("high_checkout");
+    
+    private final String code;
+    
+    HighlightType(String code) {
+        this.code = code;
+    }
+    
+    /**
+     * Code wie in den Live-Scoring Deltas (z.B. "140_plus")
+     */
+    public String getCode() {
+        return code;
+    }
+    
+    /**
+     * Typ zu einem Code aus detectEvent (null wenn kein Highlight)
+     */
+    public static HighlightType fromCode(String code) {
+        if (code == null) {
+            return null;
+        }
+        for (HighlightType type : values()) {
+            if (type.code.equals(code)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unbekanntes Highlight: " + code);
+    }
+}
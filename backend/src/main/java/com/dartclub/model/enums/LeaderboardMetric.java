@@ -0,0 +1,38 @@
+package com.dartclub.model.enums;
+
+/**
+ * Kennzahl einer Bestenliste
+ * 
+ * Erstellt von Hans Hahn - Alle Rechte vorbehalten
+ */
+public enum LeaderboardMetric {
+    /**
+     * Bester 3-Dart-Average (erst ab einer Mindestzahl Darts)
+     */
+    AVERAGE(true),
+    
+    /**
+     * Meiste 180er
+     */
+    MOST_180S(true),
+    
+    /**
+     * Höchster Checkout
+     */
+    HIGHEST_CHECKOUT(true),
+    
+    /**
+     * Wenigste Darts in einem gewonnenen Leg
+     */
+    FEWEST_DARTS(false);
+    
+    private final boolean higherBetter;
+    
+    LeaderboardMetric(boolean higherBetter) {
+        this.higherBetter = higherBetter;
+    }
+    
+    public boolean isHigherBetter() {
+        return higherBetter;
+    }
+}
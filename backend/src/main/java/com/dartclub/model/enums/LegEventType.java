@@ -0,0 +1,33 @@
+package com.dartclub.model.enums;
+
+/**
+ * Typ eines Eintrags im Event-Log eines Legs
+ * 
+ * Erstellt von Hans Hahn - Alle Rechte vorbehalten
+ */
+public enum LegEventType {
+    /**
+     * Aufnahme gewertet
+     */
+    VISIT,
+    
+    /**
+     * Aufnahme überworfen (zählt als Aufnahme mit 0 Punkten)
+     */
+    BUST,
+    
+    /**
+     * Letzte Aufnahme einer Seite zurückgenommen
+     */
+    UNDO,
+    
+    /**
+     * Leg per Checkout gewonnen
+     */
+    LEG_WON,
+    
+    /**
+     * Leg-Ende zurückgenommen
+     */
+    LEG_REOPENED
+}
@@ -0,0 +1,32 @@
+package com.dartclub.repository;
+
+import com.dartclub.model.HeadToHeadMatchRow;
+import com.dartclub.model.entity.HeadToHeadLeg;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository für den Head-to-Head-Index (ein Eintrag pro entschiedenem Leg)
+ * 
+ * Erstellt von Hans Hahn - Alle Rechte vorbehalten
+ */
+@Repository
+public interface HeadToHeadLegRepository extends JpaRepository<HeadToHeadLeg, UUID> {
+    
+    /**
+     * Letzte Matches eines Paares mit Leg-Stand, neuestes zuerst (Anzahl über Pageable)
+     */
+    @Query("SELECT new com.dartclub.model.HeadToHeadMatchRow(h.matchId, MAX(h.finishedAt), " +
+           "SUM(CASE WHEN h.winnerMemberId = h.memberLow THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN h.winnerMemberId = h.memberHigh THEN 1 ELSE 0 END)) " +
+           "FROM HeadToHeadLeg h WHERE h.memberLow = :memberLow AND h.memberHigh = :memberHigh " +
+           "GROUP BY h.matchId ORDER BY MAX(h.finishedAt) DESC")
+    List<HeadToHeadMatchRow> findRecentMatches(@Param("memberLow") UUID memberLow,
+                                               @Param("memberHigh") UUID memberHigh, Pageable pageable);
+}
@@ -0,0 +1,79 @@
+package com.dartclub.repository;
+
+import com.dartclub.model.entity.HeadToHead;
+import com.dartclub.model.entity.HeadToHeadId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * Repository für Head-to-Head-Bilanzen
+ * 
+ * Ein Leg-Ende addiert per Upsert; eine Rücknahme berechnet die Zeile des
+ * Paares aus head_to_head_legs neu (wenige hundert Legs pro Paar).
+ * 
+ * Erstellt von Hans Hahn - Alle Rechte vorbehalten
+ */
+@Repository
+public interface HeadToHeadRepository extends JpaRepository<HeadToHead, HeadToHeadId> {
+    
+    /**
+     * Ein entschiedenes Leg addieren (ein neues Match zählt beim ersten Leg des Paares darin)
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO head_to_head (member_low, member_high, org_id, matches, legs_low, legs_high,
+                                      visits_low, points_low, visits_high, points_high, last_match_id, last_played_at)
+            VALUES (:memberLow, :memberHigh, :orgId, 1, :legsLow, :legsHigh,
+                    :visitsLow, :pointsLow, :visitsHigh, :pointsHigh, :matchId, :playedAt)
+            ON CONFLICT (member_low, member_high) DO UPDATE SET
+                matches = head_to_head.matches
+                    + CASE WHEN head_to_head.last_match_id IS DISTINCT FROM EXCLUDED.last_match_id THEN 1 ELSE 0 END,
+                legs_low = head_to_head.legs_low + EXCLUDED.legs_low,
+                legs_high = head_to_head.legs_high + EXCLUDED.legs_high,
+                visits_low = head_to_head.visits_low + EXCLUDED.visits_low,
+                points_low = head_to_head.points_low + EXCLUDED.points_low,
+                visits_high = head_to_head.visits_high + EXCLUDED.visits_high,
+                points_high = head_to_head.points_high + EXCLUDED.points_high,
+                last_match_id = EXCLUDED.last_match_id,
+                last_played_at = EXCLUDED.last_played_at
+            """, nativeQuery = true)
+    void addLeg(@Param("memberLow") UUID memberLow, @Param("memberHigh") UUID memberHigh, @Param("orgId") UUID orgId,
+                @Param("legsLow") int legsLow, @Param("legsHigh") int legsHigh,
+                @Param("visitsLow") int visitsLow, @Param("pointsLow") int pointsLow,
+                @Param("visitsHigh") int visitsHigh, @Param("pointsHigh") int pointsHigh,
+                @Param("matchId") UUID matchId, @Param("playedAt") ZonedDateTime playedAt);
+    
+    /**
+     * Bilanz eines Paares löschen (vor recompute)
+     */
+    @Modifying
+    @Query(value = "DELETE FROM head_to_head WHERE member_low = :memberLow AND member_high = :memberHigh",
+           nativeQuery = true)
+    void deletePair(@Param("memberLow") UUID memberLow, @Param("memberHigh") UUID memberHigh);
+    
+    /**
+     * Bilanz eines Paares aus head_to_head_legs neu schreiben (keine Zeile ohne Legs)
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO head_to_head (member_low, member_high, org_id, matches, legs_low, legs_high,
+                                      visits_low, points_low, visits_high, points_high, last_match_id, last_played_at)
+            SELECT member_low, member_high, org_id,
+                   COUNT(DISTINCT match_id),
+                   COUNT(*) FILTER (WHERE winner_member_id = member_low),
+                   COUNT(*) FILTER (WHERE winner_member_id = member_high),
+                   SUM(visits_low), SUM(points_low), SUM(visits_high), SUM(points_high),
+                   (ARRAY_AGG(match_id ORDER BY finished_at DESC))[1],
+                   MAX(finished_at)
+            FROM head_to_head_legs
+            WHERE member_low = :memberLow AND member_high = :memberHigh
+            GROUP BY member_low, member_high, org_id
+            """, nativeQuery = true)
+    void insertFromLegs(@Param("memberLow") UUID memberLow, @Param("memberHigh") UUID memberHigh);
+}
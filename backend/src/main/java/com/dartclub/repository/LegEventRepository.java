@@ -0,0 +1,33 @@
+package com.dartclub.repository;
+
+import com.dartclub.model.entity.LegEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository für das Event-Log der Legs
+ * 
+ * Erstellt von Hans Hahn - Alle Rechte vorbehalten
+ */
+@Repository
+public interface LegEventRepository extends JpaRepository<LegEvent, UUID> {
+    
+    /**
+     * Komplettes Log eines Legs (Replay, Audit-Trail)
+     */
+    List<LegEvent> findByLegIdOrderBySeqAsc(UUID legId);
+    
+    /**
+     * Events nach einem Snapshot
+     */
+    List<LegEvent> findByLegIdAndSeqGreaterThanOrderBySeqAsc(UUID legId, Integer seq);
+    
+    /**
+     * Letztes Event eines Legs
+     */
+    Optional<LegEvent> findFirstByLegIdOrderBySeqDesc(UUID legId);
+}
@@ -1,7 +1,11 @@
 package com.dartclub.repository;
 
+import com.dartclub.model.MatchLegRow;
 import com.dartclub.model.entity.Leg;
+import com.dartclub.model.enums.MatchStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -34,4 +38,25 @@ public interface LegRepository extends JpaRepository<Leg, UUID> {
      * Finde gewonnene Legs eines Spielers in einem Set
      */
     List<Leg> findBySetIdAndWinnerMemberId(UUID setId, UUID winnerMemberId);
+
+    /**
+     * Entschiedene Einzel-Legs eines Matches (Paarung und Sieger)
+     */
+    @Query("SELECT new com.dartclub.model.MatchLegRow(m.id, m.finishedAt, l.homeMemberId, l.awayMemberId, l.winnerMemberId) " +
+           "FROM Leg l, Set s, Match m " +
+           "WHERE s.id = l.setId AND m.id = s.matchId AND m.id = :matchId " +
+           "AND l.homeMemberId IS NOT NULL AND l.awayMemberId IS NOT NULL AND l.winnerMemberId IS NOT NULL")
+    List<MatchLegRow> findResultRowsByMatchId(@Param("matchId") UUID matchId);
+
+    /**
+     * Entschiedene Einzel-Legs aller Matches einer Organisation in einem Status,
+     * chronologisch nach Match-Ende (für die Rating-Neuberechnung)
+     */
+    @Query("SELECT new com.dartclub.model.MatchLegRow(m.id, m.finishedAt, l.homeMemberId, l.awayMemberId, l.winnerMemberId) " +
+           "FROM Leg l, Set s, Match m " +
+           "WHERE s.id = l.setId AND m.id = s.matchId AND m.orgId = :orgId AND m.status = :status " +
+           "AND m.finishedAt IS NOT NULL " +
+           "AND l.homeMemberId IS NOT NULL AND l.awayMemberId IS NOT NULL AND l.winnerMemberId IS NOT NULL " +
+           "ORDER BY m.finishedAt, m.id")
+    List<MatchLegRow> findResultRowsByOrgId(@Param("orgId") UUID orgId, @Param("status") MatchStatus status);
 }
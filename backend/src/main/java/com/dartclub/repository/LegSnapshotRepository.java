@@ -0,0 +1,22 @@
+package com.dartclub.repository;
+
+import com.dartclub.model.entity.LegSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository für Leg-Snapshots
+ * 
+ * Erstellt von Hans Hahn - Alle Rechte vorbehalten
+ */
+@Repository
+public interface LegSnapshotRepository extends JpaRepository<LegSnapshot, UUID> {
+    
+    /**
+     * Neuester Snapshot eines Legs
+     */
+    Optional<LegSnapshot> findFirstByLegIdOrderBySeqDesc(UUID legId);
+}
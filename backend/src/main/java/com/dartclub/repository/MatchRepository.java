@@ -3,9 +3,12 @@ package com.dartclub.repository;
 import com.dartclub.model.entity.Match;
 import com.dartclub.model.enums.MatchStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -33,6 +36,11 @@ public interface MatchRepository extends JpaRepository<Match, UUID> {
      */
     List<Match> findByOrgIdAndStatus(UUID orgId, MatchStatus status);
     
+    /**
+     * Gibt es Matches mit diesem Status in der Organisation?
+     */
+    boolean existsByOrgIdAndStatus(UUID orgId, MatchStatus status);
+    
     /**
      * Finde Matches nach Team (Heim oder Auswärts)
      */
@@ -42,4 +50,13 @@ public interface MatchRepository extends JpaRepository<Match, UUID> {
      * Finde Matches in einem bestimmten Zeitraum
      */
     List<Match> findByOrgIdAndMatchDateBetween(UUID orgId, LocalDateTime start, LocalDateTime end);
+    
+    /**
+     * Ende aller beendeten Matches eines Teams in [from, to) (Monatszahlen der Team-Rollups)
+     */
+    @Query("SELECT m.finishedAt FROM Match m WHERE m.orgId = :orgId " +
+           "AND (m.homeTeamId = :teamId OR m.awayTeamId = :teamId) " +
+           "AND m.finishedAt >= :from AND m.finishedAt < :to")
+    List<ZonedDateTime> findFinishedAtByTeam(@Param("orgId") UUID orgId, @Param("teamId") UUID teamId,
+                                             @Param("from") ZonedDateTime from, @Param("to") ZonedDateTime to);
 }
@@ -0,0 +1,41 @@
+package com.dartclub.repository;
+
+import com.dartclub.model.entity.PlayerDoubleStats;
+import com.dartclub.model.entity.PlayerDoubleStatsId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository für die Checkout-Quote pro Doppelfeld
+ * 
+ * Erstellt von Hans Hahn - Alle Rechte vorbehalten
+ */
+@Repository
+public interface PlayerDoubleStatsRepository extends JpaRepository<PlayerDoubleStats, PlayerDoubleStatsId> {
+    
+    /**
+     * Alle Doppelfelder eines Spielers, nach Segment sortiert
+     */
+    List<PlayerDoubleStats> findByMemberIdOrderBySegmentAsc(UUID memberId);
+    
+    /**
+     * Deltas eines Doppelfelds addieren
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO player_double_stats (member_id, segment, org_id, attempts, hits)
+            VALUES (:memberId, :segment, :orgId, :attempts, :hits)
+            ON CONFLICT (member_id, segment) DO UPDATE SET
+                attempts = player_double_stats.attempts + EXCLUDED.attempts,
+                hits = player_double_stats.hits + EXCLUDED.hits,
+                updated_at = CURRENT_TIMESTAMP
+            """, nativeQuery = true)
+    void addDouble(@Param("memberId") UUID memberId, @Param("segment") int segment, @Param("orgId") UUID orgId,
+                   @Param("attempts") int attempts, @Param("hits") int hits);
+}
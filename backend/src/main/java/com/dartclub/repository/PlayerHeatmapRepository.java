@@ -0,0 +1,15 @@
+package com.dartclub.repository;
+
+import com.dartclub.model.entity.PlayerHeatmap;
+import com.dartclub.model.entity.PlayerHeatmapId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository für Segment-Heatmaps
+ * 
+ * Erstellt von Hans Hahn - Alle Rechte vorbehalten
+ */
+@Repository
+public interface PlayerHeatmapRepository extends JpaRepository<PlayerHeatmap, PlayerHeatmapId> {
+}
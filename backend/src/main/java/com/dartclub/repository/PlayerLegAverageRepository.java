@@ -0,0 +1,35 @@
+package com.dartclub.repository;
+
+import com.dartclub.model.entity.PlayerLegAverage;
+import com.dartclub.model.entity.PlayerLegAverageId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository für die Leg-Averages der Formkurve
+ * 
+ * Erstellt von Hans Hahn - Alle Rechte vorbehalten
+ */
+@Repository
+public interface PlayerLegAverageRepository extends JpaRepository<PlayerLegAverage, PlayerLegAverageId> {
+    
+    /**
+     * Zeitreihe eines Spielers in [from, to), chronologisch
+     */
+    List<PlayerLegAverage> findByMemberIdAndFinishedAtGreaterThanEqualAndFinishedAtLessThanOrderByFinishedAtAsc(
+            UUID memberId, ZonedDateTime from, ZonedDateTime to);
+    
+    /**
+     * Einträge eines Legs löschen (Leg wieder geöffnet)
+     */
+    @Modifying
+    @Query("DELETE FROM PlayerLegAverage p WHERE p.legId = :legId")
+    void deleteByLegId(@Param("legId") UUID legId);
+}
@@ -0,0 +1,31 @@
+package com.dartclub.repository;
+
+import com.dartclub.model.entity.PlayerMonthlyRollup;
+import com.dartclub.model.entity.PlayerMonthlyRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository für monatliche Rollups (lesend, geschrieben wird über RollupRefreshRepository)
+ * 
+ * Erstellt von Hans Hahn - Alle Rechte vorbehalten
+ */
+@Repository
+public interface PlayerMonthlyRollupRepository extends JpaRepository<PlayerMonthlyRollup, PlayerMonthlyRollupId> {
+    
+    /**
+     * Monate eines Spielers (alle Teams) in [from, to)
+     */
+    List<PlayerMonthlyRollup> findByOrgIdAndMemberIdAndMonthGreaterThanEqualAndMonthLessThanOrderByMonthAsc(
+            UUID orgId, UUID memberId, LocalDate from, LocalDate to);
+    
+    /**
+     * Monate aller Spieler eines Teams in [from, to)
+     */
+    List<PlayerMonthlyRollup> findByOrgIdAndTeamIdAndMonthGreaterThanEqualAndMonthLessThanOrderByMonthAsc(
+            UUID orgId, UUID teamId, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,34 @@
+package com.dartclub.repository;
+
+import com.dartclub.model.entity.PlayerRating;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository für Spieler-Ratings
+ * 
+ * Erstellt von Hans Hahn - Alle Rechte vorbehalten
+ */
+@Repository
+public interface PlayerRatingRepository extends JpaRepository<PlayerRating, UUID> {
+    
+    /**
+     * Alle Ratings einer Organisation, bestes zuerst
+     */
+    List<PlayerRating> findByOrgIdOrderByRatingDesc(UUID orgId);
+    
+    /**
+     * Ratings mehrerer Spieler lesen und bis zum Ende der Transaktion sperren
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM PlayerRating r WHERE r.memberId IN :memberIds")
+    List<PlayerRating> findAllForUpdate(@Param("memberIds") Collection<UUID> memberIds);
+}
@@ -0,0 +1,23 @@
+package com.dartclub.repository;
+
+import com.dartclub.model.entity.PlayerSeasonStats;
+import com.dartclub.model.entity.PlayerSeasonStatsId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository für Saison-Zähler der Bestenlisten
+ * 
+ * Erstellt von Hans Hahn - Alle Rechte vorbehalten
+ */
+@Repository
+public interface PlayerSeasonStatsRepository extends JpaRepository<PlayerSeasonStats, PlayerSeasonStatsId> {
+    
+    /**
+     * Alle Zähler einer Organisation in einer Saison
+     */
+    List<PlayerSeasonStats> findByOrgIdAndSeason(UUID orgId, String season);
+}
@@ -0,0 +1,86 @@
+package com.dartclub.repository;
+
+import com.dartclub.model.entity.PlayerStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository für aggregierte Spielerstatistiken
+ * 
+ * Die Zähler werden per Upsert mit Deltas fortgeschrieben (auch negativ
+ * bei Rücknahmen), damit parallele Matches eines Spielers sich nicht
+ * gegenseitig überschreiben.
+ * 
+ * Erstellt von Hans Hahn - Alle Rechte vorbehalten
+ */
+@Repository
+public interface PlayerStatsRepository extends JpaRepository<PlayerStats, UUID> {
+    
+    /**
+     * Alle Statistiken einer Organisation
+     */
+    List<PlayerStats> findByOrgId(UUID orgId);
+    
+    /**
+     * Statistik eines Spielers lesen und bis zum Ende der Transaktion sperren
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM PlayerStats p WHERE p.memberId = :memberId")
+    Optional<PlayerStats> findForUpdate(@Param("memberId") UUID memberId);
+    
+    /**
+     * Deltas einer Aufnahme addieren
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO player_stats (member_id, org_id, visits, darts, points, first9_visits, first9_points,
+                                      count_180, count_171, count_140_plus, checkout_attempts, checkout_hits)
+            VALUES (:memberId, :orgId, :visits, :darts, :points, :first9Visits, :first9Points,
+                    :count180, :count171, :count140Plus, :checkoutAttempts, :checkoutHits)
+            ON CONFLICT (member_id) DO UPDATE SET
+                visits = player_stats.visits + EXCLUDED.visits,
+                darts = player_stats.darts + EXCLUDED.darts,
+                points = player_stats.points + EXCLUDED.points,
+                first9_visits = player_stats.first9_visits + EXCLUDED.first9_visits,
+                first9_points = player_stats.first9_points + EXCLUDED.first9_points,
+                count_180 = player_stats.count_180 + EXCLUDED.count_180,
+                count_171 = player_stats.count_171 + EXCLUDED.count_171,
+                count_140_plus = player_stats.count_140_plus + EXCLUDED.count_140_plus,
+                checkout_attempts = player_stats.checkout_attempts + EXCLUDED.checkout_attempts,
+                checkout_hits = player_stats.checkout_hits + EXCLUDED.checkout_hits,
+                updated_at = CURRENT_TIMESTAMP
+            """, nativeQuery = true)
+    void addVisit(@Param("memberId") UUID memberId, @Param("orgId") UUID orgId,
+                  @Param("visits") int visits, @Param("darts") int darts, @Param("points") int points,
+                  @Param("first9Visits") int first9Visits, @Param("first9Points") int first9Points,
+                  @Param("count180") int count180, @Param("count171") int count171,
+                  @Param("count140Plus") int count140Plus,
+                  @Param("checkoutAttempts") int checkoutAttempts, @Param("checkoutHits") int checkoutHits);
+    
+    /**
+     * Leg-Ergebnis addieren (Bestwerte nur verbessern, null = kein Bestwert)
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO player_stats (member_id, org_id, legs_played, legs_won, best_leg_darts, highest_checkout)
+            VALUES (:memberId, :orgId, :legsPlayed, :legsWon, :bestLegDarts, :highestCheckout)
+            ON CONFLICT (member_id) DO UPDATE SET
+                legs_played = player_stats.legs_played + EXCLUDED.legs_played,
+                legs_won = player_stats.legs_won + EXCLUDED.legs_won,
+                best_leg_darts = LEAST(player_stats.best_leg_darts, EXCLUDED.best_leg_darts),
+                highest_checkout = GREATEST(player_stats.highest_checkout, EXCLUDED.highest_checkout),
+                updated_at = CURRENT_TIMESTAMP
+            """, nativeQuery = true)
+    void addLeg(@Param("memberId") UUID memberId, @Param("orgId") UUID orgId,
+                @Param("legsPlayed") int legsPlayed, @Param("legsWon") int legsWon,
+                @Param("bestLegDarts") Integer bestLegDarts, @Param("highestCheckout") Integer highestCheckout);
+}
@@ -0,0 +1,98 @@
+package com.dartclub.repository;
+
+import com.dartclub.model.entity.PlayerRating;
+import com.dartclub.model.entity.RatingHistory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository für das Neuschreiben aller Ratings einer Organisation per JDBC
+ * 
+ * Für die Rating-Neuberechnung: Verlauf und Ratings gehen als JDBC-Batches
+ * an die Datenbank, ohne Persistence-Context. Ratings werden per Upsert
+ * geschrieben (nicht gelöscht), damit ein parallel wartendes
+ * MatchService.finalizeMatch seine gesperrten Zeilen danach wiederfindet.
+ * Läuft in der Transaktion des Aufrufers.
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Repository
+@RequiredArgsConstructor
+public class RatingBatchRepository {
+    
+    private static final int BATCH_SIZE = 1000;
+    
+    private static final String LOCK_SQL =
+            "SELECT member_id FROM player_ratings WHERE org_id = ? FOR UPDATE";
+    
+    private static final String DELETE_HISTORY_SQL =
+            "DELETE FROM rating_history WHERE org_id = ?";
+    
+    private static final String INSERT_HISTORY_SQL =
+            "INSERT INTO rating_history (id, member_id, org_id, match_id, rating_before, deviation_before, " +
+            "rating_after, deviation_after, legs_won, legs_lost, played_at, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final String UPSERT_RATING_SQL =
+            "INSERT INTO player_ratings (member_id, org_id, rating, deviation, matches, last_played_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (member_id) DO UPDATE SET rating = EXCLUDED.rating, deviation = EXCLUDED.deviation, " +
+            "matches = EXCLUDED.matches, last_played_at = EXCLUDED.last_played_at, updated_at = EXCLUDED.updated_at";
+    
+    // Ratings ohne gewertetes Match (nicht im Upsert enthalten) entfernen
+    private static final String DELETE_STALE_RATINGS_SQL =
+            "DELETE FROM player_ratings WHERE org_id = ? AND updated_at < ?";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Ratings der Organisation bis zum Ende der Transaktion sperren
+     */
+    public void lockOrg(UUID orgId) {
+        jdbcTemplate.queryForList(LOCK_SQL, UUID.class, orgId);
+    }
+    
+    /**
+     * Verlauf und Ratings einer Organisation durch die übergebenen ersetzen
+     */
+    public void replaceOrg(UUID orgId, List<PlayerRating> ratings, List<RatingHistory> history) {
+        Timestamp now = Timestamp.from(Instant.now());
+        
+        jdbcTemplate.update(DELETE_HISTORY_SQL, orgId);
+        if (!history.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_HISTORY_SQL, history, BATCH_SIZE, (ps, h) -> {
+                ps.setObject(1, UUID.randomUUID());
+                ps.setObject(2, h.getMemberId());
+                ps.setObject(3, h.getOrgId());
+                ps.setObject(4, h.getMatchId());
+                ps.setDouble(5, h.getRatingBefore());
+                ps.setDouble(6, h.getDeviationBefore());
+                ps.setDouble(7, h.getRatingAfter());
+                ps.setDouble(8, h.getDeviationAfter());
+                ps.setInt(9, h.getLegsWon());
+                ps.setInt(10, h.getLegsLost());
+                ps.setTimestamp(11, Timestamp.from(h.getPlayedAt().toInstant()));
+                ps.setTimestamp(12, now);
+            });
+        }
+        
+        if (!ratings.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_RATING_SQL, ratings, BATCH_SIZE, (ps, r) -> {
+                ps.setObject(1, r.getMemberId());
+                ps.setObject(2, r.getOrgId());
+                ps.setDouble(3, r.getRating());
+                ps.setDouble(4, r.getDeviation());
+                ps.setInt(5, r.getMatches());
+                ps.setTimestamp(6, r.getLastPlayedAt() != null ? Timestamp.from(r.getLastPlayedAt().toInstant()) : null);
+                ps.setTimestamp(7, now);
+            });
+        }
+        jdbcTemplate.update(DELETE_STALE_RATINGS_SQL, orgId, now);
+    }
+}
@@ -0,0 +1,33 @@
+package com.dartclub.repository;
+
+import com.dartclub.model.entity.RatingHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository für den Rating-Verlauf
+ * 
+ * Erstellt von Hans Hahn - Alle Rechte vorbehalten
+ */
+@Repository
+public interface RatingHistoryRepository extends JpaRepository<RatingHistory, UUID> {
+    
+    /**
+     * Verlauf eines Spielers, neuestes Match zuerst
+     */
+    List<RatingHistory> findByMemberIdOrderByPlayedAtDescCreatedAtDesc(UUID memberId);
+    
+    /**
+     * Letzter Eintrag eines Spielers
+     */
+    Optional<RatingHistory> findFirstByMemberIdOrderByPlayedAtDescCreatedAtDesc(UUID memberId);
+    
+    /**
+     * Alle Einträge eines Matches
+     */
+    List<RatingHistory> findByMatchId(UUID matchId);
+}
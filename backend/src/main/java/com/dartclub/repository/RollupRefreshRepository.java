@@ -0,0 +1,145 @@
+package com.dartclub.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.ZonedDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+/**
+ * Repository für den inkrementellen Refresh der monatlichen Rollups per JDBC
+ * 
+ * Eine Gruppe (Organisation, Team, Spieler, Monat) gilt als geändert, wenn
+ * im Fenster (from, to] eines ihrer Legs beendet wurde; sie wird dann
+ * komplett aus legs und throws neu berechnet und per Upsert mit absoluten
+ * Werten geschrieben. Ein wieder geöffnetes und erneut beendetes Leg zählt
+ * so nicht doppelt. Läuft in der Transaktion des Aufrufers.
+ * 
+ * Darts wie in StatisticsService.Tally: 3 pro Aufnahme, beim Checkout nur
+ * bis zum letzten Dart mit Multiplier (aus darts_packed, siehe PackedVisit).
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Repository
+@RequiredArgsConstructor
+public class RollupRefreshRepository {
+    
+    private static final String NO_TEAM = "'00000000-0000-0000-0000-000000000000'::uuid";
+    
+    private static final String LOCK_WATERMARK_SQL =
+            "SELECT watermark FROM rollup_watermarks WHERE name = ? FOR UPDATE";
+    
+    private static final String UPDATE_WATERMARK_SQL =
+            "UPDATE rollup_watermarks SET watermark = ?, updated_at = CURRENT_TIMESTAMP WHERE name = ?";
+    
+    private static final String REFRESH_MONTHLY_SQL =
+            refreshSql("l.finished_at > ? AND l.finished_at <= ?");
+    
+    private static final String DELETE_ORG_SQL =
+            "DELETE FROM player_monthly_rollups WHERE org_id = ?";
+    
+    private static final String REBUILD_ORG_SQL =
+            refreshSql("m.org_id = ? AND l.finished_at IS NOT NULL");
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Refresh-SQL für alle Gruppen mit einem Leg, das touchedFilter erfüllt
+     */
+    private static String refreshSql(String touchedFilter) {
+        return "WITH touched AS ( " +
+            "    SELECT DISTINCT m.org_id, COALESCE(p.team_id, " + NO_TEAM + ") AS team_id, p.member_id, " +
+            "           date_trunc('month', l.finished_at)::date AS month " +
+            "    FROM legs l " +
+            "    JOIN sets s ON s.id = l.set_id " +
+            "    JOIN matches m ON m.id = s.match_id " +
+            "    CROSS JOIN LATERAL (VALUES (l.home_member_id, m.home_team_id), (l.away_member_id, m.away_team_id)) " +
+            "        AS p(member_id, team_id) " +
+            "    WHERE " + touchedFilter + " AND p.member_id IS NOT NULL " +
+            "), member_legs AS ( " +
+            "    SELECT t.org_id, t.team_id, t.member_id, t.month, s.match_id, l.id AS leg_id, " +
+            "           l.winner_member_id, l.game_variant " +
+            "    FROM touched t " +
+            "    JOIN legs l ON l.home_member_id = t.member_id " +
+            "               AND l.finished_at >= t.month AND l.finished_at < t.month + INTERVAL '1 month' " +
+            "    JOIN sets s ON s.id = l.set_id " +
+            "    JOIN matches m ON m.id = s.match_id " +
+            "    WHERE m.org_id = t.org_id AND COALESCE(m.home_team_id, " + NO_TEAM + ") = t.team_id " +
+            "    UNION ALL " +
+            "    SELECT t.org_id, t.team_id, t.member_id, t.month, s.match_id, l.id AS leg_id, " +
+            "           l.winner_member_id, l.game_variant " +
+            "    FROM touched t " +
+            "    JOIN legs l ON l.away_member_id = t.member_id " +
+            "               AND l.finished_at >= t.month AND l.finished_at < t.month + INTERVAL '1 month' " +
+            "    JOIN sets s ON s.id = l.set_id " +
+            "    JOIN matches m ON m.id = s.match_id " +
+            "    WHERE m.org_id = t.org_id AND COALESCE(m.away_team_id, " + NO_TEAM + ") = t.team_id " +
+            ") " +
+            "INSERT INTO player_monthly_rollups (org_id, team_id, member_id, month, matches, legs_played, legs_won, " +
+            "                                    visits, darts, points, count_180, updated_at) " +
+            "SELECT ml.org_id, ml.team_id, ml.member_id, ml.month, " +
+            "       COUNT(DISTINCT ml.match_id), " +
+            "       COUNT(*), " +
+            "       COUNT(*) FILTER (WHERE ml.winner_member_id = ml.member_id), " +
+            "       COALESCE(SUM(v.visits), 0), " +
+            "       COALESCE(SUM(v.darts), 0), " +
+            "       COALESCE(SUM(v.points), 0), " +
+            "       COALESCE(SUM(v.count_180), 0), " +
+            "       CURRENT_TIMESTAMP " +
+            "FROM member_legs ml " +
+            "LEFT JOIN LATERAL ( " +
+            "    SELECT COUNT(*) AS visits, " +
+            "           SUM(CASE WHEN NOT COALESCE(th.is_checkout, FALSE) THEN 3 " +
+            "                    WHEN ((th.darts_packed >> 16) & 3) <> 0 THEN 3 " +
+            "                    WHEN ((th.darts_packed >> 8) & 3) <> 0 THEN 2 " +
+            "                    ELSE 1 END) AS darts, " +
+            "           SUM(CASE WHEN th.is_bust THEN 0 ELSE th.throw_total END) AS points, " +
+            "           COUNT(*) FILTER (WHERE th.throw_total = 180 AND NOT COALESCE(th.is_bust, FALSE)) AS count_180 " +
+            "    FROM throws th " +
+            "    WHERE th.leg_id = ml.leg_id AND th.member_id = ml.member_id AND ml.game_variant = 'X01' " +
+            ") v ON TRUE " +
+            "GROUP BY ml.org_id, ml.team_id, ml.member_id, ml.month " +
+            "ON CONFLICT (org_id, team_id, member_id, month) DO UPDATE SET " +
+            "    matches = EXCLUDED.matches, legs_played = EXCLUDED.legs_played, legs_won = EXCLUDED.legs_won, " +
+            "    visits = EXCLUDED.visits, darts = EXCLUDED.darts, points = EXCLUDED.points, " +
+            "    count_180 = EXCLUDED.count_180, updated_at = EXCLUDED.updated_at";
+    }
+    
+    /**
+     * Watermark eines Jobs lesen und bis zum Ende der Transaktion sperren
+     */
+    public ZonedDateTime lockWatermark(String name) {
+        Timestamp watermark = jdbcTemplate.queryForObject(LOCK_WATERMARK_SQL, Timestamp.class, name);
+        return watermark.toInstant().atZone(ZoneId.systemDefault());
+    }
+    
+    public void updateWatermark(String name, ZonedDateTime watermark) {
+        jdbcTemplate.update(UPDATE_WATERMARK_SQL, Timestamp.from(watermark.toInstant()), name);
+    }
+    
+    /**
+     * Alle Gruppen mit einem im Fenster (from, to] beendeten Leg neu berechnen
+     * 
+     * @return Anzahl geschriebener Rollup-Zeilen
+     */
+    public int refreshMonthly(ZonedDateTime from, ZonedDateTime to) {
+        return jdbcTemplate.update(REFRESH_MONTHLY_SQL,
+                Timestamp.from(from.toInstant()), Timestamp.from(to.toInstant()));
+    }
+    
+    /**
+     * Alle Rollups einer Organisation aus legs und throws neu aufbauen
+     * 
+     * Aufruf mit gesperrter Watermark (siehe {@link #lockWatermark}), damit
+     * kein Refresh gleichzeitig schreibt.
+     * 
+     * @return Anzahl geschriebener Rollup-Zeilen
+     */
+    public int rebuildOrg(UUID orgId) {
+        jdbcTemplate.update(DELETE_ORG_SQL, orgId);
+        return jdbcTemplate.update(REBUILD_ORG_SQL, orgId);
+    }
+}
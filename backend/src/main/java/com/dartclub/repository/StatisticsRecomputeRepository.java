@@ -0,0 +1,245 @@
+package com.dartclub.repository;
+
+import com.dartclub.model.entity.PlayerDoubleStats;
+import com.dartclub.model.entity.PlayerHeatmap;
+import com.dartclub.model.entity.PlayerLegAverage;
+import com.dartclub.model.entity.PlayerSeasonStats;
+import com.dartclub.model.entity.PlayerStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository für das Neuschreiben der Statistik-Aggregate per JDBC
+ *
+ * Für die Statistik-Neuberechnung: Die Werte eines Spielers (Karriere,
+ * Doppelfelder, Saisons, Heatmaps, Leg-Averages) ersetzen seine bisherigen Zeilen
+ * (Löschen, dann Upserts in JDBC-Batches, ohne Persistence-Context); ein
+ * gleichzeitiger Flush aus dem Speicher scheitert so nicht am Schlüssel.
+ * Head-to-Head wird pro Organisation per SQL aus legs und throws neu
+ * aufgebaut. Läuft in der Transaktion des Aufrufers.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Repository
+@RequiredArgsConstructor
+public class StatisticsRecomputeRepository {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String UPSERT_PLAYER_STATS_SQL =
+            "INSERT INTO player_stats (member_id, org_id, visits, darts, points, first9_visits, first9_points, " +
+            "count_180, count_171, count_140_plus, checkout_attempts, checkout_hits, legs_played, legs_won, " +
+            "best_leg_darts, highest_checkout, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (member_id) DO UPDATE SET visits = EXCLUDED.visits, darts = EXCLUDED.darts, " +
+            "points = EXCLUDED.points, first9_visits = EXCLUDED.first9_visits, " +
+            "first9_points = EXCLUDED.first9_points, count_180 = EXCLUDED.count_180, " +
+            "count_171 = EXCLUDED.count_171, count_140_plus = EXCLUDED.count_140_plus, " +
+            "checkout_attempts = EXCLUDED.checkout_attempts, checkout_hits = EXCLUDED.checkout_hits, " +
+            "legs_played = EXCLUDED.legs_played, legs_won = EXCLUDED.legs_won, " +
+            "best_leg_darts = EXCLUDED.best_leg_darts, highest_checkout = EXCLUDED.highest_checkout, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    private static final String DELETE_DOUBLE_STATS_SQL =
+            "DELETE FROM player_double_stats WHERE member_id = ?";
+
+    private static final String UPSERT_DOUBLE_STATS_SQL =
+            "INSERT INTO player_double_stats (member_id, segment, org_id, attempts, hits, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (member_id, segment) DO UPDATE SET attempts = EXCLUDED.attempts, hits = EXCLUDED.hits, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    private static final String UPSERT_SEASON_STATS_SQL =
+            "INSERT INTO player_season_stats (org_id, season, member_id, darts, points, count_180, " +
+            "highest_checkout, best_leg_darts, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (org_id, season, member_id) DO UPDATE SET darts = EXCLUDED.darts, " +
+            "points = EXCLUDED.points, count_180 = EXCLUDED.count_180, " +
+            "highest_checkout = EXCLUDED.highest_checkout, best_leg_darts = EXCLUDED.best_leg_darts, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    private static final String DELETE_SEASON_STATS_SQL =
+            "DELETE FROM player_season_stats WHERE member_id = ?";
+
+    private static final String UPSERT_HEATMAP_SQL =
+            "INSERT INTO player_heatmaps (member_id, season, org_id, cells, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?) " +
+            "ON CONFLICT (member_id, season) DO UPDATE SET cells = EXCLUDED.cells, updated_at = EXCLUDED.updated_at";
+
+    private static final String DELETE_HEATMAPS_SQL =
+            "DELETE FROM player_heatmaps WHERE member_id = ?";
+
+    private static final String DELETE_LEG_AVERAGES_SQL =
+            "DELETE FROM player_leg_averages WHERE member_id = ?";
+
+    private static final String INSERT_LEG_AVERAGE_SQL =
+            "INSERT INTO player_leg_averages (leg_id, member_id, org_id, visits, points, finished_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String DELETE_HEAD_TO_HEAD_LEGS_SQL =
+            "DELETE FROM head_to_head_legs WHERE org_id = ?";
+
+    private static final String DELETE_HEAD_TO_HEAD_SQL =
+            "DELETE FROM head_to_head WHERE org_id = ?";
+
+    private static final String INSERT_HEAD_TO_HEAD_LEGS_SQL =
+            "INSERT INTO head_to_head_legs (leg_id, member_low, member_high, org_id, match_id, winner_member_id, " +
+            "                               visits_low, points_low, visits_high, points_high, finished_at) " +
+            "SELECT l.id, p.low, p.high, m.org_id, m.id, l.winner_member_id, " +
+            "       COALESCE(v.visits_low, 0), COALESCE(v.points_low, 0), " +
+            "       COALESCE(v.visits_high, 0), COALESCE(v.points_high, 0), " +
+            "       l.finished_at " +
+            "FROM legs l " +
+            "JOIN sets s ON s.id = l.set_id " +
+            "JOIN matches m ON m.id = s.match_id " +
+            "CROSS JOIN LATERAL (SELECT LEAST(l.home_member_id, l.away_member_id) AS low, " +
+            "                           GREATEST(l.home_member_id, l.away_member_id) AS high) p " +
+            "LEFT JOIN LATERAL ( " +
+            "    SELECT COUNT(*) FILTER (WHERE t.member_id = p.low) AS visits_low, " +
+            "           SUM(CASE WHEN t.is_bust THEN 0 ELSE t.throw_total END) FILTER (WHERE t.member_id = p.low) AS points_low, " +
+            "           COUNT(*) FILTER (WHERE t.member_id = p.high) AS visits_high, " +
+            "           SUM(CASE WHEN t.is_bust THEN 0 ELSE t.throw_total END) FILTER (WHERE t.member_id = p.high) AS points_high " +
+            "    FROM throws t " +
+            "    WHERE t.leg_id = l.id AND l.game_variant = 'X01' " +
+            ") v ON TRUE " +
+            "WHERE m.org_id = ? " +
+            "  AND l.finished_at IS NOT NULL " +
+            "  AND l.winner_member_id IS NOT NULL " +
+            "  AND l.home_member_id IS NOT NULL " +
+            "  AND l.away_member_id IS NOT NULL " +
+            "  AND l.home_member_id <> l.away_member_id";
+
+    private static final String INSERT_HEAD_TO_HEAD_SQL =
+            "INSERT INTO head_to_head (member_low, member_high, org_id, matches, legs_low, legs_high, " +
+            "                          visits_low, points_low, visits_high, points_high, last_match_id, last_played_at) " +
+            "SELECT member_low, member_high, org_id, " +
+            "       COUNT(DISTINCT match_id), " +
+            "       COUNT(*) FILTER (WHERE winner_member_id = member_low), " +
+            "       COUNT(*) FILTER (WHERE winner_member_id = member_high), " +
+            "       SUM(visits_low), SUM(points_low), SUM(visits_high), SUM(points_high), " +
+            "       (ARRAY_AGG(match_id ORDER BY finished_at DESC))[1], " +
+            "       MAX(finished_at) " +
+            "FROM head_to_head_legs " +
+            "WHERE org_id = ? " +
+            "GROUP BY member_low, member_high, org_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Karriere-Statistik eines Spielers mit absoluten Werten schreiben
+     */
+    public void upsertPlayerStats(PlayerStats stats) {
+        jdbcTemplate.update(UPSERT_PLAYER_STATS_SQL, ps -> {
+            ps.setObject(1, stats.getMemberId());
+            ps.setObject(2, stats.getOrgId());
+            ps.setInt(3, stats.getVisits());
+            ps.setInt(4, stats.getDarts());
+            ps.setInt(5, stats.getPoints());
+            ps.setInt(6, stats.getFirst9Visits());
+            ps.setInt(7, stats.getFirst9Points());
+            ps.setInt(8, stats.getCount180());
+            ps.setInt(9, stats.getCount171());
+            ps.setInt(10, stats.getCount140Plus());
+            ps.setInt(11, stats.getCheckoutAttempts());
+            ps.setInt(12, stats.getCheckoutHits());
+            ps.setInt(13, stats.getLegsPlayed());
+            ps.setInt(14, stats.getLegsWon());
+            ps.setObject(15, stats.getBestLegDarts(), Types.INTEGER);
+            ps.setObject(16, stats.getHighestCheckout(), Types.INTEGER);
+            ps.setTimestamp(17, Timestamp.from(Instant.now()));
+        });
+    }
+
+    /**
+     * Doppelfelder eines Spielers durch die übergebenen ersetzen
+     */
+    public void replaceDoubleStats(UUID memberId, List<PlayerDoubleStats> doubles) {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update(DELETE_DOUBLE_STATS_SQL, memberId);
+        if (!doubles.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_DOUBLE_STATS_SQL, doubles, BATCH_SIZE, (ps, d) -> {
+                ps.setObject(1, d.getMemberId());
+                ps.setInt(2, d.getSegment());
+                ps.setObject(3, d.getOrgId());
+                ps.setInt(4, d.getAttempts());
+                ps.setInt(5, d.getHits());
+                ps.setTimestamp(6, now);
+            });
+        }
+    }
+
+    /**
+     * Saison-Zähler eines Spielers durch die übergebenen ersetzen
+     */
+    public void replaceSeasonStats(UUID memberId, List<PlayerSeasonStats> seasons) {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update(DELETE_SEASON_STATS_SQL, memberId);
+        if (!seasons.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SEASON_STATS_SQL, seasons, BATCH_SIZE, (ps, s) -> {
+                ps.setObject(1, s.getOrgId());
+                ps.setString(2, s.getSeason());
+                ps.setObject(3, s.getMemberId());
+                ps.setInt(4, s.getDarts());
+                ps.setInt(5, s.getPoints());
+                ps.setInt(6, s.getCount180());
+                ps.setObject(7, s.getHighestCheckout(), Types.INTEGER);
+                ps.setObject(8, s.getBestLegDarts(), Types.INTEGER);
+                ps.setTimestamp(9, now);
+            });
+        }
+    }
+
+    /**
+     * Heatmaps eines Spielers (gesamt und pro Saison) durch die übergebenen ersetzen
+     */
+    public void replaceHeatmaps(UUID memberId, List<PlayerHeatmap> heatmaps) {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update(DELETE_HEATMAPS_SQL, memberId);
+        if (!heatmaps.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_HEATMAP_SQL, heatmaps, BATCH_SIZE, (ps, h) -> {
+                ps.setObject(1, h.getMemberId());
+                ps.setString(2, h.getSeason());
+                ps.setObject(3, h.getOrgId());
+                ps.setBytes(4, h.getCells());
+                ps.setTimestamp(5, now);
+            });
+        }
+    }
+
+    /**
+     * Leg-Averages eines Spielers durch die übergebenen ersetzen
+     */
+    public void replaceLegAverages(UUID memberId, List<PlayerLegAverage> averages) {
+        jdbcTemplate.update(DELETE_LEG_AVERAGES_SQL, memberId);
+        if (!averages.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_LEG_AVERAGE_SQL, averages, BATCH_SIZE, (ps, a) -> {
+                ps.setObject(1, a.getLegId());
+                ps.setObject(2, a.getMemberId());
+                ps.setObject(3, a.getOrgId());
+                ps.setInt(4, a.getVisits());
+                ps.setInt(5, a.getPoints());
+                ps.setTimestamp(6, Timestamp.from(a.getFinishedAt().toInstant()));
+            });
+        }
+    }
+
+    /**
+     * Head-to-Head einer Organisation aus legs und throws neu aufbauen
+     *
+     * @return Anzahl übernommener Legs
+     */
+    public int rebuildHeadToHead(UUID orgId) {
+        jdbcTemplate.update(DELETE_HEAD_TO_HEAD_SQL, orgId);
+        jdbcTemplate.update(DELETE_HEAD_TO_HEAD_LEGS_SQL, orgId);
+        int legs = jdbcTemplate.update(INSERT_HEAD_TO_HEAD_LEGS_SQL, orgId);
+        jdbcTemplate.update(INSERT_HEAD_TO_HEAD_SQL, orgId);
+        return legs;
+    }
+}
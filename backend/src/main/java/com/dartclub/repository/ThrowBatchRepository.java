@@ -0,0 +1,75 @@
+package com.dartclub.repository;
+
+import com.dartclub.model.PackedVisit;
+import com.dartclub.model.entity.Throw;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository für Batch-Inserts von Würfen per JDBC
+ * 
+ * Umgeht den Persistence-Context: fehlende IDs und created_at werden hier vergeben,
+ * alle Zeilen gehen als ein JDBC-Batch an die Datenbank. Läuft in der
+ * Transaktion des Aufrufers.
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Repository
+@RequiredArgsConstructor
+public class ThrowBatchRepository {
+    
+    private static final String INSERT_SQL =
+            "INSERT INTO throws (id, leg_id, member_id, throw_no, " +
+            "throw_total, remaining_score, is_bust, is_checkout, darts_packed, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    // Replay aus dem Write-Behind-Log: bereits gespeicherte Würfe überspringen
+    private static final String INSERT_IGNORE_SQL = INSERT_SQL + " ON CONFLICT (id) DO NOTHING";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Fügt alle Würfe in einem JDBC-Batch ein und setzt id/createdAt an den Entities
+     */
+    public void insertAll(List<Throw> throwsList) {
+        insert(INSERT_SQL, throwsList);
+    }
+    
+    /**
+     * Wie insertAll, Würfe mit bereits vorhandener ID werden übersprungen (idempotent)
+     */
+    public void insertAllIgnoringDuplicates(List<Throw> throwsList) {
+        insert(INSERT_IGNORE_SQL, throwsList);
+    }
+    
+    private void insert(String sql, List<Throw> throwsList) {
+        if (throwsList.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        for (Throw t : throwsList) {
+            if (t.getId() == null) {
+                t.setId(UUID.randomUUID());
+            }
+        }
+        
+        jdbcTemplate.batchUpdate(sql, throwsList, throwsList.size(), (ps, t) -> {
+            ps.setObject(1, t.getId());
+            ps.setObject(2, t.getLegId());
+            ps.setObject(3, t.getMemberId());
+            ps.setInt(4, t.getThrowNo());
+            ps.setInt(5, t.getThrowTotal());
+            ps.setInt(6, t.getRemainingScore());
+            ps.setBoolean(7, Boolean.TRUE.equals(t.getIsBust()));
+            ps.setBoolean(8, Boolean.TRUE.equals(t.getIsCheckout()));
+            ps.setInt(9, PackedVisit.encode(t));
+            ps.setTimestamp(10, t.getCreatedAt() != null ? Timestamp.from(t.getCreatedAt().toInstant()) : now);
+        });
+    }
+}
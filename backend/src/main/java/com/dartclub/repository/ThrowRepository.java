@@ -1,12 +1,23 @@
 package com.dartclub.repository;
 
+import com.dartclub.model.ThrowRecomputeRow;
+import com.dartclub.model.ThrowStatsRow;
 import com.dartclub.model.entity.Throw;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 /**
  * Repository für Throw-Entitäten (einzelne Würfe)
@@ -16,6 +27,11 @@ import java.util.UUID;
 @Repository
 public interface ThrowRepository extends JpaRepository<Throw, UUID> {
     
+    /**
+     * JDBC-Fetch-Size der Stream-Abfragen
+     */
+    int STREAM_FETCH_SIZE = 1000;
+    
     /**
      * Finde alle Würfe eines Legs
      */
@@ -27,18 +43,51 @@ public interface ThrowRepository extends JpaRepository<Throw, UUID> {
     List<Throw> findByLegIdAndMemberIdOrderByThrowNoAsc(UUID legId, UUID memberId);
     
     /**
-     * Finde alle Würfe eines Spielers
+     * Einzelne Aufnahme eines Spielers in einem Leg
      */
-    List<Throw> findByMemberId(UUID memberId);
+    Optional<Throw> findByLegIdAndMemberIdAndThrowNo(UUID legId, UUID memberId, Integer throwNo);
     
     /**
-     * Finde 180er-Würfe eines Spielers
+     * X01-Aufnahmen eines Spielers als Projektion mit Leg-Regeln, sortiert nach Leg und Aufnahme
+     * 
+     * Für Statistik-Scans in einem Durchlauf mit konstantem Speicher
+     * (Aufruf in einer Transaktion, Stream schließen).
      */
-    @Query("SELECT t FROM Throw t WHERE t.memberId = :memberId AND t.throwTotal = 180")
-    List<Throw> find180sByMemberId(UUID memberId);
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+            SELECT new com.dartclub.model.ThrowStatsRow(
+                t.legId, t.throwNo, t.throwTotal, t.remainingScore, t.dartsPacked, t.isBust, t.isCheckout,
+                l.startingScore, l.doubleIn, l.doubleOut, l.masterOut,
+                l.finishedAt, l.winnerMemberId, l.totalDarts, l.checkoutScore)
+            FROM Throw t JOIN Leg l ON l.id = t.legId
+            WHERE t.memberId = :memberId AND l.gameVariant = com.dartclub.model.enums.GameVariant.X01
+            ORDER BY t.legId, t.throwNo
+            """)
+    Stream<ThrowStatsRow> streamStatsRowsByMemberId(@Param("memberId") UUID memberId);
     
     /**
-     * Finde Checkout-Würfe eines Spielers
+     * Alle Aufnahmen eines Spielers (jede Variante) mit Einzeldarts und Leg-Daten, sortiert nach Leg und Aufnahme
+     * 
+     * Für die Neuberechnung aller Statistiken (StatisticsRecomputeJob).
      */
-    List<Throw> findByMemberIdAndIsCheckoutTrue(UUID memberId);
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+            SELECT new com.dartclub.model.ThrowRecomputeRow(
+                t.legId, t.throwNo, t.throwTotal, t.remainingScore, t.dartsPacked, t.isBust, t.isCheckout,
+                t.createdAt,
+                l.gameVariant, l.startingScore, l.doubleIn, l.doubleOut, l.masterOut,
+                l.finishedAt, l.winnerMemberId, l.totalDarts, l.checkoutScore)
+            FROM Throw t JOIN Leg l ON l.id = t.legId
+            WHERE t.memberId = :memberId
+            ORDER BY t.legId, t.throwNo
+            """)
+    Stream<ThrowRecomputeRow> streamRecomputeRowsByMemberId(@Param("memberId") UUID memberId);
 }
@@ -15,11 +15,18 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // EventSource (SSE) kann keine Header setzen - nur hier ist ?access_token= erlaubt
+    private static final Pattern STREAM_PATH = Pattern.compile(
+            "^/api/matches/([0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12})/stream$");
+
     private final JwtTokenProvider jwtTokenProvider;
     private final UserDetailsService userDetailsService;
 
@@ -28,7 +35,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String path = request.getRequestURI();
         return path.startsWith("/api/auth/") ||
                path.startsWith("/swagger-ui") ||
-               path.startsWith("/api-docs");
+               path.startsWith("/api-docs") ||
+               path.startsWith("/ws");
     }
 
     @Override
@@ -40,18 +48,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
         final String userEmail;
+        UUID streamMatchId = null;
 
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            jwt = authHeader.substring(7);
+        } else if (request.getParameter("access_token") != null) {
+            // Nur kurzlebiger Stream-Token für genau dieses Match, kein Zugangstoken
+            streamMatchId = streamMatchId(request);
+            if (streamMatchId == null) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            jwt = request.getParameter("access_token");
+        } else {
             filterChain.doFilter(request, response);
             return;
         }
 
-        jwt = authHeader.substring(7);
         userEmail = jwtTokenProvider.extractUsername(jwt);
 
         if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-            if (jwtTokenProvider.isTokenValid(jwt, userDetails)) {
+            boolean valid = streamMatchId != null
+                    ? jwtTokenProvider.isStreamTokenValid(jwt, streamMatchId, userDetails)
+                    : jwtTokenProvider.isTokenValid(jwt, userDetails);
+            if (valid) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -80,4 +101,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    private static UUID streamMatchId(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return null;
+        }
+        Matcher matcher = STREAM_PATH.matcher(request.getRequestURI());
+        return matcher.matches() ? UUID.fromString(matcher.group(1)) : null;
+    }
 }
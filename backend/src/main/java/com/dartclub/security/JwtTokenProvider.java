@@ -26,6 +26,12 @@ public class JwtTokenProvider {
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
+    @Value("${jwt.stream-expiration:60000}")
+    private long streamExpiration;
+
+    private static final String SCOPE_CLAIM = "scope";
+    private static final String STREAM_SCOPE = "stream";
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -65,6 +71,45 @@ public class JwtTokenProvider {
                 .compact();
     }
 
+    /**
+     * Generiert kurzlebigen Token, der nur den SSE-Stream eines Matches öffnet
+     *
+     * EventSource kann keine Header setzen, der Token landet daher in der URL
+     * (und damit ggf. in Logs). Er gilt nur für dieses Match und läuft nach
+     * jwt.stream-expiration ab; als Bearer-Token wird er abgelehnt.
+     */
+    public String generateStreamToken(String subject, UUID orgId, UUID matchId) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(SCOPE_CLAIM, STREAM_SCOPE);
+        claims.put("match_id", matchId.toString());
+        if (orgId != null) {
+            claims.put("org_id", orgId.toString());
+        }
+
+        return Jwts.builder()
+                .setClaims(claims)
+                .setSubject(subject)
+                .setIssuedAt(new Date(System.currentTimeMillis()))
+                .setExpiration(new Date(System.currentTimeMillis() + streamExpiration))
+                .signWith(getSignInKey())
+                .compact();
+    }
+
+    public long getStreamExpiration() {
+        return streamExpiration;
+    }
+
+    /**
+     * Validiert Stream-Token für genau dieses Match
+     */
+    public boolean isStreamTokenValid(String token, UUID matchId, UserDetails userDetails) {
+        Claims claims = extractAllClaims(token);
+        return STREAM_SCOPE.equals(claims.get(SCOPE_CLAIM, String.class))
+                && matchId.toString().equals(claims.get("match_id", String.class))
+                && userDetails.getUsername().equals(claims.getSubject())
+                && !isTokenExpired(token);
+    }
+
     /**
      * Extrahiert User ID aus Token
      */
@@ -102,8 +147,7 @@ public class JwtTokenProvider {
      */
     public boolean validateToken(String token) {
         try {
-            extractAllClaims(token);
-            return !isTokenExpired(token);
+            return !isScoped(extractAllClaims(token)) && !isTokenExpired(token);
         } catch (Exception e) {
             return false;
         }
@@ -120,8 +164,15 @@ public class JwtTokenProvider {
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        final Claims claims = extractAllClaims(token);
+        return claims.getSubject().equals(userDetails.getUsername()) && !isScoped(claims) && !isTokenExpired(token);
+    }
+
+    /**
+     * Eingeschränkte Tokens (z.B. Stream-Token) gelten nicht als Zugangstoken
+     */
+    private boolean isScoped(Claims claims) {
+        return claims.get(SCOPE_CLAIM) != null;
     }
 
     private boolean isTokenExpired(String token) {
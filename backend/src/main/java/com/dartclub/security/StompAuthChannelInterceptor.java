@@ -0,0 +1,113 @@
+package com.dartclub.security;
+
+import com.dartclub.repository.MatchRepository;
+import com.dartclub.service.LiveScoringPublisher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * StompAuthChannelInterceptor - JWT-Authentifizierung für STOMP
+ *
+ * Browser können beim WebSocket-Handshake keinen Authorization-Header setzen,
+ * daher wird der Token im STOMP CONNECT-Frame geprüft. Im Broker (/topic) ist
+ * nur /topic/matches/{matchId} abonnierbar, und nur für Matches der eigenen
+ * Organisation; andere Topics und Wildcards werden abgelehnt.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final String ORG_ID_ATTRIBUTE = "orgId";
+    private static final String TOPIC_ROOT = "/topic";
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final MatchRepository matchRepository;
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            authenticate(accessor);
+        } else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            authorizeSubscription(accessor);
+        }
+        return message;
+    }
+
+    private void authenticate(StompHeaderAccessor accessor) {
+        String authHeader = accessor.getFirstNativeHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            throw new MessagingException("Authorization-Header fehlt");
+        }
+
+        String jwt = authHeader.substring(7);
+        if (!jwtTokenProvider.validateToken(jwt)) {
+            throw new MessagingException("Ungültiger Token");
+        }
+
+        UUID orgId = jwtTokenProvider.getOrgIdFromToken(jwt);
+        Map<String, Object> sessionAttributes = accessor.getSessionAttributes();
+        if (orgId != null && sessionAttributes != null) {
+            sessionAttributes.put(ORG_ID_ATTRIBUTE, orgId);
+        }
+        accessor.setUser(new UsernamePasswordAuthenticationToken(jwtTokenProvider.extractUsername(jwt), null, List.of()));
+    }
+
+    private void authorizeSubscription(StompHeaderAccessor accessor) {
+        String destination = accessor.getDestination();
+        if (destination == null) {
+            throw new MessagingException("Ziel fehlt");
+        }
+        if (!destination.startsWith(TOPIC_ROOT)) {
+            return;
+        }
+        // Im Broker nur exakt /topic/matches/{matchId} - keine anderen Topics, keine Wildcards
+        if (!destination.startsWith(LiveScoringPublisher.TOPIC_PREFIX)) {
+            throw new MessagingException("Unbekanntes Topic: " + destination);
+        }
+
+        Map<String, Object> sessionAttributes = accessor.getSessionAttributes();
+        UUID orgId = sessionAttributes != null ? (UUID) sessionAttributes.get(ORG_ID_ATTRIBUTE) : null;
+        if (orgId == null) {
+            throw new MessagingException("Organization ID nicht gefunden. Bitte neu einloggen.");
+        }
+
+        String id = destination.substring(LiveScoringPublisher.TOPIC_PREFIX.length());
+        UUID matchId;
+        try {
+            matchId = UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new MessagingException("Ungültige Match-ID: " + destination);
+        }
+        // UUID.fromString ist tolerant (z.B. "1-1-1-1-1") - nur die kanonische Form ist das Topic des Matches
+        if (!matchId.toString().equals(id)) {
+            throw new MessagingException("Ungültige Match-ID: " + destination);
+        }
+
+        if (matchRepository.findByIdAndOrgId(matchId, orgId).isEmpty()) {
+            log.warn("Subscription auf Match {} für Organisation {} abgelehnt", matchId, orgId);
+            throw new MessagingException("Match nicht gefunden");
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.dartclub.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * CheckoutAdvisor - Vorberechnete Checkout-Tabelle (2 bis 170)
+ *
+ * Beim Erzeugen werden alle 1-, 2- und 3-Dart-Finishes für jeden Restwert
+ * berechnet, jeweils für Double-Out und Straight-Out, nach Präferenz sortiert
+ * und in flachen int-Arrays abgelegt (CSR-Layout: offsets + finishes).
+ *
+ * Ein Finish ist ein gepackter int: 6 Bit pro Dart (Index in die Dart-Tabelle),
+ * Bits 18-19 = Anzahl Darts. Lookups und Decoding allokieren nichts.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+public final class CheckoutAdvisor {
+
+    public static final int MIN_CHECKOUT = 2;
+    public static final int MAX_CHECKOUT = 170;
+
+    private static final int DART_BITS = 6;
+    private static final int DART_MASK = (1 << DART_BITS) - 1;
+    private static final int COUNT_SHIFT = 3 * DART_BITS;
+
+    // Dart-Tabelle: 0-19 Single 1-20, 20-39 Double 1-20, 40-59 Triple 1-20, 60 Single Bull, 61 Bull
+    private static final int DART_COUNT = 62;
+    private static final int[] DART_MULTIPLIER = new int[DART_COUNT];
+    private static final int[] DART_SEGMENT = new int[DART_COUNT];
+    private static final int[] DART_SCORE = new int[DART_COUNT];
+    private static final String[] DART_LABEL = new String[DART_COUNT];
+
+    // Bevorzugte Doppel beim Auschecken (D20, D16, D8 lassen sich gut "teilen")
+    private static final int[] DOUBLE_PREFERENCE = {20, 16, 8, 18, 12, 10, 4, 14, 6, 2, 25, 19, 17, 15, 13, 11, 9, 7, 5, 3, 1};
+
+    static {
+        for (int segment = 1; segment <= 20; segment++) {
+            for (int multiplier = 1; multiplier <= 3; multiplier++) {
+                int index = (multiplier - 1) * 20 + (segment - 1);
+                DART_MULTIPLIER[index] = multiplier;
+                DART_SEGMENT[index] = segment;
+                DART_SCORE[index] = multiplier * segment;
+                DART_LABEL[index] = multiplier == 1 ? String.valueOf(segment)
+                        : (multiplier == 2 ? "D" : "T") + segment;
+            }
+        }
+        DART_MULTIPLIER[60] = 1;
+        DART_SEGMENT[60] = 25;
+        DART_SCORE[60] = 25;
+        DART_LABEL[60] = "25";
+        DART_MULTIPLIER[61] = 2;
+        DART_SEGMENT[61] = 25;
+        DART_SCORE[61] = 50;
+        DART_LABEL[61] = "BULL";
+    }
+
+    // Index 0 = Straight-Out, 1 = Double-Out
+    private final int[][] offsets = new int[2][];
+    private final int[][] finishes = new int[2][];
+    private final String[][] bestLabels = new String[2][];
+
+    public CheckoutAdvisor() {
+        build(0, false);
+        build(1, true);
+    }
+
+    /**
+     * Anzahl vorberechneter Finishes für einen Restwert (0 = kein Checkout möglich)
+     */
+    public int count(int remaining, boolean doubleOut) {
+        if (remaining < MIN_CHECKOUT || remaining > MAX_CHECKOUT) {
+            return 0;
+        }
+        int[] off = offsets[rule(doubleOut)];
+        return off[remaining + 1] - off[remaining];
+    }
+
+    /**
+     * n-tes Finish (0 = beste Empfehlung) als gepackter int
+     */
+    public int get(int remaining, boolean doubleOut, int n) {
+        int r = rule(doubleOut);
+        return finishes[r][offsets[r][remaining] + n];
+    }
+
+    /**
+     * Beste Empfehlung als Text (z.B. "T20 T20 BULL"), vorberechnet; null wenn kein Checkout
+     */
+    public String bestLabel(int remaining, boolean doubleOut) {
+        if (remaining < MIN_CHECKOUT || remaining > MAX_CHECKOUT) {
+            return null;
+        }
+        return bestLabels[rule(doubleOut)][remaining];
+    }
+
+    /**
+     * Die besten {@code limit} Empfehlungen als Text
+     */
+    public List<String> labels(int remaining, boolean doubleOut, int limit) {
+        int n = Math.min(count(remaining, doubleOut), limit);
+        List<String> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            result.add(label(get(remaining, doubleOut, i)));
+        }
+        return result;
+    }
+
+    public static int dartCount(int finish) {
+        return finish >>> COUNT_SHIFT;
+    }
+
+    public static int multiplier(int finish, int dart) {
+        return DART_MULTIPLIER[dartIndex(finish, dart)];
+    }
+
+    public static int segment(int finish, int dart) {
+        return DART_SEGMENT[dartIndex(finish, dart)];
+    }
+
+    public static String label(int finish) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < dartCount(finish); i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(DART_LABEL[dartIndex(finish, i)]);
+        }
+        return sb.toString();
+    }
+
+    private static int dartIndex(int finish, int dart) {
+        return (finish >>> (dart * DART_BITS)) & DART_MASK;
+    }
+
+    private static int rule(boolean doubleOut) {
+        return doubleOut ? 1 : 0;
+    }
+
+    private static int pack(int count, int d1, int d2, int d3) {
+        return (count << COUNT_SHIFT) | (d3 << (2 * DART_BITS)) | (d2 << DART_BITS) | d1;
+    }
+
+    /**
+     * Alle Finishes einer Regel aufzählen, sortieren und ins CSR-Layout schreiben
+     */
+    private void build(int r, boolean doubleOut) {
+        // Sortierschlüssel: remaining | rank | finish -> ein long pro Kandidat
+        long[] keys = new long[1 << 17];
+        int size = 0;
+
+        for (int a = 0; a < DART_COUNT; a++) {
+            // 1 Dart
+            if (!doubleOut || DART_MULTIPLIER[a] == 2) {
+                keys = ensure(keys, size);
+                size = add(keys, size, doubleOut, 1, a, 0, 0);
+            }
+            for (int b = doubleOut ? 0 : a; b < DART_COUNT; b++) {
+                // 2 Darts (Double-Out: b ist der Doppel-Dart)
+                if (!doubleOut || DART_MULTIPLIER[b] == 2) {
+                    keys = ensure(keys, size);
+                    size = add(keys, size, doubleOut, 2, a, b, 0);
+                }
+                if (doubleOut && b < a) continue;
+                for (int c = doubleOut ? 0 : b; c < DART_COUNT; c++) {
+                    // 3 Darts (Setup-Darts ohne Permutationen, Double-Out: c ist der Doppel-Dart)
+                    if (doubleOut && DART_MULTIPLIER[c] != 2) continue;
+                    keys = ensure(keys, size);
+                    size = add(keys, size, doubleOut, 3, a, b, c);
+                }
+            }
+        }
+
+        Arrays.sort(keys, 0, size);
+
+        int[] off = new int[MAX_CHECKOUT + 2];
+        int[] fin = new int[size];
+        for (int i = 0; i < size; i++) {
+            int remaining = (int) (keys[i] >>> 48);
+            off[remaining + 1]++;
+            fin[i] = (int) (keys[i] & 0xFFFFFFL);
+        }
+        for (int i = 1; i < off.length; i++) {
+            off[i] += off[i - 1];
+        }
+
+        String[] best = new String[MAX_CHECKOUT + 1];
+        for (int remaining = MIN_CHECKOUT; remaining <= MAX_CHECKOUT; remaining++) {
+            if (off[remaining + 1] > off[remaining]) {
+                best[remaining] = label(fin[off[remaining]]);
+            }
+        }
+
+        offsets[r] = off;
+        finishes[r] = fin;
+        bestLabels[r] = best;
+    }
+
+    /**
+     * Kandidat bewerten und als Sortierschlüssel anhängen (nur 2..170)
+     */
+    private static int add(long[] keys, int size, boolean doubleOut, int count, int a, int b, int c) {
+        int total = DART_SCORE[a] + (count > 1 ? DART_SCORE[b] : 0) + (count > 2 ? DART_SCORE[c] : 0);
+        if (total < MIN_CHECKOUT || total > MAX_CHECKOUT) {
+            return size;
+        }
+
+        int finish;
+        int rank;
+        if (doubleOut) {
+            // Setup-Darts: höherer zuerst, letzter Dart ist das Doppel
+            int last = count == 1 ? a : (count == 2 ? b : c);
+            int first = count == 3 && DART_SCORE[b] > DART_SCORE[a] ? b : a;
+            int second = first == b ? a : b;
+            rank = 2 * doubleRank(last);
+            if (count >= 2) rank += setupRank(first);
+            if (count == 3) rank += setupRank(second);
+            finish = count == 1 ? pack(1, a, 0, 0)
+                    : count == 2 ? pack(2, a, b, 0)
+                    : pack(3, first, second, c);
+        } else {
+            // Straight-Out: Reihenfolge egal, höchster Dart zuerst
+            int d1 = a, d2 = b, d3 = c, tmp;
+            if (count >= 2 && DART_SCORE[d2] > DART_SCORE[d1]) { tmp = d1; d1 = d2; d2 = tmp; }
+            if (count == 3 && DART_SCORE[d3] > DART_SCORE[d2]) { tmp = d2; d2 = d3; d3 = tmp; }
+            if (count == 3 && DART_SCORE[d2] > DART_SCORE[d1]) { tmp = d1; d1 = d2; d2 = tmp; }
+            rank = setupRank(d1) + (count >= 2 ? setupRank(d2) : 0) + (count == 3 ? setupRank(d3) : 0);
+            finish = pack(count, d1, count >= 2 ? d2 : 0, count == 3 ? d3 : 0);
+        }
+
+        // weniger Darts vor besserem Rang
+        long key = ((long) (count - 1) << 8) | Math.min(rank, 255);
+        keys[size] = ((long) total << 48) | (key << 24) | finish;
+        return size + 1;
+    }
+
+    private static long[] ensure(long[] keys, int size) {
+        return size < keys.length ? keys : Arrays.copyOf(keys, keys.length * 2);
+    }
+
+    /**
+     * Rang des Doppels beim Auschecken (kleiner = besser)
+     */
+    private static int doubleRank(int dart) {
+        int segment = DART_SEGMENT[dart];
+        for (int i = 0; i < DOUBLE_PREFERENCE.length; i++) {
+            if (DOUBLE_PREFERENCE[i] == segment) return i;
+        }
+        return DOUBLE_PREFERENCE.length;
+    }
+
+    /**
+     * Rang eines Setup-Darts: Triple 20/19/18 vor Singles, Bull zuletzt
+     */
+    private static int setupRank(int dart) {
+        int multiplier = DART_MULTIPLIER[dart];
+        int segment = DART_SEGMENT[dart];
+        if (segment == 25) return 60;
+        if (multiplier == 3) return (20 - segment) * 2;
+        if (multiplier == 1) return 20 + (20 - segment);
+        return 50 + (20 - segment) / 2;
+    }
+}
@@ -0,0 +1,196 @@
+package com.dartclub.service;
+
+import com.dartclub.model.dto.request.DartRequest;
+import com.dartclub.model.dto.response.DartResponseDTO;
+import com.dartclub.model.dto.response.ThrowResponseDTO;
+import com.dartclub.model.entity.Leg;
+import com.dartclub.model.entity.Throw;
+import com.dartclub.service.event.ScoringEventBus;
+import com.dartclub.service.rules.GameRules;
+import com.dartclub.service.writebehind.ThrowWriteBehindService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * DartScoringService - Einzel-Dart-Erfassung
+ *
+ * Jeder Dart wird sofort nach den Regeln der Spielvariante gewertet und
+ * schreibt den Live-State fort (Stand pro Dart für Tablet und Anzeigen).
+ * Bust oder Checkout beenden die Aufnahme sofort; gespeichert wird die
+ * Aufnahme erst, wenn sie abgeschlossen ist - danach läuft alles wie bei
+ * einer kompletten Aufnahme (Event-Log, Publish, Leg-Abschluss).
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DartScoringService {
+
+    private final MatchService matchService;
+    private final ScoringEngine scoringEngine;
+    private final LiveLegStateCache liveLegStateCache;
+    private final LiveScoringPublisher liveScoringPublisher;
+    private final LegEventLog legEventLog;
+    private final StatisticsService statisticsService;
+    private final ScoringEventBus scoringEventBus;
+    private final ThrowWriteBehindService throwWriteBehindService;
+    private final VisitScoringService visitScoringService;
+
+    /**
+     * Einzelnen Dart für den Spieler am Zug werten
+     */
+    @Transactional
+    public DartResponseDTO submitDart(UUID matchId, UUID orgId, DartRequest request) {
+        matchService.getMatchById(matchId, orgId);
+        LiveLegState state = liveLegStateCache.get(request.getLegId());
+        if (!matchId.equals(state.getMatchId())) {
+            throw new IllegalArgumentException("Leg gehört nicht zu diesem Match");
+        }
+
+        synchronized (state) {
+            Leg leg = state.getLeg();
+
+            // Wiederholung eines bereits verarbeiteten Darts?
+            DartResponseDTO replay = replayOrCheckSequence(state, request);
+            if (replay != null) {
+                return replay;
+            }
+
+            if (leg.getFinishedAt() != null) {
+                throw new IllegalStateException("Leg ist bereits beendet");
+            }
+            int multiplier = request.getMultiplier();
+            int segment = request.getSegment();
+            if (!scoringEngine.validateDart(multiplier, segment)) {
+                throw new IllegalArgumentException("Ungültiger Dart");
+            }
+
+            try {
+                int side = state.currentSide();
+                int result = state.applyDart(side, multiplier, segment);
+                int dartNo = state.getPendingDartCount();
+                int dartScore = GameRules.dartValue(multiplier, segment);
+
+                if (result == GameRules.CONTINUE && dartNo < 3) {
+                    liveScoringPublisher.publishDart(state, side, dartNo, dartScore);
+                    return DartResponseDTO.builder()
+                            .dartNo(dartNo)
+                            .dartScore(dartScore)
+                            .remainingScore(state.getRemaining(side))
+                            .isBust(false)
+                            .isCheckout(false)
+                            .visitComplete(false)
+                            .leg(matchService.buildLegDTO(state))
+                            .build();
+                }
+
+                ThrowResponseDTO visit = completeVisit(state, result, dartNo);
+                return DartResponseDTO.builder()
+                        .dartNo(dartNo)
+                        .dartScore(dartScore)
+                        .remainingScore(visit.getRemainingScore())
+                        .isBust(visit.getIsBust())
+                        .isCheckout(visit.getIsCheckout())
+                        .visitComplete(true)
+                        .visit(visit)
+                        .leg(visit.getLeg())
+                        .build();
+            } catch (RuntimeException e) {
+                // State ist evtl. schon fortgeschrieben - beim nächsten Zugriff neu aufbauen
+                liveLegStateCache.evict(leg.getId());
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Abgeschlossene Aufnahme speichern, publizieren und ggf. das Leg beenden
+     */
+    private ThrowResponseDTO completeVisit(LiveLegState state, int result, int dartsThrown) {
+        Leg leg = state.getLeg();
+        Throw throwEntity = throwWriteBehindService.save(scoringEngine.completeVisit(state, result));
+
+        String event = Boolean.TRUE.equals(throwEntity.getIsBust()) ? null : scoringEngine.detectEvent(state, throwEntity);
+        legEventLog.recordVisit(state, throwEntity);
+        statisticsService.recordVisit(state, throwEntity);
+        liveScoringPublisher.publishVisit(state, throwEntity, event);
+        scoringEventBus.publishHighlight(state, throwEntity, event);
+
+        boolean legFinished = false;
+        if (result == GameRules.WIN) {
+            // Darts exakt zählen - der Checkout kann mit dem 1. oder 2. Dart fallen
+            int totalDarts = (throwEntity.getThrowNo() - 1) * 3 + dartsThrown;
+            matchService.finalizeLeg(leg, throwEntity.getMemberId(), totalDarts, throwEntity.getThrowTotal());
+            legFinished = true;
+            log.info("Leg {} beendet durch Checkout von Member {}", leg.getId(), throwEntity.getMemberId());
+        }
+
+        ThrowResponseDTO response = ThrowResponseDTO.builder()
+                .throwId(throwEntity.getId())
+                .throwTotal(throwEntity.getThrowTotal())
+                .remainingScore(throwEntity.getRemainingScore())
+                .isCheckout(throwEntity.getIsCheckout())
+                .isBust(throwEntity.getIsBust())
+                .event(event)
+                .legFinished(legFinished)
+                .leg(matchService.buildLegDTO(state))
+                .build();
+        state.recordResponse(state.getVisitCount(), response);
+        return response;
+    }
+
+    /**
+     * Aufnahme- und Dart-Nummer gegen den Live-State prüfen (Aufruf unter dem Lock des States)
+     *
+     * @return Antwort für einen bereits verarbeiteten Dart; null, wenn er neu ist
+     */
+    private DartResponseDTO replayOrCheckSequence(LiveLegState state, DartRequest request) {
+        Integer seq = request.getSeq();
+        if (seq == null) {
+            return null;
+        }
+        int expected = state.getVisitCount() + 1;
+        if (seq > expected) {
+            throw new IllegalStateException("Aufnahme " + seq + " außerhalb der Reihenfolge, erwartet wird " + expected);
+        }
+        if (seq < expected) {
+            // Aufnahme bereits abgeschlossen (auch vorzeitig durch Bust/Checkout)
+            ThrowResponseDTO visit = visitScoringService.replayVisit(state, seq);
+            return DartResponseDTO.builder()
+                    .remainingScore(visit.getRemainingScore())
+                    .isBust(visit.getIsBust())
+                    .isCheckout(visit.getIsCheckout())
+                    .visitComplete(true)
+                    .visit(visit)
+                    .leg(visit.getLeg())
+                    .build();
+        }
+
+        Integer dartNo = request.getDartNo();
+        if (dartNo == null) {
+            return null;
+        }
+        int expectedDart = state.getPendingDartCount() + 1;
+        if (dartNo > expectedDart) {
+            throw new IllegalStateException("Dart " + dartNo + " außerhalb der Reihenfolge, erwartet wird " + expectedDart);
+        }
+        if (dartNo == expectedDart) {
+            return null;
+        }
+        log.info("Wiederholter Dart {} der Aufnahme {} in Leg {}", dartNo, seq, state.getLeg().getId());
+        return DartResponseDTO.builder()
+                .dartNo(dartNo)
+                .dartScore(GameRules.dartValue(state.getPendingMultiplier(dartNo - 1), state.getPendingSegment(dartNo - 1)))
+                .remainingScore(state.getRemaining(state.currentSide()))
+                .isBust(false)
+                .isCheckout(false)
+                .visitComplete(false)
+                .leg(matchService.buildLegDTO(state))
+                .build();
+    }
+}
@@ -0,0 +1,120 @@
+package com.dartclub.service;
+
+import com.dartclub.exception.ResourceNotFoundException;
+import com.dartclub.model.dto.response.FormCurveDTO;
+import com.dartclub.model.entity.Leg;
+import com.dartclub.model.entity.PlayerLegAverage;
+import com.dartclub.model.enums.GameVariant;
+import com.dartclub.repository.MemberRepository;
+import com.dartclub.repository.PlayerLegAverageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * FormCurveService - 3-Dart-Average eines Spielers über die Zeit
+ *
+ * Jedes beendete X01-Leg schreibt pro Spieler eine Zeile nach
+ * player_leg_averages (Aufnahmen und Punkte aus dem Live-State), ein
+ * wieder geöffnetes Leg löscht sie. Die Kurve wird serverseitig per
+ * {@link Lttb} auf die angefragte Anzahl Punkte ausgedünnt.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Service
+@RequiredArgsConstructor
+public class FormCurveService {
+
+    private static final int MIN_POINTS = 3;
+    private static final int MAX_POINTS = 2000;
+
+    private final PlayerLegAverageRepository playerLegAverageRepository;
+    private final MemberRepository memberRepository;
+    private final StatisticsCache statisticsCache;
+
+    /**
+     * Beendetes Leg für beide Spieler übernehmen
+     */
+    public void recordLeg(LiveLegState state, Leg leg) {
+        if (leg.getGameVariant() != GameVariant.X01) {
+            return;
+        }
+        List<PlayerLegAverage> averages = new ArrayList<>(2);
+        for (int side = LiveLegState.HOME; side <= LiveLegState.AWAY; side++) {
+            UUID memberId = state.getMemberId(side);
+            if (memberId == null || state.getVisits(side) == 0) {
+                continue;
+            }
+            averages.add(PlayerLegAverage.builder()
+                    .legId(leg.getId())
+                    .memberId(memberId)
+                    .orgId(state.getOrgId())
+                    .visits(state.getVisits(side))
+                    .points(state.getPointsScored(side))
+                    .finishedAt(leg.getFinishedAt())
+                    .build());
+        }
+        playerLegAverageRepository.saveAll(averages);
+    }
+
+    /**
+     * Leg-Ende zurücknehmen
+     */
+    public void recordLegReopened(Leg leg) {
+        playerLegAverageRepository.deleteByLegId(leg.getId());
+    }
+
+    /**
+     * Formkurve eines Spielers in [from, to) mit höchstens points Punkten
+     * (from/to null = ohne Grenze)
+     */
+    public FormCurveDTO getFormCurve(UUID memberId, UUID orgId, ZonedDateTime from, ZonedDateTime to, int points) {
+        if (points < MIN_POINTS || points > MAX_POINTS) {
+            throw new IllegalArgumentException("points muss zwischen " + MIN_POINTS + " und " + MAX_POINTS + " liegen");
+        }
+        String range = from + "|" + to + "|" + points;
+        return statisticsCache.get(new StatisticsCache.Key(orgId, memberId, StatisticsCache.FORM, range),
+                () -> loadFormCurve(memberId, orgId, from, to, points));
+    }
+
+    private FormCurveDTO loadFormCurve(UUID memberId, UUID orgId, ZonedDateTime from, ZonedDateTime to, int points) {
+        memberRepository.findByIdAndOrgId(memberId, orgId)
+                .orElseThrow(() -> new ResourceNotFoundException("Mitglied nicht gefunden"));
+
+        List<PlayerLegAverage> legs = playerLegAverageRepository
+                .findByMemberIdAndFinishedAtGreaterThanEqualAndFinishedAtLessThanOrderByFinishedAtAsc(memberId,
+                        from != null ? from : ZonedDateTime.parse("1970-01-01T00:00:00Z"),
+                        to != null ? to : ZonedDateTime.now().plusDays(1));
+
+        int n = legs.size();
+        double[] x = new double[n];
+        double[] y = new double[n];
+        long totalPoints = 0;
+        long totalVisits = 0;
+        for (int i = 0; i < n; i++) {
+            PlayerLegAverage leg = legs.get(i);
+            x[i] = leg.getFinishedAt().toEpochSecond();
+            y[i] = (double) leg.getPoints() / leg.getVisits();
+            totalPoints += leg.getPoints();
+            totalVisits += leg.getVisits();
+        }
+
+        List<FormCurveDTO.Point> curve = new ArrayList<>(Math.min(n, points));
+        for (int index : Lttb.downsample(x, y, points)) {
+            curve.add(FormCurveDTO.Point.builder()
+                    .playedAt(legs.get(index).getFinishedAt())
+                    .average(Math.round(y[index] * 100) / 100.0)
+                    .build());
+        }
+        return FormCurveDTO.builder()
+                .memberId(memberId)
+                .legs(n)
+                .average(totalVisits > 0 ? Math.round(totalPoints * 100.0 / totalVisits) / 100.0 : null)
+                .points(curve)
+                .build();
+    }
+}
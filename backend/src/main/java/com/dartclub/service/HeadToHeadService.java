@@ -0,0 +1,159 @@
+package com.dartclub.service;
+
+import com.dartclub.exception.ResourceNotFoundException;
+import com.dartclub.model.HeadToHeadMatchRow;
+import com.dartclub.model.dto.response.HeadToHeadDTO;
+import com.dartclub.model.dto.response.HeadToHeadResultDTO;
+import com.dartclub.model.entity.HeadToHead;
+import com.dartclub.model.entity.HeadToHeadId;
+import com.dartclub.model.entity.HeadToHeadLeg;
+import com.dartclub.model.entity.Leg;
+import com.dartclub.model.entity.Member;
+import com.dartclub.model.enums.GameVariant;
+import com.dartclub.repository.HeadToHeadLegRepository;
+import com.dartclub.repository.HeadToHeadRepository;
+import com.dartclub.repository.MemberRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * HeadToHeadService - Bilanz zweier Spieler gegeneinander
+ *
+ * Jedes Leg-Ende schreibt in derselben Transaktion einen Eintrag in den
+ * Head-to-Head-Index (head_to_head_legs) und addiert ihn auf die Bilanz
+ * des Paares; Aufnahmen und Punkte kommen aus dem Live-State. Ein wieder
+ * geöffnetes Leg wird aus dem Index gelöscht und die Bilanz des Paares
+ * daraus neu berechnet. Eine Abfrage liest damit eine Bilanzzeile und die
+ * letzten Matches über den Paar-Index, keine Würfe.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Service
+@RequiredArgsConstructor
+public class HeadToHeadService {
+
+    private static final int MAX_RECENT = 50;
+
+    private final HeadToHeadRepository headToHeadRepository;
+    private final HeadToHeadLegRepository headToHeadLegRepository;
+    private final MemberRepository memberRepository;
+    private final StatisticsCache statisticsCache;
+
+    /**
+     * Beendetes Leg übernehmen (Aufruf nach dem Speichern des Gewinners)
+     */
+    public void recordLeg(LiveLegState state, Leg leg) {
+        UUID home = leg.getHomeMemberId();
+        UUID away = leg.getAwayMemberId();
+        if (home == null || away == null || home.equals(away) || leg.getWinnerMemberId() == null) {
+            return;
+        }
+        HeadToHeadId pair = HeadToHeadId.of(home, away);
+        int lowSide = pair.getMemberLow().equals(home) ? LiveLegState.HOME : LiveLegState.AWAY;
+        int highSide = 1 - lowSide;
+        boolean x01 = leg.getGameVariant() == GameVariant.X01;
+        int visitsLow = x01 ? state.getVisits(lowSide) : 0;
+        int pointsLow = x01 ? state.getPointsScored(lowSide) : 0;
+        int visitsHigh = x01 ? state.getVisits(highSide) : 0;
+        int pointsHigh = x01 ? state.getPointsScored(highSide) : 0;
+        boolean lowWon = leg.getWinnerMemberId().equals(pair.getMemberLow());
+
+        headToHeadLegRepository.save(HeadToHeadLeg.builder()
+                .legId(leg.getId())
+                .memberLow(pair.getMemberLow())
+                .memberHigh(pair.getMemberHigh())
+                .orgId(state.getOrgId())
+                .matchId(state.getMatchId())
+                .winnerMemberId(leg.getWinnerMemberId())
+                .visitsLow(visitsLow)
+                .pointsLow(pointsLow)
+                .visitsHigh(visitsHigh)
+                .pointsHigh(pointsHigh)
+                .finishedAt(leg.getFinishedAt())
+                .build());
+        headToHeadRepository.addLeg(pair.getMemberLow(), pair.getMemberHigh(), state.getOrgId(),
+                lowWon ? 1 : 0, lowWon ? 0 : 1, visitsLow, pointsLow, visitsHigh, pointsHigh,
+                state.getMatchId(), leg.getFinishedAt());
+    }
+
+    /**
+     * Leg-Ende zurücknehmen (Aufruf vor dem Zurücksetzen des Gewinners)
+     */
+    public void recordLegReopened(Leg leg) {
+        if (!headToHeadLegRepository.existsById(leg.getId())) {
+            return;
+        }
+        HeadToHeadId pair = HeadToHeadId.of(leg.getHomeMemberId(), leg.getAwayMemberId());
+        headToHeadLegRepository.deleteById(leg.getId());
+        headToHeadLegRepository.flush();
+        headToHeadRepository.deletePair(pair.getMemberLow(), pair.getMemberHigh());
+        headToHeadRepository.insertFromLegs(pair.getMemberLow(), pair.getMemberHigh());
+    }
+
+    /**
+     * Bilanz von memberId gegen opponentId samt der letzten limit Matches
+     */
+    public HeadToHeadDTO getHeadToHead(UUID orgId, UUID memberId, UUID opponentId, int limit) {
+        if (limit < 0 || limit > MAX_RECENT) {
+            throw new IllegalArgumentException("limit muss zwischen 0 und " + MAX_RECENT + " liegen");
+        }
+        if (memberId.equals(opponentId)) {
+            throw new IllegalArgumentException("Spieler und Gegner müssen verschieden sein");
+        }
+        // Beide Spieler werden bei jedem gemeinsamen Leg invalidiert, der Eintrag hängt am ersten
+        return statisticsCache.get(new StatisticsCache.Key(orgId, memberId, StatisticsCache.HEAD_TO_HEAD,
+                opponentId + "|" + limit), () -> loadHeadToHead(orgId, memberId, opponentId, limit));
+    }
+
+    private HeadToHeadDTO loadHeadToHead(UUID orgId, UUID memberId, UUID opponentId, int limit) {
+        Member member = memberRepository.findByIdAndOrgId(memberId, orgId)
+                .orElseThrow(() -> new ResourceNotFoundException("Mitglied nicht gefunden"));
+        Member opponent = memberRepository.findByIdAndOrgId(opponentId, orgId)
+                .orElseThrow(() -> new ResourceNotFoundException("Gegner nicht gefunden"));
+
+        HeadToHeadId pair = HeadToHeadId.of(memberId, opponentId);
+        boolean low = pair.getMemberLow().equals(memberId);
+        HeadToHead stats = headToHeadRepository.findById(pair)
+                .orElseGet(() -> HeadToHead.builder()
+                        .matches(0).legsLow(0).legsHigh(0)
+                        .visitsLow(0).pointsLow(0).visitsHigh(0).pointsHigh(0)
+                        .build());
+        List<HeadToHeadResultDTO> recent = limit == 0 ? List.of() : headToHeadLegRepository
+                .findRecentMatches(pair.getMemberLow(), pair.getMemberHigh(), PageRequest.of(0, limit)).stream()
+                .map(row -> toResult(row, low))
+                .toList();
+
+        return HeadToHeadDTO.builder()
+                .memberId(memberId)
+                .name(member.getFirstName() + " " + member.getLastName())
+                .opponentId(opponentId)
+                .opponentName(opponent.getFirstName() + " " + opponent.getLastName())
+                .matches(stats.getMatches())
+                .legsWon(low ? stats.getLegsLow() : stats.getLegsHigh())
+                .legsLost(low ? stats.getLegsHigh() : stats.getLegsLow())
+                .average(low ? average(stats.getPointsLow(), stats.getVisitsLow())
+                        : average(stats.getPointsHigh(), stats.getVisitsHigh()))
+                .opponentAverage(low ? average(stats.getPointsHigh(), stats.getVisitsHigh())
+                        : average(stats.getPointsLow(), stats.getVisitsLow()))
+                .lastPlayedAt(stats.getLastPlayedAt())
+                .recent(recent)
+                .build();
+    }
+
+    private static HeadToHeadResultDTO toResult(HeadToHeadMatchRow row, boolean low) {
+        return HeadToHeadResultDTO.builder()
+                .matchId(row.matchId())
+                .playedAt(row.playedAt())
+                .legsWon((int) (low ? row.legsLow() : row.legsHigh()))
+                .legsLost((int) (low ? row.legsHigh() : row.legsLow()))
+                .build();
+    }
+
+    private static Double average(int points, int visits) {
+        return visits > 0 ? Math.round(points * 100.0 / visits) / 100.0 : null;
+    }
+}
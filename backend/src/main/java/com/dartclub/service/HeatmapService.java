@@ -0,0 +1,181 @@
+package com.dartclub.service;
+
+import com.dartclub.exception.ResourceNotFoundException;
+import com.dartclub.model.SegmentHeatmap;
+import com.dartclub.model.dto.response.HeatmapDTO;
+import com.dartclub.model.entity.PlayerHeatmap;
+import com.dartclub.model.entity.PlayerHeatmapId;
+import com.dartclub.repository.MemberRepository;
+import com.dartclub.repository.PlayerHeatmapRepository;
+import com.dartclub.service.event.VisitDartsEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * HeatmapService - Segment-Heatmaps pro Spieler (gesamt und pro Saison)
+ *
+ * Jede Heatmap liegt als int[84] ({@link SegmentHeatmap}) im Speicher,
+ * wird beim ersten Zugriff aus player_heatmaps geladen und aus den
+ * {@link VisitDartsEvent}s des ScoringEventBus dartweise fortgeschrieben.
+ * Geänderte Heatmaps werden alle dartclub.heatmap.flush-interval-ms und
+ * beim Herunterfahren als Blob geschrieben; bei einem Absturz fehlen die
+ * Darts seit dem letzten Flush.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HeatmapService {
+
+    /**
+     * Saison-Schlüssel der Gesamt-Heatmap
+     */
+    public static final String OVERALL = "all";
+
+    private final PlayerHeatmapRepository playerHeatmapRepository;
+    private final MemberRepository memberRepository;
+    private final SeasonCalendar seasonCalendar;
+
+    private final ConcurrentMap<PlayerHeatmapId, Heatmap> heatmaps = new ConcurrentHashMap<>();
+    private final Set<PlayerHeatmapId> dirty = ConcurrentHashMap.newKeySet();
+
+    // Flush und evictOrg schließen sich aus, sonst überschreibt ein laufender Flush neu berechnete Heatmaps
+    private final Object flushLock = new Object();
+
+    /**
+     * Raster einer Heatmap samt Organisation (Zugriff auf cells unter synchronized)
+     */
+    private record Heatmap(UUID orgId, int[] cells) {
+    }
+
+    @EventListener
+    public void onVisitDarts(VisitDartsEvent event) {
+        apply(event, OVERALL);
+        apply(event, seasonCalendar.seasonOf(event.getOccurredAt()));
+    }
+
+    /**
+     * Heatmap eines Spielers (season null = gesamt)
+     */
+    public HeatmapDTO getHeatmap(UUID memberId, UUID orgId, String season) {
+        memberRepository.findByIdAndOrgId(memberId, orgId)
+                .orElseThrow(() -> new ResourceNotFoundException("Mitglied nicht gefunden"));
+        String key = season == null ? OVERALL : seasonCalendar.resolve(season);
+
+        int[] cells;
+        Heatmap heatmap = heatmaps.get(new PlayerHeatmapId(memberId, key));
+        if (heatmap == null) {
+            cells = playerHeatmapRepository.findById(new PlayerHeatmapId(memberId, key))
+                    .map(stored -> SegmentHeatmap.fromBytes(stored.getCells()))
+                    .orElseGet(() -> new int[SegmentHeatmap.CELLS]);
+        } else {
+            synchronized (heatmap.cells()) {
+                cells = heatmap.cells().clone();
+            }
+        }
+
+        int[][] hits = new int[SegmentHeatmap.TARGETS][SegmentHeatmap.MULTIPLIERS];
+        List<Integer> segments = new ArrayList<>(SegmentHeatmap.TARGETS);
+        int darts = 0;
+        for (int target = 0; target < SegmentHeatmap.TARGETS; target++) {
+            segments.add(SegmentHeatmap.segmentOf(target));
+            for (int multiplier = 0; multiplier < SegmentHeatmap.MULTIPLIERS; multiplier++) {
+                int count = cells[target * SegmentHeatmap.MULTIPLIERS + multiplier];
+                hits[target][multiplier] = count;
+                darts += count;
+            }
+        }
+        return HeatmapDTO.builder()
+                .memberId(memberId)
+                .season(key)
+                .segments(segments)
+                .hits(hits)
+                .darts(darts)
+                .build();
+    }
+
+    /**
+     * Geänderte Heatmaps schreiben
+     */
+    @Scheduled(fixedDelayString = "${dartclub.heatmap.flush-interval-ms:30000}")
+    public void flush() {
+        synchronized (flushLock) {
+            List<PlayerHeatmap> changed = new ArrayList<>();
+            for (PlayerHeatmapId id : dirty) {
+                dirty.remove(id);
+                Heatmap heatmap = heatmaps.get(id);
+                if (heatmap == null) {
+                    continue; // von evictOrg entfernt
+                }
+                byte[] bytes;
+                synchronized (heatmap.cells()) {
+                    bytes = SegmentHeatmap.toBytes(heatmap.cells());
+                }
+                changed.add(PlayerHeatmap.builder()
+                        .memberId(id.getMemberId())
+                        .season(id.getSeason())
+                        .orgId(heatmap.orgId())
+                        .cells(bytes)
+                        .build());
+            }
+            if (changed.isEmpty()) {
+                return;
+            }
+            try {
+                playerHeatmapRepository.saveAll(changed);
+            } catch (RuntimeException e) {
+                changed.forEach(h -> dirty.add(new PlayerHeatmapId(h.getMemberId(), h.getSeason())));
+                log.error("Heatmaps: {} Heatmaps konnten nicht gespeichert werden", changed.size(), e);
+            }
+        }
+    }
+
+    /**
+     * Heatmaps einer Organisation aus dem Speicher entfernen, ohne sie zu schreiben
+     *
+     * Nach einer Neuberechnung in player_heatmaps; der nächste Zugriff lädt
+     * die neuen Werte. Wartet auf einen laufenden Flush.
+     */
+    public void evictOrg(UUID orgId) {
+        synchronized (flushLock) {
+            heatmaps.forEach((id, heatmap) -> {
+                if (heatmap.orgId().equals(orgId)) {
+                    dirty.remove(id);
+                    heatmaps.remove(id);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void apply(VisitDartsEvent event, String season) {
+        PlayerHeatmapId id = new PlayerHeatmapId(event.getMemberId(), season);
+        Heatmap heatmap = heatmaps.computeIfAbsent(id, key -> new Heatmap(event.getOrgId(),
+                playerHeatmapRepository.findById(key)
+                        .map(stored -> SegmentHeatmap.fromBytes(stored.getCells()))
+                        .orElseGet(() -> new int[SegmentHeatmap.CELLS])));
+        int[] cells = heatmap.cells();
+        synchronized (cells) {
+            SegmentHeatmap.add(cells, event.getDart1Multiplier(), event.getDart1Segment(), event.getSign());
+            SegmentHeatmap.add(cells, event.getDart2Multiplier(), event.getDart2Segment(), event.getSign());
+            SegmentHeatmap.add(cells, event.getDart3Multiplier(), event.getDart3Segment(), event.getSign());
+        }
+        dirty.add(id);
+    }
+}
@@ -0,0 +1,152 @@
+package com.dartclub.service;
+
+import com.dartclub.exception.ResourceNotFoundException;
+import com.dartclub.model.dto.response.LegEventDTO;
+import com.dartclub.model.entity.Leg;
+import com.dartclub.model.entity.LegEvent;
+import com.dartclub.model.entity.LegSnapshot;
+import com.dartclub.model.entity.Set;
+import com.dartclub.model.entity.Throw;
+import com.dartclub.model.enums.LegEventType;
+import com.dartclub.repository.LegEventRepository;
+import com.dartclub.repository.LegRepository;
+import com.dartclub.repository.LegSnapshotRepository;
+import com.dartclub.repository.SetRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * LegEventLog - Append-Only-Log pro Leg mit periodischen Snapshots
+ *
+ * Jede Änderung am Live-State wird als Event mit fortlaufender Nummer
+ * geschrieben, beim ersten und danach alle {@value #SNAPSHOT_INTERVAL}
+ * Events zusätzlich ein Snapshot der Zähler. LiveLegStateCache baut ein Leg daraus aus dem
+ * neuesten Snapshot plus den Events danach auf.
+ *
+ * Alle record-Methoden werden unter dem Lock des States aufgerufen,
+ * nachdem die Änderung angewendet wurde. Die Spielerstatistik schreiben
+ * die Aufrufer selbst fort (StatisticsService).
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LegEventLog {
+
+    public static final int SNAPSHOT_INTERVAL = 16;
+
+    private final LegEventRepository legEventRepository;
+    private final LegSnapshotRepository legSnapshotRepository;
+    private final LegRepository legRepository;
+    private final SetRepository setRepository;
+
+    /**
+     * Aufnahme oder Bust protokollieren
+     */
+    public void recordVisit(LiveLegState state, Throw throwData) {
+        // ID steht erst nach dem Speichern fest
+        state.fillVisit(state.sideOf(throwData.getMemberId()), throwData);
+        boolean bust = Boolean.TRUE.equals(throwData.getIsBust());
+        append(state, bust ? LegEventType.BUST : LegEventType.VISIT, throwData, bust);
+    }
+
+    /**
+     * Rücknahme einer Aufnahme protokollieren
+     */
+    public void recordUndo(LiveLegState state, Throw removed) {
+        append(state, LegEventType.UNDO, removed, Boolean.TRUE.equals(removed.getIsBust()));
+    }
+
+    /**
+     * Leg-Gewinn protokollieren (score = Checkout, throwNo = Aufnahme des Checkouts)
+     */
+    public void recordLegWon(LiveLegState state, UUID winnerId, Integer checkoutScore) {
+        int side = state.sideOf(winnerId);
+        save(state, LegEvent.builder()
+                .eventType(LegEventType.LEG_WON)
+                .side(side)
+                .memberId(winnerId)
+                .throwNo(state.getVisits(side))
+                .score(checkoutScore)
+                .remaining(state.getRemaining(side)));
+    }
+
+    /**
+     * Zurückgenommenes Leg-Ende protokollieren
+     */
+    public void recordLegReopened(LiveLegState state) {
+        save(state, LegEvent.builder().eventType(LegEventType.LEG_REOPENED));
+    }
+
+    /**
+     * Snapshot der aktuellen Zähler schreiben
+     */
+    public void snapshot(LiveLegState state) {
+        legSnapshotRepository.save(LegSnapshot.builder()
+                .legId(state.getLeg().getId())
+                .seq(state.getEventSeq())
+                .homeRemaining(state.getRemaining(LiveLegState.HOME))
+                .awayRemaining(state.getRemaining(LiveLegState.AWAY))
+                .homeVisits(state.getVisits(LiveLegState.HOME))
+                .awayVisits(state.getVisits(LiveLegState.AWAY))
+                .homePoints(state.getPointsScored(LiveLegState.HOME))
+                .awayPoints(state.getPointsScored(LiveLegState.AWAY))
+                .build());
+    }
+
+    /**
+     * Komplettes Log eines Legs für Replay und Audit
+     */
+    public List<LegEventDTO> getEvents(UUID matchId, UUID legId) {
+        Leg leg = legRepository.findById(legId)
+                .orElseThrow(() -> new ResourceNotFoundException("Leg nicht gefunden"));
+        Set set = setRepository.findById(leg.getSetId())
+                .orElseThrow(() -> new ResourceNotFoundException("Set nicht gefunden"));
+        if (!matchId.equals(set.getMatchId())) {
+            throw new IllegalArgumentException("Leg gehört nicht zu diesem Match");
+        }
+
+        return legEventRepository.findByLegIdOrderBySeqAsc(legId).stream()
+                .map(e -> LegEventDTO.builder()
+                        .seq(e.getSeq())
+                        .type(e.getEventType().name())
+                        .player(e.getSide() == null ? null : e.getSide() == LiveLegState.HOME ? "home" : "away")
+                        .memberId(e.getMemberId())
+                        .throwId(e.getThrowId())
+                        .throwNo(e.getThrowNo())
+                        .score(e.getScore())
+                        .bust(e.getBust())
+                        .remaining(e.getRemaining())
+                        .createdAt(e.getCreatedAt())
+                        .build())
+                .toList();
+    }
+
+    private void append(LiveLegState state, LegEventType type, Throw throwData, boolean bust) {
+        int side = state.sideOf(throwData.getMemberId());
+        save(state, LegEvent.builder()
+                .eventType(type)
+                .side(side)
+                .memberId(throwData.getMemberId())
+                .throwId(throwData.getId())
+                .throwNo(throwData.getThrowNo())
+                .score(throwData.getThrowTotal())
+                .bust(bust)
+                .remaining(state.getRemaining(side)));
+    }
+
+    private void save(LiveLegState state, LegEvent.LegEventBuilder event) {
+        int seq = state.nextEventSeq();
+        legEventRepository.save(event.legId(state.getLeg().getId()).seq(seq).build());
+        // Snapshot beim ersten Event deckt auch Legs ab, die vor dem Event-Log begonnen wurden
+        if (seq == 1 || seq % SNAPSHOT_INTERVAL == 0) {
+            snapshot(state);
+            log.debug("Snapshot für Leg {} bei Event {}", state.getLeg().getId(), seq);
+        }
+    }
+}
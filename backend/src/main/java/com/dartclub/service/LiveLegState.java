@@ -0,0 +1,492 @@
+package com.dartclub.service;
+
+import com.dartclub.model.PackedVisit;
+import com.dartclub.model.dto.response.ThrowResponseDTO;
+import com.dartclub.model.entity.Leg;
+import com.dartclub.model.entity.Throw;
+import com.dartclub.service.rules.GameRules;
+import com.dartclub.service.rules.RuleState;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * LiveLegState - Laufender Zustand eines LIVE-Legs im Speicher
+ *
+ * Hält pro Seite (Heim/Auswärts) Anzahl Aufnahmen, Punktesumme für den
+ * Average und die Aufnahmen des Legs. Die Aufnahmen liegen kompakt als
+ * {@link PackedVisit} mit Punkten und Wurf-ID in int/long-Arrays; ein
+ * Throw wird nur für Rücknahme und Korrektur daraus zusammengesetzt. Der Spielstand selbst (Restpunkte,
+ * Cricket-Marks, ...) liegt im RuleState der Spielvariante. Wird von der
+ * ScoringEngine pro Aufnahme inkrementell fortgeschrieben, damit
+ * nicht bei jedem Wurf alle Throws des Legs geladen werden müssen.
+ * Korrekturen nehmen die letzte Aufnahme einer Seite wieder heraus
+ * ({@link #undoVisit(int)}), ohne das Leg neu zu berechnen.
+ *
+ * Beim Aufbau aus Snapshot + Event-Log sind nur die Zähler bekannt, die
+ * Aufnahmen selbst bleiben leer und werden bei Bedarf nachgeladen
+ * ({@link #fillVisit(int, Throw)}).
+ *
+ * Bei Einzel-Dart-Erfassung ({@link #applyDart(int, int, int)}) ist die
+ * laufende Aufnahme bereits im Spielstand enthalten, zählt aber erst nach
+ * {@link #completeVisit(Throw, int)} als Aufnahme. Sie wird nicht
+ * gespeichert; wird der State neu aufgebaut, ist sie verloren.
+ *
+ * Zugriffe von außen müssen über {@code synchronized (state)} erfolgen.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+public class LiveLegState {
+
+    public static final int HOME = 0;
+    public static final int AWAY = 1;
+
+    // Anzahl der letzten Antworten, die für Client-Wiederholungen vorgehalten werden
+    private static final int REPLAY_WINDOW = 8;
+
+    // Markiert eine eingetragene Aufnahme (oberstes Bit, von PackedVisit nicht belegt)
+    private static final int LOADED = 1 << 31;
+
+    private final Leg leg;
+    private final UUID matchId;
+    private final UUID orgId;
+    private final int setNumber;
+
+    private final UUID[] memberIds = new UUID[2];
+    private final String[] playerNames = new String[2];
+
+    private final GameRules rules;
+    private final RuleState ruleState;
+
+    private final int[] visits = new int[2];
+    private final int[] pointsScored = new int[2];
+
+    // Aufnahmen pro Seite in Wurf-Reihenfolge (Index = throwNo - 1)
+    private final int[][] packedVisits = {new int[16], new int[16]};
+    private final int[][] visitTotals = {new int[16], new int[16]};
+    // Wurf-ID je Aufnahme als msb/lsb (0/0 = noch nicht gespeichert)
+    private final long[][] visitIds = {new long[32], new long[32]};
+
+    // Laufende Aufnahme bei Einzel-Dart-Erfassung (Multiplier/Segment je Dart)
+    private int pendingSide = -1;
+    private int pendingCount;
+    private final int[] pendingDarts = new int[6];
+
+    // Letzte vergebene Sequenznummer im Event-Log des Legs
+    private int eventSeq;
+
+    // Antworten der letzten Aufnahmen, Slot = Sequenznummer % REPLAY_WINDOW
+    private final int[] replaySeq = new int[REPLAY_WINDOW];
+    private final ThrowResponseDTO[] replayResponses = new ThrowResponseDTO[REPLAY_WINDOW];
+
+    public LiveLegState(Leg leg, GameRules rules, UUID matchId, UUID orgId, int setNumber, String homePlayerName, String awayPlayerName) {
+        this.leg = leg;
+        this.rules = rules;
+        this.ruleState = rules.newState(leg);
+        this.matchId = matchId;
+        this.orgId = orgId;
+        this.setNumber = setNumber;
+        this.memberIds[HOME] = leg.getHomeMemberId();
+        this.memberIds[AWAY] = leg.getAwayMemberId();
+        this.playerNames[HOME] = homePlayerName;
+        this.playerNames[AWAY] = awayPlayerName;
+    }
+
+    /**
+     * Wertet eine Aufnahme nach den Regeln der Variante und schreibt sie fort
+     *
+     * Der Throw selbst wird nicht verändert; die ScoringEngine übernimmt
+     * Punkte und Stand danach aus dem RuleState.
+     *
+     * @return GameRules.CONTINUE, BUST oder WIN
+     */
+    public int applyVisit(int side, Throw throwData) {
+        checkNoPendingVisit();
+        int result = rules.applyVisit(ruleState, side,
+                valueOf(throwData.getDart1Multiplier()), valueOf(throwData.getDart1Segment()),
+                valueOf(throwData.getDart2Multiplier()), valueOf(throwData.getDart2Segment()),
+                valueOf(throwData.getDart3Multiplier()), valueOf(throwData.getDart3Segment()));
+        storeVisit(side, visits[side], throwData, result);
+        visits[side]++;
+        pointsScored[side] += ruleState.getVisitPoints(side);
+        return result;
+    }
+
+    /**
+     * Einzelnen Dart der laufenden Aufnahme werten (erster Dart beginnt die Aufnahme)
+     *
+     * @return GameRules.CONTINUE, BUST oder WIN
+     */
+    public int applyDart(int side, int multiplier, int segment) {
+        if (pendingCount == 0) {
+            rules.beginVisit(ruleState, side);
+            pendingSide = side;
+        } else if (side != pendingSide) {
+            throw new IllegalStateException("Laufende Aufnahme gehört zur anderen Seite");
+        } else if (pendingCount == 3) {
+            throw new IllegalStateException("Aufnahme ist bereits vollständig");
+        }
+        pendingDarts[pendingCount * 2] = multiplier;
+        pendingDarts[pendingCount * 2 + 1] = segment;
+        pendingCount++;
+        return rules.applyDart(ruleState, side, multiplier, segment);
+    }
+
+    /**
+     * Laufende Aufnahme abschließen und als Aufnahme übernehmen
+     *
+     * @param throwData aus den Darts der laufenden Aufnahme gebildeter Throw
+     * @param result Ergebnis des letzten Darts
+     */
+    public void completeVisit(Throw throwData, int result) {
+        if (pendingCount == 0) {
+            throw new IllegalStateException("Keine laufende Aufnahme vorhanden");
+        }
+        int side = pendingSide;
+        rules.endVisit(ruleState, side, result);
+        storeVisit(side, visits[side], throwData, result);
+        visits[side]++;
+        pointsScored[side] += ruleState.getVisitPoints(side);
+        pendingCount = 0;
+        pendingSide = -1;
+    }
+
+    /**
+     * Laufende Aufnahme verwerfen (Spielstand wie vor dem ersten Dart)
+     *
+     * @return Seite der verworfenen Aufnahme, -1 wenn keine lief
+     */
+    public int discardPendingVisit() {
+        if (pendingCount == 0) {
+            return -1;
+        }
+        int side = pendingSide;
+        rules.endVisit(ruleState, side, GameRules.CONTINUE);
+        rules.undoVisit(ruleState, side, ruleState.getVisitPoints(side), false);
+        pendingCount = 0;
+        pendingSide = -1;
+        return side;
+    }
+
+    public boolean hasPendingVisit() {
+        return pendingCount > 0;
+    }
+
+    /**
+     * Anzahl der bereits geworfenen Darts der laufenden Aufnahme
+     */
+    public int getPendingDartCount() {
+        return pendingCount;
+    }
+
+    public int getPendingMultiplier(int dart) {
+        return pendingDarts[dart * 2];
+    }
+
+    public int getPendingSegment(int dart) {
+        return pendingDarts[dart * 2 + 1];
+    }
+
+    private void checkNoPendingVisit() {
+        if (pendingCount > 0) {
+            throw new IllegalStateException("Laufende Aufnahme wird gerade dartweise erfasst");
+        }
+    }
+
+    /**
+     * Aufnahme nur aus Punkten nachspielen (Replay aus dem Event-Log, nur wiederherstellbare Regeln)
+     */
+    public void replayVisit(int side, int total, boolean bust) {
+        ensureCapacity(side, visits[side] + 1);
+        visits[side]++;
+        if (!bust) {
+            pointsScored[side] += total;
+        }
+        rules.replayVisit(ruleState, side, total, bust);
+    }
+
+    /**
+     * Rücknahme auf Zähler und Spielstand anwenden
+     */
+    public void replayUndo(int side, int total, boolean bust) {
+        visits[side]--;
+        ensureCapacity(side, visits[side] + 1);
+        clearVisit(side, visits[side]);
+        if (!bust) {
+            pointsScored[side] -= total;
+        }
+        rules.undoVisit(ruleState, side, total, bust);
+    }
+
+    /**
+     * Zählerstände aus einem Snapshot übernehmen (nur auf frischem State)
+     */
+    public void restore(int side, int remaining, int visits, int pointsScored) {
+        rules.restore(ruleState, side, remaining);
+        this.visits[side] = visits;
+        this.pointsScored[side] = pointsScored;
+        ensureCapacity(side, visits);
+    }
+
+    /**
+     * Gespeicherte bzw. nachgeladene Aufnahme einer Seite eintragen (inkl. Wurf-ID)
+     */
+    public void fillVisit(int side, Throw throwData) {
+        int index = throwData.getThrowNo() - 1;
+        ensureCapacity(side, index + 1);
+        packedVisits[side][index] = PackedVisit.encode(throwData) | LOADED;
+        visitTotals[side][index] = valueOf(throwData.getThrowTotal());
+        setVisitId(side, index, throwData.getId());
+    }
+
+    /**
+     * Gerade gewertete Aufnahme eintragen
+     *
+     * Bust/Checkout und Punkte kommen aus dem Ergebnis der Regeln, da die
+     * ScoringEngine sie erst danach in den Throw übernimmt.
+     */
+    private void storeVisit(int side, int index, Throw throwData, int result) {
+        ensureCapacity(side, index + 1);
+        int packed = PackedVisit.encode(throwData);
+        if (result == GameRules.BUST) {
+            packed |= PackedVisit.BUST;
+        } else if (result == GameRules.WIN) {
+            packed |= PackedVisit.CHECKOUT;
+        }
+        packedVisits[side][index] = packed | LOADED;
+        visitTotals[side][index] = result == GameRules.BUST
+                ? PackedVisit.dartTotal(packed)
+                : ruleState.getVisitPoints(side);
+        setVisitId(side, index, throwData.getId());
+    }
+
+    private void clearVisit(int side, int index) {
+        packedVisits[side][index] = 0;
+        visitTotals[side][index] = 0;
+        visitIds[side][index * 2] = 0;
+        visitIds[side][index * 2 + 1] = 0;
+    }
+
+    private void setVisitId(int side, int index, UUID id) {
+        visitIds[side][index * 2] = id != null ? id.getMostSignificantBits() : 0;
+        visitIds[side][index * 2 + 1] = id != null ? id.getLeastSignificantBits() : 0;
+    }
+
+    private boolean isLoaded(int side, int index) {
+        return (packedVisits[side][index] & LOADED) != 0;
+    }
+
+    /**
+     * Throw aus der kodierten Aufnahme zusammensetzen (Rest = aktueller Stand der Seite)
+     */
+    private Throw buildVisit(int side, int index) {
+        long msb = visitIds[side][index * 2];
+        long lsb = visitIds[side][index * 2 + 1];
+        Throw throwData = Throw.builder()
+                .id(msb == 0 && lsb == 0 ? null : new UUID(msb, lsb))
+                .legId(leg.getId())
+                .memberId(memberIds[side])
+                .throwNo(index + 1)
+                .throwTotal(visitTotals[side][index])
+                .remainingScore(getRemaining(side))
+                .build();
+        PackedVisit.decodeInto(packedVisits[side][index], throwData);
+        return throwData;
+    }
+
+    private static int valueOf(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    private void ensureCapacity(int side, int size) {
+        if (size > packedVisits[side].length) {
+            int length = Math.max(size, packedVisits[side].length * 2);
+            packedVisits[side] = Arrays.copyOf(packedVisits[side], length);
+            visitTotals[side] = Arrays.copyOf(visitTotals[side], length);
+            visitIds[side] = Arrays.copyOf(visitIds[side], length * 2);
+        }
+    }
+
+    /**
+     * Nimmt die letzte Aufnahme einer Seite zurück
+     *
+     * @return die entfernte Aufnahme
+     */
+    public Throw undoVisit(int side) {
+        checkNoPendingVisit();
+        if (visits[side] == 0) {
+            throw new IllegalStateException("Keine Aufnahme zum Zurücknehmen vorhanden");
+        }
+        int index = visits[side] - 1;
+        if (!isLoaded(side, index)) {
+            throw new IllegalStateException("Aufnahme ist nicht geladen");
+        }
+        Throw throwData = buildVisit(side, index);
+        replayResponses[getVisitCount() % REPLAY_WINDOW] = null;
+        replayUndo(side, visitTotals[side][index], PackedVisit.isBust(packedVisits[side][index]));
+        return throwData;
+    }
+
+    /**
+     * Letzte Aufnahme einer Seite (null, wenn die Seite noch nicht geworfen hat oder nicht geladen)
+     *
+     * Liefert bei jedem Aufruf einen neu zusammengesetzten Throw.
+     */
+    public Throw getLastVisit(int side) {
+        if (visits[side] == 0 || !isLoaded(side, visits[side] - 1)) {
+            return null;
+        }
+        return buildVisit(side, visits[side] - 1);
+    }
+
+    /**
+     * Seite, die zuletzt geworfen hat (-1 bei leerem Leg)
+     */
+    public int lastSide() {
+        if (getVisitCount() == 0) {
+            return -1;
+        }
+        return visits[HOME] > visits[AWAY] ? HOME : AWAY;
+    }
+
+    /**
+     * Antwort zu einer Aufnahme merken, damit Wiederholungen sie erneut bekommen
+     *
+     * @param seq Sequenznummer der Aufnahme im Leg (1-basiert)
+     */
+    public void recordResponse(int seq, ThrowResponseDTO response) {
+        int slot = seq % REPLAY_WINDOW;
+        replaySeq[slot] = seq;
+        replayResponses[slot] = response;
+    }
+
+    /**
+     * Gemerkte Antwort zu einer bereits verarbeiteten Aufnahme (null, wenn nicht mehr vorhanden)
+     */
+    public ThrowResponseDTO getRecordedResponse(int seq) {
+        if (seq < 1 || seq > getVisitCount() || seq <= getVisitCount() - REPLAY_WINDOW) {
+            return null;
+        }
+        int slot = seq % REPLAY_WINDOW;
+        return replaySeq[slot] == seq ? replayResponses[slot] : null;
+    }
+
+    /**
+     * Seite (HOME/AWAY) eines Spielers
+     */
+    public int sideOf(UUID memberId) {
+        if (memberId.equals(memberIds[HOME])) return HOME;
+        if (memberId.equals(memberIds[AWAY])) return AWAY;
+        throw new IllegalArgumentException("Spieler gehört nicht zu diesem Leg");
+    }
+
+    /**
+     * Wer ist am Zug? Heim beginnt, danach abwechselnd.
+     */
+    public int currentSide() {
+        return visits[HOME] <= visits[AWAY] ? HOME : AWAY;
+    }
+
+    /**
+     * Seite der Aufnahme mit Sequenznummer seq (1-basiert, Heim beginnt, danach abwechselnd)
+     */
+    public static int sideOfSeq(int seq) {
+        return seq % 2 == 1 ? HOME : AWAY;
+    }
+
+    public Leg getLeg() {
+        return leg;
+    }
+
+    public UUID getMatchId() {
+        return matchId;
+    }
+
+    public UUID getOrgId() {
+        return orgId;
+    }
+
+    public int getSetNumber() {
+        return setNumber;
+    }
+
+    public GameRules getRules() {
+        return rules;
+    }
+
+    public RuleState getRuleState() {
+        return ruleState;
+    }
+
+    public UUID getMemberId(int side) {
+        return memberIds[side];
+    }
+
+    public String getPlayerName(int side) {
+        return playerNames[side];
+    }
+
+    /**
+     * Stand einer Seite (X01: Restpunkte, Cricket: Punkte, Around the Clock: offene Ziele)
+     */
+    public int getRemaining(int side) {
+        return ruleState.getScore(side);
+    }
+
+    public int getVisits(int side) {
+        return visits[side];
+    }
+
+    /**
+     * Nächste Sequenznummer für das Event-Log vergeben
+     */
+    public int nextEventSeq() {
+        return ++eventSeq;
+    }
+
+    public int getEventSeq() {
+        return eventSeq;
+    }
+
+    public void setEventSeq(int eventSeq) {
+        this.eventSeq = eventSeq;
+    }
+
+    /**
+     * Anzahl Aufnahmen beider Spieler im Leg (= Sequenznummer der letzten Aufnahme)
+     */
+    public int getVisitCount() {
+        return visits[HOME] + visits[AWAY];
+    }
+
+    public int getPointsScored(int side) {
+        return pointsScored[side];
+    }
+
+    /**
+     * 3-Dart-Average (Punkte / Aufnahmen, Busts zählen als Aufnahme mit 0)
+     */
+    public double getAverage(int side) {
+        if (visits[side] == 0) {
+            return 0.0;
+        }
+        return (double) pointsScored[side] / visits[side];
+    }
+
+    /**
+     * Letzte Aufnahme als String, z.B. "60, 60, 20 (140)"
+     */
+    public String getLastThrowString(int side) {
+        if (visits[side] == 0) {
+            return null;
+        }
+        int index = visits[side] - 1;
+        if (!isLoaded(side, index)) {
+            return null;
+        }
+        int packed = packedVisits[side][index];
+        return String.format("%d, %d, %d (%d)",
+                PackedVisit.score(packed, 0), PackedVisit.score(packed, 1), PackedVisit.score(packed, 2),
+                visitTotals[side][index]);
+    }
+}
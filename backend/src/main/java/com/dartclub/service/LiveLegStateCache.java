@@ -0,0 +1,215 @@
+package com.dartclub.service;
+
+import com.dartclub.exception.ResourceNotFoundException;
+import com.dartclub.model.entity.Leg;
+import com.dartclub.model.entity.LegEvent;
+import com.dartclub.model.entity.LegSnapshot;
+import com.dartclub.model.entity.Match;
+import com.dartclub.model.entity.Member;
+import com.dartclub.model.entity.Set;
+import com.dartclub.model.entity.Throw;
+import com.dartclub.repository.LegEventRepository;
+import com.dartclub.repository.LegRepository;
+import com.dartclub.repository.LegSnapshotRepository;
+import com.dartclub.repository.MatchRepository;
+import com.dartclub.repository.MemberRepository;
+import com.dartclub.repository.SetRepository;
+import com.dartclub.repository.ThrowRepository;
+import com.dartclub.service.rules.GameRules;
+import com.dartclub.service.rules.GameRulesRegistry;
+import com.dartclub.service.writebehind.ThrowWriteBehindService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * LiveLegStateCache - In-Memory Cache für laufende Legs
+ *
+ * Fehlt ein Eintrag (z.B. nach Neustart), wird er einmalig aus dem
+ * neuesten Leg-Snapshot plus den Events danach aufgebaut (siehe LegEventLog).
+ * Nur Legs ohne Snapshot (leer oder vor dem Event-Log begonnen) werden
+ * aus allen Würfen berechnet.
+ * Beendete Legs werden nicht gecacht und über {@link #evict(UUID)} entfernt.
+ * Per Checkout beendete Legs wandern über {@link #retire(UUID)} in einen
+ * kleinen LRU-Bereich, damit wiederholte Checkout-Requests noch ihre
+ * ursprüngliche Antwort bekommen.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LiveLegStateCache {
+
+    private final LegRepository legRepository;
+    private final SetRepository setRepository;
+    private final MatchRepository matchRepository;
+    private final MemberRepository memberRepository;
+    private final ThrowRepository throwRepository;
+    private final LegEventRepository legEventRepository;
+    private final LegSnapshotRepository legSnapshotRepository;
+    private final GameRulesRegistry gameRulesRegistry;
+    private final ThrowWriteBehindService throwWriteBehindService;
+
+    private static final int RETIRED_CAPACITY = 256;
+
+    private final ConcurrentMap<UUID, LiveLegState> states = new ConcurrentHashMap<>();
+    private final Map<UUID, LiveLegState> retired = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<UUID, LiveLegState> eldest) {
+                    return size() > RETIRED_CAPACITY;
+                }
+            });
+
+    /**
+     * Live-State eines Legs holen (lädt das Leg nur bei Cache-Miss)
+     */
+    public LiveLegState get(UUID legId) {
+        LiveLegState state = states.get(legId);
+        if (state != null) {
+            return state;
+        }
+        state = retired.get(legId);
+        if (state != null) {
+            return state;
+        }
+        Leg leg = legRepository.findById(legId)
+                .orElseThrow(() -> new ResourceNotFoundException("Leg nicht gefunden"));
+        return load(leg);
+    }
+
+    /**
+     * Live-State für ein bereits geladenes Leg holen
+     */
+    public LiveLegState get(Leg leg) {
+        LiveLegState state = states.get(leg.getId());
+        if (state != null) {
+            return state;
+        }
+        state = retired.get(leg.getId());
+        if (state != null) {
+            return state;
+        }
+        return load(leg);
+    }
+
+    /**
+     * Eintrag entfernen (Leg beendet oder State inkonsistent)
+     */
+    public void evict(UUID legId) {
+        retired.remove(legId);
+        if (states.remove(legId) != null) {
+            log.debug("Live-State für Leg {} entfernt", legId);
+        }
+    }
+
+    /**
+     * Beendetes Leg aus dem Live-Cache nehmen, State aber für Wiederholungen vorhalten
+     */
+    public void retire(UUID legId) {
+        LiveLegState state = states.remove(legId);
+        if (state != null) {
+            retired.put(legId, state);
+            log.debug("Live-State für Leg {} beendet", legId);
+        }
+    }
+
+    /**
+     * Letzte Aufnahme einer Seite holen, bei Bedarf aus der DB nachladen (Aufruf unter dem Lock des States)
+     */
+    public Throw loadLastVisit(LiveLegState state, int side) {
+        Throw last = state.getLastVisit(side);
+        int throwNo = state.getVisits(side);
+        if (last != null || throwNo == 0) {
+            return last;
+        }
+        throwWriteBehindService.sync();
+        last = throwRepository.findByLegIdAndMemberIdAndThrowNo(state.getLeg().getId(), state.getMemberId(side), throwNo)
+                .orElseThrow(() -> new ResourceNotFoundException("Aufnahme " + throwNo + " nicht gefunden"));
+        state.fillVisit(side, last);
+        return last;
+    }
+
+    /**
+     * Wieder geöffnetes Leg zurück in den Live-Cache holen (z.B. nach Rücknahme des Checkouts)
+     */
+    public void reinstate(LiveLegState state) {
+        UUID legId = state.getLeg().getId();
+        retired.remove(legId);
+        states.put(legId, state);
+        log.debug("Live-State für Leg {} wieder aktiv", legId);
+    }
+
+    private LiveLegState load(Leg leg) {
+        LiveLegState state = rebuild(leg);
+        if (leg.getFinishedAt() != null) {
+            return state;
+        }
+        LiveLegState existing = states.putIfAbsent(leg.getId(), state);
+        return existing != null ? existing : state;
+    }
+
+    /**
+     * State aus der Datenbank rekonstruieren
+     */
+    private LiveLegState rebuild(Leg leg) {
+        Set set = setRepository.findById(leg.getSetId())
+                .orElseThrow(() -> new ResourceNotFoundException("Set nicht gefunden"));
+        Match match = matchRepository.findById(set.getMatchId())
+                .orElseThrow(() -> new ResourceNotFoundException("Match nicht gefunden"));
+
+        Member homeMember = memberRepository.findById(leg.getHomeMemberId())
+                .orElseThrow(() -> new ResourceNotFoundException("Home Player nicht gefunden"));
+        Member awayMember = memberRepository.findById(leg.getAwayMemberId())
+                .orElseThrow(() -> new ResourceNotFoundException("Away Player nicht gefunden"));
+
+        GameRules rules = gameRulesRegistry.forLeg(leg);
+        LiveLegState state = new LiveLegState(leg, rules, match.getId(), match.getOrgId(), set.getSetNo(),
+                homeMember.getFirstName() + " " + homeMember.getLastName(),
+                awayMember.getFirstName() + " " + awayMember.getLastName());
+
+        LegSnapshot snapshot = legSnapshotRepository.findFirstByLegIdOrderBySeqDesc(leg.getId()).orElse(null);
+        if (snapshot == null || !rules.isRestorable()) {
+            // Cricket wertet abhängig vom Gegner - Würfe in Wurf-Reihenfolge neu werten
+            throwWriteBehindService.sync();
+            List<Throw> throwList = new ArrayList<>(throwRepository.findByLegIdOrderByThrowNoAsc(leg.getId()));
+            throwList.sort(Comparator.comparing(Throw::getThrowNo)
+                    .thenComparing(Throw::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder())));
+            for (Throw t : throwList) {
+                state.applyVisit(state.sideOf(t.getMemberId()), t);
+            }
+            legEventRepository.findFirstByLegIdOrderBySeqDesc(leg.getId())
+                    .ifPresent(e -> state.setEventSeq(e.getSeq()));
+        } else {
+            state.restore(LiveLegState.HOME, snapshot.getHomeRemaining(), snapshot.getHomeVisits(), snapshot.getHomePoints());
+            state.restore(LiveLegState.AWAY, snapshot.getAwayRemaining(), snapshot.getAwayVisits(), snapshot.getAwayPoints());
+            state.setEventSeq(snapshot.getSeq());
+
+            for (LegEvent e : legEventRepository.findByLegIdAndSeqGreaterThanOrderBySeqAsc(leg.getId(), snapshot.getSeq())) {
+                switch (e.getEventType()) {
+                    case VISIT, BUST -> state.replayVisit(e.getSide(), e.getScore(), Boolean.TRUE.equals(e.getBust()));
+                    case UNDO -> state.replayUndo(e.getSide(), e.getScore(), Boolean.TRUE.equals(e.getBust()));
+                    default -> { }
+                }
+                state.setEventSeq(e.getSeq());
+            }
+
+            loadLastVisit(state, LiveLegState.HOME);
+            loadLastVisit(state, LiveLegState.AWAY);
+        }
+
+        log.debug("Live-State für Leg {} aufgebaut", leg.getId());
+        return state;
+    }
+}
@@ -0,0 +1,181 @@
+package com.dartclub.service;
+
+import com.dartclub.model.dto.response.LiveScoringDeltaDTO;
+import com.dartclub.model.entity.Leg;
+import com.dartclub.model.entity.Match;
+import com.dartclub.model.entity.Set;
+import com.dartclub.model.entity.Throw;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * LiveScoringPublisher - Pusht Live-Scoring Deltas an /topic/matches/{matchId}
+ * (STOMP) und an die SSE-Streams der Match-Anzeigen
+ *
+ * Läuft eine Transaktion, wird erst nach dem Commit gesendet, damit Clients
+ * nie Zustände sehen, die noch zurückgerollt werden könnten.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LiveScoringPublisher {
+
+    public static final String TOPIC_PREFIX = "/topic/matches/";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ScoringEngine scoringEngine;
+    private final LiveScoringStreamHub liveScoringStreamHub;
+
+    /**
+     * Aufnahme (Wurf oder Bust) aus dem Live-State publizieren
+     *
+     * Muss unter dem Lock des States aufgerufen werden, nachdem die Aufnahme angewendet wurde.
+     */
+    public void publishVisit(LiveLegState state, Throw throwData, String event) {
+        publishSide(Boolean.TRUE.equals(throwData.getIsBust()) ? "bust" : "throw",
+                state, state.sideOf(throwData.getMemberId()), throwData.getThrowTotal(), event);
+    }
+
+    /**
+     * Korrigierte Aufnahme publizieren (ersetzt die letzte Aufnahme des Spielers)
+     */
+    public void publishCorrection(LiveLegState state, Throw throwData, String event) {
+        publishSide("correction", state, state.sideOf(throwData.getMemberId()), throwData.getThrowTotal(), event);
+    }
+
+    /**
+     * Zurückgenommene Aufnahme publizieren (State ist bereits zurückgesetzt)
+     */
+    public void publishUndo(LiveLegState state, int side) {
+        publishSide("undo", state, side, null, null);
+    }
+
+    /**
+     * Einzelnen Dart der laufenden Aufnahme publizieren (Stand nach dem Dart)
+     */
+    public void publishDart(LiveLegState state, int side, int dartNo, int dartScore) {
+        publish(state.getMatchId(), sideDelta("dart", state, side, null, null)
+                .dartNo(dartNo)
+                .dartScore(dartScore)
+                .build());
+    }
+
+    private void publishSide(String type, LiveLegState state, int side, Integer throwTotal, String event) {
+        publish(state.getMatchId(), sideDelta(type, state, side, throwTotal, event).build());
+    }
+
+    private LiveScoringDeltaDTO.LiveScoringDeltaDTOBuilder sideDelta(String type, LiveLegState state, int side,
+                                                                    Integer throwTotal, String event) {
+        Leg leg = state.getLeg();
+        int remaining = state.getRemaining(side);
+
+        return LiveScoringDeltaDTO.builder()
+                .type(type)
+                .matchId(state.getMatchId())
+                .legId(leg.getId())
+                .setNumber(state.getSetNumber())
+                .legNumber(leg.getLegNo())
+                .player(side == LiveLegState.HOME ? "home" : "away")
+                .memberId(state.getMemberId(side))
+                .throwTotal(throwTotal)
+                .remainingScore(remaining)
+                .lastThrow(state.getLastThrowString(side))
+                .average(state.getAverage(side))
+                .event(event)
+                .checkoutSuggestion(scoringEngine.suggestCheckout(state, side))
+                .nextPlayer(state.currentSide() == LiveLegState.HOME ? "home" : "away");
+    }
+
+    /**
+     * Leg-Ende publizieren (Set enthält den aktualisierten Legs-Stand)
+     */
+    public void publishLegEnd(Leg leg, Set set) {
+        publish(set.getMatchId(), LiveScoringDeltaDTO.builder()
+                .type("leg_end")
+                .matchId(set.getMatchId())
+                .legId(leg.getId())
+                .setNumber(set.getSetNo())
+                .legNumber(leg.getLegNo())
+                .winnerMemberId(leg.getWinnerMemberId())
+                .totalDarts(leg.getTotalDarts())
+                .checkoutScore(leg.getCheckoutScore())
+                .homeLegs(set.getHomeLegs())
+                .awayLegs(set.getAwayLegs())
+                .build());
+    }
+
+    /**
+     * Wieder geöffnetes Leg publizieren (Set/Match enthalten die zurückgesetzten Stände)
+     */
+    public void publishLegReopened(Leg leg, Set set, Match match) {
+        publish(match.getId(), LiveScoringDeltaDTO.builder()
+                .type("leg_reopened")
+                .matchId(match.getId())
+                .legId(leg.getId())
+                .setNumber(set.getSetNo())
+                .legNumber(leg.getLegNo())
+                .homeLegs(set.getHomeLegs())
+                .awayLegs(set.getAwayLegs())
+                .homeSets(match.getHomeSets())
+                .awaySets(match.getAwaySets())
+                .build());
+    }
+
+    /**
+     * Set-Ende publizieren (Match enthält den aktualisierten Sets-Stand)
+     */
+    public void publishSetEnd(Set set, Match match) {
+        publish(match.getId(), LiveScoringDeltaDTO.builder()
+                .type("set_end")
+                .matchId(match.getId())
+                .setNumber(set.getSetNo())
+                .homeLegs(set.getHomeLegs())
+                .awayLegs(set.getAwayLegs())
+                .homeSets(match.getHomeSets())
+                .awaySets(match.getAwaySets())
+                .build());
+    }
+
+    /**
+     * Match-Ende publizieren
+     */
+    public void publishMatchEnd(Match match) {
+        publish(match.getId(), LiveScoringDeltaDTO.builder()
+                .type("match_end")
+                .matchId(match.getId())
+                .homeSets(match.getHomeSets())
+                .awaySets(match.getAwaySets())
+                .build());
+    }
+
+    private void publish(UUID matchId, LiveScoringDeltaDTO delta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(matchId, delta);
+                }
+            });
+        } else {
+            send(matchId, delta);
+        }
+    }
+
+    private void send(UUID matchId, LiveScoringDeltaDTO delta) {
+        liveScoringStreamHub.broadcast(matchId, delta);
+        try {
+            messagingTemplate.convertAndSend(TOPIC_PREFIX + matchId, delta);
+        } catch (Exception e) {
+            // Push ist Best-Effort, das Scoring darf daran nicht scheitern
+            log.warn("Live-Delta {} für Match {} konnte nicht gesendet werden: {}", delta.getType(), matchId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.dartclub.service;
+
+import com.dartclub.model.dto.response.LiveScoringDeltaDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * LiveScoringStreamHub - Server-Sent Events für Match-Anzeigen
+ *
+ * Pro Match ein Ringpuffer der letzten Deltas mit fortlaufender Event-ID.
+ * Gesendet wird auf virtuellen Threads, offene Verbindungen belegen keinen
+ * Tomcat-Worker (Servlet-Async). Jeder Subscriber merkt sich die zuletzt
+ * gesendete ID, dadurch bleibt die Reihenfolge erhalten und ein Reconnect
+ * mit Last-Event-ID bekommt nur die verpassten Deltas nachgeliefert.
+ *
+ * Event-IDs starten bei der aktuellen Zeit in Millisekunden, damit sie auch
+ * nach einem Neustart größer sind als alle vorher vergebenen. Ist die
+ * Last-Event-ID nicht mehr im Puffer oder fehlt sie (Erstverbindung,
+ * Reconnect ohne ID), bekommt der Client ein "resync"-Event und muss
+ * einmal /live neu laden - erst danach, damit zwischen /live und Stream
+ * kein Delta verloren geht.
+ *
+ * Mit Token-Erneuerung trägt der Heartbeat statt eines Kommentars ein
+ * "token"-Event mit frischem Stream-Token; damit baut der Client die
+ * Verbindung auch nach Ablauf des ursprünglichen Tokens neu auf.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Slf4j
+@Component
+public class LiveScoringStreamHub {
+
+    private static final int BUFFER_SIZE = 256;
+    private static final long HEARTBEAT_SECONDS = 15;
+    private static final long IDLE_STREAM_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final ConcurrentMap<UUID, MatchStream> streams = new ConcurrentHashMap<>();
+    private final ExecutorService sendExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "sse-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public LiveScoringStreamHub() {
+        heartbeatScheduler.scheduleAtFixedRate(this::heartbeat, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Neue SSE-Verbindung für ein Match öffnen
+     *
+     * @param lastEventId Last-Event-ID des Clients (null bei Erstverbindung)
+     * @param tokenRenewer liefert einen frischen Stream-Token pro Heartbeat (null: keine Erneuerung)
+     */
+    public SseEmitter subscribe(UUID matchId, Long lastEventId, Supplier<String> tokenRenewer) {
+        MatchStream stream = streams.computeIfAbsent(matchId, id -> new MatchStream());
+        SseEmitter emitter = new SseEmitter(0L);
+        Subscriber subscriber = new Subscriber(emitter, tokenRenewer);
+
+        synchronized (stream) {
+            if (lastEventId == null || lastEventId < stream.oldestId() - 1 || lastEventId > stream.lastId()) {
+                subscriber.lastSentId = stream.lastId();
+                subscriber.resync = true;
+            } else {
+                subscriber.lastSentId = lastEventId;
+            }
+            stream.subscribers.add(subscriber);
+        }
+
+        emitter.onCompletion(() -> stream.subscribers.remove(subscriber));
+        emitter.onTimeout(() -> stream.subscribers.remove(subscriber));
+        emitter.onError(e -> stream.subscribers.remove(subscriber));
+
+        log.debug("SSE-Subscriber für Match {} verbunden (Last-Event-ID: {}), aktiv: {}",
+                matchId, lastEventId, stream.subscribers.size());
+
+        sendExecutor.execute(() -> drain(stream, subscriber));
+        return emitter;
+    }
+
+    /**
+     * Delta an alle Anzeigen eines Matches verteilen
+     */
+    public void broadcast(UUID matchId, LiveScoringDeltaDTO delta) {
+        MatchStream stream = streams.computeIfAbsent(matchId, id -> new MatchStream());
+        synchronized (stream) {
+            stream.append(delta);
+        }
+        for (Subscriber subscriber : stream.subscribers) {
+            sendExecutor.execute(() -> drain(stream, subscriber));
+        }
+    }
+
+    /**
+     * Alle noch nicht gesendeten Deltas an einen Subscriber schicken
+     */
+    private void drain(MatchStream stream, Subscriber subscriber) {
+        subscriber.lock.lock();
+        try {
+            try {
+                if (subscriber.resync) {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(String.valueOf(subscriber.lastSentId))
+                            .name("resync")
+                            .data("resync"));
+                    subscriber.resync = false;
+                }
+
+                long firstId;
+                List<LiveScoringDeltaDTO> pending;
+                synchronized (stream) {
+                    firstId = Math.max(subscriber.lastSentId + 1, stream.oldestId());
+                    pending = stream.since(firstId);
+                }
+                for (int i = 0; i < pending.size(); i++) {
+                    LiveScoringDeltaDTO delta = pending.get(i);
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(String.valueOf(firstId + i))
+                            .name(delta.getType())
+                            .data(delta));
+                    subscriber.lastSentId = firstId + i;
+                }
+            } catch (IOException | IllegalStateException e) {
+                stream.subscribers.remove(subscriber);
+                subscriber.emitter.completeWithError(e);
+            }
+        } finally {
+            subscriber.lock.unlock();
+        }
+    }
+
+    /**
+     * Heartbeat senden (hält Proxies offen, erkennt tote Verbindungen, erneuert den Stream-Token)
+     */
+    private void heartbeat() {
+        long now = System.currentTimeMillis();
+        streams.forEach((matchId, stream) -> {
+            if (stream.subscribers.isEmpty() && now - stream.lastActivity > IDLE_STREAM_MILLIS) {
+                streams.remove(matchId, stream);
+                return;
+            }
+            for (Subscriber subscriber : stream.subscribers) {
+                sendExecutor.execute(() -> {
+                    subscriber.lock.lock();
+                    try {
+                        if (subscriber.tokenRenewer != null) {
+                            subscriber.emitter.send(SseEmitter.event().name("token").data(subscriber.tokenRenewer.get()));
+                        } else {
+                            subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                        }
+                    } catch (IOException | IllegalStateException e) {
+                        stream.subscribers.remove(subscriber);
+                        subscriber.emitter.completeWithError(e);
+                    } finally {
+                        subscriber.lock.unlock();
+                    }
+                });
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatScheduler.shutdownNow();
+        streams.values().forEach(stream -> stream.subscribers.forEach(s -> s.emitter.complete()));
+        sendExecutor.shutdown();
+    }
+
+    /**
+     * Ringpuffer der Deltas eines Matches (Zugriff nur unter dem Lock des Streams)
+     */
+    private static class MatchStream {
+        private final LiveScoringDeltaDTO[] deltas = new LiveScoringDeltaDTO[BUFFER_SIZE];
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private final long firstId = System.currentTimeMillis();
+        private long nextId = firstId;
+        private volatile long lastActivity = System.currentTimeMillis();
+
+        void append(LiveScoringDeltaDTO delta) {
+            deltas[(int) (nextId % BUFFER_SIZE)] = delta;
+            nextId++;
+            lastActivity = System.currentTimeMillis();
+        }
+
+        long lastId() {
+            return nextId - 1;
+        }
+
+        long oldestId() {
+            return Math.max(firstId, nextId - BUFFER_SIZE);
+        }
+
+        List<LiveScoringDeltaDTO> since(long firstId) {
+            List<LiveScoringDeltaDTO> result = new ArrayList<>();
+            for (long id = firstId; id < nextId; id++) {
+                result.add(deltas[(int) (id % BUFFER_SIZE)]);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Offene SSE-Verbindung; Lock statt synchronized, damit virtuelle Threads beim Senden nicht pinnen
+     */
+    private static class Subscriber {
+        private final SseEmitter emitter;
+        private final Supplier<String> tokenRenewer;
+        private final ReentrantLock lock = new ReentrantLock();
+        private long lastSentId;
+        private boolean resync;
+
+        Subscriber(SseEmitter emitter, Supplier<String> tokenRenewer) {
+            this.emitter = emitter;
+            this.tokenRenewer = tokenRenewer;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.dartclub.service;
+
+/**
+ * Lttb - Downsampling einer Zeitreihe mit Largest-Triangle-Three-Buckets (Steinarsson)
+ *
+ * Behält den ersten und letzten Punkt und wählt aus jedem der threshold-2
+ * Buckets dazwischen den Punkt, der mit dem zuletzt gewählten Punkt und
+ * dem Mittel des nächsten Buckets das größte Dreieck bildet. Spitzen und
+ * Einbrüche der Kurve bleiben so erhalten. Laufzeit O(n).
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+final class Lttb {
+
+    private Lttb() {
+    }
+
+    /**
+     * Indizes der zu behaltenden Punkte (aufsteigend)
+     *
+     * @param x aufsteigende x-Werte
+     * @param y y-Werte
+     * @param threshold gewünschte Anzahl Punkte (mindestens 3)
+     */
+    static int[] downsample(double[] x, double[] y, int threshold) {
+        int n = x.length;
+        if (threshold >= n) {
+            int[] all = new int[n];
+            for (int i = 0; i < n; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+
+        int[] sampled = new int[threshold];
+        double every = (double) (n - 2) / (threshold - 2);
+        int a = 0;
+        sampled[0] = 0;
+        for (int i = 0; i < threshold - 2; i++) {
+            // Mittel des nächsten Buckets
+            int avgStart = (int) Math.floor((i + 1) * every) + 1;
+            int avgEnd = Math.min((int) Math.floor((i + 2) * every) + 1, n);
+            double avgX = 0.0;
+            double avgY = 0.0;
+            for (int j = avgStart; j < avgEnd; j++) {
+                avgX += x[j];
+                avgY += y[j];
+            }
+            avgX /= avgEnd - avgStart;
+            avgY /= avgEnd - avgStart;
+
+            // Punkt des aktuellen Buckets mit dem größten Dreieck
+            int rangeStart = (int) Math.floor(i * every) + 1;
+            int rangeEnd = (int) Math.floor((i + 1) * every) + 1;
+            double maxArea = -1.0;
+            int next = rangeStart;
+            for (int j = rangeStart; j < rangeEnd; j++) {
+                double area = Math.abs((x[a] - avgX) * (y[j] - y[a]) - (x[a] - x[j]) * (avgY - y[a]));
+                if (area > maxArea) {
+                    maxArea = area;
+                    next = j;
+                }
+            }
+            sampled[i + 1] = next;
+            a = next;
+        }
+        sampled[threshold - 1] = n - 1;
+        return sampled;
+    }
+}
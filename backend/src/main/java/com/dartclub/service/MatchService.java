@@ -3,14 +3,20 @@ package com.dartclub.service;
 import com.dartclub.exception.ResourceNotFoundException;
 import com.dartclub.model.dto.response.*;
 import com.dartclub.model.entity.*;
+import com.dartclub.model.enums.GameVariant;
 import com.dartclub.model.enums.MatchStatus;
 import com.dartclub.repository.*;
+import com.dartclub.service.event.ScoringEventBus;
+import com.dartclub.service.rating.RatingService;
+import com.dartclub.service.rules.RuleState;
+import com.dartclub.service.writebehind.ThrowWriteBehindService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -33,10 +39,18 @@ public class MatchService {
     private final MatchRepository matchRepository;
     private final SetRepository setRepository;
     private final LegRepository legRepository;
-    private final ThrowRepository throwRepository;
     private final TeamRepository teamRepository;
     private final MemberRepository memberRepository;
     private final ScoringEngine scoringEngine;
+    private final LiveLegStateCache liveLegStateCache;
+    private final LiveScoringPublisher liveScoringPublisher;
+    private final LegEventLog legEventLog;
+    private final ScoringEventBus scoringEventBus;
+    private final ThrowWriteBehindService throwWriteBehindService;
+    private final StatisticsService statisticsService;
+    private final HeadToHeadService headToHeadService;
+    private final FormCurveService formCurveService;
+    private final RatingService ratingService;
 
     /**
      * Alle Matches einer Organisation
@@ -80,12 +94,39 @@ public class MatchService {
         match.setAwayTeamId(updatedMatch.getAwayTeamId());
         match.setBestOfSets(updatedMatch.getBestOfSets());
         match.setBestOfLegs(updatedMatch.getBestOfLegs());
-        match.setStartingScore(updatedMatch.getStartingScore());
-        match.setDoubleOut(updatedMatch.getDoubleOut());
+
+        // Spielvariante und Regeln (null = unverändert), nur vor Spielbeginn änderbar
+        boolean rulesChanged = changed(updatedMatch.getStartingScore(), match.getStartingScore())
+                || changed(updatedMatch.getDoubleOut(), match.getDoubleOut())
+                || changed(updatedMatch.getDoubleIn(), match.getDoubleIn())
+                || changed(updatedMatch.getMasterOut(), match.getMasterOut())
+                || changed(updatedMatch.getGameVariant(), match.getGameVariant());
+        if (rulesChanged && match.getStatus() != MatchStatus.SCHEDULED) {
+            throw new IllegalStateException("Spielvariante und Regeln können nur vor Spielbeginn geändert werden");
+        }
+        if (updatedMatch.getStartingScore() != null) {
+            match.setStartingScore(updatedMatch.getStartingScore());
+        }
+        if (updatedMatch.getDoubleOut() != null) {
+            match.setDoubleOut(updatedMatch.getDoubleOut());
+        }
+        if (updatedMatch.getDoubleIn() != null) {
+            match.setDoubleIn(updatedMatch.getDoubleIn());
+        }
+        if (updatedMatch.getMasterOut() != null) {
+            match.setMasterOut(updatedMatch.getMasterOut());
+        }
+        if (updatedMatch.getGameVariant() != null) {
+            match.setGameVariant(updatedMatch.getGameVariant());
+        }
         
         return matchRepository.save(match);
     }
 
+    private static boolean changed(Object requested, Object current) {
+        return requested != null && !requested.equals(current);
+    }
+
     /**
      * Match löschen
      */
@@ -212,7 +253,7 @@ public class MatchService {
             }
         }
 
-        createLeg(set.getId(), 1, homePlayer.getId(), awayPlayer.getId(), match.getStartingScore());
+        createLeg(set.getId(), 1, homePlayer.getId(), awayPlayer.getId(), match);
 
         log.info("Erstes Leg erstellt: {} vs {}",
                 homePlayer.getFirstName() + " " + homePlayer.getLastName(),
@@ -275,6 +316,8 @@ public class MatchService {
         match.setStatus(MatchStatus.FINISHED);
         match.setFinishedAt(ZonedDateTime.now());
         match = matchRepository.save(match);
+        ratingService.recordMatch(match);
+        liveScoringPublisher.publishMatchEnd(match);
 
         log.info("Match {} beendet. Ergebnis: {} : {} Sets",
                 matchId, match.getHomeSets(), match.getAwaySets());
@@ -301,14 +344,18 @@ public class MatchService {
     }
 
     /**
-     * Neues Leg erstellen
+     * Neues Leg erstellen (Startpunkte und Spielregeln aus dem Match)
      */
     @Transactional
-    public Leg createLeg(UUID setId, Integer legNo, UUID homeMemberId, UUID awayMemberId, Integer startingScore) {
+    public Leg createLeg(UUID setId, Integer legNo, UUID homeMemberId, UUID awayMemberId, Match match) {
         Leg leg = Leg.builder()
                 .setId(setId)
                 .legNo(legNo)
-                .startingScore(startingScore)
+                .startingScore(match.getStartingScore())
+                .gameVariant(match.getGameVariant() != null ? match.getGameVariant() : GameVariant.X01)
+                .doubleOut(!Boolean.FALSE.equals(match.getDoubleOut()))
+                .doubleIn(Boolean.TRUE.equals(match.getDoubleIn()))
+                .masterOut(Boolean.TRUE.equals(match.getMasterOut()))
                 .homeMemberId(homeMemberId)
                 .awayMemberId(awayMemberId)
                 .startedAt(ZonedDateTime.now())
@@ -325,33 +372,43 @@ public class MatchService {
      */
     @Transactional
     public Throw submitThrow(UUID legId, Throw throwData) {
-        Leg leg = legRepository.findById(legId)
-                .orElseThrow(() -> new ResourceNotFoundException("Leg nicht gefunden"));
-        
-        // Validiere Wurf
-        if (!scoringEngine.validateThrow(throwData)) {
-            throw new IllegalArgumentException("Ungültiger Wurf");
-        }
-        
-        // Berechne Ergebnis
-        ScoringEngine.ThrowResult result = scoringEngine.processThrow(leg, throwData);
-        
-        // Speichere Wurf
-        throwData.setLegId(legId);
-        throwData = throwRepository.save(throwData);
-        
-        // Event-Detection
-        String event = scoringEngine.detectEvent(throwData);
-        if (event != null) {
-            log.info("Event detected: {} in Leg {}", event, legId);
-        }
-        
-        // Leg beenden bei Checkout
-        if (result.isCheckout()) {
-            finalizeLeg(leg, throwData.getMemberId(), throwData.getThrowNo() * 3, throwData.getThrowTotal());
+        LiveLegState state = liveLegStateCache.get(legId);
+        
+        synchronized (state) {
+            Leg leg = state.getLeg();
+            
+            // Validiere Wurf
+            if (!scoringEngine.validateThrow(throwData)) {
+                throw new IllegalArgumentException("Ungültiger Wurf");
+            }
+            
+            try {
+                // Berechne Ergebnis (Restpunkte aus dem Live-State)
+                throwData.setLegId(legId);
+                throwData.setThrowNo(state.getVisits(state.sideOf(throwData.getMemberId())) + 1);
+                ScoringEngine.ThrowResult result = scoringEngine.processThrow(leg, state, throwData);
+                
+                // Speichere Wurf
+                throwData = throwWriteBehindService.save(throwData);
+                
+                // Event-Detection
+                String event = scoringEngine.detectEvent(state, throwData);
+                legEventLog.recordVisit(state, throwData);
+                statisticsService.recordVisit(state, throwData);
+                liveScoringPublisher.publishVisit(state, throwData, event);
+                scoringEventBus.publishHighlight(state, throwData, event);
+                
+                // Leg beenden bei Checkout
+                if (result.isCheckout()) {
+                    finalizeLeg(leg, throwData.getMemberId(), throwData.getThrowNo() * 3, throwData.getThrowTotal());
+                }
+                
+                return throwData;
+            } catch (RuntimeException e) {
+                liveLegStateCache.evict(legId);
+                throw e;
+            }
         }
-        
-        return throwData;
     }
 
     /**
@@ -364,6 +421,12 @@ public class MatchService {
         leg.setCheckoutScore(checkoutScore);
         leg.setFinishedAt(ZonedDateTime.now());
         leg = legRepository.save(leg);
+        LiveLegState state = liveLegStateCache.get(leg);
+        legEventLog.recordLegWon(state, winnerId, checkoutScore);
+        statisticsService.recordLegWon(state, leg);
+        headToHeadService.recordLeg(state, leg);
+        formCurveService.recordLeg(state, leg);
+        liveLegStateCache.retire(leg.getId());
         
         // Set-Status aktualisieren
         updateSetAfterLeg(leg);
@@ -372,6 +435,86 @@ public class MatchService {
         return leg;
     }
 
+    /**
+     * Leg-Ende zurücknehmen (Umkehrung von finalizeLeg inkl. Set-/Match-Abschluss)
+     * 
+     * Das danach angelegte Leg bzw. Set wird wieder gelöscht und darf
+     * deshalb noch keine Aufnahmen haben. Der Aufrufer hält den Lock des
+     * States und holt ihn danach per LiveLegStateCache.reinstate zurück.
+     */
+    @Transactional
+    public Leg reopenLeg(LiveLegState state) {
+        Leg leg = state.getLeg();
+        if (leg.getFinishedAt() == null) {
+            throw new IllegalStateException("Leg ist nicht beendet");
+        }
+        Set set = setRepository.findById(leg.getSetId())
+                .orElseThrow(() -> new ResourceNotFoundException("Set nicht gefunden"));
+        Match match = matchRepository.findById(set.getMatchId())
+                .orElseThrow(() -> new ResourceNotFoundException("Match nicht gefunden"));
+        
+        if (set.isFinished(match.getBestOfLegs())) {
+            if (match.getStatus() == MatchStatus.FINISHED) {
+                ratingService.revertMatch(match);
+                match.setStatus(MatchStatus.LIVE);
+                match.setFinishedAt(null);
+            } else {
+                // Nach dem Set angelegtes Set samt erstem Leg entfernen
+                setRepository.findByMatchIdOrderBySetNoDesc(match.getId()).stream()
+                        .filter(s -> s.getSetNo() == set.getSetNo() + 1)
+                        .findFirst()
+                        .ifPresent(nextSet -> {
+                            legRepository.findBySetId(nextSet.getId()).forEach(this::deleteUnplayedLeg);
+                            setRepository.delete(nextSet);
+                        });
+            }
+            if (set.isHomeWinner(match.getBestOfLegs())) {
+                match.setHomeSets(match.getHomeSets() - 1);
+            } else {
+                match.setAwaySets(match.getAwaySets() - 1);
+            }
+            match = matchRepository.save(match);
+        } else {
+            // Nach dem Leg angelegtes Leg im selben Set entfernen
+            legRepository.findBySetIdOrderByLegNoAsc(set.getId()).stream()
+                    .filter(l -> l.getLegNo() == leg.getLegNo() + 1)
+                    .forEach(this::deleteUnplayedLeg);
+        }
+        
+        if (leg.getWinnerMemberId().equals(leg.getHomeMemberId())) {
+            set.setHomeLegs(set.getHomeLegs() - 1);
+        } else {
+            set.setAwayLegs(set.getAwayLegs() - 1);
+        }
+        Set savedSet = setRepository.save(set);
+        statisticsService.recordLegReopened(state, leg);
+        headToHeadService.recordLegReopened(leg);
+        formCurveService.recordLegReopened(leg);
+        
+        leg.setWinnerMemberId(null);
+        leg.setTotalDarts(null);
+        leg.setCheckoutScore(null);
+        leg.setFinishedAt(null);
+        Leg reopened = legRepository.save(leg);
+        legEventLog.recordLegReopened(state);
+        liveScoringPublisher.publishLegReopened(reopened, savedSet, match);
+        
+        log.info("Leg {} wieder geöffnet. Set-Stand: {} : {}", 
+                reopened.getId(), savedSet.getHomeLegs(), savedSet.getAwayLegs());
+        return reopened;
+    }
+
+    /**
+     * Automatisch angelegtes Folge-Leg löschen (nur ohne Aufnahmen)
+     */
+    private void deleteUnplayedLeg(Leg leg) {
+        if (liveLegStateCache.get(leg).getVisitCount() > 0) {
+            throw new IllegalStateException("Im folgenden Leg wurde bereits geworfen. Bitte zuerst dort zurücknehmen.");
+        }
+        liveLegStateCache.evict(leg.getId());
+        legRepository.delete(leg);
+    }
+
     /**
      * Set-Status nach Leg-Ende aktualisieren
      */
@@ -388,11 +531,16 @@ public class MatchService {
         }
         
         set = setRepository.save(set);
+        liveScoringPublisher.publishLegEnd(leg, set);
         
         // Check if set is won
-        Match match = getMatchById(set.getMatchId(), null);
+        Match match = matchRepository.findById(set.getMatchId())
+                .orElseThrow(() -> new ResourceNotFoundException("Match nicht gefunden"));
         if (set.isFinished(match.getBestOfLegs())) {
-            finalizeSet(set, match);
+            finalizeSet(set, match, leg);
+        } else {
+            // Nächstes Leg im selben Set
+            createLeg(set.getId(), leg.getLegNo() + 1, leg.getHomeMemberId(), leg.getAwayMemberId(), match);
         }
     }
 
@@ -400,7 +548,7 @@ public class MatchService {
      * Set beenden und Match-Status aktualisieren
      */
     @Transactional
-    protected void finalizeSet(Set set, Match match) {
+    protected void finalizeSet(Set set, Match match, Leg lastLeg) {
         // Update Match Set-Score
         if (set.isHomeWinner(match.getBestOfLegs())) {
             match.setHomeSets(match.getHomeSets() + 1);
@@ -409,6 +557,7 @@ public class MatchService {
         }
         
         match = matchRepository.save(match);
+        liveScoringPublisher.publishSetEnd(set, match);
         
         log.info("Set {} beendet. Match Score: {} : {}", 
                 set.getSetNo(), match.getHomeSets(), match.getAwaySets());
@@ -418,8 +567,9 @@ public class MatchService {
         if (match.getHomeSets() >= setsToWin || match.getAwaySets() >= setsToWin) {
             finalizeMatch(match.getId(), match.getOrgId());
         } else {
-            // Create next set
-            createSet(match.getId(), set.getSetNo() + 1);
+            // Create next set (mit erstem Leg, gleiche Spieler)
+            Set nextSet = createSet(match.getId(), set.getSetNo() + 1);
+            createLeg(nextSet.getId(), 1, lastLeg.getHomeMemberId(), lastLeg.getAwayMemberId(), match);
         }
     }
 
@@ -478,21 +628,16 @@ public class MatchService {
                 .findFirst()
                 .orElseThrow(() -> new ResourceNotFoundException("Kein aktives Leg gefunden"));
         
-        // Spieler-Daten abrufen
-        Member homeMember = memberRepository.findById(currentLeg.getHomeMemberId())
-                .orElseThrow(() -> new ResourceNotFoundException("Home Player nicht gefunden"));
-        Member awayMember = memberRepository.findById(currentLeg.getAwayMemberId())
-                .orElseThrow(() -> new ResourceNotFoundException("Away Player nicht gefunden"));
-        
-        // Würfe für Average-Berechnung
-        List<Throw> homeThrows = throwRepository.findByLegIdAndMemberIdOrderByThrowNoAsc(currentLeg.getId(), homeMember.getId());
-        List<Throw> awayThrows = throwRepository.findByLegIdAndMemberIdOrderByThrowNoAsc(currentLeg.getId(), awayMember.getId());
-        
-        Double homeAverage = calculateAverage(homeThrows);
-        Double awayAverage = calculateAverage(awayThrows);
-        
-        String homeLastThrow = getLastThrowString(homeThrows);
-        String awayLastThrow = getLastThrowString(awayThrows);
+        // Spieler-Daten, Restpunkte und Averages aus dem Live-State
+        LiveLegState state = liveLegStateCache.get(currentLeg);
+        LiveScoringPlayerDTO homePlayer;
+        LiveScoringPlayerDTO awayPlayer;
+        String currentPlayer;
+        synchronized (state) {
+            homePlayer = buildPlayerDTO(state, LiveLegState.HOME);
+            awayPlayer = buildPlayerDTO(state, LiveLegState.AWAY);
+            currentPlayer = state.currentSide() == LiveLegState.HOME ? "home" : "away";
+        }
         
         // DTOs erstellen
         LiveScoringMatchDTO matchDTO = LiveScoringMatchDTO.builder()
@@ -515,21 +660,9 @@ public class MatchService {
                 .id(currentLeg.getId())
                 .setNumber(currentSet.getSetNo())
                 .legNumber(currentLeg.getLegNo())
-                .homePlayer(LiveScoringPlayerDTO.builder()
-                        .id(homeMember.getId())
-                        .name(homeMember.getFirstName() + " " + homeMember.getLastName())
-                        .remainingScore(currentLeg.getStartingScore()) // TODO: Calculate from throws
-                        .average(homeAverage)
-                        .lastThrow(homeLastThrow)
-                        .build())
-                .awayPlayer(LiveScoringPlayerDTO.builder()
-                        .id(awayMember.getId())
-                        .name(awayMember.getFirstName() + " " + awayMember.getLastName())
-                        .remainingScore(currentLeg.getStartingScore()) // TODO: Calculate from throws
-                        .average(awayAverage)
-                        .lastThrow(awayLastThrow)
-                        .build())
-                .currentPlayer(determineCurrentPlayer(homeThrows.size(), awayThrows.size()))
+                .homePlayer(homePlayer)
+                .awayPlayer(awayPlayer)
+                .currentPlayer(currentPlayer)
                 .build();
         
         return LiveScoringResponseDTO.builder()
@@ -538,27 +671,43 @@ public class MatchService {
                 .build();
     }
     
-    private Double calculateAverage(List<Throw> throwsList) {
-        if (throwsList.isEmpty()) {
-            return 0.0;
-        }
-        int totalScore = throwsList.stream().mapToInt(Throw::getThrowTotal).sum();
-        return (double) totalScore / throwsList.size();
+    /**
+     * LiveScoringLegDTO aus dem Live-State (ohne DB-Zugriff, Aufrufer hält den Lock)
+     */
+    public LiveScoringLegDTO buildLegDTO(LiveLegState state) {
+        Leg leg = state.getLeg();
+        return LiveScoringLegDTO.builder()
+                .id(leg.getId())
+                .setNumber(state.getSetNumber())
+                .legNumber(leg.getLegNo())
+                .gameVariant(leg.getGameVariant())
+                .homePlayer(buildPlayerDTO(state, LiveLegState.HOME))
+                .awayPlayer(buildPlayerDTO(state, LiveLegState.AWAY))
+                .currentPlayer(state.currentSide() == LiveLegState.HOME ? "home" : "away")
+                .build();
     }
     
-    private String getLastThrowString(List<Throw> throwsList) {
-        if (throwsList.isEmpty()) {
-            return null;
-        }
-        Throw lastThrow = throwsList.get(throwsList.size() - 1);
-        return String.format("%d, %d, %d (%d)",
-                lastThrow.getDart1Score(),
-                lastThrow.getDart2Score(),
-                lastThrow.getDart3Score(),
-                lastThrow.getThrowTotal());
+    private LiveScoringPlayerDTO buildPlayerDTO(LiveLegState state, int side) {
+        return LiveScoringPlayerDTO.builder()
+                .id(state.getMemberId(side))
+                .name(state.getPlayerName(side))
+                .remainingScore(state.getRemaining(side))
+                .average(state.getAverage(side))
+                .lastThrow(state.getLastThrowString(side))
+                .checkoutSuggestion(scoringEngine.suggestCheckout(state, side))
+                .marks(buildMarks(state, side))
+                .build();
     }
     
-    private String determineCurrentPlayer(int homeThrowCount, int awayThrowCount) {
-        return homeThrowCount <= awayThrowCount ? "home" : "away";
+    private List<Integer> buildMarks(LiveLegState state, int side) {
+        RuleState ruleState = state.getRuleState();
+        if (ruleState.getMarkTargets() == 0) {
+            return null;
+        }
+        List<Integer> marks = new ArrayList<>(ruleState.getMarkTargets());
+        for (int target = 0; target < ruleState.getMarkTargets(); target++) {
+            marks.add(ruleState.getMarks(side, target));
+        }
+        return marks;
     }
 }
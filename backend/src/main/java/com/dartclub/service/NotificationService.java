@@ -0,0 +1,25 @@
+package com.dartclub.service;
+
+import com.dartclub.service.event.ScoringHighlightEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * NotificationService - Benachrichtigungen zu Scoring-Highlights
+ *
+ * Läuft auf dem Thread des ScoringEventBus, nicht im Wurf-Request.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Slf4j
+@Service
+public class NotificationService {
+
+    @EventListener
+    public void onHighlight(ScoringHighlightEvent event) {
+        log.info("Highlight {} ({}) von Member {} in Leg {} (Match {})",
+                event.getType().getCode(), event.getThrowTotal(), event.getMemberId(),
+                event.getLegId(), event.getMatchId());
+    }
+}
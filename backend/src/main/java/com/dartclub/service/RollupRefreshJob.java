@@ -0,0 +1,75 @@
+package com.dartclub.service;
+
+import com.dartclub.repository.RollupRefreshRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * RollupRefreshJob - Inkrementeller Refresh der monatlichen Rollups
+ *
+ * Verarbeitet alle dartclub.rollups.refresh-interval-ms die seit dem
+ * Watermark beendeten Legs (siehe RollupRefreshRepository) und schiebt den
+ * Watermark in derselben Transaktion weiter. Das Fenster endet
+ * dartclub.rollups.lag-ms vor jetzt, damit Legs aus noch offenen
+ * Transaktionen nicht übersprungen werden. Der Watermark ist gesperrt,
+ * bei mehreren Instanzen läuft der Refresh also nur einmal gleichzeitig.
+ *
+ * Ein wieder geöffnetes, noch nicht erneut beendetes Leg bleibt in seiner
+ * Gruppe gezählt, bis diese das nächste Mal neu berechnet wird.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Slf4j
+@Component
+public class RollupRefreshJob {
+
+    static final String MONTHLY = "player_monthly_rollups";
+
+    private final RollupRefreshRepository rollupRefreshRepository;
+    private final StatisticsCache statisticsCache;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${dartclub.rollups.lag-ms:60000}")
+    private long lagMs;
+
+    public RollupRefreshJob(RollupRefreshRepository rollupRefreshRepository, StatisticsCache statisticsCache,
+                            PlatformTransactionManager transactionManager) {
+        this.rollupRefreshRepository = rollupRefreshRepository;
+        this.statisticsCache = statisticsCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${dartclub.rollups.refresh-interval-ms:300000}")
+    public void refresh() {
+        try {
+            Integer rows = transactionTemplate.execute(status -> {
+                ZonedDateTime from = rollupRefreshRepository.lockWatermark(MONTHLY);
+                ZonedDateTime to = ZonedDateTime.now().minus(Duration.ofMillis(lagMs));
+                if (!to.isAfter(from)) {
+                    return 0;
+                }
+                long start = System.nanoTime();
+                int updated = rollupRefreshRepository.refreshMonthly(from, to);
+                rollupRefreshRepository.updateWatermark(MONTHLY, to);
+                if (updated > 0) {
+                    log.info("Rollups: {} Monatszeilen bis {} aktualisiert ({} ms)",
+                            updated, to, (System.nanoTime() - start) / 1_000_000);
+                }
+                return updated;
+            });
+            if (rows != null && rows > 0) {
+                statisticsCache.invalidateMetrics(List.of(StatisticsCache.SUMMARY, StatisticsCache.TEAM_SUMMARY));
+            }
+        } catch (RuntimeException e) {
+            log.error("Rollups: Refresh fehlgeschlagen, nächster Versuch im nächsten Intervall", e);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.dartclub.service;
+
+import com.dartclub.exception.ResourceNotFoundException;
+import com.dartclub.model.dto.response.RollupRowDTO;
+import com.dartclub.model.dto.response.RollupSummaryDTO;
+import com.dartclub.model.entity.Member;
+import com.dartclub.model.entity.PlayerMonthlyRollup;
+import com.dartclub.model.entity.Team;
+import com.dartclub.repository.MatchRepository;
+import com.dartclub.repository.MemberRepository;
+import com.dartclub.repository.PlayerMonthlyRollupRepository;
+import com.dartclub.repository.TeamRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * RollupService - Monats- und Saisonübersichten aus player_monthly_rollups
+ *
+ * Liest nur die vom RollupRefreshJob geschriebenen Monatszeilen (höchstens
+ * zwölf pro Spieler und Team und Saison), nie Legs oder Würfe. Die Zahlen
+ * hängen deshalb bis zu einem Refresh-Intervall hinter dem Live-Stand.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Service
+@RequiredArgsConstructor
+public class RollupService {
+
+    private final PlayerMonthlyRollupRepository playerMonthlyRollupRepository;
+    private final MatchRepository matchRepository;
+    private final MemberRepository memberRepository;
+    private final TeamRepository teamRepository;
+    private final SeasonCalendar seasonCalendar;
+    private final StatisticsCache statisticsCache;
+
+    /**
+     * Summe über Monatszeilen
+     */
+    private static final class Sum {
+        int matches;
+        int legsPlayed;
+        int legsWon;
+        int visits;
+        int darts;
+        int points;
+        int count180;
+
+        void add(PlayerMonthlyRollup rollup) {
+            matches += rollup.getMatches();
+            legsPlayed += rollup.getLegsPlayed();
+            legsWon += rollup.getLegsWon();
+            visits += rollup.getVisits();
+            darts += rollup.getDarts();
+            points += rollup.getPoints();
+            count180 += rollup.getCount180();
+        }
+
+        RollupRowDTO toDto(String month, UUID memberId, String name) {
+            return RollupRowDTO.builder()
+                    .month(month)
+                    .memberId(memberId)
+                    .name(name)
+                    .matches(matches)
+                    .legsPlayed(legsPlayed)
+                    .legsWon(legsWon)
+                    .darts(darts)
+                    .points(points)
+                    .average(visits > 0 ? Math.round(points * 100.0 / visits) / 100.0 : null)
+                    .count180(count180)
+                    .build();
+        }
+    }
+
+    /**
+     * Saisonübersicht eines Spielers (alle Teams, season null = laufende Saison)
+     */
+    public RollupSummaryDTO getMemberSummary(UUID memberId, UUID orgId, String season) {
+        String resolved = seasonCalendar.resolve(season);
+        return statisticsCache.get(new StatisticsCache.Key(orgId, memberId, StatisticsCache.SUMMARY, resolved),
+                () -> loadMemberSummary(memberId, orgId, resolved));
+    }
+
+    private RollupSummaryDTO loadMemberSummary(UUID memberId, UUID orgId, String season) {
+        Member member = memberRepository.findByIdAndOrgId(memberId, orgId)
+                .orElseThrow(() -> new ResourceNotFoundException("Mitglied nicht gefunden"));
+        LocalDate from = seasonCalendar.firstDay(season);
+
+        Map<YearMonth, Sum> months = new TreeMap<>();
+        Sum total = new Sum();
+        for (PlayerMonthlyRollup rollup : playerMonthlyRollupRepository
+                .findByOrgIdAndMemberIdAndMonthGreaterThanEqualAndMonthLessThanOrderByMonthAsc(
+                        orgId, memberId, from, from.plusYears(1))) {
+            months.computeIfAbsent(YearMonth.from(rollup.getMonth()), m -> new Sum()).add(rollup);
+            total.add(rollup);
+        }
+        return RollupSummaryDTO.builder()
+                .memberId(memberId)
+                .name(member.getFirstName() + " " + member.getLastName())
+                .season(season)
+                .total(total.toDto(null, memberId, null))
+                .months(months.entrySet().stream()
+                        .map(e -> e.getValue().toDto(e.getKey().toString(), null, null))
+                        .toList())
+                .build();
+    }
+
+    /**
+     * Saisonübersicht eines Teams mit Monatssummen und Spielerzeilen (season null = laufende Saison)
+     *
+     * Matches zählen in den Team-Summen pro Match einmal (aus matches), in
+     * den Spielerzeilen pro Spieler.
+     */
+    public RollupSummaryDTO getTeamSummary(UUID teamId, UUID orgId, String season) {
+        String resolved = seasonCalendar.resolve(season);
+        return statisticsCache.get(new StatisticsCache.Key(orgId, null, StatisticsCache.TEAM_SUMMARY,
+                teamId + "|" + resolved), () -> loadTeamSummary(teamId, orgId, resolved));
+    }
+
+    private RollupSummaryDTO loadTeamSummary(UUID teamId, UUID orgId, String season) {
+        Team team = teamRepository.findByIdAndOrgId(teamId, orgId)
+                .orElseThrow(() -> new ResourceNotFoundException("Team nicht gefunden"));
+        LocalDate from = seasonCalendar.firstDay(season);
+        LocalDate to = from.plusYears(1);
+
+        Map<YearMonth, Sum> months = new TreeMap<>();
+        Map<UUID, Sum> players = new LinkedHashMap<>();
+        Sum total = new Sum();
+        for (PlayerMonthlyRollup rollup : playerMonthlyRollupRepository
+                .findByOrgIdAndTeamIdAndMonthGreaterThanEqualAndMonthLessThanOrderByMonthAsc(orgId, teamId, from, to)) {
+            months.computeIfAbsent(YearMonth.from(rollup.getMonth()), m -> new Sum()).add(rollup);
+            players.computeIfAbsent(rollup.getMemberId(), id -> new Sum()).add(rollup);
+            total.add(rollup);
+        }
+
+        // Team-Matches aus matches statt der Summe über die Spieler
+        ZoneId zone = ZoneId.systemDefault();
+        months.values().forEach(sum -> sum.matches = 0);
+        total.matches = 0;
+        for (ZonedDateTime finishedAt : matchRepository.findFinishedAtByTeam(orgId, teamId,
+                from.atStartOfDay(zone), to.atStartOfDay(zone))) {
+            months.computeIfAbsent(YearMonth.from(finishedAt.withZoneSameInstant(zone)), m -> new Sum()).matches++;
+            total.matches++;
+        }
+
+        Map<UUID, Member> members = memberRepository.findAllById(players.keySet()).stream()
+                .collect(Collectors.toMap(Member::getId, Function.identity()));
+        List<RollupRowDTO> playerRows = new ArrayList<>(players.size());
+        for (Map.Entry<UUID, Sum> player : players.entrySet()) {
+            Member member = members.get(player.getKey());
+            playerRows.add(player.getValue().toDto(null, player.getKey(),
+                    member != null ? member.getFirstName() + " " + member.getLastName() : null));
+        }
+        playerRows.sort(Comparator.comparing(RollupRowDTO::getLegsWon).reversed());
+
+        return RollupSummaryDTO.builder()
+                .teamId(teamId)
+                .name(team.getName())
+                .season(season)
+                .total(total.toDto(null, null, null))
+                .months(months.entrySet().stream()
+                        .map(e -> e.getValue().toDto(e.getKey().toString(), null, null))
+                        .toList())
+                .players(playerRows)
+                .build();
+    }
+}
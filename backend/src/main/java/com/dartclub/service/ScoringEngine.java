@@ -1,18 +1,25 @@
 package com.dartclub.service;
 
+import com.dartclub.model.dto.request.DartInput;
 import com.dartclub.model.entity.Leg;
 import com.dartclub.model.entity.Throw;
+import com.dartclub.model.enums.GameVariant;
+import com.dartclub.service.rules.GameRules;
+import com.dartclub.service.rules.RuleState;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 /**
  * ScoringEngine - Dart-Wurf-Validierung und Punkteberechnung
  * 
  * Funktionen:
- * - Wurf-Validierung (Bust, Checkout)
+ * - Wurf-Validierung (Bust, Checkout nach den Regeln der Spielvariante)
  * - Punkteberechnung pro Dart
  * - Event-Detection (180, 171, 140+, High-Checkout)
+ * - Checkout-Empfehlungen (vorberechnete Tabelle, siehe {@link CheckoutAdvisor})
  * 
  * @author Hans Hahn - Alle Rechte vorbehalten
  */
@@ -20,63 +27,156 @@ import org.springframework.stereotype.Service;
 public class ScoringEngine {
     
     /**
-     * Verarbeitet einen Wurf (3 Darts) und berechnet das Ergebnis
-     * 
+     * Checkout-Tabelle, einmalig beim Start berechnet
+     */
+    private final CheckoutAdvisor checkoutAdvisor = new CheckoutAdvisor();
+    
+    /**
+     * Verarbeitet einen Wurf (3 Darts) gegen den Live-State des Legs
+     *
+     * Gewertet wird nach den Regeln der Spielvariante des Legs
+     * ({@link GameRules}); der State wird dabei um die Aufnahme
+     * fortgeschrieben. throwTotal enthält die gewerteten Punkte (X01:
+     * abgezogene Punkte, Cricket: erzielte Punkte), bei Bust die geworfene
+     * Dart-Summe. remainingScore ist der Stand der Seite nach der Aufnahme.
+     *
      * @param leg Aktuelles Leg
-     * @param throwData Wurf-Daten (3 Darts)
+     * @param state Live-State des Legs (Aufrufer hält den Lock)
+     * @param throwData Wurf-Daten (3 Darts, memberId gesetzt)
      * @return ThrowResult mit Bust/Checkout-Flags
      */
-    public ThrowResult processThrow(Leg leg, Throw throwData) {
+    public ThrowResult processThrow(Leg leg, LiveLegState state, Throw throwData) {
+        int side = state.sideOf(throwData.getMemberId());
+
         // Berechne Score pro Dart
         int dart1Score = calculateDartScore(throwData.getDart1Multiplier(), throwData.getDart1Segment());
         int dart2Score = calculateDartScore(throwData.getDart2Multiplier(), throwData.getDart2Segment());
         int dart3Score = calculateDartScore(throwData.getDart3Multiplier(), throwData.getDart3Segment());
-        
+
         throwData.setDart1Score(dart1Score);
         throwData.setDart2Score(dart2Score);
         throwData.setDart3Score(dart3Score);
-        
-        int throwTotal = dart1Score + dart2Score + dart3Score;
-        throwData.setThrowTotal(throwTotal);
-        
-        int newRemainingScore = throwData.getRemainingScore() - throwTotal;
-        
-        // Bust-Check (Double-Out)
-        if (leg.isDoubleOut()) {
-            // Bust wenn:
-            // - Restpunkte negativ
-            // - Restpunkte = 1 (kann nicht mit Double ausgecheckt werden)
-            if (newRemainingScore < 0 || newRemainingScore == 1) {
-                // Bust!
-                throwData.setIsBust(true);
-                throwData.setRemainingScore(throwData.getRemainingScore()); // Punkte bleiben
-                return new ThrowResult(throwData, false, true);
-            }
-            
-            // Checkout-Check (muss mit Double enden)
-            if (newRemainingScore == 0 && isDouble(throwData.getDart3Multiplier())) {
-                throwData.setIsCheckout(true);
-                throwData.setRemainingScore(0);
-                return new ThrowResult(throwData, true, false);
-            }
-        } else {
-            // Kein Double-Out
-            if (newRemainingScore < 0) {
-                throwData.setIsBust(true);
-                throwData.setRemainingScore(throwData.getRemainingScore());
-                return new ThrowResult(throwData, false, true);
-            }
-            
-            if (newRemainingScore == 0) {
-                throwData.setIsCheckout(true);
-                throwData.setRemainingScore(0);
-                return new ThrowResult(throwData, true, false);
-            }
+
+        int result = state.applyVisit(side, throwData);
+        boolean bust = result == GameRules.BUST;
+        boolean checkout = result == GameRules.WIN;
+
+        throwData.setThrowTotal(bust
+                ? dart1Score + dart2Score + dart3Score
+                : state.getRuleState().getVisitPoints(side));
+        throwData.setRemainingScore(state.getRemaining(side));
+        throwData.setIsBust(bust);
+        throwData.setIsCheckout(checkout);
+        return new ThrowResult(throwData, checkout, bust);
+    }
+
+    /**
+     * Schließt die dartweise erfasste Aufnahme im Live-State ab
+     *
+     * Nicht geworfene Darts (Aufnahme nach Bust/Checkout vorzeitig beendet)
+     * werden mit Multiplier 0 und Segment 0 geführt und in darts_packed als
+     * leeres Byte gespeichert.
+     *
+     * @param state Live-State des Legs (Aufrufer hält den Lock)
+     * @param result Ergebnis des letzten Darts (GameRules.CONTINUE, BUST oder WIN)
+     * @return noch nicht gespeicherter Throw mit Punkten, Stand und Flags
+     */
+    public Throw completeVisit(LiveLegState state, int result) {
+        int side = state.currentSide();
+        int[] multipliers = new int[3];
+        int[] segments = new int[3];
+        for (int dart = 0; dart < state.getPendingDartCount(); dart++) {
+            multipliers[dart] = state.getPendingMultiplier(dart);
+            segments[dart] = state.getPendingSegment(dart);
         }
+
+        boolean bust = result == GameRules.BUST;
+        boolean checkout = result == GameRules.WIN;
+        Throw throwData = Throw.builder()
+                .legId(state.getLeg().getId())
+                .memberId(state.getMemberId(side))
+                .throwNo(state.getVisits(side) + 1)
+                .dart1Multiplier(multipliers[0])
+                .dart1Segment(segments[0])
+                .dart1Score(calculateDartScore(multipliers[0], segments[0]))
+                .dart2Multiplier(multipliers[1])
+                .dart2Segment(segments[1])
+                .dart2Score(calculateDartScore(multipliers[1], segments[1]))
+                .dart3Multiplier(multipliers[2])
+                .dart3Segment(segments[2])
+                .dart3Score(calculateDartScore(multipliers[2], segments[2]))
+                .isBust(bust)
+                .isCheckout(checkout)
+                .build();
+
+        state.completeVisit(throwData, result);
+        throwData.setThrowTotal(bust
+                ? throwData.getDart1Score() + throwData.getDart2Score() + throwData.getDart3Score()
+                : state.getRuleState().getVisitPoints(side));
+        throwData.setRemainingScore(state.getRemaining(side));
+        return throwData;
+    }
+
+    /**
+     * Erstellt die nächste Aufnahme (3 Darts) für den Spieler, der laut Live-State am Zug ist
+     * 
+     * @param state Live-State des Legs (Aufrufer hält den Lock)
+     * @param darts genau 3 Darts
+     * @return noch nicht berechneter Throw (siehe processThrow)
+     */
+    public Throw createVisit(LiveLegState state, List<DartInput> darts) {
+        checkNoPendingVisit(state);
+        int side = state.currentSide();
+        DartInput dart1 = darts.get(0);
+        DartInput dart2 = darts.get(1);
+        DartInput dart3 = darts.get(2);
         
-        // Normaler Wurf (kein Bust, kein Checkout)
-        throwData.setRemainingScore(newRemainingScore);
-        return new ThrowResult(throwData, false, false);
+        return Throw.builder()
+                .legId(state.getLeg().getId())
+                .memberId(state.getMemberId(side))
+                .throwNo(state.getVisits(side) + 1)
+                .dart1Multiplier(dart1.getMultiplier())
+                .dart1Segment(dart1.getSegment())
+                .dart2Multiplier(dart2.getMultiplier())
+                .dart2Segment(dart2.getSegment())
+                .dart3Multiplier(dart3.getMultiplier())
+                .dart3Segment(dart3.getSegment())
+                .build();
+    }
+    
+    /**
+     * Erstellt eine Bust-Aufnahme (0, 0, 0) für den Spieler, der am Zug ist
+     * 
+     * @param state Live-State des Legs (Aufrufer hält den Lock)
+     * @return Bust-Throw, Restpunkte bleiben gleich
+     */
+    public Throw createBust(LiveLegState state) {
+        checkNoPendingVisit(state);
+        int side = state.currentSide();
+        return Throw.builder()
+                .legId(state.getLeg().getId())
+                .memberId(state.getMemberId(side))
+                .throwNo(state.getVisits(side) + 1)
+                .dart1Multiplier(0)
+                .dart1Segment(0)
+                .dart1Score(0)
+                .dart2Multiplier(0)
+                .dart2Segment(0)
+                .dart2Score(0)
+                .dart3Multiplier(0)
+                .dart3Segment(0)
+                .dart3Score(0)
+                .throwTotal(0)
+                .remainingScore(state.getRemaining(side)) // Punkte bleiben gleich
+                .isBust(true)
+                .isCheckout(false)
+                .build();
+    }
+    
+    private void checkNoPendingVisit(LiveLegState state) {
+        if (state.hasPendingVisit()) {
+            throw new IllegalStateException("Aufnahme wird gerade dartweise erfasst. Bitte zuerst abschließen.");
+        }
     }
     
     /**
@@ -97,23 +197,20 @@ public class ScoringEngine {
         return multiplier * segment;
     }
     
-    /**
-     * Prüft ob ein Dart ein Double ist
-     * 
-     * @param multiplier Multiplikator
-     * @return true wenn Double
-     */
-    private boolean isDouble(int multiplier) {
-        return multiplier == 2;
-    }
-    
     /**
      * Erkennt spezielle Events (180, 171, 140+, High-Checkout)
      * 
+     * Nur bei X01 - in Cricket und Around the Clock sind throwTotal
+     * Punkte bzw. Treffer, keine geworfene Punktzahl.
+     * 
+     * @param state Live-State des Legs (Spielvariante)
      * @param throwData Wurf-Daten
      * @return Event-Name oder null
      */
-    public String detectEvent(Throw throwData) {
+    public String detectEvent(LiveLegState state, Throw throwData) {
+        if (state.getRules().getVariant() != GameVariant.X01) {
+            return null;
+        }
         int total = throwData.getThrowTotal();
         
         // Perfect Game (180)
@@ -126,13 +223,68 @@ public class ScoringEngine {
         if (total >= 140) return "140_plus";
         
         // High Checkout (100+)
-        if (throwData.getIsCheckout() && throwData.getDart3Score() >= 100) {
+        if (throwData.getIsCheckout() && throwData.getThrowTotal() >= 100) {
             return "high_checkout";
         }
         
         return null;
     }
     
+    /**
+     * Beste Checkout-Empfehlung für einen Restwert
+     * 
+     * @param remaining Restpunkte
+     * @param doubleOut Double-Out-Regel aktiv
+     * @return z.B. "T20 T20 BULL" oder null wenn kein Checkout möglich
+     */
+    public String suggestCheckout(int remaining, boolean doubleOut) {
+        return checkoutAdvisor.bestLabel(remaining, doubleOut);
+    }
+    
+    /**
+     * Checkout-Empfehlung für eine Seite im Live-State
+     *
+     * Nur bei X01; Master-Out nutzt die Double-Out-Tabelle. Bei Double-In
+     * gibt es erst nach dem Eröffnen eine Empfehlung.
+     *
+     * @param state Live-State des Legs (Aufrufer hält den Lock)
+     * @param side LiveLegState.HOME oder AWAY
+     * @return Empfehlung oder null
+     */
+    public String suggestCheckout(LiveLegState state, int side) {
+        if (state.getRules().getVariant() != GameVariant.X01) {
+            return null;
+        }
+        RuleState ruleState = state.getRuleState();
+        if (ruleState.hasOption(RuleState.DOUBLE_IN) && ruleState.getScore(side) == ruleState.getStartingScore()) {
+            return null;
+        }
+        boolean doubleOut = ruleState.hasOption(RuleState.DOUBLE_OUT) || ruleState.hasOption(RuleState.MASTER_OUT);
+        return checkoutAdvisor.bestLabel(ruleState.getScore(side), doubleOut);
+    }
+    
+    /**
+     * Mehrere Checkout-Empfehlungen für einen Restwert (beste zuerst)
+     * 
+     * @param remaining Restpunkte
+     * @param doubleOut Double-Out-Regel aktiv
+     * @param limit maximale Anzahl
+     * @return Liste der Empfehlungen (leer wenn kein Checkout möglich)
+     */
+    public List<String> suggestCheckouts(int remaining, boolean doubleOut, int limit) {
+        return checkoutAdvisor.labels(remaining, doubleOut, limit);
+    }
+    
+    /**
+     * Minimale Anzahl Darts für einen Checkout (0 wenn nicht möglich)
+     */
+    public int minCheckoutDarts(int remaining, boolean doubleOut) {
+        if (checkoutAdvisor.count(remaining, doubleOut) == 0) {
+            return 0;
+        }
+        return CheckoutAdvisor.dartCount(checkoutAdvisor.get(remaining, doubleOut, 0));
+    }
+    
     /**
      * Validiert ob ein Wurf regelkonform ist
      * 
@@ -162,6 +314,27 @@ public class ScoringEngine {
         return true;
     }
     
+    /**
+     * Validiert einen einzelnen Dart (Einzel-Dart-Erfassung)
+     * 
+     * @param multiplier 0 (Miss), 1, 2, 3
+     * @param segment 1-25 (25 = Bull), bei Miss auch 0
+     * @return true wenn valide
+     */
+    public boolean validateDart(Integer multiplier, Integer segment) {
+        if (!isValidMultiplier(multiplier) || segment == null) {
+            return false;
+        }
+        if (multiplier == 0) {
+            return segment >= 0 && segment <= 25;
+        }
+        if (!isValidSegment(segment)) {
+            return false;
+        }
+        // Bull (25) kann nur Single oder Double sein
+        return !(segment == 25 && multiplier == 3);
+    }
+    
     /**
      * Prüft ob Multiplier valide ist (0-3)
      */
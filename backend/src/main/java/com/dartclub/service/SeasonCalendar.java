@@ -0,0 +1,60 @@
+package com.dartclub.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.regex.Pattern;
+
+/**
+ * SeasonCalendar - Saison-Schlüssel für Statistiken, z.B. "2025/26"
+ *
+ * Eine Saison beginnt im Monat dartclub.season-start-month (Standard
+ * August) und heißt nach den beiden Kalenderjahren, die sie berührt.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Component
+public class SeasonCalendar {
+
+    private static final Pattern SEASON = Pattern.compile("\\d{4}/\\d{2}");
+
+    @Value("${dartclub.season-start-month:8}")
+    private int seasonStartMonth;
+
+    /**
+     * Saison eines Zeitpunkts
+     */
+    public String seasonOf(ZonedDateTime time) {
+        int year = time.getMonthValue() >= seasonStartMonth ? time.getYear() : time.getYear() - 1;
+        return String.format("%d/%02d", year, (year + 1) % 100);
+    }
+
+    /**
+     * Laufende Saison
+     */
+    public String currentSeason() {
+        return seasonOf(ZonedDateTime.now());
+    }
+
+    /**
+     * Erster Tag einer Saison ("2025/26" -> 01.08.2025)
+     */
+    public LocalDate firstDay(String season) {
+        return LocalDate.of(Integer.parseInt(season.substring(0, 4)), seasonStartMonth, 1);
+    }
+
+    /**
+     * Saison aus einem Request prüfen (null = laufende Saison)
+     */
+    public String resolve(String season) {
+        if (season == null) {
+            return currentSeason();
+        }
+        if (!SEASON.matcher(season).matches()) {
+            throw new IllegalArgumentException("Saison muss im Format JJJJ/JJ angegeben werden, z.B. 2025/26");
+        }
+        return season;
+    }
+}
@@ -0,0 +1,203 @@
+package com.dartclub.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * StatisticsCache - Antwort-Cache für Statistik-Abfragen
+ *
+ * Schlüssel ist (Organisation, Spieler, Kennzahl, Bereich); Einträge ohne
+ * Spieler (Org-Dashboards) hängen an der Organisation. Ein Eintrag lebt
+ * höchstens dartclub.stats-cache.ttl-ms, bei mehr als max-entries fliegt
+ * der am längsten nicht gelesene.
+ *
+ * Invalidiert wird pro Spieler bzw. Organisation, sobald Aufnahmen,
+ * Leg-Enden oder Match-Abschlüsse ihn betreffen: sofort und noch einmal
+ * nach dem Ende der Transaktion. Jede Invalidierung erhöht die Generation
+ * des Spielers; ein Ergebnis, während dessen Berechnung sich die
+ * Generation geändert hat, wird nicht gespeichert. So landet auch ein
+ * parallel vor dem Commit gelesener Stand nicht im Cache.
+ *
+ * Heatmaps und Bestenlisten liegen ohnehin im Speicher und werden nicht
+ * gecacht.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Component
+public class StatisticsCache {
+
+    public static final String PLAYER_STATS = "player-stats";
+    public static final String DOUBLES = "doubles";
+    public static final String FORM = "form";
+    public static final String HEAD_TO_HEAD = "head-to-head";
+    public static final String SUMMARY = "summary";
+    public static final String TEAM_SUMMARY = "team-summary";
+    public static final String RATINGS = "ratings";
+    public static final String RATING_HISTORY = "rating-history";
+
+    /**
+     * Cache-Schlüssel (memberId null = Eintrag der Organisation)
+     */
+    public record Key(UUID orgId, UUID memberId, String metric, String range) {
+
+        UUID scope() {
+            return memberId != null ? memberId : orgId;
+        }
+    }
+
+    private record Entry(Object value, long expiresAt) {
+    }
+
+    @Value("${dartclub.stats-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${dartclub.stats-cache.ttl-ms:600000}")
+    private long ttlMs;
+
+    @Value("${dartclub.stats-cache.max-entries:10000}")
+    private int maxEntries;
+
+    // Alle Felder unter dem Lock dieser Instanz
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            if (size() <= maxEntries) {
+                return false;
+            }
+            unindex(eldest.getKey());
+            return true;
+        }
+    };
+    private final Map<UUID, Set<Key>> keysByScope = new HashMap<>();
+    private final Map<UUID, Long> generations = new HashMap<>();
+    private long epoch;
+    private long hits;
+    private long misses;
+
+    /**
+     * Gecachten Wert liefern oder per loader berechnen und speichern
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Key key, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        long generation;
+        long startEpoch;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt() - System.nanoTime() > 0) {
+                    hits++;
+                    return (T) entry.value();
+                }
+                entries.remove(key);
+                unindex(key);
+            }
+            misses++;
+            generation = generations.getOrDefault(key.scope(), 0L);
+            startEpoch = epoch;
+        }
+
+        T value = loader.get();
+        if (value == null) {
+            return null;
+        }
+        synchronized (this) {
+            if (epoch == startEpoch && generations.getOrDefault(key.scope(), 0L) == generation) {
+                entries.put(key, new Entry(value, System.nanoTime() + ttlMs * 1_000_000));
+                keysByScope.computeIfAbsent(key.scope(), scope -> new HashSet<>()).add(key);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Alle Einträge von Spielern bzw. Organisationen verwerfen (sofort und nach dem Ende der Transaktion)
+     */
+    public void invalidate(Collection<UUID> scopes) {
+        List<UUID> targets = scopes.stream().filter(Objects::nonNull).distinct().toList();
+        if (targets.isEmpty()) {
+            return;
+        }
+        evict(targets);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(targets);
+                }
+            });
+        }
+    }
+
+    public void invalidate(UUID scope) {
+        invalidate(List.of(scope));
+    }
+
+    /**
+     * Alle Einträge der angegebenen Kennzahlen verwerfen (z.B. nach einem Rollup-Refresh)
+     */
+    public synchronized void invalidateMetrics(Collection<String> metrics) {
+        epoch++;
+        Iterator<Key> keys = entries.keySet().iterator();
+        while (keys.hasNext()) {
+            Key key = keys.next();
+            if (metrics.contains(key.metric())) {
+                keys.remove();
+                unindex(key);
+            }
+        }
+    }
+
+    /**
+     * Cache leeren (nach Neuberechnungen)
+     */
+    public synchronized void invalidateAll() {
+        epoch++;
+        entries.clear();
+        keysByScope.clear();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    private synchronized void evict(List<UUID> scopes) {
+        for (UUID scope : scopes) {
+            generations.merge(scope, 1L, Long::sum);
+            Set<Key> keys = keysByScope.remove(scope);
+            if (keys != null) {
+                keys.forEach(entries::remove);
+            }
+        }
+    }
+
+    private void unindex(Key key) {
+        Set<Key> keys = keysByScope.get(key.scope());
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                keysByScope.remove(key.scope());
+            }
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.dartclub.service;
+
+import com.dartclub.model.ThrowRecomputeRow;
+import com.dartclub.model.dto.response.StatisticsRecomputeStatusDTO;
+import com.dartclub.model.entity.Member;
+import com.dartclub.model.enums.MatchStatus;
+import com.dartclub.repository.MatchRepository;
+import com.dartclub.repository.MemberRepository;
+import com.dartclub.repository.PlayerStatsRepository;
+import com.dartclub.repository.RollupRefreshRepository;
+import com.dartclub.repository.StatisticsRecomputeRepository;
+import com.dartclub.repository.ThrowRepository;
+import com.dartclub.service.leaderboard.LeaderboardService;
+import com.dartclub.service.rating.RatingRecomputeJob;
+import com.dartclub.service.writebehind.ThrowWriteBehindService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * StatisticsRecomputeJob - Alle Statistik-Aggregate aus Legs und Würfen neu berechnen
+ *
+ * Pro Spieler werden seine Aufnahmen einmal gestreamt und über
+ * {@link StatisticsReplay} Karriere-Statistik, Doppelfelder, Saison-Zähler
+ * der Bestenlisten, Heatmaps und Leg-Averages gebildet; die Zeilen werden in
+ * einer Transaktion pro Spieler per JDBC-Batch ersetzt (die Zeile in
+ * player_stats bleibt dabei gesperrt, wie bei recomputePlayerStats).
+ * Danach baut die Organisation Head-to-Head und Monats-Rollups per SQL
+ * neu auf; zum Schluss laufen die Ratings über den RatingRecomputeJob.
+ *
+ * Organisationen laufen als Tasks in einem ForkJoinPool mit
+ * dartclub.stats-recompute.parallelism Threads (0 = Anzahl CPUs), ihre
+ * Spieler als Unter-Tasks im selben Pool; freie Threads übernehmen Spieler
+ * großer Organisationen. Der Lauf startet im Hintergrund, Fortschritt und
+ * Durchsatz liefert {@link #getStatus()}. Es läuft höchstens eine
+ * Neuberechnung gleichzeitig.
+ *
+ * Organisationen mit laufendem Match werden übersprungen, da Aufnahmen
+ * während der Neuberechnung in Heatmaps und Bestenlisten verloren gingen.
+ * Die Bestenlisten und Heatmaps der Organisation werden vor und nach der
+ * Neuberechnung aus dem Speicher entfernt und beim nächsten Zugriff neu
+ * geladen.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Slf4j
+@Component
+public class StatisticsRecomputeJob {
+
+    private final MemberRepository memberRepository;
+    private final MatchRepository matchRepository;
+    private final ThrowRepository throwRepository;
+    private final PlayerStatsRepository playerStatsRepository;
+    private final StatisticsRecomputeRepository statisticsRecomputeRepository;
+    private final RollupRefreshRepository rollupRefreshRepository;
+    private final ThrowWriteBehindService throwWriteBehindService;
+    private final LeaderboardService leaderboardService;
+    private final HeatmapService heatmapService;
+    private final RatingRecomputeJob ratingRecomputeJob;
+    private final SeasonCalendar seasonCalendar;
+    private final StatisticsCache statisticsCache;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${dartclub.stats-recompute.parallelism:0}")
+    private int parallelism;
+
+    // Fortschritt des aktuellen bzw. letzten Laufs
+    private volatile ZonedDateTime startedAt;
+    private volatile ZonedDateTime finishedAt;
+    private volatile long startNanos;
+    private volatile long endNanos;
+    private volatile String error;
+    private final AtomicInteger organizations = new AtomicInteger();
+    private final AtomicInteger organizationsDone = new AtomicInteger();
+    private final AtomicInteger organizationsSkipped = new AtomicInteger();
+    private final AtomicInteger members = new AtomicInteger();
+    private final AtomicInteger membersDone = new AtomicInteger();
+    private final AtomicInteger membersFailed = new AtomicInteger();
+    private final LongAdder visits = new LongAdder();
+
+    public StatisticsRecomputeJob(MemberRepository memberRepository, MatchRepository matchRepository,
+                                  ThrowRepository throwRepository, PlayerStatsRepository playerStatsRepository,
+                                  StatisticsRecomputeRepository statisticsRecomputeRepository,
+                                  RollupRefreshRepository rollupRefreshRepository,
+                                  ThrowWriteBehindService throwWriteBehindService,
+                                  LeaderboardService leaderboardService, HeatmapService heatmapService,
+                                  RatingRecomputeJob ratingRecomputeJob, SeasonCalendar seasonCalendar,
+                                  StatisticsCache statisticsCache, PlatformTransactionManager transactionManager) {
+        this.memberRepository = memberRepository;
+        this.matchRepository = matchRepository;
+        this.throwRepository = throwRepository;
+        this.playerStatsRepository = playerStatsRepository;
+        this.statisticsRecomputeRepository = statisticsRecomputeRepository;
+        this.rollupRefreshRepository = rollupRefreshRepository;
+        this.throwWriteBehindService = throwWriteBehindService;
+        this.leaderboardService = leaderboardService;
+        this.heatmapService = heatmapService;
+        this.ratingRecomputeJob = ratingRecomputeJob;
+        this.seasonCalendar = seasonCalendar;
+        this.statisticsCache = statisticsCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Neuberechnung der angegebenen Organisationen im Hintergrund starten
+     *
+     * @return Status direkt nach dem Start
+     */
+    public StatisticsRecomputeStatusDTO start(Collection<UUID> orgIds) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Statistik-Neuberechnung läuft bereits");
+        }
+        List<UUID> targets = List.copyOf(orgIds);
+        startedAt = ZonedDateTime.now();
+        finishedAt = null;
+        startNanos = System.nanoTime();
+        error = null;
+        organizations.set(targets.size());
+        organizationsDone.set(0);
+        organizationsSkipped.set(0);
+        members.set(0);
+        membersDone.set(0);
+        membersFailed.set(0);
+        visits.reset();
+
+        Thread thread = new Thread(() -> run(targets), "stats-recompute");
+        thread.setDaemon(true);
+        thread.start();
+        return getStatus();
+    }
+
+    /**
+     * Fortschritt und Durchsatz des laufenden bzw. letzten Laufs
+     */
+    public StatisticsRecomputeStatusDTO getStatus() {
+        boolean active = running.get();
+        long elapsedNanos = startedAt == null ? 0 : (active ? System.nanoTime() : endNanos) - startNanos;
+        long elapsedMs = elapsedNanos / 1_000_000;
+        long visitCount = visits.sum();
+        return StatisticsRecomputeStatusDTO.builder()
+                .running(active)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .elapsedMs(elapsedMs)
+                .organizations(organizations.get())
+                .organizationsDone(organizationsDone.get())
+                .organizationsSkipped(organizationsSkipped.get())
+                .members(members.get())
+                .membersDone(membersDone.get())
+                .membersFailed(membersFailed.get())
+                .visits(visitCount)
+                .visitsPerSecond(elapsedMs > 0 ? Math.round(visitCount * 100_000.0 / elapsedMs) / 100.0 : 0.0)
+                .error(error)
+                .build();
+    }
+
+    private void run(List<UUID> orgIds) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+        List<UUID> recomputed = new ArrayList<>(orgIds.size());
+        try {
+            throwWriteBehindService.sync();
+            List<Callable<Boolean>> tasks = new ArrayList<>(orgIds.size());
+            for (UUID orgId : orgIds) {
+                tasks.add(() -> recomputeOrg(orgId));
+            }
+            List<Future<Boolean>> results = pool.invokeAll(tasks);
+            for (int i = 0; i < results.size(); i++) {
+                try {
+                    if (results.get(i).get()) {
+                        recomputed.add(orgIds.get(i));
+                    }
+                } catch (ExecutionException e) {
+                    error = "Organisation " + orgIds.get(i) + ": " + e.getCause().getMessage();
+                    log.error("Statistik: Neuberechnung der Organisation {} fehlgeschlagen", orgIds.get(i), e.getCause());
+                }
+            }
+            if (!recomputed.isEmpty()) {
+                ratingRecomputeJob.recompute(recomputed);
+            }
+        } catch (RuntimeException e) {
+            error = e.getMessage();
+            log.error("Statistik: Neuberechnung abgebrochen", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error = "Unterbrochen";
+        } finally {
+            pool.shutdown();
+            statisticsCache.invalidateAll();
+            endNanos = System.nanoTime();
+            finishedAt = ZonedDateTime.now();
+            running.set(false);
+            log.info("Statistik: {} Organisationen ({} übersprungen), {} Spieler ({} fehlgeschlagen), "
+                            + "{} Aufnahmen in {} ms neu berechnet",
+                    organizationsDone.get(), organizationsSkipped.get(), membersDone.get(), membersFailed.get(),
+                    visits.sum(), (endNanos - startNanos) / 1_000_000);
+        }
+    }
+
+    /**
+     * Eine Organisation neu berechnen (Spieler als Unter-Tasks im Pool)
+     *
+     * @return false, wenn die Organisation übersprungen wurde
+     */
+    private boolean recomputeOrg(UUID orgId) {
+        if (matchRepository.existsByOrgIdAndStatus(orgId, MatchStatus.LIVE)) {
+            organizationsSkipped.incrementAndGet();
+            log.warn("Statistik: Organisation {} übersprungen (laufendes Match)", orgId);
+            return false;
+        }
+        List<Member> orgMembers = memberRepository.findByOrgId(orgId);
+        members.addAndGet(orgMembers.size());
+        leaderboardService.evictOrg(orgId);
+        heatmapService.evictOrg(orgId);
+
+        List<ForkJoinTask<?>> memberTasks = new ArrayList<>(orgMembers.size());
+        for (Member member : orgMembers) {
+            memberTasks.add(ForkJoinTask.adapt(() -> recomputeMember(member.getId(), orgId)));
+        }
+        ForkJoinTask.invokeAll(memberTasks);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            statisticsRecomputeRepository.rebuildHeadToHead(orgId);
+            rollupRefreshRepository.lockWatermark(RollupRefreshJob.MONTHLY);
+            rollupRefreshRepository.rebuildOrg(orgId);
+        });
+        leaderboardService.evictOrg(orgId);
+        heatmapService.evictOrg(orgId);
+        organizationsDone.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Einen Spieler neu berechnen (eigene Transaktion, Fehler werden gezählt)
+     */
+    private void recomputeMember(UUID memberId, UUID orgId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                playerStatsRepository.findForUpdate(memberId);
+                statisticsCache.invalidate(memberId);
+
+                StatisticsReplay replay = new StatisticsReplay(memberId, orgId, seasonCalendar);
+                try (Stream<ThrowRecomputeRow> rows = throwRepository.streamRecomputeRowsByMemberId(memberId)) {
+                    rows.forEach(row -> {
+                        replay.add(row);
+                        visits.increment();
+                    });
+                }
+                statisticsRecomputeRepository.upsertPlayerStats(replay.playerStats());
+                statisticsRecomputeRepository.replaceDoubleStats(memberId, replay.doubleStats());
+                statisticsRecomputeRepository.replaceSeasonStats(memberId, replay.seasonStats());
+                statisticsRecomputeRepository.replaceHeatmaps(memberId, replay.heatmaps());
+                statisticsRecomputeRepository.replaceLegAverages(memberId, replay.legAverages());
+            });
+            membersDone.incrementAndGet();
+        } catch (RuntimeException e) {
+            membersFailed.incrementAndGet();
+            error = "Mitglied " + memberId + ": " + e.getMessage();
+            log.error("Statistik: Neuberechnung für Member {} fehlgeschlagen", memberId, e);
+        }
+    }
+}
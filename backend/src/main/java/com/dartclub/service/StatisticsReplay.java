@@ -0,0 +1,170 @@
+package com.dartclub.service;
+
+import com.dartclub.model.PackedVisit;
+import com.dartclub.model.SegmentHeatmap;
+import com.dartclub.model.ThrowRecomputeRow;
+import com.dartclub.model.entity.PlayerDoubleStats;
+import com.dartclub.model.entity.PlayerHeatmap;
+import com.dartclub.model.entity.PlayerLegAverage;
+import com.dartclub.model.entity.PlayerSeasonStats;
+import com.dartclub.model.entity.PlayerStats;
+import com.dartclub.model.enums.GameVariant;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * StatisticsReplay - Alle Aggregate eines Spielers aus einem Durchlauf über seine Aufnahmen
+ *
+ * Erwartet die Aufnahmen sortiert nach Leg und Aufnahme (siehe
+ * ThrowRepository.streamRecomputeRowsByMemberId) und zählt nach denselben
+ * Regeln wie die Live-Fortschreibung:
+ * - Karriere (samt Doppelfeldern) und Saison über {@link StatisticsService.Tally}
+ *   (nur X01; Aufnahmen in der Saison ihres Zeitpunkts, Legs in der Saison
+ *   ihres Endes)
+ * - Heatmaps gesamt und pro Saison über alle Varianten
+ * - Aufnahmen und Punkte pro beendetem X01-Leg (Formkurve)
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+final class StatisticsReplay {
+
+    private final UUID memberId;
+    private final UUID orgId;
+    private final SeasonCalendar seasonCalendar;
+
+    private final StatisticsService.Tally career = new StatisticsService.Tally();
+    private final Map<String, StatisticsService.Tally> seasons = new HashMap<>();
+    private final Map<String, int[]> heatmaps = new HashMap<>();
+    private final Map<UUID, PlayerLegAverage> legAverages = new LinkedHashMap<>();
+    private UUID currentLeg;
+
+    StatisticsReplay(UUID memberId, UUID orgId, SeasonCalendar seasonCalendar) {
+        this.memberId = memberId;
+        this.orgId = orgId;
+        this.seasonCalendar = seasonCalendar;
+    }
+
+    void add(ThrowRecomputeRow row) {
+        boolean x01 = row.gameVariant() == GameVariant.X01;
+        ZonedDateTime legFinishedAt = row.legFinishedAt();
+        if (!row.legId().equals(currentLeg)) {
+            currentLeg = row.legId();
+            if (x01 && legFinishedAt != null) {
+                boolean won = memberId.equals(row.legWinnerId());
+                career.addLeg(won, row.legTotalDarts(), row.legCheckoutScore());
+                season(seasonCalendar.seasonOf(legFinishedAt)).addLeg(won, row.legTotalDarts(), row.legCheckoutScore());
+            }
+        }
+
+        String season = seasonCalendar.seasonOf(row.createdAt());
+        addDarts(heatmap(HeatmapService.OVERALL), row);
+        addDarts(heatmap(season), row);
+        if (!x01) {
+            return;
+        }
+
+        boolean bust = Boolean.TRUE.equals(row.bust());
+        boolean checkout = Boolean.TRUE.equals(row.checkout());
+        career.addVisit(row.throwNo(), row.throwTotal(), row.remainingScore(), row.dartsPacked(), bust, checkout,
+                row.startingScore(), row.doubleIn(), row.doubleOut(), row.masterOut());
+        season(season).addVisit(row.throwNo(), row.throwTotal(), row.remainingScore(), row.dartsPacked(), bust,
+                checkout, row.startingScore(), row.doubleIn(), row.doubleOut(), row.masterOut());
+
+        if (legFinishedAt != null) {
+            PlayerLegAverage average = legAverages.computeIfAbsent(row.legId(), legId -> PlayerLegAverage.builder()
+                    .legId(legId)
+                    .memberId(memberId)
+                    .orgId(orgId)
+                    .visits(0)
+                    .points(0)
+                    .finishedAt(legFinishedAt)
+                    .build());
+            average.setVisits(average.getVisits() + 1);
+            average.setPoints(average.getPoints() + (bust ? 0 : row.throwTotal()));
+        }
+    }
+
+    PlayerStats playerStats() {
+        return PlayerStats.builder()
+                .memberId(memberId)
+                .orgId(orgId)
+                .visits(career.visits)
+                .darts(career.darts)
+                .points(career.points)
+                .first9Visits(career.first9Visits)
+                .first9Points(career.first9Points)
+                .count180(career.count180)
+                .count171(career.count171)
+                .count140Plus(career.count140Plus)
+                .checkoutAttempts(career.checkoutAttempts)
+                .checkoutHits(career.checkoutHits)
+                .legsPlayed(career.legsPlayed)
+                .legsWon(career.legsWon)
+                .bestLegDarts(career.bestLegDarts)
+                .highestCheckout(career.highestCheckout)
+                .build();
+    }
+
+    List<PlayerDoubleStats> doubleStats() {
+        return career.doubleStats(memberId, orgId);
+    }
+
+    /**
+     * Saison-Zähler (Saisons mit Aufnahmen oder gewonnenen Legs)
+     */
+    List<PlayerSeasonStats> seasonStats() {
+        List<PlayerSeasonStats> stats = new ArrayList<>(seasons.size());
+        seasons.forEach((season, tally) -> {
+            if (tally.visits == 0 && tally.legsWon == 0) {
+                return;
+            }
+            stats.add(PlayerSeasonStats.builder()
+                    .orgId(orgId)
+                    .season(season)
+                    .memberId(memberId)
+                    .darts(tally.darts)
+                    .points(tally.points)
+                    .count180(tally.count180)
+                    .highestCheckout(tally.highestCheckout)
+                    .bestLegDarts(tally.bestLegDarts)
+                    .build());
+        });
+        return stats;
+    }
+
+    List<PlayerHeatmap> heatmaps() {
+        List<PlayerHeatmap> result = new ArrayList<>(heatmaps.size());
+        heatmaps.forEach((season, cells) -> result.add(PlayerHeatmap.builder()
+                .memberId(memberId)
+                .season(season)
+                .orgId(orgId)
+                .cells(SegmentHeatmap.toBytes(cells))
+                .build()));
+        return result;
+    }
+
+    List<PlayerLegAverage> legAverages() {
+        return new ArrayList<>(legAverages.values());
+    }
+
+    private StatisticsService.Tally season(String season) {
+        return seasons.computeIfAbsent(season, key -> new StatisticsService.Tally());
+    }
+
+    private int[] heatmap(String season) {
+        return heatmaps.computeIfAbsent(season, key -> new int[SegmentHeatmap.CELLS]);
+    }
+
+    private static void addDarts(int[] cells, ThrowRecomputeRow row) {
+        for (int dart = 0; dart < 3; dart++) {
+            SegmentHeatmap.add(cells, PackedVisit.multiplier(row.dartsPacked(), dart),
+                    PackedVisit.segment(row.dartsPacked(), dart), 1);
+        }
+    }
+}
@@ -0,0 +1,461 @@
+package com.dartclub.service;
+
+import com.dartclub.exception.ResourceNotFoundException;
+import com.dartclub.model.PackedVisit;
+import com.dartclub.model.SegmentHeatmap;
+import com.dartclub.model.ThrowStatsRow;
+import com.dartclub.model.dto.response.DoubleStatsDTO;
+import com.dartclub.model.dto.response.PlayerStatsDTO;
+import com.dartclub.model.entity.Leg;
+import com.dartclub.model.entity.Member;
+import com.dartclub.model.entity.PlayerDoubleStats;
+import com.dartclub.model.entity.PlayerStats;
+import com.dartclub.model.entity.Throw;
+import com.dartclub.model.enums.GameVariant;
+import com.dartclub.repository.MemberRepository;
+import com.dartclub.repository.PlayerDoubleStatsRepository;
+import com.dartclub.repository.PlayerStatsRepository;
+import com.dartclub.repository.StatisticsRecomputeRepository;
+import com.dartclub.repository.ThrowRepository;
+import com.dartclub.service.event.PlayerStatsDeltaEvent;
+import com.dartclub.service.event.ScoringEventBus;
+import com.dartclub.service.event.VisitDartsEvent;
+import com.dartclub.service.writebehind.ThrowWriteBehindService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * StatisticsService - Spielerstatistik (X01)
+ * 
+ * Die Statistik wird nicht aus den Würfen berechnet, sondern pro Spieler
+ * als eine Zeile in player_stats geführt und bei jeder Aufnahme,
+ * Rücknahme und jedem Leg-Ende per Delta fortgeschrieben. Eine Profilseite
+ * kostet damit einen Zeilenzugriff, unabhängig von der Anzahl Würfe.
+ * Die record-Methoden laufen in der Transaktion des Aufrufers, zusammen
+ * mit Wurf und Leg-Event.
+ * 
+ * Rücknahmen ziehen die Aufnahme wieder ab. Bestwerte (bestes Leg,
+ * höchster Checkout) bleiben bei einem wieder geöffneten Leg stehen.
+ * 
+ * {@link #recomputePlayerStats} berechnet die Zeile in einem Durchlauf
+ * über die gestreamten Würfe neu (konstanter Speicher, auch für Spieler
+ * mit zehntausenden Aufnahmen).
+ * 
+ * Jede Änderung geht zusätzlich als {@link PlayerStatsDeltaEvent} an den
+ * ScoringEventBus (Bestenlisten), die Darts jeder Aufnahme aller Varianten
+ * als {@link VisitDartsEvent} (Heatmaps). Aufnahmen und Leg-Enden (aller
+ * Varianten) invalidieren außerdem die gecachten Statistik-Antworten der
+ * beteiligten Spieler im {@link StatisticsCache}.
+ * 
+ * Checkout-Versuche und -Treffer werden zusätzlich pro Doppelfeld in
+ * player_double_stats geführt (gleiche Regeln).
+ * 
+ * Cricket und Around the Clock fließen nicht ein.
+ * 
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StatisticsService {
+
+    private final PlayerStatsRepository playerStatsRepository;
+    private final PlayerDoubleStatsRepository playerDoubleStatsRepository;
+    private final StatisticsRecomputeRepository statisticsRecomputeRepository;
+    private final MemberRepository memberRepository;
+    private final ScoringEventBus scoringEventBus;
+    private final ThrowRepository throwRepository;
+    private final ThrowWriteBehindService throwWriteBehindService;
+    private final StatisticsCache statisticsCache;
+
+    /**
+     * Gespeicherte Aufnahme übernehmen (Aufruf nach dem Anwenden auf den Live-State)
+     */
+    @Transactional
+    public void recordVisit(LiveLegState state, Throw throwData) {
+        addVisit(state, throwData, 1);
+    }
+
+    /**
+     * Zurückgenommene Aufnahme abziehen
+     */
+    @Transactional
+    public void recordUndo(LiveLegState state, Throw removed) {
+        addVisit(state, removed, -1);
+    }
+
+    /**
+     * Beendetes Leg für beide Spieler übernehmen
+     */
+    @Transactional
+    public void recordLegWon(LiveLegState state, Leg leg) {
+        statisticsCache.invalidate(Arrays.asList(leg.getHomeMemberId(), leg.getAwayMemberId()));
+        if (leg.getGameVariant() != GameVariant.X01) {
+            return;
+        }
+        UUID winnerId = leg.getWinnerMemberId();
+        UUID loserId = winnerId.equals(leg.getHomeMemberId()) ? leg.getAwayMemberId() : leg.getHomeMemberId();
+        playerStatsRepository.addLeg(winnerId, state.getOrgId(), 1, 1, leg.getTotalDarts(), leg.getCheckoutScore());
+        if (loserId != null) {
+            playerStatsRepository.addLeg(loserId, state.getOrgId(), 1, 0, null, null);
+        }
+        scoringEventBus.publish(PlayerStatsDeltaEvent.builder()
+                .orgId(state.getOrgId())
+                .memberId(winnerId)
+                .bestLegDarts(leg.getTotalDarts())
+                .highestCheckout(leg.getCheckoutScore())
+                .occurredAt(ZonedDateTime.now())
+                .build());
+    }
+
+    /**
+     * Leg-Ende zurücknehmen (Aufruf vor dem Zurücksetzen des Gewinners)
+     */
+    @Transactional
+    public void recordLegReopened(LiveLegState state, Leg leg) {
+        statisticsCache.invalidate(Arrays.asList(leg.getHomeMemberId(), leg.getAwayMemberId()));
+        if (leg.getGameVariant() != GameVariant.X01) {
+            return;
+        }
+        UUID winnerId = leg.getWinnerMemberId();
+        UUID loserId = winnerId.equals(leg.getHomeMemberId()) ? leg.getAwayMemberId() : leg.getHomeMemberId();
+        playerStatsRepository.addLeg(winnerId, state.getOrgId(), -1, -1, null, null);
+        if (loserId != null) {
+            playerStatsRepository.addLeg(loserId, state.getOrgId(), -1, 0, null, null);
+        }
+    }
+
+    /**
+     * Statistik eines Spielers (ohne gespielte Aufnahme alles 0)
+     */
+    public PlayerStatsDTO getPlayerStats(UUID memberId, UUID orgId) {
+        return statisticsCache.get(new StatisticsCache.Key(orgId, memberId, StatisticsCache.PLAYER_STATS, "all"), () -> {
+            memberRepository.findByIdAndOrgId(memberId, orgId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Mitglied nicht gefunden"));
+            return playerStatsRepository.findById(memberId)
+                    .map(this::toDTO)
+                    .orElseGet(() -> toDTO(PlayerStats.builder()
+                            .memberId(memberId)
+                            .visits(0).darts(0).points(0)
+                            .first9Visits(0).first9Points(0)
+                            .count180(0).count171(0).count140Plus(0)
+                            .checkoutAttempts(0).checkoutHits(0)
+                            .legsPlayed(0).legsWon(0)
+                            .build()));
+        });
+    }
+
+    /**
+     * Checkout-Quote eines Spielers pro Doppelfeld (nur Felder mit Versuchen)
+     */
+    public DoubleStatsDTO getDoubleStats(UUID memberId, UUID orgId) {
+        return statisticsCache.get(new StatisticsCache.Key(orgId, memberId, StatisticsCache.DOUBLES, "all"), () -> {
+            memberRepository.findByIdAndOrgId(memberId, orgId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Mitglied nicht gefunden"));
+            List<DoubleStatsDTO.Segment> doubles = new ArrayList<>();
+            int attempts = 0;
+            int hits = 0;
+            for (PlayerDoubleStats stats : playerDoubleStatsRepository.findByMemberIdOrderBySegmentAsc(memberId)) {
+                if (stats.getAttempts() <= 0) {
+                    continue;
+                }
+                attempts += stats.getAttempts();
+                hits += stats.getHits();
+                doubles.add(DoubleStatsDTO.Segment.builder()
+                        .segment(stats.getSegment())
+                        .attempts(stats.getAttempts())
+                        .hits(stats.getHits())
+                        .checkoutPercentage(ratio(stats.getHits() * 100, stats.getAttempts()))
+                        .build());
+            }
+            return DoubleStatsDTO.builder()
+                    .memberId(memberId)
+                    .attempts(attempts)
+                    .hits(hits)
+                    .checkoutPercentage(ratio(hits * 100, attempts))
+                    .doubles(doubles)
+                    .build();
+        });
+    }
+
+    /**
+     * Karriere-Statistik eines Spielers aus allen Würfen neu berechnen und speichern
+     * 
+     * Die Zeile in player_stats bleibt dabei gesperrt; parallel gespeicherte
+     * Aufnahmen setzen danach auf dem neuen Stand auf. Checkout-Versuche
+     * werden auch für Würfe vor Einführung der Statistik bestimmt.
+     */
+    @Transactional
+    public PlayerStatsDTO recomputePlayerStats(UUID memberId, UUID orgId) {
+        Member member = memberRepository.findByIdAndOrgId(memberId, orgId)
+                .orElseThrow(() -> new ResourceNotFoundException("Mitglied nicht gefunden"));
+        throwWriteBehindService.sync();
+        playerStatsRepository.findForUpdate(memberId);
+        statisticsCache.invalidate(memberId);
+
+        Tally tally = new Tally();
+        try (Stream<ThrowStatsRow> rows = throwRepository.streamStatsRowsByMemberId(memberId)) {
+            UUID currentLeg = null;
+            Iterator<ThrowStatsRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                ThrowStatsRow row = iterator.next();
+                if (!row.legId().equals(currentLeg)) {
+                    currentLeg = row.legId();
+                    if (row.legFinishedAt() != null) {
+                        tally.addLeg(memberId.equals(row.legWinnerId()), row.legTotalDarts(), row.legCheckoutScore());
+                    }
+                }
+                tally.addVisit(row.throwNo(), row.throwTotal(), row.remainingScore(), row.dartsPacked(),
+                        Boolean.TRUE.equals(row.bust()), Boolean.TRUE.equals(row.checkout()),
+                        row.startingScore(), row.doubleIn(), row.doubleOut(), row.masterOut());
+            }
+        }
+
+        PlayerStats stats = playerStatsRepository.save(PlayerStats.builder()
+                .memberId(memberId)
+                .orgId(member.getOrgId())
+                .visits(tally.visits)
+                .darts(tally.darts)
+                .points(tally.points)
+                .first9Visits(tally.first9Visits)
+                .first9Points(tally.first9Points)
+                .count180(tally.count180)
+                .count171(tally.count171)
+                .count140Plus(tally.count140Plus)
+                .checkoutAttempts(tally.checkoutAttempts)
+                .checkoutHits(tally.checkoutHits)
+                .legsPlayed(tally.legsPlayed)
+                .legsWon(tally.legsWon)
+                .bestLegDarts(tally.bestLegDarts)
+                .highestCheckout(tally.highestCheckout)
+                .updatedAt(ZonedDateTime.now())
+                .build());
+        statisticsRecomputeRepository.replaceDoubleStats(memberId, tally.doubleStats(memberId, member.getOrgId()));
+        log.info("Statistik für Member {} neu berechnet ({} Aufnahmen, {} Legs)", memberId, tally.visits, tally.legsPlayed);
+        return toDTO(stats);
+    }
+
+    private void addVisit(LiveLegState state, Throw throwData, int sign) {
+        statisticsCache.invalidate(throwData.getMemberId());
+        scoringEventBus.publish(VisitDartsEvent.builder()
+                .orgId(state.getOrgId())
+                .memberId(throwData.getMemberId())
+                .sign(sign)
+                .dart1Multiplier(valueOf(throwData.getDart1Multiplier()))
+                .dart1Segment(valueOf(throwData.getDart1Segment()))
+                .dart2Multiplier(valueOf(throwData.getDart2Multiplier()))
+                .dart2Segment(valueOf(throwData.getDart2Segment()))
+                .dart3Multiplier(valueOf(throwData.getDart3Multiplier()))
+                .dart3Segment(valueOf(throwData.getDart3Segment()))
+                .occurredAt(ZonedDateTime.now())
+                .build());
+
+        Leg leg = state.getLeg();
+        if (leg.getGameVariant() != GameVariant.X01) {
+            return;
+        }
+        Tally tally = new Tally();
+        tally.addVisit(throwData.getThrowNo(), valueOf(throwData.getThrowTotal()),
+                valueOf(throwData.getRemainingScore()), PackedVisit.encode(throwData),
+                Boolean.TRUE.equals(throwData.getIsBust()), Boolean.TRUE.equals(throwData.getIsCheckout()),
+                leg.getStartingScore(), leg.isDoubleIn(), leg.isDoubleOut(), leg.isMasterOut());
+
+        playerStatsRepository.addVisit(throwData.getMemberId(), state.getOrgId(),
+                sign * tally.visits, sign * tally.darts, sign * tally.points,
+                sign * tally.first9Visits, sign * tally.first9Points,
+                sign * tally.count180, sign * tally.count171, sign * tally.count140Plus,
+                sign * tally.checkoutAttempts, sign * tally.checkoutHits);
+        for (int target = 0; target < SegmentHeatmap.TARGETS; target++) {
+            if (tally.doubleAttempts[target] != 0 || tally.doubleHits[target] != 0) {
+                playerDoubleStatsRepository.addDouble(throwData.getMemberId(), SegmentHeatmap.segmentOf(target),
+                        state.getOrgId(), sign * tally.doubleAttempts[target], sign * tally.doubleHits[target]);
+            }
+        }
+        scoringEventBus.publish(PlayerStatsDeltaEvent.builder()
+                .orgId(state.getOrgId())
+                .memberId(throwData.getMemberId())
+                .darts(sign * tally.darts)
+                .points(sign * tally.points)
+                .count180(sign * tally.count180)
+                .occurredAt(ZonedDateTime.now())
+                .build());
+    }
+
+    /**
+     * Zähler einer oder mehrerer Aufnahmen (gemeinsame Regeln für Delta und Neuberechnung)
+     */
+    static final class Tally {
+        int visits;
+        int darts;
+        int points;
+        int first9Visits;
+        int first9Points;
+        int count180;
+        int count171;
+        int count140Plus;
+        int checkoutAttempts;
+        int checkoutHits;
+        int legsPlayed;
+        int legsWon;
+        Integer bestLegDarts;
+        Integer highestCheckout;
+        // pro Doppelfeld, Index wie die Zeilen von SegmentHeatmap (Segment - 1, Bull = 20)
+        final int[] doubleAttempts = new int[SegmentHeatmap.TARGETS];
+        final int[] doubleHits = new int[SegmentHeatmap.TARGETS];
+
+        void addVisit(int throwNo, int throwTotal, int remaining, int packed, boolean bust, boolean checkout,
+                      int startingScore, boolean doubleIn, boolean doubleOut, boolean masterOut) {
+            int visitPoints = bust ? 0 : throwTotal;
+            visits++;
+            darts += checkout ? dartsThrown(packed) : 3;
+            points += visitPoints;
+            if (throwNo <= 3) {
+                first9Visits++;
+                first9Points += visitPoints;
+            }
+            if (visitPoints == 180) {
+                count180++;
+            } else if (visitPoints == 171) {
+                count171++;
+            }
+            if (visitPoints >= 140 && visitPoints < 180) {
+                count140Plus++;
+            }
+            if (doubleOut && !masterOut) {
+                int before = remaining + visitPoints;
+                if (!doubleIn || before != startingScore) {
+                    checkoutAttempts += checkoutAttempts(packed, before, checkout, doubleAttempts, doubleHits);
+                }
+            }
+            if (checkout) {
+                checkoutHits++;
+            }
+        }
+
+        void addLeg(boolean won, Integer totalDarts, Integer checkoutScore) {
+            legsPlayed++;
+            if (!won) {
+                return;
+            }
+            legsWon++;
+            if (totalDarts != null && (bestLegDarts == null || totalDarts < bestLegDarts)) {
+                bestLegDarts = totalDarts;
+            }
+            if (checkoutScore != null && (highestCheckout == null || checkoutScore > highestCheckout)) {
+                highestCheckout = checkoutScore;
+            }
+        }
+
+        /**
+         * Doppelfelder mit Versuchen oder Treffern als Entities (absolute Werte)
+         */
+        List<PlayerDoubleStats> doubleStats(UUID memberId, UUID orgId) {
+            List<PlayerDoubleStats> stats = new ArrayList<>();
+            for (int target = 0; target < SegmentHeatmap.TARGETS; target++) {
+                if (doubleAttempts[target] == 0 && doubleHits[target] == 0) {
+                    continue;
+                }
+                stats.add(PlayerDoubleStats.builder()
+                        .memberId(memberId)
+                        .segment(SegmentHeatmap.segmentOf(target))
+                        .orgId(orgId)
+                        .attempts(doubleAttempts[target])
+                        .hits(doubleHits[target])
+                        .build());
+            }
+            return stats;
+        }
+    }
+
+    /**
+     * Darts auf ein Double, während der Rest mit einem Dart auscheckbar war
+     * 
+     * Versuche und den Checkout-Dart zählt die Methode zusätzlich auf dem
+     * Doppelfeld, das der Rest verlangte (doubleAttempts/doubleHits).
+     */
+    static int checkoutAttempts(int packed, int remaining, boolean checkout, int[] doubleAttempts, int[] doubleHits) {
+        int attempts = 0;
+        for (int dart = 0; dart < 3; dart++) {
+            int target = doubleTarget(remaining);
+            remaining -= PackedVisit.score(packed, dart);
+            if (target >= 0) {
+                attempts++;
+                doubleAttempts[target]++;
+                if (checkout && remaining == 0) {
+                    doubleHits[target]++;
+                }
+            }
+            if (remaining <= 1) {
+                break; // Checkout oder Bust
+            }
+        }
+        return attempts;
+    }
+
+    /**
+     * Zeile des Doppelfelds, mit dem der Rest auscheckt (-1 = nicht mit einem Dart)
+     */
+    private static int doubleTarget(int remaining) {
+        if (remaining == 50) {
+            return SegmentHeatmap.TARGETS - 1;
+        }
+        if (remaining <= 40 && remaining % 2 == 0 && remaining > 0) {
+            return remaining / 2 - 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Geworfene Darts einer Checkout-Aufnahme (bis einschließlich des letzten Treffers)
+     */
+    private static int dartsThrown(int packed) {
+        for (int dart = 2; dart > 0; dart--) {
+            if (PackedVisit.multiplier(packed, dart) != 0) {
+                return dart + 1;
+            }
+        }
+        return 1;
+    }
+
+    private PlayerStatsDTO toDTO(PlayerStats stats) {
+        return PlayerStatsDTO.builder()
+                .memberId(stats.getMemberId())
+                .visits(stats.getVisits())
+                .darts(stats.getDarts())
+                .points(stats.getPoints())
+                .average(ratio(stats.getPoints() * 3, stats.getDarts()))
+                .first9Average(ratio(stats.getFirst9Points(), stats.getFirst9Visits()))
+                .count180(stats.getCount180())
+                .count171(stats.getCount171())
+                .count140Plus(stats.getCount140Plus())
+                .checkoutAttempts(stats.getCheckoutAttempts())
+                .checkoutHits(stats.getCheckoutHits())
+                .checkoutPercentage(ratio(stats.getCheckoutHits() * 100, stats.getCheckoutAttempts()))
+                .legsPlayed(stats.getLegsPlayed())
+                .legsWon(stats.getLegsWon())
+                .bestLegDarts(stats.getBestLegDarts())
+                .highestCheckout(stats.getHighestCheckout())
+                .build();
+    }
+
+    private static Double ratio(int numerator, int denominator) {
+        if (denominator <= 0) {
+            return 0.0;
+        }
+        return Math.round(numerator * 100.0 / denominator) / 100.0;
+    }
+
+    private static int valueOf(Integer value) {
+        return value != null ? value : 0;
+    }
+}
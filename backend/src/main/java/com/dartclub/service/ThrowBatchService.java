@@ -0,0 +1,233 @@
+package com.dartclub.service;
+
+import com.dartclub.model.dto.request.ThrowBatchRequest;
+import com.dartclub.model.dto.response.LiveScoringLegDTO;
+import com.dartclub.model.dto.response.ThrowBatchResponseDTO;
+import com.dartclub.model.entity.Leg;
+import com.dartclub.model.entity.Match;
+import com.dartclub.model.entity.Throw;
+import com.dartclub.model.enums.MatchStatus;
+import com.dartclub.repository.LegRepository;
+import com.dartclub.repository.ThrowBatchRepository;
+import com.dartclub.service.event.ScoringEventBus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * ThrowBatchService - Gepufferte Aufnahmen in einem Rutsch verarbeiten
+ *
+ * Alle Aufnahmen werden nacheinander über die ScoringEngine gewertet und
+ * gegen den Live-State geprüft, danach per JDBC-Batch in einer Transaktion
+ * gespeichert. Leg-/Set-/Match-Abschluss läuft nur bei Checkouts über
+ * MatchService.finalizeLeg. Schlägt eine Aufnahme fehl, wird der ganze
+ * Batch zurückgerollt und die States aller berührten Legs verworfen.
+ *
+ * Die Locks aller berührten Legs werden bis nach Commit bzw. Rollback
+ * gehalten, damit kein anderer Request auf einem noch nicht committeten
+ * State weiterzählt. Die Transaktion wird deshalb programmatisch geführt.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ThrowBatchService {
+
+    private final MatchService matchService;
+    private final ScoringEngine scoringEngine;
+    private final LiveLegStateCache liveLegStateCache;
+    private final LiveScoringPublisher liveScoringPublisher;
+    private final LegEventLog legEventLog;
+    private final StatisticsService statisticsService;
+    private final ScoringEventBus scoringEventBus;
+    private final LegRepository legRepository;
+    private final ThrowBatchRepository throwBatchRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Batch verarbeiten
+     */
+    public ThrowBatchResponseDTO submitBatch(UUID matchId, UUID orgId, List<ThrowBatchRequest.Visit> visits) {
+        Match match = matchService.getMatchById(matchId, orgId);
+        if (match.getStatus() != MatchStatus.LIVE) {
+            throw new IllegalStateException("Match ist nicht live. Bitte Match zuerst starten.");
+        }
+
+        Batch batch = new Batch(matchId, orgId, visits);
+        TransactionStatus transaction = transactionManager.getTransaction(TransactionDefinition.withDefaults());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    // States sind evtl. schon fortgeschrieben - beim nächsten Zugriff neu aufbauen
+                    batch.touchedLegs.forEach(liveLegStateCache::evict);
+                }
+            }
+        });
+        try {
+            processLeg(batch, 0, resolveState(matchId, orgId, visits.get(0), null), transaction);
+        } catch (RuntimeException e) {
+            rollback(transaction);
+            throw e;
+        }
+
+        log.info("Batch für Match {} verarbeitet: {} Aufnahmen, {} Legs beendet",
+                matchId, visits.size(), batch.finishedLegIds.size());
+
+        boolean matchFinished = matchService.getMatchById(matchId, orgId).getStatus() == MatchStatus.FINISHED;
+        LiveScoringLegDTO legDTO = null;
+        if (!matchFinished) {
+            LiveLegState current = liveLegStateCache.get(matchService.getCurrentLeg(matchId, orgId));
+            synchronized (current) {
+                legDTO = matchService.buildLegDTO(current);
+            }
+        }
+
+        return ThrowBatchResponseDTO.builder()
+                .accepted(visits.size())
+                .finishedLegIds(batch.finishedLegIds)
+                .matchFinished(matchFinished)
+                .leg(legDTO)
+                .build();
+    }
+
+    /**
+     * Aufnahmen ab Index from verarbeiten, solange sie zum Leg von state gehören, danach rekursiv das nächste Leg
+     *
+     * Jede Ebene hält den Lock ihres Legs. Commit und Rollback laufen in der
+     * innersten Ebene, also solange alle berührten Legs gesperrt sind.
+     */
+    private void processLeg(Batch batch, int from, LiveLegState state, TransactionStatus transaction) {
+        synchronized (state) {
+            try {
+                batch.touchedLegs.add(state.getLeg().getId());
+                int i = from;
+                LiveLegState next = state;
+                while (next == state) {
+                    processVisit(batch, i, state);
+                    i++;
+                    next = i < batch.visits.size()
+                            ? resolveState(batch.matchId, batch.orgId, batch.visits.get(i), state)
+                            : null;
+                }
+
+                if (next != null) {
+                    processLeg(batch, i, next, transaction);
+                } else {
+                    throwBatchRepository.insertAll(batch.pending);
+                    transactionManager.commit(transaction);
+                }
+            } catch (RuntimeException e) {
+                rollback(transaction);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Eine Aufnahme werten und protokollieren (Aufrufer hält den Lock des States)
+     */
+    private void processVisit(Batch batch, int i, LiveLegState state) {
+        ThrowBatchRequest.Visit visit = batch.visits.get(i);
+        Leg leg = state.getLeg();
+        if (leg.getFinishedAt() != null) {
+            throw new IllegalStateException("Aufnahme " + (i + 1) + ": Leg ist bereits beendet");
+        }
+
+        Throw throwEntity;
+        ScoringEngine.ThrowResult result = null;
+        if (visit.isBust()) {
+            throwEntity = scoringEngine.createBust(state);
+            state.applyVisit(state.sideOf(throwEntity.getMemberId()), throwEntity);
+        } else {
+            if (visit.getDarts() == null || visit.getDarts().size() != 3) {
+                throw new IllegalArgumentException("Aufnahme " + (i + 1) + ": Es müssen genau 3 Darts eingegeben werden");
+            }
+            throwEntity = scoringEngine.createVisit(state, visit.getDarts());
+            if (!scoringEngine.validateThrow(throwEntity)) {
+                throw new IllegalArgumentException("Aufnahme " + (i + 1) + ": Ungültiger Wurf");
+            }
+            result = scoringEngine.processThrow(leg, state, throwEntity);
+        }
+        // ID vorab vergeben, damit das Event-Log den Wurf vor dem Batch-Insert referenzieren kann
+        throwEntity.setId(UUID.randomUUID());
+        batch.pending.add(throwEntity);
+        legEventLog.recordVisit(state, throwEntity);
+        statisticsService.recordVisit(state, throwEntity);
+
+        String event = visit.isBust() ? null : scoringEngine.detectEvent(state, throwEntity);
+        liveScoringPublisher.publishVisit(state, throwEntity, event);
+        scoringEventBus.publishHighlight(state, throwEntity, event);
+
+        if (result != null && result.isCheckout()) {
+            // Neue Legs müssen vor dem JDBC-Insert ihrer Würfe in der DB stehen
+            throwBatchRepository.insertAll(batch.pending);
+            batch.pending.clear();
+            matchService.finalizeLeg(leg, throwEntity.getMemberId(),
+                    throwEntity.getThrowNo() * 3, throwEntity.getThrowTotal());
+            legRepository.flush();
+            batch.finishedLegIds.add(leg.getId());
+        }
+    }
+
+    private void rollback(TransactionStatus transaction) {
+        if (!transaction.isCompleted()) {
+            transactionManager.rollback(transaction);
+        }
+    }
+
+    /**
+     * Live-State für eine Aufnahme bestimmen (explizites Leg oder aktuelles Leg des Matches)
+     */
+    private LiveLegState resolveState(UUID matchId, UUID orgId, ThrowBatchRequest.Visit visit, LiveLegState previous) {
+        LiveLegState state;
+        if (visit.getLegId() != null) {
+            if (previous != null && previous.getLeg().getId().equals(visit.getLegId())) {
+                return previous;
+            }
+            state = liveLegStateCache.get(visit.getLegId());
+        } else if (previous != null && previous.getLeg().getFinishedAt() == null) {
+            return previous;
+        } else {
+            state = liveLegStateCache.get(matchService.getCurrentLeg(matchId, orgId));
+        }
+
+        if (!matchId.equals(state.getMatchId())) {
+            throw new IllegalArgumentException("Leg gehört nicht zu diesem Match");
+        }
+        // Vor dem Sperren prüfen: Legs werden so nur in Spielreihenfolge gesperrt (kein Deadlock zwischen Batches)
+        if (state.getLeg().getFinishedAt() != null) {
+            throw new IllegalStateException("Leg ist bereits beendet");
+        }
+        return state;
+    }
+
+    /**
+     * Zustand eines laufenden Batches
+     */
+    private static class Batch {
+        private final UUID matchId;
+        private final UUID orgId;
+        private final List<ThrowBatchRequest.Visit> visits;
+        private final List<Throw> pending = new ArrayList<>();
+        private final java.util.Set<UUID> touchedLegs = new LinkedHashSet<>();
+        private final List<UUID> finishedLegIds = new ArrayList<>();
+
+        Batch(UUID matchId, UUID orgId, List<ThrowBatchRequest.Visit> visits) {
+            this.matchId = matchId;
+            this.orgId = orgId;
+            this.visits = visits;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.dartclub.service;
+
+import com.dartclub.exception.ResourceNotFoundException;
+import com.dartclub.model.dto.request.ThrowCorrectionRequest;
+import com.dartclub.model.dto.response.LiveScoringLegDTO;
+import com.dartclub.model.dto.response.ThrowResponseDTO;
+import com.dartclub.model.entity.Leg;
+import com.dartclub.model.entity.Match;
+import com.dartclub.model.entity.Set;
+import com.dartclub.model.entity.Throw;
+import com.dartclub.model.enums.MatchStatus;
+import com.dartclub.repository.LegRepository;
+import com.dartclub.repository.SetRepository;
+import com.dartclub.repository.ThrowRepository;
+import com.dartclub.service.writebehind.ThrowWriteBehindService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * ThrowCorrectionService - Aufnahmen zurücknehmen und korrigieren
+ *
+ * Der Live-State wird nur um die betroffene Aufnahme zurückgedreht
+ * (LiveLegState.undoVisit), nicht aus allen Würfen neu berechnet.
+ * Betrifft die Korrektur einen Checkout, wird der Leg-/Set-/Match-Abschluss
+ * über MatchService.reopenLeg zurückgenommen.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ThrowCorrectionService {
+
+    private final MatchService matchService;
+    private final ScoringEngine scoringEngine;
+    private final LiveLegStateCache liveLegStateCache;
+    private final LiveScoringPublisher liveScoringPublisher;
+    private final LegEventLog legEventLog;
+    private final StatisticsService statisticsService;
+    private final SetRepository setRepository;
+    private final LegRepository legRepository;
+    private final ThrowRepository throwRepository;
+    private final ThrowWriteBehindService throwWriteBehindService;
+
+    /**
+     * Letzte Aufnahme des Matches zurücknehmen
+     *
+     * Läuft gerade eine dartweise erfasste Aufnahme, werden nur deren Darts verworfen.
+     *
+     * @return Leg-Daten nach der Rücknahme
+     */
+    @Transactional
+    public LiveScoringLegDTO undoLastVisit(UUID matchId, UUID orgId) {
+        Match match = matchService.getMatchById(matchId, orgId);
+        LiveLegState state = findLastPlayedLeg(match, orgId);
+
+        synchronized (state) {
+            Leg leg = state.getLeg();
+            int pendingSide = state.discardPendingVisit();
+            if (pendingSide >= 0) {
+                liveScoringPublisher.publishUndo(state, pendingSide);
+                log.info("Laufende Aufnahme in Leg {} verworfen", leg.getId());
+                return matchService.buildLegDTO(state);
+            }
+            // Würfe aus dem Write-Behind-Log müssen vor dem Löschen in der DB stehen
+            // (unter dem Lock, damit keine neue Aufnahme des Legs dazwischenkommt)
+            throwWriteBehindService.sync();
+            try {
+                if (leg.getFinishedAt() != null) {
+                    matchService.reopenLeg(state);
+                    liveLegStateCache.reinstate(state);
+                }
+
+                int side = state.lastSide();
+                liveLegStateCache.loadLastVisit(state, side);
+                Throw removed = state.undoVisit(side);
+                liveLegStateCache.loadLastVisit(state, side);
+                throwRepository.deleteById(removed.getId());
+                legEventLog.recordUndo(state, removed);
+                statisticsService.recordUndo(state, removed);
+                liveScoringPublisher.publishUndo(state, side);
+
+                log.info("Aufnahme {} von Member {} in Leg {} zurückgenommen",
+                        removed.getThrowNo(), removed.getMemberId(), leg.getId());
+                return matchService.buildLegDTO(state);
+            } catch (RuntimeException e) {
+                liveLegStateCache.evict(leg.getId());
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Aufnahme korrigieren (nur die jeweils letzte Aufnahme eines Spielers,
+     * bei nicht wiederherstellbaren Varianten wie Cricket nur die letzte des Legs)
+     */
+    @Transactional
+    public ThrowResponseDTO correctVisit(UUID matchId, UUID orgId, UUID throwId, ThrowCorrectionRequest request) {
+        matchService.getMatchById(matchId, orgId);
+        Throw stored = throwRepository.findById(throwId).orElse(null);
+        if (stored == null) {
+            // Wurf steht evtl. noch im Write-Behind-Log
+            throwWriteBehindService.sync();
+            stored = throwRepository.findById(throwId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Wurf nicht gefunden"));
+        }
+        LiveLegState state = liveLegStateCache.get(stored.getLegId());
+        if (!matchId.equals(state.getMatchId())) {
+            throw new IllegalArgumentException("Wurf gehört nicht zu diesem Match");
+        }
+        if (!request.isBust() && (request.getDarts() == null || request.getDarts().size() != 3)) {
+            throw new IllegalArgumentException("Es müssen genau 3 Darts eingegeben werden");
+        }
+
+        synchronized (state) {
+            Leg leg = state.getLeg();
+            if (state.hasPendingVisit()) {
+                throw new IllegalStateException("Aufnahme wird gerade dartweise erfasst. Bitte zuerst abschließen.");
+            }
+            // Würfe aus dem Write-Behind-Log müssen vor dem Überschreiben in der DB stehen
+            throwWriteBehindService.sync();
+            int side = state.sideOf(stored.getMemberId());
+            Throw previous = liveLegStateCache.loadLastVisit(state, side);
+            if (previous == null || !throwId.equals(previous.getId())) {
+                throw new IllegalStateException("Nur die letzte Aufnahme eines Spielers kann korrigiert werden");
+            }
+            boolean lastOfLeg = state.lastSide() == side;
+            if (!lastOfLeg && !state.getRules().isRestorable()) {
+                // Cricket: Punkte des Gegners hängen von den eigenen Marks ab
+                throw new IllegalStateException("Bei dieser Spielvariante kann nur die letzte Aufnahme des Legs korrigiert werden");
+            }
+
+            try {
+                if (leg.getFinishedAt() != null) {
+                    matchService.reopenLeg(state);
+                    liveLegStateCache.reinstate(state);
+                }
+                state.undoVisit(side);
+                legEventLog.recordUndo(state, previous);
+                statisticsService.recordUndo(state, previous);
+
+                // Spieler ist nach der Rücknahme wieder am Zug - gleiche throwNo, gleiche ID
+                Throw corrected = request.isBust()
+                        ? scoringEngine.createBust(state)
+                        : scoringEngine.createVisit(state, request.getDarts());
+                corrected.setId(previous.getId());
+                corrected.setCreatedAt(stored.getCreatedAt());
+
+                boolean checkout = false;
+                if (request.isBust()) {
+                    state.applyVisit(side, corrected);
+                } else {
+                    if (!scoringEngine.validateThrow(corrected)) {
+                        throw new IllegalArgumentException("Ungültiger Wurf");
+                    }
+                    checkout = scoringEngine.processThrow(leg, state, corrected).isCheckout();
+                    if (checkout && !lastOfLeg) {
+                        throw new IllegalStateException("Checkout ist nur bei der letzten Aufnahme des Legs möglich");
+                    }
+                }
+
+                throwRepository.save(corrected);
+                legEventLog.recordVisit(state, corrected);
+                statisticsService.recordVisit(state, corrected);
+                String event = request.isBust() ? null : scoringEngine.detectEvent(state, corrected);
+                liveScoringPublisher.publishCorrection(state, corrected, event);
+
+                if (checkout) {
+                    matchService.finalizeLeg(leg, corrected.getMemberId(),
+                            corrected.getThrowNo() * 3, corrected.getThrowTotal());
+                }
+
+                log.info("Aufnahme {} von Member {} in Leg {} korrigiert: {} -> {}",
+                        corrected.getThrowNo(), corrected.getMemberId(), leg.getId(),
+                        previous.getThrowTotal(), corrected.getThrowTotal());
+
+                return ThrowResponseDTO.builder()
+                        .throwId(corrected.getId())
+                        .throwTotal(corrected.getThrowTotal())
+                        .remainingScore(corrected.getRemainingScore())
+                        .isCheckout(corrected.getIsCheckout())
+                        .isBust(corrected.getIsBust())
+                        .event(event)
+                        .legFinished(checkout)
+                        .leg(matchService.buildLegDTO(state))
+                        .build();
+            } catch (RuntimeException e) {
+                liveLegStateCache.evict(leg.getId());
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Leg mit der letzten Aufnahme des Matches bestimmen
+     *
+     * Ist das aktuelle Leg noch leer, ist es das zuletzt beendete Leg.
+     */
+    private LiveLegState findLastPlayedLeg(Match match, UUID orgId) {
+        if (match.getStatus() == MatchStatus.LIVE) {
+            LiveLegState current = liveLegStateCache.get(matchService.getCurrentLeg(match.getId(), orgId));
+            if (current.getVisitCount() > 0 || current.hasPendingVisit()) {
+                return current;
+            }
+        } else if (match.getStatus() != MatchStatus.FINISHED) {
+            throw new IllegalStateException("Match ist nicht live");
+        }
+
+        for (Set set : setRepository.findByMatchIdOrderBySetNoDesc(match.getId())) {
+            List<Leg> legs = legRepository.findBySetIdOrderByLegNoAsc(set.getId());
+            for (int i = legs.size() - 1; i >= 0; i--) {
+                if (legs.get(i).getFinishedAt() != null) {
+                    return liveLegStateCache.get(legs.get(i));
+                }
+            }
+        }
+        throw new IllegalStateException("Keine Aufnahme zum Zurücknehmen vorhanden");
+    }
+}
@@ -0,0 +1,158 @@
+package com.dartclub.service;
+
+import com.dartclub.model.dto.response.ThrowResponseDTO;
+import com.dartclub.model.entity.Leg;
+import com.dartclub.model.entity.Throw;
+import com.dartclub.repository.ThrowRepository;
+import com.dartclub.service.event.ScoringEventBus;
+import com.dartclub.service.writebehind.ThrowWriteBehindService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * VisitScoringService - Komplette Aufnahmen und Busts (Live-Scoring)
+ *
+ * Wurf, Leg-Event, Snapshot, Spielerstatistik und ggf. der Leg-Abschluss
+ * werden in einer Transaktion geschrieben. Der Aufrufer hält den Lock des
+ * States über den ganzen Aufruf (inkl. Commit) und verwirft den State bei
+ * einer Exception, da er dann evtl. schon fortgeschrieben ist.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VisitScoringService {
+
+    private final MatchService matchService;
+    private final ScoringEngine scoringEngine;
+    private final LiveScoringPublisher liveScoringPublisher;
+    private final LegEventLog legEventLog;
+    private final StatisticsService statisticsService;
+    private final ScoringEventBus scoringEventBus;
+    private final ThrowWriteBehindService throwWriteBehindService;
+    private final ThrowRepository throwRepository;
+
+    /**
+     * Validierte Aufnahme des Spielers am Zug werten und speichern
+     *
+     * @param state Live-State des Legs (Aufrufer hält den Lock)
+     * @param throwEntity noch nicht gewertete Aufnahme (ScoringEngine.createVisit)
+     */
+    @Transactional
+    public ThrowResponseDTO submitVisit(LiveLegState state, Throw throwEntity) {
+        Leg leg = state.getLeg();
+        UUID currentMemberId = throwEntity.getMemberId();
+
+        // Verarbeite Wurf mit ScoringEngine (schreibt den Live-State fort)
+        ScoringEngine.ThrowResult result = scoringEngine.processThrow(leg, state, throwEntity);
+
+        // Speichere Wurf
+        throwEntity = throwWriteBehindService.save(throwEntity);
+
+        // Event-Detection
+        String event = scoringEngine.detectEvent(state, throwEntity);
+
+        // Delta an Zuschauer und Scorer pushen, Highlight an den Event-Bus
+        legEventLog.recordVisit(state, throwEntity);
+        statisticsService.recordVisit(state, throwEntity);
+        liveScoringPublisher.publishVisit(state, throwEntity, event);
+        scoringEventBus.publishHighlight(state, throwEntity, event);
+
+        // Leg beenden bei Checkout
+        boolean legFinished = false;
+        if (result.isCheckout()) {
+            matchService.finalizeLeg(leg, currentMemberId, throwEntity.getThrowNo() * 3, throwEntity.getThrowTotal());
+            legFinished = true;
+            log.info("Leg {} beendet durch Checkout von Member {}", leg.getId(), currentMemberId);
+        }
+
+        ThrowResponseDTO response = ThrowResponseDTO.builder()
+                .throwId(throwEntity.getId())
+                .throwTotal(throwEntity.getThrowTotal())
+                .remainingScore(throwEntity.getRemainingScore())
+                .isCheckout(throwEntity.getIsCheckout())
+                .isBust(throwEntity.getIsBust())
+                .event(event)
+                .legFinished(legFinished)
+                .leg(matchService.buildLegDTO(state))
+                .build();
+        state.recordResponse(state.getVisitCount(), response);
+        return response;
+    }
+
+    /**
+     * Bust des Spielers am Zug speichern
+     *
+     * @param state Live-State des Legs (Aufrufer hält den Lock)
+     * @param bustThrow Bust-Aufnahme (ScoringEngine.createBust)
+     */
+    @Transactional
+    public ThrowResponseDTO markBust(LiveLegState state, Throw bustThrow) {
+        Leg leg = state.getLeg();
+        UUID currentMemberId = bustThrow.getMemberId();
+        Integer remainingScore = bustThrow.getRemainingScore();
+
+        bustThrow = throwWriteBehindService.save(bustThrow);
+        state.applyVisit(state.sideOf(currentMemberId), bustThrow);
+        legEventLog.recordVisit(state, bustThrow);
+        statisticsService.recordVisit(state, bustThrow);
+        liveScoringPublisher.publishVisit(state, bustThrow, null);
+        log.info("Bust markiert für Member {} in Leg {}", currentMemberId, leg.getId());
+
+        ThrowResponseDTO response = ThrowResponseDTO.builder()
+                .throwId(bustThrow.getId())
+                .throwTotal(0)
+                .remainingScore(remainingScore)
+                .isCheckout(false)
+                .isBust(true)
+                .event(null)
+                .legFinished(false)
+                .leg(matchService.buildLegDTO(state))
+                .build();
+        state.recordResponse(state.getVisitCount(), response);
+        return response;
+    }
+
+    /**
+     * Antwort zu einer bereits verarbeiteten Aufnahme (Wiederholung eines Requests)
+     *
+     * Ist die Antwort nicht mehr gemerkt (State nach Neustart oder Eviction
+     * neu aufgebaut, Aufnahme außerhalb des Replay-Fensters), wird sie aus
+     * dem gespeicherten Wurf zusammengesetzt; der Leg-Stand ist der aktuelle.
+     *
+     * @param state Live-State des Legs (Aufrufer hält den Lock)
+     * @param seq Sequenznummer der Aufnahme im Leg (1 bis visitCount)
+     */
+    public ThrowResponseDTO replayVisit(LiveLegState state, int seq) {
+        ThrowResponseDTO response = state.getRecordedResponse(seq);
+        if (response != null) {
+            return response;
+        }
+        if (seq < 1 || seq > state.getVisitCount()) {
+            throw new IllegalStateException("Aufnahme " + seq + " wurde bereits verarbeitet. Bitte Leg neu laden.");
+        }
+        int side = LiveLegState.sideOfSeq(seq);
+        int throwNo = (seq + 1) / 2;
+        throwWriteBehindService.sync();
+        Throw visit = throwRepository.findByLegIdAndMemberIdAndThrowNo(state.getLeg().getId(), state.getMemberId(side), throwNo)
+                .orElseThrow(() -> new IllegalStateException("Aufnahme " + seq + " nicht gefunden. Bitte Leg neu laden."));
+        boolean bust = Boolean.TRUE.equals(visit.getIsBust());
+        log.info("Antwort zu Aufnahme {} in Leg {} aus dem gespeicherten Wurf aufgebaut", seq, state.getLeg().getId());
+
+        return ThrowResponseDTO.builder()
+                .throwId(visit.getId())
+                .throwTotal(visit.getThrowTotal())
+                .remainingScore(visit.getRemainingScore())
+                .isCheckout(visit.getIsCheckout())
+                .isBust(visit.getIsBust())
+                .event(bust ? null : scoringEngine.detectEvent(state, visit))
+                .legFinished(Boolean.TRUE.equals(visit.getIsCheckout()))
+                .leg(matchService.buildLegDTO(state))
+                .build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.dartclub.service.event;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * Domain-Event: Änderung der X01-Statistik eines Spielers
+ *
+ * Aufnahmen und Rücknahmen liefern Deltas (darts, points, count180, bei
+ * Rücknahmen negativ), gewonnene Legs die Bestwerte des Legs (sonst null).
+ * Wird vom StatisticsService über den {@link ScoringEventBus} nach dem
+ * Commit veröffentlicht.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Value
+@Builder
+public class PlayerStatsDeltaEvent {
+
+    UUID orgId;
+    UUID memberId;
+    int darts;
+    int points;
+    int count180;
+    Integer bestLegDarts;
+    Integer highestCheckout;
+    ZonedDateTime occurredAt;
+}
@@ -0,0 +1,105 @@
+package com.dartclub.service.event;
+
+import com.dartclub.model.entity.Throw;
+import com.dartclub.model.enums.HighlightType;
+import com.dartclub.service.LiveLegState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.ZonedDateTime;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ScoringEventBus - Asynchrone Zustellung von Scoring-Domain-Events
+ *
+ * Events werden nach dem Commit der Transaktion auf den Executor
+ * "scoringEventExecutor" (siehe AsyncConfig) gelegt und dort als Spring
+ * Application-Events an alle {@code @EventListener} verteilt. Der
+ * Request-Thread wartet höchstens kurz auf einen Platz in der begrenzten
+ * Queue; ist sie dann noch voll, wird das Event verworfen und gezählt.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Slf4j
+@Component
+public class ScoringEventBus {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final TaskExecutor executor;
+    private final AtomicLong dropped = new AtomicLong();
+
+    public ScoringEventBus(ApplicationEventPublisher applicationEventPublisher,
+                           @Qualifier("scoringEventExecutor") TaskExecutor executor) {
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.executor = executor;
+    }
+
+    /**
+     * Highlight einer Aufnahme veröffentlichen (event = Code aus ScoringEngine.detectEvent)
+     *
+     * Aufruf unter dem Lock des States, nachdem die Aufnahme gespeichert wurde.
+     */
+    public void publishHighlight(LiveLegState state, Throw throwData, String event) {
+        HighlightType type = HighlightType.fromCode(event);
+        if (type == null) {
+            return;
+        }
+        publish(ScoringHighlightEvent.builder()
+                .type(type)
+                .orgId(state.getOrgId())
+                .matchId(state.getMatchId())
+                .legId(throwData.getLegId())
+                .throwId(throwData.getId())
+                .memberId(throwData.getMemberId())
+                .throwTotal(throwData.getThrowTotal())
+                .remainingScore(throwData.getRemainingScore())
+                .occurredAt(ZonedDateTime.now())
+                .build());
+    }
+
+    /**
+     * Event veröffentlichen (nach dem Commit, falls eine Transaktion läuft)
+     */
+    public void publish(Object event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(event);
+                }
+            });
+        } else {
+            dispatch(event);
+        }
+    }
+
+    /**
+     * Anzahl der wegen voller Queue verworfenen Events seit dem Start
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private void dispatch(Object event) {
+        try {
+            executor.execute(() -> deliver(event));
+        } catch (RejectedExecutionException e) {
+            long count = dropped.incrementAndGet();
+            log.warn("Scoring-Event verworfen (Queue voll, {} verworfen insgesamt): {}", count, event);
+        }
+    }
+
+    private void deliver(Object event) {
+        try {
+            applicationEventPublisher.publishEvent(event);
+        } catch (RuntimeException e) {
+            log.error("Fehler beim Zustellen von Scoring-Event {}", event, e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.dartclub.service.event;
+
+import com.dartclub.model.enums.HighlightType;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * Domain-Event: Scoring-Highlight einer gespeicherten Aufnahme (180, 171, 140+, High-Checkout)
+ *
+ * Wird über den {@link ScoringEventBus} erst nach dem Commit der Aufnahme
+ * zugestellt. Unveränderlich, damit Subscriber es ohne Kopie weitergeben können.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Value
+@Builder
+public class ScoringHighlightEvent {
+
+    HighlightType type;
+    UUID orgId;
+    UUID matchId;
+    UUID legId;
+    UUID throwId;
+    UUID memberId;
+    int throwTotal;
+    int remainingScore;
+    ZonedDateTime occurredAt;
+}
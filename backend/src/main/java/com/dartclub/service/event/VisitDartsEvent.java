@@ -0,0 +1,31 @@
+package com.dartclub.service.event;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * Domain-Event: Darts einer gespeicherten (sign = 1) oder zurückgenommenen (sign = -1) Aufnahme
+ *
+ * Nicht geworfene Darts haben Segment 0. Wird vom StatisticsService über
+ * den {@link ScoringEventBus} nach dem Commit veröffentlicht (Heatmaps).
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Value
+@Builder
+public class VisitDartsEvent {
+
+    UUID orgId;
+    UUID memberId;
+    int sign;
+    int dart1Multiplier;
+    int dart1Segment;
+    int dart2Multiplier;
+    int dart2Segment;
+    int dart3Multiplier;
+    int dart3Segment;
+    ZonedDateTime occurredAt;
+}
@@ -0,0 +1,150 @@
+package com.dartclub.service.leaderboard;
+
+import com.dartclub.model.dto.response.LeaderboardDTO;
+import com.dartclub.model.dto.response.LeaderboardEntryDTO;
+import com.dartclub.model.entity.Member;
+import com.dartclub.model.entity.PlayerSeasonStats;
+import com.dartclub.model.enums.LeaderboardMetric;
+import com.dartclub.repository.MemberRepository;
+import com.dartclub.repository.PlayerSeasonStatsRepository;
+import com.dartclub.service.SeasonCalendar;
+import com.dartclub.service.event.PlayerStatsDeltaEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * LeaderboardService - Bestenlisten pro Organisation und Saison
+ *
+ * Pro Organisation und Saison liegt ein {@link SeasonBoard} im Speicher,
+ * das beim ersten Zugriff aus player_season_stats geladen wird. Die
+ * Deltas kommen als {@link PlayerStatsDeltaEvent} vom ScoringEventBus
+ * (nach dem Commit); ein Abruf liest nur die ersten K Plätze und lädt
+ * dazu die K Mitglieder für die Namen.
+ *
+ * Geänderte Zähler werden alle dartclub.leaderboard.flush-interval-ms und
+ * beim Herunterfahren geschrieben. Bei einem Absturz fehlen die Deltas
+ * seit dem letzten Flush, ebenso vom Bus verworfene Events.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Slf4j
+@Service
+public class LeaderboardService {
+
+    private final PlayerSeasonStatsRepository playerSeasonStatsRepository;
+    private final MemberRepository memberRepository;
+    private final SeasonCalendar seasonCalendar;
+    private final ConcurrentMap<String, SeasonBoard> boards = new ConcurrentHashMap<>();
+
+    // Flush und evictOrg schließen sich aus, sonst überschreibt ein laufender Flush neu berechnete Zähler
+    private final Object flushLock = new Object();
+
+    @Value("${dartclub.leaderboard.size:20}")
+    private int size;
+
+    @Value("${dartclub.leaderboard.min-darts:90}")
+    private int minDarts;
+
+    public LeaderboardService(PlayerSeasonStatsRepository playerSeasonStatsRepository, MemberRepository memberRepository,
+                              SeasonCalendar seasonCalendar) {
+        this.playerSeasonStatsRepository = playerSeasonStatsRepository;
+        this.memberRepository = memberRepository;
+        this.seasonCalendar = seasonCalendar;
+    }
+
+    @EventListener
+    public void onStatsDelta(PlayerStatsDeltaEvent event) {
+        board(event.getOrgId(), seasonCalendar.seasonOf(event.getOccurredAt())).apply(event);
+    }
+
+    /**
+     * Bestenliste einer Kennzahl (season null = laufende Saison, limit höchstens dartclub.leaderboard.size)
+     */
+    public LeaderboardDTO getLeaderboard(UUID orgId, LeaderboardMetric metric, String season, int limit) {
+        season = seasonCalendar.resolve(season);
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit muss mindestens 1 sein");
+        }
+
+        List<SeasonBoard.Entry> top = board(orgId, season).top(metric, Math.min(limit, size));
+        Map<UUID, Member> members = memberRepository.findAllById(top.stream().map(SeasonBoard.Entry::memberId).toList())
+                .stream()
+                .collect(Collectors.toMap(Member::getId, Function.identity()));
+
+        List<LeaderboardEntryDTO> entries = new ArrayList<>(top.size());
+        for (int rank = 0; rank < top.size(); rank++) {
+            SeasonBoard.Entry entry = top.get(rank);
+            Member member = members.get(entry.memberId());
+            entries.add(LeaderboardEntryDTO.builder()
+                    .rank(rank + 1)
+                    .memberId(entry.memberId())
+                    .name(member != null ? member.getFirstName() + " " + member.getLastName() : null)
+                    .value(Math.round(entry.value() * 100) / 100.0)
+                    .build());
+        }
+        return LeaderboardDTO.builder()
+                .metric(metric.name())
+                .season(season)
+                .entries(entries)
+                .build();
+    }
+
+    /**
+     * Geänderte Saison-Zähler schreiben
+     */
+    @Scheduled(fixedDelayString = "${dartclub.leaderboard.flush-interval-ms:30000}")
+    public void flush() {
+        synchronized (flushLock) {
+            for (SeasonBoard board : boards.values()) {
+                List<PlayerSeasonStats> changed = board.drainDirty();
+                if (changed.isEmpty()) {
+                    continue;
+                }
+                try {
+                    playerSeasonStatsRepository.saveAll(changed);
+                } catch (RuntimeException e) {
+                    board.markDirty(changed);
+                    log.error("Bestenliste: {} Saison-Zähler konnten nicht gespeichert werden", changed.size(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Bestenlisten einer Organisation aus dem Speicher entfernen, ohne sie zu schreiben
+     *
+     * Nach einer Neuberechnung in player_season_stats; der nächste Zugriff
+     * lädt die neuen Werte. Wartet auf einen laufenden Flush, damit dessen
+     * saveAll nicht nach der Neuberechnung alte Zähler zurückschreibt.
+     */
+    public void evictOrg(UUID orgId) {
+        String prefix = orgId + "|";
+        synchronized (flushLock) {
+            boards.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private SeasonBoard board(UUID orgId, String season) {
+        return boards.computeIfAbsent(orgId + "|" + season, key ->
+                new SeasonBoard(orgId, season, size, minDarts,
+                        playerSeasonStatsRepository.findByOrgIdAndSeason(orgId, season)));
+    }
+}
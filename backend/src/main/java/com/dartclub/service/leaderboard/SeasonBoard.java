@@ -0,0 +1,169 @@
+package com.dartclub.service.leaderboard;
+
+import com.dartclub.model.entity.PlayerSeasonStats;
+import com.dartclub.model.enums.LeaderboardMetric;
+import com.dartclub.service.event.PlayerStatsDeltaEvent;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * SeasonBoard - Saison-Zähler und Bestenlisten einer Organisation
+ *
+ * Hält pro Spieler die Saison-Zähler und pro Kennzahl eine {@link TopK}.
+ * Jedes Delta aktualisiert die Zähler des Spielers und seine Einträge in
+ * den Listen; nur wenn ein Listenplatz frei wird, werden die Listen aus
+ * den Zählern neu aufgebaut. Geänderte Spieler werden für den nächsten
+ * Flush gemerkt.
+ *
+ * Thread-sicher (alle Methoden synchronized).
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+final class SeasonBoard {
+
+    /**
+     * Ein Platz in einer Bestenliste
+     */
+    record Entry(UUID memberId, double value) {
+    }
+
+    private static final class PlayerSeason {
+        int darts;
+        int points;
+        int count180;
+        Integer highestCheckout;
+        Integer bestLegDarts;
+    }
+
+    private final UUID orgId;
+    private final String season;
+    private final int minDarts;
+    private final Map<UUID, PlayerSeason> players = new HashMap<>();
+    private final Map<LeaderboardMetric, TopK> boards = new EnumMap<>(LeaderboardMetric.class);
+    private final Set<UUID> dirty = new HashSet<>();
+
+    SeasonBoard(UUID orgId, String season, int capacity, int minDarts, List<PlayerSeasonStats> stored) {
+        this.orgId = orgId;
+        this.season = season;
+        this.minDarts = minDarts;
+        for (LeaderboardMetric metric : LeaderboardMetric.values()) {
+            boards.put(metric, new TopK(capacity, metric.isHigherBetter()));
+        }
+        for (PlayerSeasonStats stats : stored) {
+            PlayerSeason player = new PlayerSeason();
+            player.darts = stats.getDarts();
+            player.points = stats.getPoints();
+            player.count180 = stats.getCount180();
+            player.highestCheckout = stats.getHighestCheckout();
+            player.bestLegDarts = stats.getBestLegDarts();
+            players.put(stats.getMemberId(), player);
+        }
+        for (LeaderboardMetric metric : LeaderboardMetric.values()) {
+            rebuild(metric);
+        }
+    }
+
+    /**
+     * Delta eines Spielers übernehmen
+     */
+    synchronized void apply(PlayerStatsDeltaEvent event) {
+        UUID memberId = event.getMemberId();
+        PlayerSeason player = players.computeIfAbsent(memberId, id -> new PlayerSeason());
+        player.darts += event.getDarts();
+        player.points += event.getPoints();
+        player.count180 += event.getCount180();
+        if (event.getHighestCheckout() != null
+                && (player.highestCheckout == null || event.getHighestCheckout() > player.highestCheckout)) {
+            player.highestCheckout = event.getHighestCheckout();
+        }
+        if (event.getBestLegDarts() != null
+                && (player.bestLegDarts == null || event.getBestLegDarts() < player.bestLegDarts)) {
+            player.bestLegDarts = event.getBestLegDarts();
+        }
+        dirty.add(memberId);
+
+        for (Map.Entry<LeaderboardMetric, TopK> board : boards.entrySet()) {
+            LeaderboardMetric metric = board.getKey();
+            if (board.getValue().update(memberId, value(metric, player), qualifies(metric, player))) {
+                rebuild(metric);
+            }
+        }
+    }
+
+    /**
+     * Die ersten limit Plätze einer Kennzahl
+     */
+    synchronized List<Entry> top(LeaderboardMetric metric, int limit) {
+        TopK board = boards.get(metric);
+        int size = Math.min(limit, board.size());
+        List<Entry> entries = new ArrayList<>(size);
+        for (int rank = 0; rank < size; rank++) {
+            entries.add(new Entry(board.idAt(rank), board.valueAt(rank)));
+        }
+        return entries;
+    }
+
+    /**
+     * Seit dem letzten Aufruf geänderte Zähler als Entities (absolute Werte)
+     */
+    synchronized List<PlayerSeasonStats> drainDirty() {
+        List<PlayerSeasonStats> changed = new ArrayList<>(dirty.size());
+        for (UUID memberId : dirty) {
+            PlayerSeason player = players.get(memberId);
+            changed.add(PlayerSeasonStats.builder()
+                    .orgId(orgId)
+                    .season(season)
+                    .memberId(memberId)
+                    .darts(player.darts)
+                    .points(player.points)
+                    .count180(player.count180)
+                    .highestCheckout(player.highestCheckout)
+                    .bestLegDarts(player.bestLegDarts)
+                    .build());
+        }
+        dirty.clear();
+        return changed;
+    }
+
+    /**
+     * Spieler nach fehlgeschlagenem Flush erneut vormerken
+     */
+    synchronized void markDirty(List<PlayerSeasonStats> failed) {
+        for (PlayerSeasonStats stats : failed) {
+            dirty.add(stats.getMemberId());
+        }
+    }
+
+    private void rebuild(LeaderboardMetric metric) {
+        TopK board = boards.get(metric);
+        board.clear();
+        for (Map.Entry<UUID, PlayerSeason> player : players.entrySet()) {
+            board.update(player.getKey(), value(metric, player.getValue()), qualifies(metric, player.getValue()));
+        }
+    }
+
+    private boolean qualifies(LeaderboardMetric metric, PlayerSeason player) {
+        return switch (metric) {
+            case AVERAGE -> player.darts >= minDarts && player.darts > 0;
+            case MOST_180S -> player.count180 > 0;
+            case HIGHEST_CHECKOUT -> player.highestCheckout != null;
+            case FEWEST_DARTS -> player.bestLegDarts != null;
+        };
+    }
+
+    private static double value(LeaderboardMetric metric, PlayerSeason player) {
+        return switch (metric) {
+            case AVERAGE -> player.darts > 0 ? player.points * 3.0 / player.darts : 0.0;
+            case MOST_180S -> player.count180;
+            case HIGHEST_CHECKOUT -> player.highestCheckout != null ? player.highestCheckout : 0;
+            case FEWEST_DARTS -> player.bestLegDarts != null ? player.bestLegDarts : 0;
+        };
+    }
+}
@@ -0,0 +1,130 @@
+package com.dartclub.service.leaderboard;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * TopK - Sortierte Bestenliste fester Größe
+ *
+ * Hält die besten K Spieler einer Kennzahl in zwei parallelen Arrays,
+ * bester Wert zuerst (bei Gleichstand bleibt der zuerst eingetragene
+ * vorn). Verbesserungen und neue Einträge werden in O(K) eingeordnet.
+ * Verschlechtert sich ein Eintrag so weit, dass ein Spieler außerhalb der
+ * Liste besser sein könnte, meldet {@link #update} das dem Aufrufer, der
+ * die Liste dann per {@link #clear()} und erneuten update-Aufrufen neu
+ * aufbaut.
+ *
+ * Nicht thread-sicher (Zugriff unter dem Lock des SeasonBoard).
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+final class TopK {
+
+    private final UUID[] ids;
+    private final double[] values;
+    private final boolean higherBetter;
+    private int size;
+
+    TopK(int capacity, boolean higherBetter) {
+        this.ids = new UUID[capacity];
+        this.values = new double[capacity];
+        this.higherBetter = higherBetter;
+    }
+
+    /**
+     * Wert eines Spielers eintragen
+     *
+     * @param qualifies false, wenn der Spieler (nicht mehr) in die Liste gehört
+     * @return true, wenn die Liste neu aufgebaut werden muss
+     */
+    boolean update(UUID id, double value, boolean qualifies) {
+        int index = indexOf(id);
+        if (index < 0) {
+            if (!qualifies || (size == ids.length && !better(value, values[size - 1]))) {
+                return false;
+            }
+            if (size < ids.length) {
+                size++;
+            }
+            ids[size - 1] = id;
+            values[size - 1] = value;
+            moveUp(size - 1);
+            return false;
+        }
+
+        boolean full = size == ids.length;
+        if (!qualifies) {
+            remove(index);
+            return full;
+        }
+        double previous = values[index];
+        values[index] = value;
+        if (better(value, previous)) {
+            moveUp(index);
+            return false;
+        }
+        int position = moveDown(index);
+        return full && position == size - 1 && better(previous, value);
+    }
+
+    void clear() {
+        Arrays.fill(ids, null);
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    UUID idAt(int rank) {
+        return ids[rank];
+    }
+
+    double valueAt(int rank) {
+        return values[rank];
+    }
+
+    private boolean better(double a, double b) {
+        return higherBetter ? a > b : a < b;
+    }
+
+    private int indexOf(UUID id) {
+        for (int i = 0; i < size; i++) {
+            if (ids[i].equals(id)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void moveUp(int index) {
+        while (index > 0 && better(values[index], values[index - 1])) {
+            swap(index, index - 1);
+            index--;
+        }
+    }
+
+    private int moveDown(int index) {
+        while (index < size - 1 && better(values[index + 1], values[index])) {
+            swap(index, index + 1);
+            index++;
+        }
+        return index;
+    }
+
+    private void remove(int index) {
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        ids[size] = null;
+    }
+
+    private void swap(int i, int j) {
+        UUID id = ids[i];
+        ids[i] = ids[j];
+        ids[j] = id;
+        double value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+}
@@ -0,0 +1,71 @@
+package com.dartclub.service.rating;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+
+/**
+ * Glicko - Rating-Formeln nach Glickman (Glicko-1)
+ *
+ * Ein Match ist eine Rating-Periode: alle Gegner gehen mit ihren Werten
+ * vor dem Match ein, das Ergebnis gegen einen Gegner ist der Anteil
+ * gewonnener Legs (0..1). Die Abweichung (RD) wächst in Spielpausen um
+ * INFLATION pro 30 Tage (von 50 in gut zwei Jahren zurück auf 350).
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+final class Glicko {
+
+    static final double INITIAL_RATING = 1500.0;
+    static final double INITIAL_DEVIATION = 350.0;
+    static final double MIN_DEVIATION = 30.0;
+
+    private static final double INFLATION = 70.0;
+    private static final double PERIOD_DAYS = 30.0;
+    private static final double Q = Math.log(10) / 400.0;
+
+    private Glicko() {
+    }
+
+    /**
+     * RD nach einer Pause von lastPlayedAt bis playedAt
+     */
+    static double inflate(double deviation, ZonedDateTime lastPlayedAt, ZonedDateTime playedAt) {
+        if (lastPlayedAt == null || !playedAt.isAfter(lastPlayedAt)) {
+            return deviation;
+        }
+        double periods = Duration.between(lastPlayedAt, playedAt).toHours() / 24.0 / PERIOD_DAYS;
+        return Math.min(Math.sqrt(deviation * deviation + INFLATION * INFLATION * periods), INITIAL_DEVIATION);
+    }
+
+    /**
+     * Erwartetes Ergebnis (Leg-Anteil) von rating gegen einen Gegner
+     */
+    static double expected(double rating, double opponentRating, double opponentDeviation) {
+        return 1.0 / (1.0 + Math.pow(10, -g(opponentDeviation) * (rating - opponentRating) / 400.0));
+    }
+
+    /**
+     * Neues Rating und neue RD nach einer Rating-Periode
+     *
+     * @return {rating, deviation}
+     */
+    static double[] rate(double rating, double deviation,
+                         double[] opponentRatings, double[] opponentDeviations, double[] scores) {
+        double dInverse = 0.0;
+        double delta = 0.0;
+        for (int i = 0; i < scores.length; i++) {
+            double g = g(opponentDeviations[i]);
+            double e = expected(rating, opponentRatings[i], opponentDeviations[i]);
+            dInverse += Q * Q * g * g * e * (1.0 - e);
+            delta += g * (scores[i] - e);
+        }
+        double precision = 1.0 / (deviation * deviation) + dInverse;
+        double newRating = rating + Q / precision * delta;
+        double newDeviation = Math.max(Math.sqrt(1.0 / precision), MIN_DEVIATION);
+        return new double[]{newRating, newDeviation};
+    }
+
+    private static double g(double deviation) {
+        return 1.0 / Math.sqrt(1.0 + 3.0 * Q * Q * deviation * deviation / (Math.PI * Math.PI));
+    }
+}
@@ -0,0 +1,160 @@
+package com.dartclub.service.rating;
+
+import com.dartclub.model.MatchLegRow;
+import com.dartclub.model.entity.Organization;
+import com.dartclub.model.entity.RatingHistory;
+import com.dartclub.model.enums.MatchStatus;
+import com.dartclub.repository.LegRepository;
+import com.dartclub.repository.OrganizationRepository;
+import com.dartclub.repository.RatingBatchRepository;
+import com.dartclub.service.StatisticsCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * RatingRecomputeJob - Ratings aller beendeten Matches neu berechnen
+ *
+ * Spielt pro Organisation alle beendeten Matches in der Reihenfolge ihres
+ * Endes durch {@link RatingReplay} und ersetzt Verlauf und Ratings in
+ * einer Transaktion (JDBC-Batches über RatingBatchRepository). Die
+ * Ratings der Organisation sind dabei gesperrt, ein gleichzeitiger
+ * Match-Abschluss wartet und wertet danach auf den neuen Werten.
+ *
+ * Organisationen sind voneinander unabhängig und laufen als eigene Tasks
+ * in einem ForkJoinPool mit dartclub.ratings.recompute-parallelism Threads
+ * (0 = Anzahl CPUs); pro Organisation wird eine schmale Projektion der
+ * Legs gelesen, gerechnet wird im Speicher. Es läuft höchstens eine
+ * Neuberechnung gleichzeitig.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Slf4j
+@Component
+public class RatingRecomputeJob {
+
+    private final OrganizationRepository organizationRepository;
+    private final LegRepository legRepository;
+    private final RatingBatchRepository ratingBatchRepository;
+    private final StatisticsCache statisticsCache;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${dartclub.ratings.recompute-parallelism:0}")
+    private int parallelism;
+
+    @Value("${dartclub.ratings.recompute-on-startup:false}")
+    private boolean recomputeOnStartup;
+
+    public RatingRecomputeJob(OrganizationRepository organizationRepository, LegRepository legRepository,
+                              RatingBatchRepository ratingBatchRepository, StatisticsCache statisticsCache,
+                              PlatformTransactionManager transactionManager) {
+        this.organizationRepository = organizationRepository;
+        this.legRepository = legRepository;
+        this.ratingBatchRepository = ratingBatchRepository;
+        this.statisticsCache = statisticsCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (recomputeOnStartup) {
+            recomputeAll();
+        }
+    }
+
+    /**
+     * Alle Organisationen neu berechnen
+     *
+     * @return Anzahl gewerteter Matches
+     */
+    public int recomputeAll() {
+        return recompute(organizationRepository.findAll().stream().map(Organization::getId).toList());
+    }
+
+    /**
+     * Die angegebenen Organisationen parallel neu berechnen
+     *
+     * @return Anzahl gewerteter Matches
+     */
+    public int recompute(Collection<UUID> orgIds) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Rating-Neuberechnung läuft bereits");
+        }
+        long start = System.nanoTime();
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, Math.min(threads, orgIds.size())));
+        try {
+            List<Callable<Integer>> tasks = new ArrayList<>(orgIds.size());
+            for (UUID orgId : orgIds) {
+                tasks.add(() -> recomputeOrg(orgId));
+            }
+            int matches = 0;
+            int failed = 0;
+            for (Future<Integer> result : pool.invokeAll(tasks)) {
+                try {
+                    matches += result.get();
+                } catch (ExecutionException e) {
+                    failed++;
+                    log.error("Ratings: Neuberechnung einer Organisation fehlgeschlagen", e.getCause());
+                }
+            }
+            log.info("Ratings: {} Organisationen, {} Matches in {} ms neu berechnet ({} fehlgeschlagen)",
+                    orgIds.size(), matches, (System.nanoTime() - start) / 1_000_000, failed);
+            if (failed > 0) {
+                throw new IllegalStateException("Rating-Neuberechnung für " + failed + " Organisation(en) fehlgeschlagen");
+            }
+            return matches;
+        } finally {
+            pool.shutdown();
+            statisticsCache.invalidateMetrics(List.of(StatisticsCache.RATINGS, StatisticsCache.RATING_HISTORY));
+            running.set(false);
+        }
+    }
+
+    /**
+     * Eine Organisation neu berechnen (eigene Transaktion)
+     */
+    private int recomputeOrg(UUID orgId) {
+        Integer matches = transactionTemplate.execute(status -> {
+            ratingBatchRepository.lockOrg(orgId);
+            List<MatchLegRow> rows = legRepository.findResultRowsByOrgId(orgId, MatchStatus.FINISHED);
+
+            RatingReplay replay = new RatingReplay(orgId);
+            List<RatingHistory> history = new ArrayList<>();
+            int count = 0;
+            int from = 0;
+            while (from < rows.size()) {
+                UUID matchId = rows.get(from).matchId();
+                int to = from;
+                while (to < rows.size() && rows.get(to).matchId().equals(matchId)) {
+                    to++;
+                }
+                List<RatingHistory> entries = replay.applyMatch(matchId, rows.get(from).matchFinishedAt(),
+                        rows.subList(from, to));
+                if (!entries.isEmpty()) {
+                    history.addAll(entries);
+                    count++;
+                }
+                from = to;
+            }
+            ratingBatchRepository.replaceOrg(orgId, replay.ratings(), history);
+            return count;
+        });
+        return matches != null ? matches : 0;
+    }
+}
@@ -0,0 +1,161 @@
+package com.dartclub.service.rating;
+
+import com.dartclub.model.MatchLegRow;
+import com.dartclub.model.entity.PlayerRating;
+import com.dartclub.model.entity.RatingHistory;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * RatingReplay - Ratings einer Menge von Spielern, Match für Match fortgeschrieben
+ *
+ * Wird für ein einzelnes Match (MatchService.finalizeMatch) mit den
+ * gespeicherten Ratings der Beteiligten gefüllt und für die Neuberechnung
+ * einer Organisation leer gestartet und mit allen Matches in
+ * chronologischer Reihenfolge gefüttert.
+ *
+ * Nicht thread-sicher (eine Instanz pro Match bzw. Organisation).
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+final class RatingReplay {
+
+    private static final class Player {
+        double rating = Glicko.INITIAL_RATING;
+        double deviation = Glicko.INITIAL_DEVIATION;
+        int matches;
+        ZonedDateTime lastPlayedAt;
+    }
+
+    private final UUID orgId;
+    private final Map<UUID, Player> players = new HashMap<>();
+
+    RatingReplay(UUID orgId) {
+        this.orgId = orgId;
+    }
+
+    /**
+     * Gespeichertes Rating übernehmen
+     */
+    void seed(PlayerRating stored) {
+        Player player = new Player();
+        player.rating = stored.getRating();
+        player.deviation = stored.getDeviation();
+        player.matches = stored.getMatches();
+        player.lastPlayedAt = stored.getLastPlayedAt();
+        players.put(stored.getMemberId(), player);
+    }
+
+    /**
+     * Ein beendetes Match werten
+     *
+     * Jede Paarung des Matches zählt als ein Ergebnis (Anteil gewonnener
+     * Legs); alle Beteiligten werden gegen die Werte vor dem Match gerechnet.
+     *
+     * @param legs entschiedene Legs des Matches
+     * @return ein Verlaufseintrag pro Spieler (leer, wenn keine Legs gewertet wurden)
+     */
+    List<RatingHistory> applyMatch(UUID matchId, ZonedDateTime playedAt, List<MatchLegRow> legs) {
+        // Spieler -> Gegner -> {gewonnen, verloren}
+        Map<UUID, Map<UUID, int[]>> results = new LinkedHashMap<>();
+        for (MatchLegRow leg : legs) {
+            if (leg.homeMemberId().equals(leg.awayMemberId())) {
+                continue;
+            }
+            boolean homeWon = leg.winnerMemberId().equals(leg.homeMemberId());
+            tally(results, leg.homeMemberId(), leg.awayMemberId(), homeWon);
+            tally(results, leg.awayMemberId(), leg.homeMemberId(), !homeWon);
+        }
+        if (results.isEmpty()) {
+            return List.of();
+        }
+
+        // Werte vor dem Match (RD inklusive Pause) einfrieren
+        Map<UUID, double[]> before = new HashMap<>();
+        for (UUID memberId : results.keySet()) {
+            Player player = players.computeIfAbsent(memberId, id -> new Player());
+            before.put(memberId, new double[]{player.rating,
+                    Glicko.inflate(player.deviation, player.lastPlayedAt, playedAt)});
+        }
+
+        List<RatingHistory> history = new ArrayList<>(results.size());
+        for (Map.Entry<UUID, Map<UUID, int[]>> entry : results.entrySet()) {
+            Map<UUID, int[]> opponents = entry.getValue();
+            double[] opponentRatings = new double[opponents.size()];
+            double[] opponentDeviations = new double[opponents.size()];
+            double[] scores = new double[opponents.size()];
+            int won = 0;
+            int lost = 0;
+            int i = 0;
+            for (Map.Entry<UUID, int[]> opponent : opponents.entrySet()) {
+                double[] opponentBefore = before.get(opponent.getKey());
+                int[] legsWonLost = opponent.getValue();
+                opponentRatings[i] = opponentBefore[0];
+                opponentDeviations[i] = opponentBefore[1];
+                scores[i] = (double) legsWonLost[0] / (legsWonLost[0] + legsWonLost[1]);
+                won += legsWonLost[0];
+                lost += legsWonLost[1];
+                i++;
+            }
+
+            Player player = players.get(entry.getKey());
+            double[] own = before.get(entry.getKey());
+            double[] next = Glicko.rate(own[0], own[1], opponentRatings, opponentDeviations, scores);
+            history.add(RatingHistory.builder()
+                    .memberId(entry.getKey())
+                    .orgId(orgId)
+                    .matchId(matchId)
+                    .ratingBefore(player.rating)
+                    .deviationBefore(player.deviation)
+                    .ratingAfter(next[0])
+                    .deviationAfter(next[1])
+                    .legsWon(won)
+                    .legsLost(lost)
+                    .playedAt(playedAt)
+                    .build());
+            player.rating = next[0];
+            player.deviation = next[1];
+            player.matches++;
+            player.lastPlayedAt = playedAt;
+        }
+        return history;
+    }
+
+    /**
+     * Aktuelle Ratings der Spieler als Entities (alle oder nur die angegebenen)
+     */
+    List<PlayerRating> ratings(Iterable<UUID> memberIds) {
+        List<PlayerRating> ratings = new ArrayList<>();
+        for (UUID memberId : memberIds) {
+            Player player = players.get(memberId);
+            if (player == null || player.matches == 0) {
+                continue;
+            }
+            ratings.add(PlayerRating.builder()
+                    .memberId(memberId)
+                    .orgId(orgId)
+                    .rating(player.rating)
+                    .deviation(player.deviation)
+                    .matches(player.matches)
+                    .lastPlayedAt(player.lastPlayedAt)
+                    .build());
+        }
+        return ratings;
+    }
+
+    List<PlayerRating> ratings() {
+        return ratings(players.keySet());
+    }
+
+    private static void tally(Map<UUID, Map<UUID, int[]>> results, UUID memberId, UUID opponentId, boolean won) {
+        int[] legs = results.computeIfAbsent(memberId, id -> new LinkedHashMap<>())
+                .computeIfAbsent(opponentId, id -> new int[2]);
+        legs[won ? 0 : 1]++;
+    }
+}
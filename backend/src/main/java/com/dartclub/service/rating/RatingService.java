@@ -0,0 +1,243 @@
+package com.dartclub.service.rating;
+
+import com.dartclub.exception.ResourceNotFoundException;
+import com.dartclub.model.MatchLegRow;
+import com.dartclub.model.dto.response.MatchupDTO;
+import com.dartclub.model.dto.response.RatingDTO;
+import com.dartclub.model.dto.response.RatingHistoryDTO;
+import com.dartclub.model.entity.Match;
+import com.dartclub.model.entity.Member;
+import com.dartclub.model.entity.PlayerRating;
+import com.dartclub.model.entity.RatingHistory;
+import com.dartclub.repository.LegRepository;
+import com.dartclub.repository.MemberRepository;
+import com.dartclub.repository.PlayerRatingRepository;
+import com.dartclub.repository.RatingHistoryRepository;
+import com.dartclub.service.StatisticsCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * RatingService - Glicko-Ratings der Spieler
+ *
+ * Ein Match wird beim Abschluss (MatchService.finalizeMatch) in derselben
+ * Transaktion gewertet: die Ratings der Beteiligten werden gesperrt, über
+ * {@link RatingReplay} fortgeschrieben und pro Spieler ein Verlaufseintrag
+ * geschrieben. Ein einzelnes Leg-Ende wertet nichts, damit ein Match nur
+ * einmal zählt. Wird ein beendetes Match wieder geöffnet, nimmt
+ * {@link #revertMatch} die Wertung zurück.
+ *
+ * Pairings und Handicaps lesen nur player_ratings, nie die Würfe.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RatingService {
+
+    /**
+     * Ab dieser RD gilt ein Rating als vorläufig
+     */
+    private static final double PROVISIONAL_DEVIATION = 110.0;
+
+    private final PlayerRatingRepository playerRatingRepository;
+    private final RatingHistoryRepository ratingHistoryRepository;
+    private final LegRepository legRepository;
+    private final MemberRepository memberRepository;
+    private final StatisticsCache statisticsCache;
+
+    /**
+     * Beendetes Match werten (läuft in der Transaktion von finalizeMatch)
+     */
+    @Transactional
+    public void recordMatch(Match match) {
+        List<MatchLegRow> legs = legRepository.findResultRowsByMatchId(match.getId());
+        if (legs.isEmpty()) {
+            return;
+        }
+        Set<UUID> memberIds = new LinkedHashSet<>();
+        for (MatchLegRow leg : legs) {
+            memberIds.add(leg.homeMemberId());
+            memberIds.add(leg.awayMemberId());
+        }
+
+        RatingReplay replay = new RatingReplay(match.getOrgId());
+        playerRatingRepository.findAllForUpdate(memberIds).forEach(replay::seed);
+        List<RatingHistory> history = replay.applyMatch(match.getId(), match.getFinishedAt(), legs);
+        if (history.isEmpty()) {
+            return;
+        }
+        playerRatingRepository.saveAll(replay.ratings(memberIds));
+        ratingHistoryRepository.saveAll(history);
+        invalidate(match, memberIds);
+
+        log.debug("Ratings: Match {} gewertet ({} Spieler)", match.getId(), history.size());
+    }
+
+    /**
+     * Wertung eines wieder geöffneten Matches zurücknehmen
+     *
+     * Das Rating wird nur zurückgesetzt, wenn das Match der letzte Eintrag
+     * des Spielers ist; sonst bleibt es stehen, bis die Neuberechnung der
+     * Organisation läuft. Die Verlaufseinträge werden in jedem Fall
+     * gelöscht, damit das Match beim erneuten Abschluss nicht doppelt zählt.
+     */
+    @Transactional
+    public void revertMatch(Match match) {
+        List<RatingHistory> entries = ratingHistoryRepository.findByMatchId(match.getId());
+        if (entries.isEmpty()) {
+            return;
+        }
+        Map<UUID, PlayerRating> ratings = playerRatingRepository.findAllForUpdate(
+                        entries.stream().map(RatingHistory::getMemberId).toList())
+                .stream()
+                .collect(Collectors.toMap(PlayerRating::getMemberId, Function.identity()));
+
+        List<RatingHistory> restorable = new ArrayList<>();
+        for (RatingHistory entry : entries) {
+            boolean latest = ratingHistoryRepository.findFirstByMemberIdOrderByPlayedAtDescCreatedAtDesc(entry.getMemberId())
+                    .map(last -> last.getId().equals(entry.getId()))
+                    .orElse(false);
+            if (latest && ratings.containsKey(entry.getMemberId())) {
+                restorable.add(entry);
+            } else {
+                log.warn("Ratings: Spieler {} hat nach Match {} weitergespielt, Rating bleibt bis zur Neuberechnung",
+                        entry.getMemberId(), match.getId());
+            }
+        }
+        ratingHistoryRepository.deleteAll(entries);
+        ratingHistoryRepository.flush();
+
+        for (RatingHistory entry : restorable) {
+            PlayerRating rating = ratings.get(entry.getMemberId());
+            rating.setRating(entry.getRatingBefore());
+            rating.setDeviation(entry.getDeviationBefore());
+            rating.setMatches(Math.max(0, rating.getMatches() - 1));
+            rating.setLastPlayedAt(ratingHistoryRepository
+                    .findFirstByMemberIdOrderByPlayedAtDescCreatedAtDesc(entry.getMemberId())
+                    .map(RatingHistory::getPlayedAt)
+                    .orElse(null));
+        }
+        playerRatingRepository.saveAll(ratings.values());
+        invalidate(match, ratings.keySet());
+
+        log.info("Ratings: Wertung von Match {} zurückgenommen ({} von {} Spielern zurückgesetzt)",
+                match.getId(), restorable.size(), entries.size());
+    }
+
+    /**
+     * Rating-Liste der Organisation
+     */
+    public List<RatingDTO> getRatings(UUID orgId) {
+        return statisticsCache.get(new StatisticsCache.Key(orgId, null, StatisticsCache.RATINGS, "all"),
+                () -> loadRatings(orgId));
+    }
+
+    private List<RatingDTO> loadRatings(UUID orgId) {
+        List<PlayerRating> ratings = playerRatingRepository.findByOrgIdOrderByRatingDesc(orgId);
+        Map<UUID, Member> members = memberRepository.findAllById(ratings.stream().map(PlayerRating::getMemberId).toList())
+                .stream()
+                .collect(Collectors.toMap(Member::getId, Function.identity()));
+
+        ZonedDateTime now = ZonedDateTime.now();
+        List<RatingDTO> result = new ArrayList<>(ratings.size());
+        for (PlayerRating rating : ratings) {
+            Member member = members.get(rating.getMemberId());
+            double deviation = Glicko.inflate(rating.getDeviation(), rating.getLastPlayedAt(), now);
+            result.add(RatingDTO.builder()
+                    .rank(result.size() + 1)
+                    .memberId(rating.getMemberId())
+                    .name(member != null ? member.getFirstName() + " " + member.getLastName() : null)
+                    .rating(round(rating.getRating()))
+                    .deviation(round(deviation))
+                    .matches(rating.getMatches())
+                    .provisional(deviation > PROVISIONAL_DEVIATION)
+                    .lastPlayedAt(rating.getLastPlayedAt())
+                    .build());
+        }
+        return result;
+    }
+
+    /**
+     * Rating-Verlauf eines Spielers, neuestes Match zuerst
+     */
+    public List<RatingHistoryDTO> getHistory(UUID memberId, UUID orgId) {
+        return statisticsCache.get(new StatisticsCache.Key(orgId, memberId, StatisticsCache.RATING_HISTORY, "all"),
+                () -> loadHistory(memberId, orgId));
+    }
+
+    private List<RatingHistoryDTO> loadHistory(UUID memberId, UUID orgId) {
+        memberRepository.findByIdAndOrgId(memberId, orgId)
+                .orElseThrow(() -> new ResourceNotFoundException("Mitglied nicht gefunden"));
+        return ratingHistoryRepository.findByMemberIdOrderByPlayedAtDescCreatedAtDesc(memberId).stream()
+                .map(entry -> RatingHistoryDTO.builder()
+                        .matchId(entry.getMatchId())
+                        .playedAt(entry.getPlayedAt())
+                        .ratingBefore(round(entry.getRatingBefore()))
+                        .ratingAfter(round(entry.getRatingAfter()))
+                        .ratingChange(round(entry.getRatingAfter() - entry.getRatingBefore()))
+                        .deviationAfter(round(entry.getDeviationAfter()))
+                        .legsWon(entry.getLegsWon())
+                        .legsLost(entry.getLegsLost())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Erwartetes Ergebnis einer Paarung (Grundlage für Pairings und Handicaps)
+     */
+    @Transactional(readOnly = true)
+    public MatchupDTO getMatchup(UUID orgId, UUID homeMemberId, UUID awayMemberId) {
+        double[] home = currentRating(orgId, homeMemberId);
+        double[] away = currentRating(orgId, awayMemberId);
+        double combinedDeviation = Math.sqrt(home[1] * home[1] + away[1] * away[1]);
+        double homeExpected = Glicko.expected(home[0], away[0], combinedDeviation);
+        return MatchupDTO.builder()
+                .homeMemberId(homeMemberId)
+                .awayMemberId(awayMemberId)
+                .homeRating(round(home[0]))
+                .awayRating(round(away[0]))
+                .homeExpectedScore(Math.round(homeExpected * 1000) / 1000.0)
+                .awayExpectedScore(Math.round((1.0 - homeExpected) * 1000) / 1000.0)
+                .build();
+    }
+
+    /**
+     * {rating, RD heute} eines Spielers, Startwerte ohne gewertetes Match
+     */
+    private double[] currentRating(UUID orgId, UUID memberId) {
+        memberRepository.findByIdAndOrgId(memberId, orgId)
+                .orElseThrow(() -> new ResourceNotFoundException("Mitglied nicht gefunden"));
+        return playerRatingRepository.findById(memberId)
+                .map(rating -> new double[]{rating.getRating(),
+                        Glicko.inflate(rating.getDeviation(), rating.getLastPlayedAt(), ZonedDateTime.now())})
+                .orElseGet(() -> new double[]{Glicko.INITIAL_RATING, Glicko.INITIAL_DEVIATION});
+    }
+
+    /**
+     * Gecachte Antworten der Spieler und die Rating-Liste der Organisation verwerfen
+     */
+    private void invalidate(Match match, Collection<UUID> memberIds) {
+        List<UUID> scopes = new ArrayList<>(memberIds);
+        scopes.add(match.getOrgId());
+        statisticsCache.invalidate(scopes);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
@@ -0,0 +1,80 @@
+package com.dartclub.service.rules;
+
+import com.dartclub.model.entity.Leg;
+import com.dartclub.model.enums.GameVariant;
+
+/**
+ * AroundTheClockRules - 1 bis 20 der Reihe nach, zum Schluss Bull
+ *
+ * score = offene Ziele (21 zu Beginn, 0 = gewonnen). Jeder Treffer auf das
+ * aktuelle Ziel (egal ob Single, Double oder Triple) schaltet ein Ziel
+ * weiter. Kein Bust.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+public final class AroundTheClockRules implements GameRules {
+
+    public static final int TARGETS = 21;
+
+    @Override
+    public GameVariant getVariant() {
+        return GameVariant.AROUND_THE_CLOCK;
+    }
+
+    @Override
+    public RuleState newState(Leg leg) {
+        return new RuleState(TARGETS, 0, 0);
+    }
+
+    /**
+     * Aktuelles Ziel einer Seite (1-20, 25 = Bull, 0 = fertig)
+     */
+    public static int currentTarget(RuleState state, int side) {
+        int target = TARGETS + 1 - state.score[side];
+        if (target > TARGETS) {
+            return 0;
+        }
+        return target == TARGETS ? 25 : target;
+    }
+
+    @Override
+    public void beginVisit(RuleState state, int side) {
+        state.visitStart[side] = state.score[side];
+        state.visitPoints[side] = 0;
+    }
+
+    @Override
+    public int applyDart(RuleState state, int side, int multiplier, int segment) {
+        if (multiplier == 0 || segment == 0 || segment != currentTarget(state, side)) {
+            return CONTINUE;
+        }
+        state.score[side]--;
+        state.visitPoints[side]++;
+        return state.score[side] == 0 ? WIN : CONTINUE;
+    }
+
+    @Override
+    public void endVisit(RuleState state, int side, int result) {
+        // Kein Bust
+    }
+
+    @Override
+    public void undoVisit(RuleState state, int side, int points, boolean bust) {
+        state.score[side] += points;
+    }
+
+    @Override
+    public boolean isRestorable() {
+        return true;
+    }
+
+    @Override
+    public void replayVisit(RuleState state, int side, int points, boolean bust) {
+        state.score[side] -= points;
+    }
+
+    @Override
+    public void restore(RuleState state, int side, int score) {
+        state.score[side] = score;
+    }
+}
@@ -0,0 +1,120 @@
+package com.dartclub.service.rules;
+
+import com.dartclub.model.entity.Leg;
+import com.dartclub.model.enums.GameVariant;
+
+/**
+ * CricketRules - Standard-Cricket auf 15-20 und Bull
+ *
+ * Ziele 0-5 = 15-20, 6 = Bull. Drei Marks schließen ein Ziel, weitere
+ * Treffer zählen Punkte, solange der Gegner das Ziel noch offen hat.
+ * score = Punkte. Gewonnen hat, wer alle Ziele geschlossen hat und nicht
+ * weniger Punkte als der Gegner hat. Kein Bust.
+ *
+ * Vor jeder Aufnahme werden Marks (2 Bit pro Ziel) und Punkte der Seite
+ * auf den Undo-Stack gelegt, damit Rücknahmen ohne Neuberechnung gehen.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+public final class CricketRules implements GameRules {
+
+    public static final int TARGETS = 7;
+    private static final int BULL_TARGET = 6;
+
+    @Override
+    public GameVariant getVariant() {
+        return GameVariant.CRICKET;
+    }
+
+    @Override
+    public RuleState newState(Leg leg) {
+        return new RuleState(0, 0, TARGETS);
+    }
+
+    /**
+     * Ziel-Index eines Segments (-1 wenn kein Cricket-Ziel)
+     */
+    public static int targetOf(int segment) {
+        if (segment == 25) return BULL_TARGET;
+        if (segment >= 15 && segment <= 20) return segment - 15;
+        return -1;
+    }
+
+    @Override
+    public void beginVisit(RuleState state, int side) {
+        int packed = 0;
+        int base = side * TARGETS;
+        for (int t = 0; t < TARGETS; t++) {
+            packed |= state.marks[base + t] << (t * 2);
+        }
+        state.push(side, packed, state.score[side]);
+        state.visitStart[side] = state.score[side];
+        state.visitPoints[side] = 0;
+    }
+
+    @Override
+    public int applyDart(RuleState state, int side, int multiplier, int segment) {
+        int target = targetOf(segment);
+        if (multiplier == 0 || target < 0) {
+            return CONTINUE;
+        }
+
+        int own = side * TARGETS + target;
+        int opponent = (1 - side) * TARGETS + target;
+        int value = target == BULL_TARGET ? 25 : segment;
+        for (int hit = 0; hit < multiplier; hit++) {
+            if (state.marks[own] < 3) {
+                state.marks[own]++;
+            } else if (state.marks[opponent] < 3) {
+                state.score[side] += value;
+                state.visitPoints[side] += value;
+            }
+        }
+        return hasWon(state, side) ? WIN : CONTINUE;
+    }
+
+    @Override
+    public void endVisit(RuleState state, int side, int result) {
+        // Kein Bust
+    }
+
+    @Override
+    public void undoVisit(RuleState state, int side, int points, boolean bust) {
+        int size = state.undoSize[side] - 2;
+        if (size < 0) {
+            throw new IllegalStateException("Keine Aufnahme zum Zurücknehmen vorhanden");
+        }
+        int packed = state.undoStack[side][size];
+        int base = side * TARGETS;
+        for (int t = 0; t < TARGETS; t++) {
+            state.marks[base + t] = (packed >>> (t * 2)) & 3;
+        }
+        state.score[side] = state.undoStack[side][size + 1];
+        state.undoSize[side] = size;
+    }
+
+    @Override
+    public boolean isRestorable() {
+        return false;
+    }
+
+    @Override
+    public void replayVisit(RuleState state, int side, int points, boolean bust) {
+        throw new UnsupportedOperationException("Cricket kann nicht aus Punkten nachgespielt werden");
+    }
+
+    @Override
+    public void restore(RuleState state, int side, int score) {
+        throw new UnsupportedOperationException("Cricket kann nicht aus Punkten wiederhergestellt werden");
+    }
+
+    private static boolean hasWon(RuleState state, int side) {
+        int base = side * TARGETS;
+        for (int t = 0; t < TARGETS; t++) {
+            if (state.marks[base + t] < 3) {
+                return false;
+            }
+        }
+        return state.score[side] >= state.score[1 - side];
+    }
+}
@@ -0,0 +1,104 @@
+package com.dartclub.service.rules;
+
+import com.dartclub.model.PackedVisit;
+import com.dartclub.model.entity.Leg;
+import com.dartclub.model.enums.GameVariant;
+
+/**
+ * GameRules - SPI für Spielvarianten
+ *
+ * Implementierungen sind zustandslos; der Spielstand eines Legs liegt im
+ * {@link RuleState}, den {@link #newState(Leg)} einmal pro Leg anlegt.
+ * applyDart/applyVisit arbeiten nur auf primitiven Werten und Arrays und
+ * allozieren nichts.
+ *
+ * Ablauf einer Aufnahme: beginVisit, bis zu 3x applyDart (Abbruch bei
+ * BUST oder WIN), endVisit. {@link #applyVisit} fasst das zusammen.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+public interface GameRules {
+
+    // Ergebnis eines Darts bzw. einer Aufnahme
+    int CONTINUE = 0;
+    int BUST = 1;
+    int WIN = 2;
+
+    GameVariant getVariant();
+
+    /**
+     * Spielstand für ein neues Leg (Einstellungen aus dem Leg)
+     */
+    RuleState newState(Leg leg);
+
+    /**
+     * Neue Aufnahme einer Seite beginnen
+     */
+    void beginVisit(RuleState state, int side);
+
+    /**
+     * Einzelnen Dart werten
+     *
+     * @param multiplier 0 (Miss), 1, 2, 3
+     * @param segment 1-20 oder 25 (Bull), 0 bei Miss
+     * @return CONTINUE, BUST oder WIN
+     */
+    int applyDart(RuleState state, int side, int multiplier, int segment);
+
+    /**
+     * Aufnahme abschließen (bei BUST wird der Stand vom Aufnahme-Beginn wiederhergestellt)
+     */
+    void endVisit(RuleState state, int side, int result);
+
+    /**
+     * Komplette Aufnahme (3 Darts) werten
+     *
+     * @return CONTINUE, BUST oder WIN
+     */
+    default int applyVisit(RuleState state, int side,
+                           int multiplier1, int segment1,
+                           int multiplier2, int segment2,
+                           int multiplier3, int segment3) {
+        beginVisit(state, side);
+        int result = applyDart(state, side, multiplier1, segment1);
+        if (result == CONTINUE) {
+            result = applyDart(state, side, multiplier2, segment2);
+        }
+        if (result == CONTINUE) {
+            result = applyDart(state, side, multiplier3, segment3);
+        }
+        endVisit(state, side, result);
+        return result;
+    }
+
+    /**
+     * Letzte Aufnahme einer Seite zurücknehmen
+     *
+     * @param points gewertete Punkte/Treffer der Aufnahme
+     * @param bust Aufnahme war ein Bust
+     */
+    void undoVisit(RuleState state, int side, int points, boolean bust);
+
+    /**
+     * Lässt sich der Stand einer Seite allein aus score/Punkten herstellen?
+     * (Voraussetzung für den Aufbau aus Leg-Snapshots)
+     */
+    boolean isRestorable();
+
+    /**
+     * Aufnahme nur aus gewerteten Punkten nachspielen (nur wenn isRestorable)
+     */
+    void replayVisit(RuleState state, int side, int points, boolean bust);
+
+    /**
+     * Stand einer Seite direkt setzen (nur wenn isRestorable)
+     */
+    void restore(RuleState state, int side, int score);
+
+    /**
+     * Wert eines Darts (Bull: 25/50)
+     */
+    static int dartValue(int multiplier, int segment) {
+        return PackedVisit.dartScore(multiplier, segment);
+    }
+}
@@ -0,0 +1,43 @@
+package com.dartclub.service.rules;
+
+import com.dartclub.model.entity.Leg;
+import com.dartclub.model.enums.GameVariant;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * GameRulesRegistry - Wählt die Regeln anhand der gespeicherten Spielvariante
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Component
+public class GameRulesRegistry {
+
+    private final Map<GameVariant, GameRules> rules = new EnumMap<>(GameVariant.class);
+
+    public GameRulesRegistry() {
+        register(new X01Rules());
+        register(new CricketRules());
+        register(new AroundTheClockRules());
+    }
+
+    private void register(GameRules gameRules) {
+        rules.put(gameRules.getVariant(), gameRules);
+    }
+
+    /**
+     * Regeln für eine Variante (null = X01)
+     */
+    public GameRules forVariant(GameVariant variant) {
+        return rules.get(variant != null ? variant : GameVariant.X01);
+    }
+
+    /**
+     * Regeln für ein Leg
+     */
+    public GameRules forLeg(Leg leg) {
+        return forVariant(leg.getGameVariant());
+    }
+}
@@ -0,0 +1,91 @@
+package com.dartclub.service.rules;
+
+import java.util.Arrays;
+
+/**
+ * RuleState - Spielstand eines Legs für eine GameRules-Implementierung
+ *
+ * Nur primitive Arrays (Index = Seite, 0 = Heim, 1 = Auswärts), einmal pro
+ * Leg angelegt. Die Regeln schreiben den Zustand pro Dart ohne weitere
+ * Allokationen fort; nur der Undo-Stack (Cricket) wächst selten per
+ * Arrays.copyOf.
+ *
+ * Zugriffe laufen unter dem Lock des zugehörigen LiveLegState.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+public final class RuleState {
+
+    // Optionen (Bitmaske)
+    public static final int DOUBLE_IN = 1;
+    public static final int DOUBLE_OUT = 2;
+    public static final int MASTER_OUT = 4;
+
+    final int startingScore;
+    final int options;
+
+    // X01: Restpunkte, Cricket: Punkte, Around the Clock: offene Ziele
+    final int[] score = new int[2];
+
+    // Stand zu Beginn der laufenden Aufnahme (für Bust-Rollback)
+    final int[] visitStart = new int[2];
+
+    // In der laufenden bzw. letzten Aufnahme gewertete Punkte/Treffer
+    final int[] visitPoints = new int[2];
+
+    // Cricket: Marks pro Seite und Ziel (Index side * targets + target)
+    final int[] marks;
+
+    // Cricket: Stand vor jeder Aufnahme (2 ints pro Aufnahme) für Undo
+    int[][] undoStack;
+    final int[] undoSize = new int[2];
+
+    RuleState(int startingScore, int options, int markTargets) {
+        this.startingScore = startingScore;
+        this.options = options;
+        this.marks = new int[2 * markTargets];
+        this.undoStack = markTargets > 0 ? new int[][] {new int[32], new int[32]} : null;
+        this.score[0] = startingScore;
+        this.score[1] = startingScore;
+    }
+
+    public int getScore(int side) {
+        return score[side];
+    }
+
+    public int getVisitPoints(int side) {
+        return visitPoints[side];
+    }
+
+    public int getStartingScore() {
+        return startingScore;
+    }
+
+    public boolean hasOption(int option) {
+        return (options & option) != 0;
+    }
+
+    /**
+     * Anzahl Marks einer Seite auf ein Ziel (nur Cricket)
+     */
+    public int getMarks(int side, int target) {
+        return marks[side * (marks.length / 2) + target];
+    }
+
+    /**
+     * Anzahl der Marks-Ziele pro Seite (0 bei Varianten ohne Marks)
+     */
+    public int getMarkTargets() {
+        return marks.length / 2;
+    }
+
+    void push(int side, int a, int b) {
+        int size = undoSize[side];
+        if (size + 2 > undoStack[side].length) {
+            undoStack[side] = Arrays.copyOf(undoStack[side], undoStack[side].length * 2);
+        }
+        undoStack[side][size] = a;
+        undoStack[side][size + 1] = b;
+        undoSize[side] = size + 2;
+    }
+}
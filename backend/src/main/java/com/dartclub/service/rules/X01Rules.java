@@ -0,0 +1,114 @@
+package com.dartclub.service.rules;
+
+import com.dartclub.model.entity.Leg;
+import com.dartclub.model.enums.GameVariant;
+
+/**
+ * X01Rules - 301/501/701 mit Double-In, Double-Out oder Master-Out
+ *
+ * score = Restpunkte. Double-In: Darts zählen erst ab dem ersten Double;
+ * eine Seite ist eröffnet, sobald ihr Rest unter den Startpunkten liegt.
+ * Double-Out: Checkout nur mit Double (inkl. Bull's Eye), Master-Out
+ * zusätzlich mit Triple. Bust bei Rest < 0, Rest 1 (Double-/Master-Out)
+ * oder Rest 0 ohne passenden letzten Dart.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+public final class X01Rules implements GameRules {
+
+    @Override
+    public GameVariant getVariant() {
+        return GameVariant.X01;
+    }
+
+    @Override
+    public RuleState newState(Leg leg) {
+        int options = 0;
+        if (leg.isDoubleIn()) options |= RuleState.DOUBLE_IN;
+        if (leg.isDoubleOut()) options |= RuleState.DOUBLE_OUT;
+        if (leg.isMasterOut()) options |= RuleState.MASTER_OUT;
+        return new RuleState(leg.getStartingScore(), options, 0);
+    }
+
+    @Override
+    public void beginVisit(RuleState state, int side) {
+        state.visitStart[side] = state.score[side];
+        state.visitPoints[side] = 0;
+    }
+
+    @Override
+    public int applyDart(RuleState state, int side, int multiplier, int segment) {
+        int value = GameRules.dartValue(multiplier, segment);
+        if (value == 0) {
+            return CONTINUE;
+        }
+        if (state.hasOption(RuleState.DOUBLE_IN) && state.score[side] == state.startingScore && multiplier != 2) {
+            // Noch nicht eröffnet - Dart zählt nicht
+            return CONTINUE;
+        }
+
+        int rest = state.score[side] - value;
+        if (rest < 0) {
+            return BUST;
+        }
+        if (rest == 0) {
+            if (!finishAllowed(state, multiplier)) {
+                return BUST;
+            }
+            state.score[side] = 0;
+            state.visitPoints[side] += value;
+            return WIN;
+        }
+        if (rest == 1 && (state.hasOption(RuleState.DOUBLE_OUT) || state.hasOption(RuleState.MASTER_OUT))) {
+            return BUST;
+        }
+        state.score[side] = rest;
+        state.visitPoints[side] += value;
+        return CONTINUE;
+    }
+
+    @Override
+    public void endVisit(RuleState state, int side, int result) {
+        if (result == BUST) {
+            state.score[side] = state.visitStart[side];
+            state.visitPoints[side] = 0;
+        }
+    }
+
+    @Override
+    public void undoVisit(RuleState state, int side, int points, boolean bust) {
+        if (!bust) {
+            state.score[side] += points;
+        }
+    }
+
+    @Override
+    public boolean isRestorable() {
+        return true;
+    }
+
+    @Override
+    public void replayVisit(RuleState state, int side, int points, boolean bust) {
+        if (!bust) {
+            state.score[side] -= points;
+        }
+    }
+
+    @Override
+    public void restore(RuleState state, int side, int score) {
+        state.score[side] = score;
+    }
+
+    /**
+     * Darf mit diesem Dart gecheckt werden?
+     */
+    private static boolean finishAllowed(RuleState state, int multiplier) {
+        if (state.hasOption(RuleState.MASTER_OUT)) {
+            return multiplier >= 2;
+        }
+        if (state.hasOption(RuleState.DOUBLE_OUT)) {
+            return multiplier == 2;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,273 @@
+package com.dartclub.service.writebehind;
+
+import com.dartclub.model.entity.Throw;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+/**
+ * ThrowAppendLog - Memory-mapped Ringpuffer für noch nicht gespeicherte Würfe
+ *
+ * Aufbau der Datei:
+ * - Header (64 Byte): Magic, Version, Kapazität, writeSeq, commitSeq
+ * - Kapazität x Record (96 Byte, feste Größe, Slot = seq % Kapazität)
+ *
+ * Records zwischen commitSeq und writeSeq sind angenommen, aber noch nicht
+ * in der Datenbank. Jeder Record trägt seine Sequenznummer und eine
+ * CRC32C; beim Öffnen wird ein angerissenes Ende abgeschnitten. Die Daten
+ * liegen nach append im Page-Cache und überleben damit einen Absturz des
+ * Prozesses; gegen Stromausfall hilft nur {@link #force()}.
+ *
+ * Thread-sicher (alle Methoden synchronized).
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Slf4j
+public final class ThrowAppendLog implements Closeable {
+
+    static final int RECORD_SIZE = 96;
+    private static final int HEADER_SIZE = 64;
+    private static final int MAGIC = 0x44415254; // "DART"
+    private static final int VERSION = 1;
+
+    // Header-Offsets
+    private static final int H_MAGIC = 0;
+    private static final int H_VERSION = 4;
+    private static final int H_CAPACITY = 8;
+    private static final int H_WRITE_SEQ = 16;
+    private static final int H_COMMIT_SEQ = 24;
+
+    // Record-Offsets
+    private static final int R_SEQ = 0;
+    private static final int R_ID = 8;
+    private static final int R_LEG_ID = 24;
+    private static final int R_MEMBER_ID = 40;
+    private static final int R_THROW_NO = 56;
+    private static final int R_DARTS = 60; // 3 x (Multiplier byte, Segment byte, Score short)
+    private static final int R_THROW_TOTAL = 72;
+    private static final int R_REMAINING = 76;
+    private static final int R_FLAGS = 80;
+    private static final int R_CREATED_AT = 81;
+    private static final int R_CRC = RECORD_SIZE - 4;
+
+    private static final int FLAG_BUST = 1;
+    private static final int FLAG_CHECKOUT = 2;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private long writeSeq;
+    private long commitSeq;
+
+    private ThrowAppendLog(FileChannel channel, MappedByteBuffer buffer, int capacity) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Log öffnen oder anlegen (eine bestehende Datei behält ihre Kapazität)
+     */
+    public static ThrowAppendLog open(Path path, int capacity) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        boolean existing = false;
+        if (channel.size() >= HEADER_SIZE) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            channel.read(header, 0);
+            if (header.getInt(H_MAGIC) == MAGIC) {
+                if (header.getInt(H_VERSION) != VERSION) {
+                    channel.close();
+                    throw new IllegalStateException("Write-Behind-Log " + path + " hat unbekannte Version");
+                }
+                int stored = header.getInt(H_CAPACITY);
+                if (stored != capacity) {
+                    log.warn("Write-Behind-Log {} behält Kapazität {} (konfiguriert: {})", path, stored, capacity);
+                }
+                capacity = stored;
+                existing = true;
+            }
+        }
+
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                HEADER_SIZE + (long) capacity * RECORD_SIZE);
+        ThrowAppendLog appendLog = new ThrowAppendLog(channel, buffer, capacity);
+        if (existing) {
+            appendLog.recover();
+        } else {
+            buffer.putInt(H_MAGIC, MAGIC);
+            buffer.putInt(H_VERSION, VERSION);
+            buffer.putInt(H_CAPACITY, capacity);
+            buffer.putLong(H_WRITE_SEQ, 0);
+            buffer.putLong(H_COMMIT_SEQ, 0);
+            buffer.force();
+        }
+        return appendLog;
+    }
+
+    /**
+     * Zähler aus dem Header lesen und angerissene Records am Ende verwerfen
+     */
+    private void recover() {
+        commitSeq = buffer.getLong(H_COMMIT_SEQ);
+        long stored = buffer.getLong(H_WRITE_SEQ);
+        long seq = commitSeq;
+        while (seq < stored && isValid(seq)) {
+            seq++;
+        }
+        if (seq < stored) {
+            log.warn("Write-Behind-Log: {} beschädigte Records ab seq {} verworfen", stored - seq, seq);
+            buffer.putLong(H_WRITE_SEQ, seq);
+        }
+        writeSeq = seq;
+    }
+
+    public synchronized long getWriteSeq() {
+        return writeSeq;
+    }
+
+    public synchronized long getCommitSeq() {
+        return commitSeq;
+    }
+
+    public synchronized boolean isFull() {
+        return writeSeq - commitSeq >= capacity;
+    }
+
+    /**
+     * Wurf anhängen (id und createdAt müssen gesetzt sein)
+     *
+     * @return Sequenznummer nach dem Anhängen (Wurf ist gespeichert, sobald commitSeq sie erreicht)
+     */
+    public synchronized long append(Throw throwData) {
+        if (writeSeq - commitSeq >= capacity) {
+            throw new IllegalStateException("Write-Behind-Log ist voll");
+        }
+        int pos = position(writeSeq);
+        buffer.putLong(pos + R_SEQ, writeSeq);
+        putUuid(pos + R_ID, throwData.getId());
+        putUuid(pos + R_LEG_ID, throwData.getLegId());
+        putUuid(pos + R_MEMBER_ID, throwData.getMemberId());
+        buffer.putInt(pos + R_THROW_NO, throwData.getThrowNo());
+        putDart(pos + R_DARTS, throwData.getDart1Multiplier(), throwData.getDart1Segment(), throwData.getDart1Score());
+        putDart(pos + R_DARTS + 4, throwData.getDart2Multiplier(), throwData.getDart2Segment(), throwData.getDart2Score());
+        putDart(pos + R_DARTS + 8, throwData.getDart3Multiplier(), throwData.getDart3Segment(), throwData.getDart3Score());
+        buffer.putInt(pos + R_THROW_TOTAL, valueOf(throwData.getThrowTotal()));
+        buffer.putInt(pos + R_REMAINING, valueOf(throwData.getRemainingScore()));
+        int flags = (Boolean.TRUE.equals(throwData.getIsBust()) ? FLAG_BUST : 0)
+                | (Boolean.TRUE.equals(throwData.getIsCheckout()) ? FLAG_CHECKOUT : 0);
+        buffer.put(pos + R_FLAGS, (byte) flags);
+        buffer.putLong(pos + R_CREATED_AT, throwData.getCreatedAt().toInstant().toEpochMilli());
+        buffer.putInt(pos + R_CRC, crc(pos));
+
+        writeSeq++;
+        buffer.putLong(H_WRITE_SEQ, writeSeq);
+        return writeSeq;
+    }
+
+    /**
+     * Records [from, to) lesen
+     */
+    public synchronized List<Throw> read(long from, long to) {
+        List<Throw> result = new ArrayList<>((int) (to - from));
+        for (long seq = from; seq < to; seq++) {
+            int pos = position(seq);
+            Throw throwData = Throw.builder()
+                    .id(getUuid(pos + R_ID))
+                    .legId(getUuid(pos + R_LEG_ID))
+                    .memberId(getUuid(pos + R_MEMBER_ID))
+                    .throwNo(buffer.getInt(pos + R_THROW_NO))
+                    .dart1Multiplier((int) buffer.get(pos + R_DARTS))
+                    .dart1Segment((int) buffer.get(pos + R_DARTS + 1))
+                    .dart1Score((int) buffer.getShort(pos + R_DARTS + 2))
+                    .dart2Multiplier((int) buffer.get(pos + R_DARTS + 4))
+                    .dart2Segment((int) buffer.get(pos + R_DARTS + 5))
+                    .dart2Score((int) buffer.getShort(pos + R_DARTS + 6))
+                    .dart3Multiplier((int) buffer.get(pos + R_DARTS + 8))
+                    .dart3Segment((int) buffer.get(pos + R_DARTS + 9))
+                    .dart3Score((int) buffer.getShort(pos + R_DARTS + 10))
+                    .throwTotal(buffer.getInt(pos + R_THROW_TOTAL))
+                    .remainingScore(buffer.getInt(pos + R_REMAINING))
+                    .isBust((buffer.get(pos + R_FLAGS) & FLAG_BUST) != 0)
+                    .isCheckout((buffer.get(pos + R_FLAGS) & FLAG_CHECKOUT) != 0)
+                    .createdAt(ZonedDateTime.ofInstant(
+                            Instant.ofEpochMilli(buffer.getLong(pos + R_CREATED_AT)), ZoneId.systemDefault()))
+                    .build();
+            result.add(throwData);
+        }
+        return result;
+    }
+
+    /**
+     * Records bis seq (exklusiv) sind in der Datenbank
+     */
+    public synchronized void commit(long seq) {
+        commitSeq = seq;
+        buffer.putLong(H_COMMIT_SEQ, seq);
+    }
+
+    /**
+     * Änderungen auf die Platte schreiben (fsync)
+     */
+    public synchronized void force() {
+        buffer.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private int position(long seq) {
+        return HEADER_SIZE + (int) (seq % capacity) * RECORD_SIZE;
+    }
+
+    private boolean isValid(long seq) {
+        int pos = position(seq);
+        return buffer.getLong(pos + R_SEQ) == seq && buffer.getInt(pos + R_CRC) == crc(pos);
+    }
+
+    private int crc(int pos) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(pos, R_CRC));
+        return (int) crc.getValue();
+    }
+
+    private void putUuid(int pos, UUID uuid) {
+        buffer.putLong(pos, uuid.getMostSignificantBits());
+        buffer.putLong(pos + 8, uuid.getLeastSignificantBits());
+    }
+
+    private UUID getUuid(int pos) {
+        return new UUID(buffer.getLong(pos), buffer.getLong(pos + 8));
+    }
+
+    private void putDart(int pos, Integer multiplier, Integer segment, Integer score) {
+        buffer.put(pos, (byte) valueOf(multiplier));
+        buffer.put(pos + 1, (byte) valueOf(segment));
+        buffer.putShort(pos + 2, (short) valueOf(score));
+    }
+
+    private static int valueOf(Integer value) {
+        return value != null ? value : 0;
+    }
+}
@@ -0,0 +1,261 @@
+package com.dartclub.service.writebehind;
+
+import com.dartclub.model.entity.Throw;
+import com.dartclub.repository.ThrowBatchRepository;
+import com.dartclub.repository.ThrowRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * ThrowWriteBehindService - Speichern von Aufnahmen, optional per Write-Behind
+ *
+ * Ohne dartclub.write-behind.enabled wird jede Aufnahme direkt über das
+ * ThrowRepository gespeichert. Mit Write-Behind landet sie im
+ * {@link ThrowAppendLog} (nach dem Commit der laufenden Transaktion) und
+ * der Request kehrt sofort zurück; ein Hintergrund-Thread schreibt die
+ * angesammelten Würfe gruppenweise per JDBC-Batch in eine Transaktion.
+ * Beim Start werden noch offene Records aus dem Log nachgeschrieben
+ * (idempotent über die Wurf-ID).
+ *
+ * Jeder Record wird standardmäßig vor der Rückkehr per fsync auf die
+ * Platte gebracht (dartclub.write-behind.fsync). Nur die throws-Zeile
+ * läuft über das Log; Leg-Events und Spielerstatistik schreiben die
+ * Aufrufer weiterhin synchron in die Datenbank.
+ *
+ * Wer Würfe aus der Datenbank liest oder ändert (State-Aufbau,
+ * Korrekturen), ruft vorher {@link #sync()} auf.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@Slf4j
+@Service
+public class ThrowWriteBehindService {
+
+    private static final long BACKOFF_MS = 1000;
+
+    private final ThrowRepository throwRepository;
+    private final ThrowBatchRepository throwBatchRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${dartclub.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${dartclub.write-behind.path:data/throws.log}")
+    private String path;
+
+    @Value("${dartclub.write-behind.capacity:65536}")
+    private int capacity;
+
+    @Value("${dartclub.write-behind.batch-size:500}")
+    private int batchSize;
+
+    @Value("${dartclub.write-behind.flush-interval-ms:20}")
+    private long flushIntervalMs;
+
+    @Value("${dartclub.write-behind.sync-timeout-ms:10000}")
+    private long syncTimeoutMs;
+
+    @Value("${dartclub.write-behind.fsync:true}")
+    private boolean fsync;
+
+    private final Object lock = new Object();
+    private ThrowAppendLog appendLog;
+    private Thread writer;
+    private volatile boolean running;
+
+    public ThrowWriteBehindService(ThrowRepository throwRepository, ThrowBatchRepository throwBatchRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.throwRepository = throwRepository;
+        this.throwBatchRepository = throwBatchRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        appendLog = ThrowAppendLog.open(Path.of(path), capacity);
+        long pending = appendLog.getWriteSeq() - appendLog.getCommitSeq();
+        if (pending > 0) {
+            log.info("Write-Behind-Log {}: {} offene Würfe werden nachgeschrieben", path, pending);
+        }
+        running = true;
+        writer = new Thread(this::runWriter, "throw-write-behind");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Write-Behind für Würfe aktiv ({}, Kapazität {})", path, capacity);
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        running = false;
+        synchronized (lock) {
+            lock.notifyAll();
+        }
+        try {
+            writer.join(syncTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        appendLog.close();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Aufnahme speichern (direkt oder per Write-Behind)
+     *
+     * Im Write-Behind-Modus bekommt der Wurf hier ID und createdAt und ist
+     * erst nach dem nächsten Gruppen-Commit in der Datenbank.
+     */
+    public Throw save(Throw throwData) {
+        if (!enabled) {
+            return throwRepository.save(throwData);
+        }
+        if (throwData.getId() == null) {
+            throwData.setId(UUID.randomUUID());
+        }
+        throwData.setCreatedAt(ZonedDateTime.now());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    append(throwData);
+                }
+            });
+        } else {
+            append(throwData);
+        }
+        return throwData;
+    }
+
+    /**
+     * Wartet, bis alle bisher angenommenen Würfe in der Datenbank sind
+     */
+    public void sync() {
+        if (!enabled) {
+            return;
+        }
+        long target = appendLog.getWriteSeq();
+        long deadline = System.currentTimeMillis() + syncTimeoutMs;
+        synchronized (lock) {
+            lock.notifyAll();
+            while (appendLog.getCommitSeq() < target) {
+                long wait = deadline - System.currentTimeMillis();
+                if (wait <= 0) {
+                    throw new IllegalStateException("Write-Behind-Log wird nicht abgearbeitet. Bitte Datenbank prüfen.");
+                }
+                awaitQuietly(wait);
+            }
+        }
+    }
+
+    private void append(Throw throwData) {
+        synchronized (lock) {
+            // Backpressure: bei vollem Log auf den Writer warten
+            long deadline = System.currentTimeMillis() + syncTimeoutMs;
+            while (appendLog.isFull()) {
+                lock.notifyAll();
+                long wait = deadline - System.currentTimeMillis();
+                if (wait <= 0) {
+                    throw new IllegalStateException("Write-Behind-Log ist voll. Bitte Datenbank prüfen.");
+                }
+                awaitQuietly(wait);
+            }
+            appendLog.append(throwData);
+            if (fsync) {
+                appendLog.force();
+            }
+        }
+    }
+
+    private void runWriter() {
+        while (running || appendLog.getCommitSeq() < appendLog.getWriteSeq()) {
+            long from = appendLog.getCommitSeq();
+            long to = Math.min(appendLog.getWriteSeq(), from + batchSize);
+            if (from == to) {
+                synchronized (lock) {
+                    if (running && appendLog.getCommitSeq() == appendLog.getWriteSeq()) {
+                        awaitQuietly(flushIntervalMs);
+                    }
+                }
+                continue;
+            }
+
+            try {
+                List<Throw> batch = appendLog.read(from, to);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> throwBatchRepository.insertAllIgnoringDuplicates(batch));
+                } catch (DataIntegrityViolationException e) {
+                    insertIndividually(batch);
+                }
+                appendLog.commit(to);
+                log.debug("Write-Behind: {} Würfe gespeichert (bis seq {})", batch.size(), to);
+            } catch (RuntimeException e) {
+                log.error("Write-Behind: Gruppen-Commit fehlgeschlagen, neuer Versuch in {} ms", BACKOFF_MS, e);
+                if (!running) {
+                    return;
+                }
+                sleepQuietly(BACKOFF_MS);
+                continue;
+            }
+
+            synchronized (lock) {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Batch einzeln schreiben, damit ein ungültiger Wurf (z.B. Leg gelöscht) nicht alle blockiert
+     */
+    private void insertIndividually(List<Throw> batch) {
+        for (Throw throwData : batch) {
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        throwBatchRepository.insertAllIgnoringDuplicates(List.of(throwData)));
+            } catch (DataIntegrityViolationException e) {
+                log.error("Write-Behind: Wurf {} in Leg {} verworfen: {}",
+                        throwData.getId(), throwData.getLegId(), e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    private void awaitQuietly(long millis) {
+        try {
+            lock.wait(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Unterbrochen beim Warten auf das Write-Behind-Log", e);
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
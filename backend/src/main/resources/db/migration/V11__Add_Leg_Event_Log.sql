@@ -0,0 +1,40 @@
+/**
+ * V11 - Event-Log und Snapshots für Legs
+ *
+ * Jedes Leg wird als Append-Only-Log geführt (Aufnahme, Bust, Rücknahme,
+ * Leg gewonnen, Leg wieder geöffnet). Alle N Events wird ein Snapshot der
+ * Zählerstände geschrieben, damit ein Leg aus Snapshot + kurzem Rest
+ * rekonstruiert werden kann statt aus allen Würfen.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+
+CREATE TABLE leg_events (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    leg_id UUID NOT NULL REFERENCES legs(id) ON DELETE CASCADE,
+    seq INTEGER NOT NULL,
+    event_type VARCHAR(20) NOT NULL CHECK (event_type IN ('VISIT', 'BUST', 'UNDO', 'LEG_WON', 'LEG_REOPENED')),
+    side SMALLINT CHECK (side IN (0, 1)),
+    member_id UUID REFERENCES members(id) ON DELETE CASCADE,
+    throw_id UUID, -- kein FK: Rücknahmen löschen den Wurf, das Event bleibt als Audit-Trail
+    throw_no INTEGER,
+    score INTEGER,
+    bust BOOLEAN DEFAULT FALSE,
+    remaining INTEGER,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE (leg_id, seq)
+);
+
+CREATE TABLE leg_snapshots (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    leg_id UUID NOT NULL REFERENCES legs(id) ON DELETE CASCADE,
+    seq INTEGER NOT NULL,
+    home_remaining INTEGER NOT NULL,
+    away_remaining INTEGER NOT NULL,
+    home_visits INTEGER NOT NULL,
+    away_visits INTEGER NOT NULL,
+    home_points INTEGER NOT NULL,
+    away_points INTEGER NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE (leg_id, seq)
+);
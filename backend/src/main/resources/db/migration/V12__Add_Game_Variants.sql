@@ -0,0 +1,29 @@
+/**
+ * V12 - Spielvarianten und Regel-Einstellungen
+ *
+ * Matches bekommen Variante (X01, Cricket, Around the Clock), Double-In und
+ * Master-Out. Legs speichern ihre Regeln selbst (bisher war double_out
+ * am Leg nur transient und ging zwischen Requests verloren).
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+
+ALTER TABLE matches
+ADD COLUMN IF NOT EXISTS game_variant VARCHAR(20) NOT NULL DEFAULT 'X01'
+    CHECK (game_variant IN ('X01', 'CRICKET', 'AROUND_THE_CLOCK')),
+ADD COLUMN IF NOT EXISTS double_in BOOLEAN NOT NULL DEFAULT FALSE,
+ADD COLUMN IF NOT EXISTS master_out BOOLEAN NOT NULL DEFAULT FALSE;
+
+ALTER TABLE legs
+ADD COLUMN IF NOT EXISTS game_variant VARCHAR(20) NOT NULL DEFAULT 'X01'
+    CHECK (game_variant IN ('X01', 'CRICKET', 'AROUND_THE_CLOCK')),
+ADD COLUMN IF NOT EXISTS double_out BOOLEAN NOT NULL DEFAULT TRUE,
+ADD COLUMN IF NOT EXISTS double_in BOOLEAN NOT NULL DEFAULT FALSE,
+ADD COLUMN IF NOT EXISTS master_out BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- Bestehende Legs übernehmen die Einstellungen ihres Matches
+UPDATE legs l
+SET double_out = COALESCE(m.double_out, TRUE)
+FROM sets s
+JOIN matches m ON m.id = s.match_id
+WHERE s.id = l.set_id;
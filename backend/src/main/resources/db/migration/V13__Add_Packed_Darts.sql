@@ -0,0 +1,25 @@
+/**
+ * V13 - Kompakte Dart-Kodierung pro Aufnahme
+ *
+ * darts_packed enthält die drei Darts und die Bust-/Checkout-Flags in einem
+ * INTEGER (siehe PackedVisit): Dart n in Bits 8*(n-1) bis 8*n-1 als
+ * segment * 4 + multiplier (Miss = 0), Bust = Bit 24, Checkout = Bit 25.
+ * Statistik-Abfragen lesen nur noch diese Spalte statt neun Einzelspalten.
+ * (Bit-Operatoren haben in PostgreSQL gleichen Rang - daher die Klammern.)
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+
+ALTER TABLE throws
+ADD COLUMN IF NOT EXISTS darts_packed INTEGER;
+
+UPDATE throws SET darts_packed =
+      (CASE WHEN COALESCE(dart1_multiplier, 0) = 0 THEN 0 ELSE COALESCE(dart1_segment, 0) * 4 + dart1_multiplier END)
+    | ((CASE WHEN COALESCE(dart2_multiplier, 0) = 0 THEN 0 ELSE COALESCE(dart2_segment, 0) * 4 + dart2_multiplier END) << 8)
+    | ((CASE WHEN COALESCE(dart3_multiplier, 0) = 0 THEN 0 ELSE COALESCE(dart3_segment, 0) * 4 + dart3_multiplier END) << 16)
+    | ((CASE WHEN is_bust THEN 1 ELSE 0 END) << 24)
+    | ((CASE WHEN is_checkout THEN 1 ELSE 0 END) << 25)
+WHERE darts_packed IS NULL;
+
+ALTER TABLE throws
+ALTER COLUMN darts_packed SET NOT NULL;
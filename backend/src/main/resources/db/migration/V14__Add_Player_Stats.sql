@@ -0,0 +1,73 @@
+/**
+ * V14 - Aggregierte Spielerstatistik (X01)
+ *
+ * Eine Zeile pro Spieler, die bei jeder Aufnahme, Rücknahme und jedem
+ * Leg-Ende per Delta fortgeschrieben wird. Das Spielerprofil liest
+ * damit eine Zeile statt aller Würfe.
+ *
+ * Bestehende Würfe und Legs werden übernommen. Checkout-Versuche lassen
+ * sich aus den gespeicherten Würfen nicht sicher bestimmen; Versuche und
+ * Treffer zählen deshalb erst ab dieser Version.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+
+CREATE TABLE player_stats (
+    member_id UUID PRIMARY KEY REFERENCES members(id) ON DELETE CASCADE,
+    org_id UUID NOT NULL REFERENCES organizations(id) ON DELETE CASCADE,
+    visits INTEGER NOT NULL DEFAULT 0,
+    darts INTEGER NOT NULL DEFAULT 0,
+    points INTEGER NOT NULL DEFAULT 0,
+    first9_visits INTEGER NOT NULL DEFAULT 0,
+    first9_points INTEGER NOT NULL DEFAULT 0,
+    count_180 INTEGER NOT NULL DEFAULT 0,
+    count_171 INTEGER NOT NULL DEFAULT 0,
+    count_140_plus INTEGER NOT NULL DEFAULT 0,
+    checkout_attempts INTEGER NOT NULL DEFAULT 0,
+    checkout_hits INTEGER NOT NULL DEFAULT 0,
+    legs_played INTEGER NOT NULL DEFAULT 0,
+    legs_won INTEGER NOT NULL DEFAULT 0,
+    best_leg_darts INTEGER,
+    highest_checkout INTEGER,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_player_stats_org ON player_stats(org_id);
+
+-- Aufnahmen übernehmen (Checkout-Aufnahmen zählen mit 3 Darts)
+INSERT INTO player_stats (member_id, org_id, visits, darts, points, first9_visits, first9_points,
+                          count_180, count_171, count_140_plus)
+SELECT t.member_id,
+       m.org_id,
+       COUNT(*),
+       COUNT(*) * 3,
+       SUM(CASE WHEN t.is_bust THEN 0 ELSE t.throw_total END),
+       COUNT(*) FILTER (WHERE t.throw_no <= 3),
+       COALESCE(SUM(CASE WHEN t.is_bust THEN 0 ELSE t.throw_total END) FILTER (WHERE t.throw_no <= 3), 0),
+       COUNT(*) FILTER (WHERE t.throw_total = 180 AND NOT COALESCE(t.is_bust, FALSE)),
+       COUNT(*) FILTER (WHERE t.throw_total = 171 AND NOT COALESCE(t.is_bust, FALSE)),
+       COUNT(*) FILTER (WHERE t.throw_total >= 140 AND t.throw_total < 180 AND NOT COALESCE(t.is_bust, FALSE))
+FROM throws t
+JOIN members m ON m.id = t.member_id
+JOIN legs l ON l.id = t.leg_id
+WHERE l.game_variant = 'X01'
+GROUP BY t.member_id, m.org_id;
+
+-- Beendete Legs übernehmen
+UPDATE player_stats ps
+SET legs_played = agg.legs_played,
+    legs_won = agg.legs_won,
+    best_leg_darts = agg.best_leg_darts,
+    highest_checkout = agg.highest_checkout
+FROM (
+    SELECT p.member_id,
+           COUNT(*) AS legs_played,
+           COUNT(*) FILTER (WHERE l.winner_member_id = p.member_id) AS legs_won,
+           MIN(l.total_darts) FILTER (WHERE l.winner_member_id = p.member_id) AS best_leg_darts,
+           MAX(l.checkout_score) FILTER (WHERE l.winner_member_id = p.member_id) AS highest_checkout
+    FROM legs l
+    CROSS JOIN LATERAL (VALUES (l.home_member_id), (l.away_member_id)) AS p(member_id)
+    WHERE l.finished_at IS NOT NULL AND l.game_variant = 'X01' AND p.member_id IS NOT NULL
+    GROUP BY p.member_id
+) agg
+WHERE ps.member_id = agg.member_id;
@@ -0,0 +1,60 @@
+/**
+ * V15 - Saison-Zähler für Bestenlisten
+ *
+ * Grundlage der Bestenlisten pro Organisation und Saison (3-Dart-Average,
+ * 180er, höchster Checkout, kürzestes Leg). Die Zähler werden im Speicher
+ * fortgeschrieben und periodisch als absolute Werte hierher geschrieben.
+ * Saison z.B. "2025/26" (Beginn konfigurierbar, siehe dartclub.leaderboard).
+ *
+ * Bestehende Würfe und Legs werden mit dem Standard-Saisonbeginn August
+ * übernommen.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+
+CREATE TABLE player_season_stats (
+    org_id UUID NOT NULL REFERENCES organizations(id) ON DELETE CASCADE,
+    season VARCHAR(7) NOT NULL,
+    member_id UUID NOT NULL REFERENCES members(id) ON DELETE CASCADE,
+    darts INTEGER NOT NULL DEFAULT 0,
+    points INTEGER NOT NULL DEFAULT 0,
+    count_180 INTEGER NOT NULL DEFAULT 0,
+    highest_checkout INTEGER,
+    best_leg_darts INTEGER,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (org_id, season, member_id)
+);
+
+CREATE OR REPLACE FUNCTION dart_season(ts TIMESTAMP WITH TIME ZONE) RETURNS VARCHAR AS $$
+    SELECT y || '/' || lpad(((y + 1) % 100)::text, 2, '0')
+    FROM (SELECT (EXTRACT(YEAR FROM ts) - CASE WHEN EXTRACT(MONTH FROM ts) < 8 THEN 1 ELSE 0 END)::int AS y) s;
+$$ LANGUAGE SQL IMMUTABLE;
+
+INSERT INTO player_season_stats (org_id, season, member_id, darts, points, count_180)
+SELECT m.org_id,
+       dart_season(t.created_at),
+       t.member_id,
+       COUNT(*) * 3,
+       SUM(CASE WHEN t.is_bust THEN 0 ELSE t.throw_total END),
+       COUNT(*) FILTER (WHERE t.throw_total = 180 AND NOT COALESCE(t.is_bust, FALSE))
+FROM throws t
+JOIN members m ON m.id = t.member_id
+JOIN legs l ON l.id = t.leg_id
+WHERE l.game_variant = 'X01'
+GROUP BY m.org_id, dart_season(t.created_at), t.member_id;
+
+INSERT INTO player_season_stats (org_id, season, member_id, highest_checkout, best_leg_darts)
+SELECT m.org_id,
+       dart_season(l.finished_at),
+       l.winner_member_id,
+       MAX(l.checkout_score),
+       MIN(l.total_darts)
+FROM legs l
+JOIN members m ON m.id = l.winner_member_id
+WHERE l.finished_at IS NOT NULL AND l.game_variant = 'X01'
+GROUP BY m.org_id, dart_season(l.finished_at), l.winner_member_id
+ON CONFLICT (org_id, season, member_id) DO UPDATE SET
+    highest_checkout = EXCLUDED.highest_checkout,
+    best_leg_darts = EXCLUDED.best_leg_darts;
+
+DROP FUNCTION dart_season(TIMESTAMP WITH TIME ZONE);
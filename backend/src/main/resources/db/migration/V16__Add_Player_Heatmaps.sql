@@ -0,0 +1,19 @@
+/**
+ * V16 - Segment-Heatmaps pro Spieler
+ *
+ * Treffer pro Feld (Segment 1-20/Bull x Multiplier 0-3) als kompaktes
+ * Varint-Blob (siehe SegmentHeatmap), gesamt (season = 'all') und pro
+ * Saison. Wird vom HeatmapService im Speicher fortgeschrieben und
+ * periodisch geschrieben; gezählt wird ab dieser Version.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+
+CREATE TABLE player_heatmaps (
+    member_id UUID NOT NULL REFERENCES members(id) ON DELETE CASCADE,
+    season VARCHAR(7) NOT NULL,
+    org_id UUID NOT NULL REFERENCES organizations(id) ON DELETE CASCADE,
+    cells BYTEA NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (member_id, season)
+);
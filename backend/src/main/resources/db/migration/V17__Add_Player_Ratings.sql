@@ -0,0 +1,43 @@
+/**
+ * V17 - Spielstärke-Ratings (Glicko) und Rating-Verlauf
+ *
+ * player_ratings hält pro Spieler Rating, Rating-Abweichung (RD) und
+ * Anzahl gewerteter Matches; rating_history eine Zeile pro Spieler und
+ * beendetem Match mit den Werten davor und danach. Beides wird beim
+ * Match-Ende fortgeschrieben. Bestehende Matches übernimmt die
+ * Neuberechnung (POST /api/statistics/ratings/recompute bzw.
+ * dartclub.ratings.recompute-on-startup).
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+
+CREATE TABLE player_ratings (
+    member_id UUID PRIMARY KEY REFERENCES members(id) ON DELETE CASCADE,
+    org_id UUID NOT NULL REFERENCES organizations(id) ON DELETE CASCADE,
+    rating DOUBLE PRECISION NOT NULL,
+    deviation DOUBLE PRECISION NOT NULL,
+    matches INTEGER NOT NULL DEFAULT 0,
+    last_played_at TIMESTAMP WITH TIME ZONE,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_player_ratings_org ON player_ratings(org_id, rating DESC);
+
+CREATE TABLE rating_history (
+    id UUID PRIMARY KEY,
+    member_id UUID NOT NULL REFERENCES members(id) ON DELETE CASCADE,
+    org_id UUID NOT NULL REFERENCES organizations(id) ON DELETE CASCADE,
+    match_id UUID NOT NULL REFERENCES matches(id) ON DELETE CASCADE,
+    rating_before DOUBLE PRECISION NOT NULL,
+    deviation_before DOUBLE PRECISION NOT NULL,
+    rating_after DOUBLE PRECISION NOT NULL,
+    deviation_after DOUBLE PRECISION NOT NULL,
+    legs_won INTEGER NOT NULL,
+    legs_lost INTEGER NOT NULL,
+    played_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_rating_history_member ON rating_history(member_id, played_at DESC);
+CREATE INDEX idx_rating_history_match ON rating_history(match_id);
+CREATE INDEX idx_rating_history_org ON rating_history(org_id);
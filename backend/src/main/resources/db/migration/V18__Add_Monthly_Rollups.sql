@@ -0,0 +1,45 @@
+/**
+ * V18 - Monatliche Rollups pro Organisation, Team und Spieler
+ *
+ * Eine Zeile pro (Organisation, Team, Spieler, Monat) mit Matches, Legs,
+ * Darts, Punkten (X01) und 180ern. team_id ist die Null-UUID für Legs
+ * aus Matches ohne Team. Der RollupRefreshJob berechnet periodisch alle
+ * Gruppen neu, in denen seit dem Watermark ein Leg beendet wurde; beim
+ * ersten Lauf (Watermark 1970) werden alle bestehenden Legs übernommen.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+
+CREATE TABLE player_monthly_rollups (
+    org_id UUID NOT NULL REFERENCES organizations(id) ON DELETE CASCADE,
+    team_id UUID NOT NULL,
+    member_id UUID NOT NULL REFERENCES members(id) ON DELETE CASCADE,
+    month DATE NOT NULL,
+    matches INTEGER NOT NULL DEFAULT 0,
+    legs_played INTEGER NOT NULL DEFAULT 0,
+    legs_won INTEGER NOT NULL DEFAULT 0,
+    visits INTEGER NOT NULL DEFAULT 0,
+    darts INTEGER NOT NULL DEFAULT 0,
+    points INTEGER NOT NULL DEFAULT 0,
+    count_180 INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (org_id, team_id, member_id, month)
+);
+
+CREATE INDEX idx_player_monthly_rollups_member ON player_monthly_rollups(member_id, month);
+CREATE INDEX idx_player_monthly_rollups_team ON player_monthly_rollups(team_id, month);
+
+-- Fortschritt der Refresh-Jobs (beendete Legs bis einschließlich watermark sind verarbeitet)
+CREATE TABLE rollup_watermarks (
+    name VARCHAR(50) PRIMARY KEY,
+    watermark TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO rollup_watermarks (name, watermark) VALUES ('player_monthly_rollups', TIMESTAMP WITH TIME ZONE '1970-01-01 00:00:00+00');
+
+-- Refresh: geänderte Gruppen über das Leg-Ende finden, dann Legs und Würfe der Spieler im Monat lesen
+CREATE INDEX idx_legs_finished_at ON legs(finished_at);
+CREATE INDEX idx_legs_home_member ON legs(home_member_id, finished_at);
+CREATE INDEX idx_legs_away_member ON legs(away_member_id, finished_at);
+CREATE INDEX idx_throws_leg_member ON throws(leg_id, member_id);
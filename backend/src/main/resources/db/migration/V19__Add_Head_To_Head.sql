@@ -0,0 +1,86 @@
+/**
+ * V19 - Head-to-Head zwischen zwei Spielern
+ *
+ * Spielerpaare werden geordnet gespeichert (member_low < member_high in
+ * der UUID-Ordnung von PostgreSQL). head_to_head_legs ist der Index aller
+ * entschiedenen Legs eines Paares mit Aufnahmen und Punkten beider Seiten
+ * (nur X01), head_to_head die daraus fortgeschriebene Summe. Beides wird
+ * bei jedem Leg-Ende in derselben Transaktion geschrieben.
+ *
+ * Bestehende Legs werden übernommen.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+
+CREATE TABLE head_to_head_legs (
+    leg_id UUID PRIMARY KEY REFERENCES legs(id) ON DELETE CASCADE,
+    member_low UUID NOT NULL REFERENCES members(id) ON DELETE CASCADE,
+    member_high UUID NOT NULL REFERENCES members(id) ON DELETE CASCADE,
+    org_id UUID NOT NULL REFERENCES organizations(id) ON DELETE CASCADE,
+    match_id UUID NOT NULL REFERENCES matches(id) ON DELETE CASCADE,
+    winner_member_id UUID NOT NULL,
+    visits_low INTEGER NOT NULL DEFAULT 0,
+    points_low INTEGER NOT NULL DEFAULT 0,
+    visits_high INTEGER NOT NULL DEFAULT 0,
+    points_high INTEGER NOT NULL DEFAULT 0,
+    finished_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    CHECK (member_low < member_high)
+);
+
+CREATE INDEX idx_head_to_head_legs_pair ON head_to_head_legs(member_low, member_high, finished_at DESC);
+
+CREATE TABLE head_to_head (
+    member_low UUID NOT NULL REFERENCES members(id) ON DELETE CASCADE,
+    member_high UUID NOT NULL REFERENCES members(id) ON DELETE CASCADE,
+    org_id UUID NOT NULL REFERENCES organizations(id) ON DELETE CASCADE,
+    matches INTEGER NOT NULL DEFAULT 0,
+    legs_low INTEGER NOT NULL DEFAULT 0,
+    legs_high INTEGER NOT NULL DEFAULT 0,
+    visits_low INTEGER NOT NULL DEFAULT 0,
+    points_low INTEGER NOT NULL DEFAULT 0,
+    visits_high INTEGER NOT NULL DEFAULT 0,
+    points_high INTEGER NOT NULL DEFAULT 0,
+    last_match_id UUID,
+    last_played_at TIMESTAMP WITH TIME ZONE,
+    PRIMARY KEY (member_low, member_high),
+    CHECK (member_low < member_high)
+);
+
+-- Entschiedene Legs übernehmen
+INSERT INTO head_to_head_legs (leg_id, member_low, member_high, org_id, match_id, winner_member_id,
+                               visits_low, points_low, visits_high, points_high, finished_at)
+SELECT l.id, p.low, p.high, m.org_id, m.id, l.winner_member_id,
+       COALESCE(v.visits_low, 0), COALESCE(v.points_low, 0),
+       COALESCE(v.visits_high, 0), COALESCE(v.points_high, 0),
+       l.finished_at
+FROM legs l
+JOIN sets s ON s.id = l.set_id
+JOIN matches m ON m.id = s.match_id
+CROSS JOIN LATERAL (SELECT LEAST(l.home_member_id, l.away_member_id) AS low,
+                           GREATEST(l.home_member_id, l.away_member_id) AS high) p
+LEFT JOIN LATERAL (
+    SELECT COUNT(*) FILTER (WHERE t.member_id = p.low) AS visits_low,
+           SUM(CASE WHEN t.is_bust THEN 0 ELSE t.throw_total END) FILTER (WHERE t.member_id = p.low) AS points_low,
+           COUNT(*) FILTER (WHERE t.member_id = p.high) AS visits_high,
+           SUM(CASE WHEN t.is_bust THEN 0 ELSE t.throw_total END) FILTER (WHERE t.member_id = p.high) AS points_high
+    FROM throws t
+    WHERE t.leg_id = l.id AND l.game_variant = 'X01'
+) v ON TRUE
+WHERE l.finished_at IS NOT NULL
+  AND l.winner_member_id IS NOT NULL
+  AND l.home_member_id IS NOT NULL
+  AND l.away_member_id IS NOT NULL
+  AND l.home_member_id <> l.away_member_id;
+
+-- Summen pro Paar
+INSERT INTO head_to_head (member_low, member_high, org_id, matches, legs_low, legs_high,
+                          visits_low, points_low, visits_high, points_high, last_match_id, last_played_at)
+SELECT member_low, member_high, org_id,
+       COUNT(DISTINCT match_id),
+       COUNT(*) FILTER (WHERE winner_member_id = member_low),
+       COUNT(*) FILTER (WHERE winner_member_id = member_high),
+       SUM(visits_low), SUM(points_low), SUM(visits_high), SUM(points_high),
+       (ARRAY_AGG(match_id ORDER BY finished_at DESC))[1],
+       MAX(finished_at)
+FROM head_to_head_legs
+GROUP BY member_low, member_high, org_id;
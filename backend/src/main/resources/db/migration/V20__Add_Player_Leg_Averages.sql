@@ -0,0 +1,34 @@
+/**
+ * V20 - Average pro Spieler und Leg (Formkurve)
+ *
+ * Eine Zeile pro Spieler und beendetem X01-Leg mit Aufnahmen und Punkten,
+ * geschrieben beim Leg-Ende, gelöscht beim Wiederöffnen. Die Formkurve
+ * liest die Zeitreihe eines Spielers über (member_id, finished_at).
+ *
+ * Bestehende Legs werden übernommen.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+
+CREATE TABLE player_leg_averages (
+    leg_id UUID NOT NULL REFERENCES legs(id) ON DELETE CASCADE,
+    member_id UUID NOT NULL REFERENCES members(id) ON DELETE CASCADE,
+    org_id UUID NOT NULL REFERENCES organizations(id) ON DELETE CASCADE,
+    visits INTEGER NOT NULL,
+    points INTEGER NOT NULL,
+    finished_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (leg_id, member_id)
+);
+
+CREATE INDEX idx_player_leg_averages_member ON player_leg_averages(member_id, finished_at);
+
+INSERT INTO player_leg_averages (leg_id, member_id, org_id, visits, points, finished_at)
+SELECT l.id, t.member_id, m.org_id,
+       COUNT(*),
+       SUM(CASE WHEN t.is_bust THEN 0 ELSE t.throw_total END),
+       l.finished_at
+FROM legs l
+JOIN throws t ON t.leg_id = l.id
+JOIN members m ON m.id = t.member_id
+WHERE l.finished_at IS NOT NULL AND l.game_variant = 'X01'
+GROUP BY l.id, t.member_id, m.org_id, l.finished_at;
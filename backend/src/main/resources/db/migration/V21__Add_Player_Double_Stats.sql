@@ -0,0 +1,24 @@
+/**
+ * V21 - Checkout-Quote pro Doppelfeld
+ *
+ * Eine Zeile pro Spieler und Doppelfeld (Segment 1-20, Bull = 25) mit
+ * Darts auf das Doppel, während der Rest damit auscheckbar war, und
+ * Treffern. Wird wie player_stats bei jeder Aufnahme und Rücknahme per
+ * Delta fortgeschrieben (nur X01 mit Double-Out).
+ *
+ * Die Versuche lassen sich nur dartweise aus den Würfen bestimmen;
+ * bestehende Würfe übernimmt die Statistik-Neuberechnung
+ * (POST /api/statistics/recompute bzw. /players/{id}/recompute).
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+
+CREATE TABLE player_double_stats (
+    member_id UUID NOT NULL REFERENCES members(id) ON DELETE CASCADE,
+    segment INTEGER NOT NULL,
+    org_id UUID NOT NULL REFERENCES organizations(id) ON DELETE CASCADE,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    hits INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (member_id, segment)
+);
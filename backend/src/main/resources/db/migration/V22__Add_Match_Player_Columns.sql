@@ -0,0 +1,22 @@
+/**
+ * V22 - Spieler-Spalten für Einzelspieler-Matches
+ *
+ * Match und Leg führen Spieler-IDs und Gastspieler-Namen, die Spalten
+ * fehlten aber in den Migrationen. Mit ddl-auto=validate startete die
+ * Anwendung gegen eine frisch migrierte Datenbank nicht.
+ *
+ * IF NOT EXISTS, weil Datenbanken, die die Spalten von Hand bekommen
+ * haben, sonst an der Migration scheitern.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+
+ALTER TABLE matches
+    ADD COLUMN IF NOT EXISTS home_player_id UUID REFERENCES members(id) ON DELETE SET NULL,
+    ADD COLUMN IF NOT EXISTS away_player_id UUID REFERENCES members(id) ON DELETE SET NULL,
+    ADD COLUMN IF NOT EXISTS home_player_name VARCHAR(255),
+    ADD COLUMN IF NOT EXISTS away_player_name VARCHAR(255);
+
+ALTER TABLE legs
+    ADD COLUMN IF NOT EXISTS home_player_name VARCHAR(255),
+    ADD COLUMN IF NOT EXISTS away_player_name VARCHAR(255);
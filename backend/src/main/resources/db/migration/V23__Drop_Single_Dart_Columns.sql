@@ -0,0 +1,34 @@
+/**
+ * V23 - Einzeldarts nur noch in darts_packed
+ *
+ * Die neun Spalten dart1_multiplier ... dart3_score doppelten darts_packed
+ * und machten jede Zeile größer statt kleiner. Ab jetzt ist darts_packed die
+ * einzige Speicherung der Darts, Punkte pro Dart werden beim Laden abgeleitet.
+ *
+ * Vorher wird darts_packed neu berechnet, damit ein Miss das verfehlte
+ * Segment behält (Multiplier 0, Segment 1-25) - das brauchen die Heatmaps,
+ * V13 hatte Misses noch als 0 kodiert.
+ *
+ * Bestehende Zeilen belegen den Platz erst nach einem Table-Rewrite
+ * (VACUUM FULL / pg_repack) wieder, neue Zeilen sind sofort kleiner.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+
+UPDATE throws SET darts_packed =
+      (COALESCE(dart1_segment, 0) * 4 + COALESCE(dart1_multiplier, 0))
+    | ((COALESCE(dart2_segment, 0) * 4 + COALESCE(dart2_multiplier, 0)) << 8)
+    | ((COALESCE(dart3_segment, 0) * 4 + COALESCE(dart3_multiplier, 0)) << 16)
+    | ((CASE WHEN is_bust THEN 1 ELSE 0 END) << 24)
+    | ((CASE WHEN is_checkout THEN 1 ELSE 0 END) << 25);
+
+ALTER TABLE throws
+    DROP COLUMN dart1_multiplier,
+    DROP COLUMN dart1_segment,
+    DROP COLUMN dart1_score,
+    DROP COLUMN dart2_multiplier,
+    DROP COLUMN dart2_segment,
+    DROP COLUMN dart2_score,
+    DROP COLUMN dart3_multiplier,
+    DROP COLUMN dart3_segment,
+    DROP COLUMN dart3_score;
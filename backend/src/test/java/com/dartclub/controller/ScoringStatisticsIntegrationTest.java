@@ -0,0 +1,149 @@
+package com.dartclub.controller;
+
+import com.dartclub.model.entity.Leg;
+import com.dartclub.model.entity.Match;
+import com.dartclub.model.entity.PlayerDoubleStats;
+import com.dartclub.model.entity.PlayerStats;
+import com.dartclub.model.entity.Set;
+import com.dartclub.model.enums.MatchStatus;
+import com.dartclub.repository.LegRepository;
+import com.dartclub.repository.MatchRepository;
+import com.dartclub.repository.PlayerDoubleStatsRepository;
+import com.dartclub.repository.PlayerStatsRepository;
+import com.dartclub.repository.SetRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integrationstest: Aufnahmen über die Scoring-API schreiben die Spielerstatistik fort
+ *
+ * Läuft über ScoringController.submitThrow/markBust (VisitScoringService)
+ * gegen PostgreSQL mit allen Flyway-Migrationen. Org und Mitglieder
+ * stammen aus V2__Test_Data.
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers
+@WithMockUser
+class ScoringStatisticsIntegrationTest {
+
+    private static final UUID ORG_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID HOME_ID = UUID.fromString("66666666-6666-6666-6666-666666666666");
+    private static final UUID AWAY_ID = UUID.fromString("77777777-7777-7777-7777-777777777777");
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private SetRepository setRepository;
+
+    @Autowired
+    private LegRepository legRepository;
+
+    @Autowired
+    private PlayerStatsRepository playerStatsRepository;
+
+    @Autowired
+    private PlayerDoubleStatsRepository playerDoubleStatsRepository;
+
+    @Test
+    void submittedVisitsAndBustsUpdatePlayerStats() throws Exception {
+        Match match = matchRepository.save(Match.builder()
+                .orgId(ORG_ID)
+                .homePlayerId(HOME_ID)
+                .awayPlayerId(AWAY_ID)
+                .matchDate(ZonedDateTime.now())
+                .matchType("LEAGUE")
+                .status(MatchStatus.LIVE)
+                .build());
+        Set set = setRepository.save(Set.builder().matchId(match.getId()).setNo(1).build());
+        Leg leg = legRepository.save(Leg.builder()
+                .setId(set.getId())
+                .legNo(1)
+                .homeMemberId(HOME_ID)
+                .awayMemberId(AWAY_ID)
+                .startedAt(ZonedDateTime.now())
+                .build());
+
+        submit(match, leg, 1, "[{\"multiplier\":3,\"segment\":20},{\"multiplier\":3,\"segment\":20},{\"multiplier\":3,\"segment\":20}]")
+                .andExpect(jsonPath("$.remainingScore").value(321))
+                .andExpect(jsonPath("$.event").value("180"));
+        mockMvc.perform(post("/api/matches/{matchId}/bust", match.getId())
+                        .header("X-Org-Id", ORG_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"legId\":\"" + leg.getId() + "\",\"seq\":2}"))
+                .andExpect(status().isOk());
+        submit(match, leg, 3, "[{\"multiplier\":3,\"segment\":20},{\"multiplier\":3,\"segment\":20},{\"multiplier\":3,\"segment\":20}]")
+                .andExpect(jsonPath("$.remainingScore").value(141));
+        submit(match, leg, 4, "[{\"multiplier\":1,\"segment\":20},{\"multiplier\":1,\"segment\":20},{\"multiplier\":1,\"segment\":20}]");
+        submit(match, leg, 5, "[{\"multiplier\":3,\"segment\":20},{\"multiplier\":3,\"segment\":19},{\"multiplier\":2,\"segment\":12}]")
+                .andExpect(jsonPath("$.legFinished").value(true));
+
+        PlayerStats home = playerStatsRepository.findById(HOME_ID).orElseThrow();
+        assertThat(home.getVisits()).isEqualTo(3);
+        assertThat(home.getDarts()).isEqualTo(9);
+        assertThat(home.getPoints()).isEqualTo(501);
+        assertThat(home.getCount180()).isEqualTo(2);
+        assertThat(home.getCheckoutAttempts()).isEqualTo(1);
+        assertThat(home.getCheckoutHits()).isEqualTo(1);
+        assertThat(home.getLegsPlayed()).isEqualTo(1);
+        assertThat(home.getLegsWon()).isEqualTo(1);
+        assertThat(home.getHighestCheckout()).isEqualTo(141);
+
+        PlayerStats away = playerStatsRepository.findById(AWAY_ID).orElseThrow();
+        assertThat(away.getVisits()).isEqualTo(2);
+        assertThat(away.getDarts()).isEqualTo(6);
+        assertThat(away.getPoints()).isEqualTo(60);
+        assertThat(away.getLegsPlayed()).isEqualTo(1);
+        assertThat(away.getLegsWon()).isZero();
+
+        List<PlayerDoubleStats> doubles = playerDoubleStatsRepository.findByMemberIdOrderBySegmentAsc(HOME_ID);
+        assertThat(doubles).hasSize(1);
+        assertThat(doubles.get(0).getSegment()).isEqualTo(12);
+        assertThat(doubles.get(0).getAttempts()).isEqualTo(1);
+        assertThat(doubles.get(0).getHits()).isEqualTo(1);
+    }
+
+    private ResultActions submit(Match match, Leg leg, int seq, String darts) throws Exception {
+        return mockMvc.perform(post("/api/matches/{matchId}/throws", match.getId())
+                        .header("X-Org-Id", ORG_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"legId\":\"" + leg.getId() + "\",\"seq\":" + seq + ",\"darts\":" + darts + "}"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,71 @@
+package com.dartclub.model;
+
+import com.dartclub.model.entity.Throw;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests für die Kodierung einer Aufnahme in einem int
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+class PackedVisitTest {
+
+    @Test
+    void encodesDartsAndFlags() {
+        int packed = PackedVisit.encode(3, 20, 1, 25, 2, 25, false, true);
+
+        assertThat(PackedVisit.multiplier(packed, 0)).isEqualTo(3);
+        assertThat(PackedVisit.segment(packed, 0)).isEqualTo(20);
+        assertThat(PackedVisit.score(packed, 0)).isEqualTo(60);
+        assertThat(PackedVisit.score(packed, 1)).isEqualTo(25);
+        assertThat(PackedVisit.score(packed, 2)).isEqualTo(50);
+        assertThat(PackedVisit.dartTotal(packed)).isEqualTo(135);
+        assertThat(PackedVisit.isCheckout(packed)).isTrue();
+        assertThat(PackedVisit.isBust(packed)).isFalse();
+    }
+
+    @Test
+    void missKeepsSegmentWithoutPoints() {
+        assertThat(PackedVisit.encodeDart(0, 0)).isZero();
+        int packed = PackedVisit.encode(0, 20, 1, 5, 0, 0, true, false);
+        assertThat(PackedVisit.multiplier(packed, 0)).isZero();
+        assertThat(PackedVisit.segment(packed, 0)).isEqualTo(20);
+        assertThat(PackedVisit.score(packed, 0)).isZero();
+        assertThat(PackedVisit.dart(packed, 2)).isZero();
+        assertThat(PackedVisit.score(packed, 1)).isEqualTo(5);
+        assertThat(PackedVisit.dartTotal(packed)).isEqualTo(5);
+        assertThat(PackedVisit.isBust(packed)).isTrue();
+    }
+
+    @Test
+    void roundTripsThrow() {
+        Throw source = Throw.builder()
+                .dart1Multiplier(3).dart1Segment(19)
+                .dart2Multiplier(2).dart2Segment(16)
+                .dart3Multiplier(null).dart3Segment(null)
+                .isBust(false)
+                .isCheckout(true)
+                .build();
+
+        Throw decoded = new Throw();
+        PackedVisit.decodeInto(PackedVisit.encode(source), decoded);
+
+        assertThat(decoded.getDart1Score()).isEqualTo(57);
+        assertThat(decoded.getDart2Multiplier()).isEqualTo(2);
+        assertThat(decoded.getDart2Segment()).isEqualTo(16);
+        assertThat(decoded.getDart2Score()).isEqualTo(32);
+        assertThat(decoded.getDart3Multiplier()).isZero();
+        assertThat(decoded.getDart3Score()).isZero();
+        assertThat(decoded.getIsCheckout()).isTrue();
+        assertThat(decoded.getIsBust()).isFalse();
+    }
+
+    @Test
+    void flagsDoNotOverlapDarts() {
+        int packed = PackedVisit.encode(3, 25, 3, 25, 3, 25, true, true);
+        assertThat(packed & 0xFFFFFF).isEqualTo(PackedVisit.encode(3, 25, 3, 25, 3, 25, false, false));
+        assertThat(packed & ~0xFFFFFF).isEqualTo(PackedVisit.BUST | PackedVisit.CHECKOUT);
+    }
+}
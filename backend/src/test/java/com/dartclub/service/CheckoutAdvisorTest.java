@@ -0,0 +1,83 @@
+package com.dartclub.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests für die vorberechnete Checkout-Tabelle
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+class CheckoutAdvisorTest {
+
+    private final CheckoutAdvisor advisor = new CheckoutAdvisor();
+
+    @Test
+    void bestLabelPrefersFewestDartsAndPreferredDoubles() {
+        assertThat(advisor.bestLabel(170, true)).isEqualTo("T20 T20 BULL");
+        assertThat(advisor.bestLabel(40, true)).isEqualTo("D20");
+        assertThat(advisor.bestLabel(50, true)).isEqualTo("BULL");
+        assertThat(advisor.bestLabel(2, true)).isEqualTo("D1");
+        assertThat(advisor.bestLabel(60, false)).isEqualTo("T20");
+    }
+
+    @Test
+    void bogeyNumbersHaveNoDoubleOutFinish() {
+        for (int remaining : new int[]{159, 162, 163, 165, 166, 168, 169}) {
+            assertThat(advisor.count(remaining, true)).as("Rest %d", remaining).isZero();
+            assertThat(advisor.bestLabel(remaining, true)).as("Rest %d", remaining).isNull();
+        }
+    }
+
+    @Test
+    void outOfRangeHasNoFinish() {
+        assertThat(advisor.count(1, true)).isZero();
+        assertThat(advisor.count(171, false)).isZero();
+        assertThat(advisor.bestLabel(0, false)).isNull();
+        assertThat(advisor.labels(180, true, 3)).isEmpty();
+    }
+
+    @Test
+    void everyDoubleOutFinishAddsUpAndEndsOnDouble() {
+        for (int remaining = CheckoutAdvisor.MIN_CHECKOUT; remaining <= CheckoutAdvisor.MAX_CHECKOUT; remaining++) {
+            for (int n = 0; n < advisor.count(remaining, true); n++) {
+                int finish = advisor.get(remaining, true, n);
+                int darts = CheckoutAdvisor.dartCount(finish);
+                assertThat(darts).isBetween(1, 3);
+                assertThat(sum(finish)).as("%s", CheckoutAdvisor.label(finish)).isEqualTo(remaining);
+                assertThat(CheckoutAdvisor.multiplier(finish, darts - 1)).isEqualTo(2);
+            }
+        }
+    }
+
+    @Test
+    void straightOutCoversEveryReachableValue() {
+        for (int remaining = CheckoutAdvisor.MIN_CHECKOUT; remaining <= CheckoutAdvisor.MAX_CHECKOUT; remaining++) {
+            int count = advisor.count(remaining, false);
+            if (remaining == 163 || remaining == 166 || remaining == 169) {
+                // mit drei Darts nicht erreichbar
+                assertThat(count).as("Rest %d", remaining).isZero();
+                continue;
+            }
+            assertThat(count).as("Rest %d", remaining).isPositive();
+            assertThat(sum(advisor.get(remaining, false, 0))).isEqualTo(remaining);
+        }
+    }
+
+    @Test
+    void labelsAreLimited() {
+        assertThat(advisor.labels(100, true, 2)).hasSize(2);
+        assertThat(advisor.labels(100, true, 2).get(0)).isEqualTo(advisor.bestLabel(100, true));
+    }
+
+    private static int sum(int finish) {
+        int total = 0;
+        for (int i = 0; i < CheckoutAdvisor.dartCount(finish); i++) {
+            int segment = CheckoutAdvisor.segment(finish, i);
+            total += segment == 25 ? 25 * CheckoutAdvisor.multiplier(finish, i)
+                    : segment * CheckoutAdvisor.multiplier(finish, i);
+        }
+        return total;
+    }
+}
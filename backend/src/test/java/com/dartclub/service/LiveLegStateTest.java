@@ -0,0 +1,184 @@
+package com.dartclub.service;
+
+import com.dartclub.model.dto.response.ThrowResponseDTO;
+import com.dartclub.model.entity.Leg;
+import com.dartclub.model.entity.Throw;
+import com.dartclub.service.rules.GameRules;
+import com.dartclub.service.rules.X01Rules;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests für den Live-State eines Legs (Aufnahmen, Rücknahme, Replay aus dem Event-Log)
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+class LiveLegStateTest {
+
+    private final UUID home = UUID.randomUUID();
+    private final UUID away = UUID.randomUUID();
+
+    @Test
+    void appliesVisitsAndAlternatesSides() {
+        LiveLegState state = newState(501);
+
+        assertThat(state.applyVisit(LiveLegState.HOME, visit(home, 1, 3, 20, 3, 20, 3, 20))).isEqualTo(GameRules.CONTINUE);
+        assertThat(state.currentSide()).isEqualTo(LiveLegState.AWAY);
+        state.applyVisit(LiveLegState.AWAY, visit(away, 1, 1, 20, 1, 20, 1, 20));
+
+        assertThat(state.getRemaining(LiveLegState.HOME)).isEqualTo(321);
+        assertThat(state.getRemaining(LiveLegState.AWAY)).isEqualTo(441);
+        assertThat(state.getVisitCount()).isEqualTo(2);
+        assertThat(state.getAverage(LiveLegState.HOME)).isEqualTo(180.0);
+        assertThat(state.getLastThrowString(LiveLegState.AWAY)).isEqualTo("20, 20, 20 (60)");
+        assertThat(state.currentSide()).isEqualTo(LiveLegState.HOME);
+        assertThat(LiveLegState.sideOfSeq(1)).isEqualTo(LiveLegState.HOME);
+        assertThat(LiveLegState.sideOfSeq(2)).isEqualTo(LiveLegState.AWAY);
+        assertThat(LiveLegState.sideOfSeq(state.getVisitCount() + 1)).isEqualTo(state.currentSide());
+    }
+
+    @Test
+    void undoReturnsVisitAndRewindsCounters() {
+        LiveLegState state = newState(501);
+        Throw first = visit(home, 1, 3, 20, 3, 20, 3, 20);
+        Throw second = visit(away, 1, 3, 19, 1, 19, 1, 3);
+        state.applyVisit(LiveLegState.HOME, first);
+        state.applyVisit(LiveLegState.AWAY, second);
+
+        Throw removed = state.undoVisit(LiveLegState.AWAY);
+
+        assertThat(removed.getId()).isEqualTo(second.getId());
+        assertThat(removed.getMemberId()).isEqualTo(away);
+        assertThat(removed.getThrowNo()).isEqualTo(1);
+        assertThat(removed.getThrowTotal()).isEqualTo(79);
+        assertThat(removed.getDart1Multiplier()).isEqualTo(3);
+        assertThat(removed.getDart1Segment()).isEqualTo(19);
+        assertThat(state.getRemaining(LiveLegState.AWAY)).isEqualTo(501);
+        assertThat(state.getVisits(LiveLegState.AWAY)).isZero();
+        assertThat(state.getPointsScored(LiveLegState.AWAY)).isZero();
+        assertThat(state.lastSide()).isEqualTo(LiveLegState.HOME);
+        assertThat(state.currentSide()).isEqualTo(LiveLegState.AWAY);
+        assertThat(state.getLastVisit(LiveLegState.HOME).getId()).isEqualTo(first.getId());
+    }
+
+    @Test
+    void bustCountsAsVisitWithoutPointsAndUndoesCleanly() {
+        LiveLegState state = newState(501);
+        state.restore(LiveLegState.HOME, 40, 0, 0);
+
+        int result = state.applyVisit(LiveLegState.HOME, visit(home, 1, 3, 20, 1, 1, 1, 1));
+
+        assertThat(result).isEqualTo(GameRules.BUST);
+        assertThat(state.getRemaining(LiveLegState.HOME)).isEqualTo(40);
+        assertThat(state.getVisits(LiveLegState.HOME)).isEqualTo(1);
+        assertThat(state.getPointsScored(LiveLegState.HOME)).isZero();
+        Throw last = state.getLastVisit(LiveLegState.HOME);
+        assertThat(last.getIsBust()).isTrue();
+        assertThat(last.getThrowTotal()).isEqualTo(62);
+
+        state.undoVisit(LiveLegState.HOME);
+        assertThat(state.getRemaining(LiveLegState.HOME)).isEqualTo(40);
+        assertThat(state.getVisits(LiveLegState.HOME)).isZero();
+    }
+
+    @Test
+    void checkoutIsStoredWithVisit() {
+        LiveLegState state = newState(501);
+        state.restore(LiveLegState.HOME, 100, 10, 401);
+
+        assertThat(state.applyVisit(LiveLegState.HOME, visit(home, 11, 3, 20, 2, 20, 0, 0))).isEqualTo(GameRules.WIN);
+        assertThat(state.getLastVisit(LiveLegState.HOME).getIsCheckout()).isTrue();
+        assertThat(state.getPointsScored(LiveLegState.HOME)).isEqualTo(501);
+    }
+
+    @Test
+    void replaysCountersFromSnapshotAndEvents() {
+        LiveLegState state = newState(501);
+        state.restore(LiveLegState.HOME, 321, 1, 180);
+        state.restore(LiveLegState.AWAY, 501, 0, 0);
+
+        state.replayVisit(LiveLegState.AWAY, 100, false);
+        state.replayVisit(LiveLegState.HOME, 45, true);
+        assertThat(state.getRemaining(LiveLegState.AWAY)).isEqualTo(401);
+        assertThat(state.getRemaining(LiveLegState.HOME)).isEqualTo(321);
+        assertThat(state.getVisits(LiveLegState.HOME)).isEqualTo(2);
+        assertThat(state.getPointsScored(LiveLegState.HOME)).isEqualTo(180);
+
+        state.replayUndo(LiveLegState.AWAY, 100, false);
+        assertThat(state.getRemaining(LiveLegState.AWAY)).isEqualTo(501);
+        assertThat(state.getVisits(LiveLegState.AWAY)).isZero();
+        assertThat(state.getPointsScored(LiveLegState.AWAY)).isZero();
+    }
+
+    @Test
+    void replayedVisitsMustBeLoadedBeforeUndo() {
+        LiveLegState state = newState(501);
+        state.restore(LiveLegState.HOME, 321, 1, 180);
+
+        assertThat(state.getLastVisit(LiveLegState.HOME)).isNull();
+        assertThatThrownBy(() -> state.undoVisit(LiveLegState.HOME))
+                .isInstanceOf(IllegalStateException.class);
+
+        Throw stored = visit(home, 1, 3, 20, 3, 20, 3, 20);
+        stored.setThrowTotal(180);
+        state.fillVisit(LiveLegState.HOME, stored);
+
+        Throw removed = state.undoVisit(LiveLegState.HOME);
+        assertThat(removed.getId()).isEqualTo(stored.getId());
+        assertThat(state.getRemaining(LiveLegState.HOME)).isEqualTo(501);
+    }
+
+    @Test
+    void pendingDartsBlockVisitsUntilDiscarded() {
+        LiveLegState state = newState(501);
+        state.applyDart(LiveLegState.HOME, 3, 20);
+        assertThat(state.getRemaining(LiveLegState.HOME)).isEqualTo(441);
+
+        assertThatThrownBy(() -> state.applyVisit(LiveLegState.HOME, visit(home, 1, 1, 1, 1, 1, 1, 1)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> state.applyDart(LiveLegState.AWAY, 1, 1))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(state.discardPendingVisit()).isEqualTo(LiveLegState.HOME);
+        assertThat(state.getRemaining(LiveLegState.HOME)).isEqualTo(501);
+        assertThat(state.hasPendingVisit()).isFalse();
+        assertThat(state.discardPendingVisit()).isEqualTo(-1);
+    }
+
+    @Test
+    void undoDropsRecordedResponse() {
+        LiveLegState state = newState(501);
+        state.applyVisit(LiveLegState.HOME, visit(home, 1, 1, 20, 1, 20, 1, 20));
+        state.recordResponse(1, ThrowResponseDTO.builder().throwTotal(60).build());
+        assertThat(state.getRecordedResponse(1)).isNotNull();
+
+        state.undoVisit(LiveLegState.HOME);
+        state.applyVisit(LiveLegState.HOME, visit(home, 1, 1, 19, 1, 19, 1, 19));
+        assertThat(state.getRecordedResponse(1)).isNull();
+    }
+
+    private LiveLegState newState(int startingScore) {
+        Leg leg = Leg.builder()
+                .id(UUID.randomUUID())
+                .startingScore(startingScore)
+                .homeMemberId(home)
+                .awayMemberId(away)
+                .build();
+        return new LiveLegState(leg, new X01Rules(), UUID.randomUUID(), UUID.randomUUID(), 1, "Heim", "Gast");
+    }
+
+    private static Throw visit(UUID memberId, int throwNo, int m1, int s1, int m2, int s2, int m3, int s3) {
+        return Throw.builder()
+                .id(UUID.randomUUID())
+                .memberId(memberId)
+                .throwNo(throwNo)
+                .dart1Multiplier(m1).dart1Segment(s1)
+                .dart2Multiplier(m2).dart2Segment(s2)
+                .dart3Multiplier(m3).dart3Segment(s3)
+                .build();
+    }
+}
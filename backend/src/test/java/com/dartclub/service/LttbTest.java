@@ -0,0 +1,54 @@
+package com.dartclub.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests für das LTTB-Downsampling der Formkurve
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+class LttbTest {
+
+    @Test
+    void keepsAllPointsBelowThreshold() {
+        double[] x = {0, 1, 2, 3};
+        double[] y = {10, 20, 15, 30};
+
+        assertThat(Lttb.downsample(x, y, 4)).containsExactly(0, 1, 2, 3);
+        assertThat(Lttb.downsample(x, y, 100)).containsExactly(0, 1, 2, 3);
+    }
+
+    @Test
+    void keepsFirstAndLastAndReturnsAscendingIndices() {
+        double[] x = new double[1000];
+        double[] y = new double[1000];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = i;
+            y[i] = Math.sin(i / 25.0) * 50 + 50;
+        }
+
+        int[] sampled = Lttb.downsample(x, y, 50);
+
+        assertThat(sampled).hasSize(50);
+        assertThat(sampled[0]).isZero();
+        assertThat(sampled[49]).isEqualTo(999);
+        for (int i = 1; i < sampled.length; i++) {
+            assertThat(sampled[i]).isGreaterThan(sampled[i - 1]);
+        }
+    }
+
+    @Test
+    void keepsSpikesAndDips() {
+        double[] x = new double[100];
+        double[] y = new double[100];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = i;
+        }
+        y[50] = 100;
+        y[80] = -40;
+
+        assertThat(Lttb.downsample(x, y, 10)).contains(50, 80);
+    }
+}
@@ -0,0 +1,122 @@
+package com.dartclub.service.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests für die Bestenliste fester Größe
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+class TopKTest {
+
+    private final UUID a = UUID.randomUUID();
+    private final UUID b = UUID.randomUUID();
+    private final UUID c = UUID.randomUUID();
+    private final UUID d = UUID.randomUUID();
+
+    @Test
+    void keepsBestValuesInOrder() {
+        TopK top = new TopK(3, true);
+        top.update(a, 10, true);
+        top.update(b, 30, true);
+        top.update(c, 20, true);
+        assertThat(ids(top)).containsExactly(b, c, a);
+
+        // Schlechter als der letzte Platz einer vollen Liste
+        assertThat(top.update(d, 5, true)).isFalse();
+        assertThat(ids(top)).containsExactly(b, c, a);
+
+        top.update(d, 25, true);
+        assertThat(ids(top)).containsExactly(b, d, c);
+        assertThat(top.valueAt(1)).isEqualTo(25);
+    }
+
+    @Test
+    void lowerIsBetterForDartsPerLeg() {
+        TopK top = new TopK(2, false);
+        top.update(a, 18, true);
+        top.update(b, 12, true);
+        top.update(c, 15, true);
+
+        assertThat(ids(top)).containsExactly(b, c);
+    }
+
+    @Test
+    void tiesKeepFirstEntryInFront() {
+        TopK top = new TopK(3, true);
+        top.update(a, 50, true);
+        top.update(b, 50, true);
+
+        assertThat(ids(top)).containsExactly(a, b);
+    }
+
+    @Test
+    void improvementMovesUpWithoutRebuild() {
+        TopK top = new TopK(3, true);
+        top.update(a, 10, true);
+        top.update(b, 20, true);
+        top.update(c, 30, true);
+
+        assertThat(top.update(a, 40, true)).isFalse();
+        assertThat(ids(top)).containsExactly(a, c, b);
+    }
+
+    @Test
+    void worseningToLastPlaceOfFullListRequestsRebuild() {
+        TopK top = new TopK(3, true);
+        top.update(a, 10, true);
+        top.update(b, 20, true);
+        top.update(c, 30, true);
+
+        // Mittelfeld -> bleibt vor a, kein Neuaufbau nötig
+        assertThat(top.update(c, 15, true)).isFalse();
+        assertThat(ids(top)).containsExactly(b, c, a);
+
+        // Rutscht ans Ende - ein Spieler außerhalb der Liste könnte besser sein
+        assertThat(top.update(b, 5, true)).isTrue();
+        assertThat(ids(top)).containsExactly(c, a, b);
+    }
+
+    @Test
+    void worseningInPartialListNeedsNoRebuild() {
+        TopK top = new TopK(3, true);
+        top.update(a, 10, true);
+        top.update(b, 20, true);
+
+        assertThat(top.update(b, 5, true)).isFalse();
+        assertThat(ids(top)).containsExactly(a, b);
+    }
+
+    @Test
+    void removesEntriesThatNoLongerQualify() {
+        TopK top = new TopK(2, true);
+        top.update(a, 10, true);
+        assertThat(top.update(a, 10, false)).isFalse();
+        assertThat(top.size()).isZero();
+
+        top.update(a, 10, true);
+        top.update(b, 20, true);
+        assertThat(top.update(b, 20, false)).isTrue();
+        assertThat(ids(top)).containsExactly(a);
+
+        assertThat(top.update(c, 99, false)).isFalse();
+        assertThat(ids(top)).containsExactly(a);
+
+        top.clear();
+        assertThat(top.size()).isZero();
+    }
+
+    private static List<UUID> ids(TopK top) {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < top.size(); i++) {
+            ids.add(top.idAt(i));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,54 @@
+package com.dartclub.service.rating;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.ZonedDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Tests für die Glicko-Formeln (Beispiel aus Glickman, "The Glicko system")
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+class GlickoTest {
+
+    @Test
+    void ratesGlickmanExample() {
+        double[] result = Glicko.rate(1500, 200,
+                new double[]{1400, 1550, 1700},
+                new double[]{30, 100, 300},
+                new double[]{1, 0, 0});
+
+        assertThat(result[0]).isCloseTo(1464.1, within(0.1));
+        assertThat(result[1]).isCloseTo(151.4, within(0.1));
+    }
+
+    @Test
+    void expectedIsSymmetric() {
+        assertThat(Glicko.expected(1500, 1500, 100)).isCloseTo(0.5, within(1e-9));
+        assertThat(Glicko.expected(1700, 1500, 50) + Glicko.expected(1500, 1700, 50)).isCloseTo(1.0, within(1e-9));
+        assertThat(Glicko.expected(1700, 1500, 50)).isGreaterThan(0.5);
+    }
+
+    @Test
+    void deviationNeverDropsBelowMinimum() {
+        double[] result = {Glicko.INITIAL_RATING, Glicko.MIN_DEVIATION};
+        for (int i = 0; i < 50; i++) {
+            result = Glicko.rate(result[0], result[1], new double[]{1500}, new double[]{30}, new double[]{0.5});
+        }
+        assertThat(result[1]).isEqualTo(Glicko.MIN_DEVIATION);
+        assertThat(result[0]).isCloseTo(Glicko.INITIAL_RATING, within(1e-6));
+    }
+
+    @Test
+    void inflatesDeviationDuringBreaksUpToInitial() {
+        ZonedDateTime now = ZonedDateTime.now();
+
+        assertThat(Glicko.inflate(50, null, now)).isEqualTo(50);
+        assertThat(Glicko.inflate(50, now, now)).isEqualTo(50);
+        assertThat(Glicko.inflate(50, now.minusDays(30), now)).isCloseTo(Math.sqrt(50 * 50 + 70 * 70), within(0.5));
+        assertThat(Glicko.inflate(50, now.minusYears(10), now)).isEqualTo(Glicko.INITIAL_DEVIATION);
+    }
+}
@@ -0,0 +1,73 @@
+package com.dartclub.service.rules;
+
+import com.dartclub.model.entity.Leg;
+import com.dartclub.model.enums.GameVariant;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests für Around the Clock (Zielfolge, Bull zum Schluss, Rücknahme)
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+class AroundTheClockRulesTest {
+
+    private static final int HOME = 0;
+    private static final int AWAY = 1;
+
+    private final AroundTheClockRules rules = new AroundTheClockRules();
+
+    @Test
+    void hitsOnCurrentTargetAdvanceRegardlessOfMultiplier() {
+        RuleState state = newState();
+        assertThat(AroundTheClockRules.currentTarget(state, HOME)).isEqualTo(1);
+
+        int result = rules.applyVisit(state, HOME, 1, 1, 2, 2, 3, 3);
+
+        assertThat(result).isEqualTo(GameRules.CONTINUE);
+        assertThat(state.getScore(HOME)).isEqualTo(AroundTheClockRules.TARGETS - 3);
+        assertThat(state.getVisitPoints(HOME)).isEqualTo(3);
+        assertThat(AroundTheClockRules.currentTarget(state, HOME)).isEqualTo(4);
+        assertThat(AroundTheClockRules.currentTarget(state, AWAY)).isEqualTo(1);
+    }
+
+    @Test
+    void ignoresWrongSegmentsAndMisses() {
+        RuleState state = newState();
+        rules.applyVisit(state, HOME, 3, 20, 0, 0, 1, 2);
+
+        assertThat(state.getScore(HOME)).isEqualTo(AroundTheClockRules.TARGETS);
+        assertThat(state.getVisitPoints(HOME)).isZero();
+    }
+
+    @Test
+    void bullIsLastTargetAndWins() {
+        RuleState state = newState();
+        rules.restore(state, HOME, 2);
+        assertThat(AroundTheClockRules.currentTarget(state, HOME)).isEqualTo(20);
+
+        int result = rules.applyVisit(state, HOME, 1, 20, 1, 25, 1, 1);
+
+        assertThat(result).isEqualTo(GameRules.WIN);
+        assertThat(state.getScore(HOME)).isZero();
+        assertThat(AroundTheClockRules.currentTarget(state, HOME)).isZero();
+    }
+
+    @Test
+    void undoAndReplayUseHitCount() {
+        RuleState state = newState();
+        rules.applyVisit(state, HOME, 1, 1, 1, 2, 0, 0);
+
+        rules.undoVisit(state, HOME, 2, false);
+        assertThat(state.getScore(HOME)).isEqualTo(AroundTheClockRules.TARGETS);
+
+        rules.replayVisit(state, HOME, 3, false);
+        assertThat(AroundTheClockRules.currentTarget(state, HOME)).isEqualTo(4);
+        assertThat(rules.isRestorable()).isTrue();
+    }
+
+    private RuleState newState() {
+        return rules.newState(Leg.builder().gameVariant(GameVariant.AROUND_THE_CLOCK).build());
+    }
+}
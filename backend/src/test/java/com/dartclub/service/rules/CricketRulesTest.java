@@ -0,0 +1,123 @@
+package com.dartclub.service.rules;
+
+import com.dartclub.model.entity.Leg;
+import com.dartclub.model.enums.GameVariant;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests für Cricket (Marks, Punkte, Sieg, Rücknahme über den Undo-Stack)
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+class CricketRulesTest {
+
+    private static final int HOME = 0;
+    private static final int AWAY = 1;
+
+    private final CricketRules rules = new CricketRules();
+
+    @Test
+    void marksCloseTargetAndExtraHitsScore() {
+        RuleState state = newState();
+
+        int result = rules.applyVisit(state, HOME, 3, 20, 3, 20, 1, 1);
+
+        assertThat(result).isEqualTo(GameRules.CONTINUE);
+        assertThat(state.getMarks(HOME, CricketRules.targetOf(20))).isEqualTo(3);
+        assertThat(state.getScore(HOME)).isEqualTo(60);
+        assertThat(state.getVisitPoints(HOME)).isEqualTo(60);
+    }
+
+    @Test
+    void noPointsOnTargetClosedByOpponent() {
+        RuleState state = newState();
+        rules.applyVisit(state, AWAY, 3, 20, 0, 0, 0, 0);
+
+        rules.applyVisit(state, HOME, 3, 20, 3, 20, 0, 0);
+
+        assertThat(state.getMarks(HOME, CricketRules.targetOf(20))).isEqualTo(3);
+        assertThat(state.getScore(HOME)).isZero();
+    }
+
+    @Test
+    void bullCountsTwentyFivePerMark() {
+        RuleState state = newState();
+        rules.applyVisit(state, HOME, 2, 25, 2, 25, 1, 25);
+
+        assertThat(state.getMarks(HOME, CricketRules.targetOf(25))).isEqualTo(3);
+        assertThat(state.getScore(HOME)).isEqualTo(50);
+    }
+
+    @Test
+    void winsOnlyWithAllTargetsClosedAndNotBehind() {
+        RuleState state = newState();
+        // Gast führt mit 60 Punkten auf der 20
+        rules.applyVisit(state, AWAY, 3, 20, 3, 20, 0, 0);
+
+        rules.applyVisit(state, HOME, 3, 15, 3, 16, 3, 17);
+        rules.applyVisit(state, HOME, 3, 18, 3, 19, 3, 20);
+        assertThat(rules.applyVisit(state, HOME, 2, 25, 1, 25, 0, 0)).isEqualTo(GameRules.CONTINUE);
+
+        // Alles zu, aber 0 : 60 - erst mit Punkten auf der 19 (beim Gast offen) gewonnen
+        assertThat(rules.applyVisit(state, HOME, 3, 19, 1, 19, 0, 0)).isEqualTo(GameRules.WIN);
+        assertThat(state.getScore(HOME)).isEqualTo(76);
+    }
+
+    @Test
+    void undoRestoresMarksAndPointsPerVisit() {
+        RuleState state = newState();
+        rules.applyVisit(state, HOME, 3, 20, 0, 0, 0, 0);
+        rules.applyVisit(state, HOME, 3, 20, 1, 19, 0, 0);
+
+        rules.undoVisit(state, HOME, 60, false);
+        assertThat(state.getScore(HOME)).isZero();
+        assertThat(state.getMarks(HOME, CricketRules.targetOf(20))).isEqualTo(3);
+        assertThat(state.getMarks(HOME, CricketRules.targetOf(19))).isZero();
+
+        rules.undoVisit(state, HOME, 0, false);
+        assertThat(state.getMarks(HOME, CricketRules.targetOf(20))).isZero();
+
+        assertThatThrownBy(() -> rules.undoVisit(state, HOME, 0, false))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void undoStackGrowsBeyondInitialCapacity() {
+        RuleState state = newState();
+        for (int i = 0; i < 40; i++) {
+            rules.applyVisit(state, HOME, 1, 1, 1, 2, 1, 3);
+        }
+        rules.applyVisit(state, HOME, 1, 20, 0, 0, 0, 0);
+        for (int i = 0; i < 41; i++) {
+            rules.undoVisit(state, HOME, 0, false);
+        }
+        assertThat(state.getMarks(HOME, CricketRules.targetOf(20))).isZero();
+    }
+
+    @Test
+    void ignoresMissesAndNonTargets() {
+        RuleState state = newState();
+        assertThat(rules.applyVisit(state, HOME, 3, 14, 0, 0, 2, 1)).isEqualTo(GameRules.CONTINUE);
+        for (int target = 0; target < CricketRules.TARGETS; target++) {
+            assertThat(state.getMarks(HOME, target)).isZero();
+        }
+        assertThat(CricketRules.targetOf(14)).isEqualTo(-1);
+    }
+
+    @Test
+    void cannotBeRestoredFromPoints() {
+        RuleState state = newState();
+        assertThat(rules.isRestorable()).isFalse();
+        assertThatThrownBy(() -> rules.replayVisit(state, HOME, 60, false))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> rules.restore(state, HOME, 60))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    private RuleState newState() {
+        return rules.newState(Leg.builder().gameVariant(GameVariant.CRICKET).build());
+    }
+}
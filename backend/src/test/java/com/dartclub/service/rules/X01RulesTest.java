@@ -0,0 +1,134 @@
+package com.dartclub.service.rules;
+
+import com.dartclub.model.entity.Leg;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests für X01 (Bust, Double-Out, Master-Out, Double-In, Rücknahme)
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+class X01RulesTest {
+
+    private static final int HOME = 0;
+    private static final int AWAY = 1;
+
+    private final X01Rules rules = new X01Rules();
+
+    @Test
+    void scoresVisitAndKeepsSidesApart() {
+        RuleState state = newState(501, true, false, false);
+
+        int result = rules.applyVisit(state, HOME, 3, 20, 3, 20, 3, 20);
+
+        assertThat(result).isEqualTo(GameRules.CONTINUE);
+        assertThat(state.getScore(HOME)).isEqualTo(321);
+        assertThat(state.getVisitPoints(HOME)).isEqualTo(180);
+        assertThat(state.getScore(AWAY)).isEqualTo(501);
+    }
+
+    @Test
+    void bustBelowZeroRestoresVisitStart() {
+        RuleState state = newState(501, true, false, false);
+        rules.restore(state, HOME, 40);
+
+        int result = rules.applyVisit(state, HOME, 1, 20, 3, 20, 1, 1);
+
+        assertThat(result).isEqualTo(GameRules.BUST);
+        assertThat(state.getScore(HOME)).isEqualTo(40);
+        assertThat(state.getVisitPoints(HOME)).isZero();
+    }
+
+    @Test
+    void doubleOutBustsOnRestOneAndOnSingleFinish() {
+        RuleState state = newState(501, true, false, false);
+        rules.restore(state, HOME, 41);
+        assertThat(rules.applyVisit(state, HOME, 1, 20, 1, 20, 1, 1)).isEqualTo(GameRules.BUST);
+        assertThat(state.getScore(HOME)).isEqualTo(41);
+
+        rules.restore(state, HOME, 40);
+        assertThat(rules.applyVisit(state, HOME, 1, 20, 1, 20, 0, 0)).isEqualTo(GameRules.BUST);
+        assertThat(state.getScore(HOME)).isEqualTo(40);
+    }
+
+    @Test
+    void doubleOutFinishesOnDoubleAndBull() {
+        RuleState state = newState(501, true, false, false);
+        rules.restore(state, HOME, 40);
+        assertThat(rules.applyVisit(state, HOME, 2, 20, 0, 0, 0, 0)).isEqualTo(GameRules.WIN);
+        assertThat(state.getScore(HOME)).isZero();
+        assertThat(state.getVisitPoints(HOME)).isEqualTo(40);
+
+        rules.restore(state, AWAY, 100);
+        assertThat(rules.applyVisit(state, AWAY, 2, 25, 2, 25, 1, 20)).isEqualTo(GameRules.WIN);
+        assertThat(state.getVisitPoints(AWAY)).isEqualTo(100);
+    }
+
+    @Test
+    void masterOutAllowsTripleButNotSingleFinish() {
+        RuleState state = newState(501, false, false, true);
+        rules.restore(state, HOME, 60);
+        assertThat(rules.applyVisit(state, HOME, 3, 20, 0, 0, 0, 0)).isEqualTo(GameRules.WIN);
+
+        rules.restore(state, AWAY, 60);
+        assertThat(rules.applyVisit(state, AWAY, 1, 20, 1, 20, 1, 20)).isEqualTo(GameRules.BUST);
+        assertThat(state.getScore(AWAY)).isEqualTo(60);
+
+        // Rest 1 ist auch bei Master-Out nicht mehr auscheckbar
+        rules.restore(state, AWAY, 3);
+        assertThat(rules.applyVisit(state, AWAY, 1, 2, 0, 0, 0, 0)).isEqualTo(GameRules.BUST);
+    }
+
+    @Test
+    void straightOutFinishesOnSingle() {
+        RuleState state = newState(501, false, false, false);
+        rules.restore(state, HOME, 21);
+        assertThat(rules.applyVisit(state, HOME, 1, 20, 1, 1, 0, 0)).isEqualTo(GameRules.WIN);
+        assertThat(state.getScore(HOME)).isZero();
+    }
+
+    @Test
+    void doubleInIgnoresDartsBeforeFirstDouble() {
+        RuleState state = newState(501, true, true, false);
+
+        rules.applyVisit(state, HOME, 1, 20, 3, 20, 2, 20);
+        assertThat(state.getScore(HOME)).isEqualTo(461);
+        assertThat(state.getVisitPoints(HOME)).isEqualTo(40);
+
+        // Eröffnet - ab jetzt zählt jeder Dart
+        rules.applyVisit(state, HOME, 1, 20, 1, 20, 1, 20);
+        assertThat(state.getScore(HOME)).isEqualTo(401);
+
+        rules.applyVisit(state, AWAY, 3, 20, 3, 20, 1, 5);
+        assertThat(state.getScore(AWAY)).isEqualTo(501);
+        assertThat(state.getVisitPoints(AWAY)).isZero();
+    }
+
+    @Test
+    void undoAndReplayUsePointsOnly() {
+        RuleState state = newState(501, true, false, false);
+        rules.applyVisit(state, HOME, 3, 20, 3, 20, 3, 20);
+
+        rules.undoVisit(state, HOME, 180, false);
+        assertThat(state.getScore(HOME)).isEqualTo(501);
+
+        rules.undoVisit(state, HOME, 60, true);
+        assertThat(state.getScore(HOME)).isEqualTo(501);
+
+        rules.replayVisit(state, HOME, 100, false);
+        rules.replayVisit(state, HOME, 100, true);
+        assertThat(state.getScore(HOME)).isEqualTo(401);
+        assertThat(rules.isRestorable()).isTrue();
+    }
+
+    private RuleState newState(int startingScore, boolean doubleOut, boolean doubleIn, boolean masterOut) {
+        return rules.newState(Leg.builder()
+                .startingScore(startingScore)
+                .doubleOut(doubleOut)
+                .doubleIn(doubleIn)
+                .masterOut(masterOut)
+                .build());
+    }
+}
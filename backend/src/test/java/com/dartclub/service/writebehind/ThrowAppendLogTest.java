@@ -0,0 +1,143 @@
+package com.dartclub.service.writebehind;
+
+import com.dartclub.model.entity.Throw;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests für das Write-Behind-Log (Round-Trip, Wiederanlauf, angerissenes Ende, Ringpuffer)
+ *
+ * @author Hans Hahn - Alle Rechte vorbehalten
+ */
+class ThrowAppendLogTest {
+
+    private static final int HEADER_SIZE = 64;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsBackAppendedThrows() throws IOException {
+        Throw source = throwNo(1);
+        try (ThrowAppendLog appendLog = ThrowAppendLog.open(dir.resolve("throws.log"), 16)) {
+            assertThat(appendLog.append(source)).isEqualTo(1);
+
+            Throw read = appendLog.read(0, 1).get(0);
+            assertThat(read.getId()).isEqualTo(source.getId());
+            assertThat(read.getLegId()).isEqualTo(source.getLegId());
+            assertThat(read.getMemberId()).isEqualTo(source.getMemberId());
+            assertThat(read.getThrowNo()).isEqualTo(1);
+            assertThat(read.getDart1Multiplier()).isEqualTo(3);
+            assertThat(read.getDart1Segment()).isEqualTo(20);
+            assertThat(read.getDart1Score()).isEqualTo(60);
+            assertThat(read.getDart3Segment()).isEqualTo(25);
+            assertThat(read.getDart3Score()).isEqualTo(50);
+            assertThat(read.getThrowTotal()).isEqualTo(170);
+            assertThat(read.getRemainingScore()).isZero();
+            assertThat(read.getIsCheckout()).isTrue();
+            assertThat(read.getIsBust()).isFalse();
+            assertThat(read.getCreatedAt().toInstant()).isEqualTo(source.getCreatedAt().toInstant());
+        }
+    }
+
+    @Test
+    void recoversUncommittedThrowsAfterReopen() throws IOException {
+        Path path = dir.resolve("throws.log");
+        try (ThrowAppendLog appendLog = ThrowAppendLog.open(path, 16)) {
+            appendLog.append(throwNo(1));
+            appendLog.append(throwNo(2));
+            appendLog.append(throwNo(3));
+            appendLog.commit(1);
+        }
+
+        try (ThrowAppendLog appendLog = ThrowAppendLog.open(path, 16)) {
+            assertThat(appendLog.getCommitSeq()).isEqualTo(1);
+            assertThat(appendLog.getWriteSeq()).isEqualTo(3);
+            List<Throw> pending = appendLog.read(appendLog.getCommitSeq(), appendLog.getWriteSeq());
+            assertThat(pending).extracting(Throw::getThrowNo).containsExactly(2, 3);
+        }
+    }
+
+    @Test
+    void dropsTornRecordsAtTheEnd() throws IOException {
+        Path path = dir.resolve("throws.log");
+        try (ThrowAppendLog appendLog = ThrowAppendLog.open(path, 16)) {
+            appendLog.append(throwNo(1));
+            appendLog.append(throwNo(2));
+            appendLog.append(throwNo(3));
+        }
+        // Record 2 (seq 1) beschädigen - alles ab dort gilt als nicht geschrieben
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) 0xFF}),
+                    HEADER_SIZE + ThrowAppendLog.RECORD_SIZE + 72);
+        }
+
+        try (ThrowAppendLog appendLog = ThrowAppendLog.open(path, 16)) {
+            assertThat(appendLog.getCommitSeq()).isZero();
+            assertThat(appendLog.getWriteSeq()).isEqualTo(1);
+            assertThat(appendLog.read(0, 1)).extracting(Throw::getThrowNo).containsExactly(1);
+
+            // Neue Würfe überschreiben den verworfenen Rest
+            assertThat(appendLog.append(throwNo(4))).isEqualTo(2);
+        }
+        try (ThrowAppendLog appendLog = ThrowAppendLog.open(path, 16)) {
+            assertThat(appendLog.read(0, appendLog.getWriteSeq()))
+                    .extracting(Throw::getThrowNo).containsExactly(1, 4);
+        }
+    }
+
+    @Test
+    void rejectsAppendWhenFullAndWrapsAfterCommit() throws IOException {
+        try (ThrowAppendLog appendLog = ThrowAppendLog.open(dir.resolve("throws.log"), 2)) {
+            appendLog.append(throwNo(1));
+            appendLog.append(throwNo(2));
+            assertThat(appendLog.isFull()).isTrue();
+            assertThatThrownBy(() -> appendLog.append(throwNo(3)))
+                    .isInstanceOf(IllegalStateException.class);
+
+            appendLog.commit(1);
+            assertThat(appendLog.append(throwNo(3))).isEqualTo(3);
+            assertThat(appendLog.read(1, 3)).extracting(Throw::getThrowNo).containsExactly(2, 3);
+        }
+    }
+
+    @Test
+    void existingFileKeepsItsCapacity() throws IOException {
+        Path path = dir.resolve("throws.log");
+        try (ThrowAppendLog appendLog = ThrowAppendLog.open(path, 2)) {
+            appendLog.append(throwNo(1));
+        }
+        try (ThrowAppendLog appendLog = ThrowAppendLog.open(path, 64)) {
+            appendLog.append(throwNo(2));
+            assertThat(appendLog.isFull()).isTrue();
+        }
+    }
+
+    private static Throw throwNo(int throwNo) {
+        return Throw.builder()
+                .id(UUID.randomUUID())
+                .legId(UUID.randomUUID())
+                .memberId(UUID.randomUUID())
+                .throwNo(throwNo)
+                .dart1Multiplier(3).dart1Segment(20).dart1Score(60)
+                .dart2Multiplier(3).dart2Segment(20).dart2Score(60)
+                .dart3Multiplier(2).dart3Segment(25).dart3Score(50)
+                .throwTotal(170)
+                .remainingScore(0)
+                .isCheckout(true)
+                .createdAt(ZonedDateTime.now())
+                .build();
+    }
+}